@@ -0,0 +1,73 @@
+/**
+ * Copyright 2004 - 2022 anaptecs GmbH, Burgstr. 96, 72764 Reutlingen, Germany
+ *
+ * All rights reserved.
+ */
+package com.anaptecs.jeaf.rest.benchmarks.composite;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Class represents a composite object as it is typically used for query or header parameters. The size of the object
+ * graph is defined by the amount of contained {@link Item}s.
+ *
+ * @author JEAF Development Team
+ */
+public class CompositeObject {
+  /**
+   * Amount of fields of a composite object without its items.
+   */
+  static final int FIELD_COUNT = 3;
+
+  private long id;
+
+  private String name;
+
+  private List<Item> items = new ArrayList<>();
+
+  public CompositeObject( ) {
+    // Nothing to do.
+  }
+
+  /**
+   * Method creates a new composite object whose object graph contains approximately the passed amount of fields.
+   *
+   * @param pFieldCount Total amount of fields of the object graph.
+   * @return {@link CompositeObject} Created object. The method never returns null.
+   */
+  static CompositeObject create( int pFieldCount ) {
+    CompositeObject lObject = new CompositeObject();
+    lObject.id = pFieldCount;
+    lObject.name = "Composite with " + pFieldCount + " fields";
+    int lItemCount = (pFieldCount - FIELD_COUNT) / Item.FIELD_COUNT;
+    for (int i = 0; i < lItemCount; i++) {
+      lObject.items.add(new Item(i));
+    }
+    return lObject;
+  }
+
+  public long getId( ) {
+    return id;
+  }
+
+  public void setId( long pID ) {
+    id = pID;
+  }
+
+  public String getName( ) {
+    return name;
+  }
+
+  public void setName( String pName ) {
+    name = pName;
+  }
+
+  public List<Item> getItems( ) {
+    return items;
+  }
+
+  public void setItems( List<Item> pItems ) {
+    items = pItems;
+  }
+}
@@ -0,0 +1,118 @@
+/**
+ * Copyright 2004 - 2022 anaptecs GmbH, Burgstr. 96, 72764 Reutlingen, Germany
+ *
+ * All rights reserved.
+ */
+package com.anaptecs.jeaf.rest.benchmarks.composite;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.anaptecs.jeaf.rest.composite.api.CompositeTypeConverter;
+import com.anaptecs.jeaf.rest.composite.impl.kryo.KryoCompositeTypeConverter;
+
+/**
+ * Class contains benchmarks that compare the Kryo based {@link CompositeTypeConverter} with a JSON based baseline.
+ * Allocation per operation is reported when the benchmarks are run with GC profiler (<code>-prof gc</code>).
+ *
+ * The amount of bytes that are produced by serialization is reported as secondary result "encodedBytes". As it is
+ * measured per second it has to be divided by the throughput of the benchmark to get the bytes per operation.
+ *
+ * @author JEAF Development Team
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CompositeTypeConverterBenchmark {
+  /**
+   * Converters that are compared.
+   */
+  public enum ConverterType {
+    KRYO, JSON;
+  }
+
+  @Param({ "KRYO", "JSON" })
+  private ConverterType converterType;
+
+  /**
+   * Parameter defines if the classes of the object graph are passed to the converter. This is only relevant for Kryo.
+   */
+  @Param({ "true", "false" })
+  private boolean registeredClasses;
+
+  /**
+   * Total amount of fields of the object graph.
+   */
+  @Param({ "3", "50", "500" })
+  private int fieldCount;
+
+  private CompositeTypeConverter converter;
+
+  private List<Class<?>> serializedClasses;
+
+  private CompositeObject object;
+
+  private String serializedObject;
+
+  /**
+   * Counters that are reported as secondary results of the benchmarks.
+   */
+  @State(Scope.Thread)
+  @AuxCounters(AuxCounters.Type.OPERATIONS)
+  public static class Counters {
+    public long encodedBytes;
+
+    @Setup(Level.Iteration)
+    public void reset( ) {
+      encodedBytes = 0;
+    }
+  }
+
+  @Setup(Level.Trial)
+  public void setup( ) {
+    if (converterType == ConverterType.KRYO) {
+      converter = new KryoCompositeTypeConverter();
+    }
+    else {
+      converter = new JacksonCompositeTypeConverter();
+    }
+    if (registeredClasses) {
+      serializedClasses = List.of(CompositeObject.class, ArrayList.class, Item.class);
+    }
+    else {
+      serializedClasses = null;
+    }
+    object = CompositeObject.create(fieldCount);
+    serializedObject = converter.serializeObject(object, serializedClasses);
+  }
+
+  @Benchmark
+  public String serializeObject( Counters pCounters ) {
+    String lSerializedObject = converter.serializeObject(object, serializedClasses);
+    pCounters.encodedBytes += lSerializedObject.length();
+    return lSerializedObject;
+  }
+
+  @Benchmark
+  public CompositeObject deserializeObject( ) {
+    return converter.deserializeObject(serializedObject, CompositeObject.class, serializedClasses);
+  }
+}
@@ -0,0 +1,81 @@
+/**
+ * Copyright 2004 - 2022 anaptecs GmbH, Burgstr. 96, 72764 Reutlingen, Germany
+ *
+ * All rights reserved.
+ */
+package com.anaptecs.jeaf.rest.benchmarks.composite;
+
+/**
+ * Class represents an element of a {@link CompositeObject}. Every item contributes {@link #FIELD_COUNT} fields to the
+ * object graph.
+ *
+ * @author JEAF Development Team
+ */
+public class Item {
+  /**
+   * Amount of fields of an item.
+   */
+  static final int FIELD_COUNT = 5;
+
+  private String code;
+
+  private long quantity;
+
+  private double price;
+
+  private boolean active;
+
+  private String comment;
+
+  public Item( ) {
+    // Nothing to do.
+  }
+
+  Item( int pIndex ) {
+    code = "ITEM-" + pIndex;
+    quantity = pIndex * 7L;
+    price = pIndex * 1.25;
+    active = pIndex % 2 == 0;
+    comment = "Comment for item " + pIndex;
+  }
+
+  public String getCode( ) {
+    return code;
+  }
+
+  public void setCode( String pCode ) {
+    code = pCode;
+  }
+
+  public long getQuantity( ) {
+    return quantity;
+  }
+
+  public void setQuantity( long pQuantity ) {
+    quantity = pQuantity;
+  }
+
+  public double getPrice( ) {
+    return price;
+  }
+
+  public void setPrice( double pPrice ) {
+    price = pPrice;
+  }
+
+  public boolean isActive( ) {
+    return active;
+  }
+
+  public void setActive( boolean pActive ) {
+    active = pActive;
+  }
+
+  public String getComment( ) {
+    return comment;
+  }
+
+  public void setComment( String pComment ) {
+    comment = pComment;
+  }
+}
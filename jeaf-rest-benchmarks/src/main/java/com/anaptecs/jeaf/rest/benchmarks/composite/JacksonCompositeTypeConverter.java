@@ -0,0 +1,47 @@
+/**
+ * Copyright 2004 - 2022 anaptecs GmbH, Burgstr. 96, 72764 Reutlingen, Germany
+ *
+ * All rights reserved.
+ */
+package com.anaptecs.jeaf.rest.benchmarks.composite;
+
+import java.io.IOException;
+import java.util.Base64;
+import java.util.List;
+
+import com.anaptecs.jeaf.rest.composite.api.CompositeTypeConverter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Class implements a JSON based {@link CompositeTypeConverter} that is used as baseline for the Kryo based
+ * implementation. Objects are serialized to JSON using Jackson and then base 64 URL encoded just like it is done by the
+ * Kryo based implementation.
+ *
+ * @author JEAF Development Team
+ */
+public class JacksonCompositeTypeConverter implements CompositeTypeConverter {
+  /**
+   * Object mapper that is used for serialization.
+   */
+  private final ObjectMapper objectMapper = new ObjectMapper();
+
+  @Override
+  public String serializeObject( Object pObject, List<Class<?>> pSerializedClasses ) {
+    try {
+      return Base64.getUrlEncoder().encodeToString(objectMapper.writeValueAsBytes(pObject));
+    }
+    catch (IOException e) {
+      throw new IllegalStateException("Unable to serialize object to JSON.", e);
+    }
+  }
+
+  @Override
+  public <T> T deserializeObject( String pSerializedObject, Class<T> pResultType, List<Class<?>> pSerializedClasses ) {
+    try {
+      return objectMapper.readValue(Base64.getUrlDecoder().decode(pSerializedObject), pResultType);
+    }
+    catch (IOException e) {
+      throw new IllegalStateException("Unable to deserialize object from JSON.", e);
+    }
+  }
+}
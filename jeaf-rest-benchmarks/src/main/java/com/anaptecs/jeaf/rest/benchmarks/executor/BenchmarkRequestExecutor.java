@@ -0,0 +1,101 @@
+/**
+ * Copyright 2004 - 2022 anaptecs GmbH, Burgstr. 96, 72764 Reutlingen, Germany
+ *
+ * All rights reserved.
+ */
+package com.anaptecs.jeaf.rest.benchmarks.executor;
+
+import java.net.URI;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.hc.core5.http.ClassicHttpResponse;
+
+import com.anaptecs.jeaf.rest.executor.impl.apache.AbstractApacheHttpClientRESTRequestExecutorBase;
+import com.anaptecs.jeaf.rest.executor.impl.config.RESTClientConfiguration;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Class implements a request executor that is used for benchmarks. Traces are not written to any log. Only their size
+ * is recorded so that the cost of creating them is still measured.
+ *
+ * @author JEAF Development Team
+ */
+public class BenchmarkRequestExecutor extends AbstractApacheHttpClientRESTRequestExecutorBase {
+  /**
+   * Object mapper that is used for all requests.
+   */
+  private final ObjectMapper objectMapper = new ObjectMapper();
+
+  /**
+   * Configuration that is used for all REST services.
+   */
+  private final RESTClientConfiguration configuration;
+
+  /**
+   * Total amount of characters that were traced.
+   */
+  private final LongAdder tracedCharacters = new LongAdder();
+
+  /**
+   * Initialize object.
+   *
+   * @param pConfiguration Configuration that should be used for all REST services. The parameter must not be null.
+   */
+  public BenchmarkRequestExecutor( RESTClientConfiguration pConfiguration ) {
+    configuration = pConfiguration;
+  }
+
+  /**
+   * Method returns the total amount of characters that were traced so far.
+   *
+   * @return long Amount of traced characters.
+   */
+  public long getTracedCharacters( ) {
+    return tracedCharacters.sum();
+  }
+
+  @Override
+  protected ObjectMapper getObjectMapper( ) {
+    return objectMapper;
+  }
+
+  @Override
+  protected RESTClientConfiguration getConfiguration( Class<?> pServiceClass ) {
+    return configuration;
+  }
+
+  @Override
+  protected boolean isRequestTracingEnabled( RESTClientConfiguration pConfiguration ) {
+    return pConfiguration.traceRequests();
+  }
+
+  @Override
+  protected boolean isResponseTracingEnabled( RESTClientConfiguration pConfiguration ) {
+    return pConfiguration.traceResponses();
+  }
+
+  @Override
+  protected void traceRequest( String pRequestLog ) {
+    tracedCharacters.add(pRequestLog.length());
+  }
+
+  @Override
+  protected void traceResponse( String pResponseLog ) {
+    tracedCharacters.add(pResponseLog.length());
+  }
+
+  @Override
+  protected void traceException( String pErrorMessage, Exception pException ) {
+    tracedCharacters.add(pErrorMessage.length());
+  }
+
+  @Override
+  protected RuntimeException processErrorResponse( URI pRequestURI, ClassicHttpResponse pResponse ) {
+    return new IllegalStateException("Request to " + pRequestURI + " failed with status " + pResponse.getCode());
+  }
+
+  @Override
+  protected RuntimeException processInternalServerError( URI pRequestURI, Exception pException, String pContext ) {
+    return new IllegalStateException(pContext, pException);
+  }
+}
@@ -0,0 +1,148 @@
+/**
+ * Copyright 2004 - 2022 anaptecs GmbH, Burgstr. 96, 72764 Reutlingen, Germany
+ *
+ * All rights reserved.
+ */
+package com.anaptecs.jeaf.rest.benchmarks.executor;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.anaptecs.jeaf.rest.executor.api.ContentType;
+import com.anaptecs.jeaf.rest.executor.api.HttpMethod;
+import com.anaptecs.jeaf.rest.executor.api.ObjectType;
+import com.anaptecs.jeaf.rest.executor.api.RESTRequest;
+import com.anaptecs.jeaf.rest.executor.impl.config.ApacheHttpClientConfiguration;
+import com.anaptecs.jeaf.rest.executor.impl.config.CircuitBreakerConfiguration;
+import com.anaptecs.jeaf.rest.executor.impl.config.RESTClientConfigurationImpl;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Class contains the benchmarks for the hot path of the request executor. Requests are executed against an in-process
+ * {@link StubServer} so that the results are not influenced by the network or by the server side.
+ *
+ * Thread counts are not defined here. They are set by {@link ExecutorBenchmarkRunner} or using JMH option "-t".
+ *
+ * @author JEAF Development Team
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = { "-Xms2g", "-Xmx2g" })
+public class ExecutorBenchmark {
+  /**
+   * Maximum amount of threads that are used by the benchmarks. The connection pool is sized accordingly so that threads
+   * do not wait for connections.
+   */
+  static final int MAX_THREADS = 64;
+
+  /**
+   * Size of the response in bytes.
+   */
+  @Param({ "100", "10000", "1000000", "10000000" })
+  private int payloadSize;
+
+  /**
+   * Parameter defines if request and response tracing is enabled.
+   */
+  @Param({ "false", "true" })
+  private boolean tracing;
+
+  /**
+   * Parameter defines if requests contain cookies.
+   */
+  @Param({ "false", "true" })
+  private boolean cookies;
+
+  private StubServer stubServer;
+
+  private BenchmarkRequestExecutor executor;
+
+  private RESTRequest singleObjectRequest;
+
+  private RESTRequest collectionRequest;
+
+  private ObjectType objectType;
+
+  @Setup(Level.Trial)
+  public void setup( ) throws Exception {
+    // Prepare responses of the stub server.
+    ObjectMapper lObjectMapper = new ObjectMapper();
+    stubServer = new StubServer();
+    stubServer.addResponse("/single", lObjectMapper.writeValueAsBytes(Payload.create(1, payloadSize)));
+    List<Payload> lPayloads = new ArrayList<>();
+    int lCollectionSize = Math.max(1, payloadSize / (2 * Payload.BASE_SIZE));
+    for (int i = 0; i < lCollectionSize; i++) {
+      lPayloads.add(Payload.create(i, 2 * Payload.BASE_SIZE));
+    }
+    stubServer.addResponse("/collection", lObjectMapper.writeValueAsBytes(lPayloads));
+
+    // Configure executor in a way that neither the connection pool nor the circuit breaker limits the benchmark.
+    ApacheHttpClientConfiguration lHttpClientConfiguration = new ApacheHttpClientConfiguration();
+    lHttpClientConfiguration.setMaxPoolSize(MAX_THREADS);
+    lHttpClientConfiguration.setMaxPerRoute(MAX_THREADS);
+    lHttpClientConfiguration.setResponseTimeout(60000);
+    lHttpClientConfiguration.setConnectionRequestTimeout(60000);
+    CircuitBreakerConfiguration lCircuitBreakerConfiguration = new CircuitBreakerConfiguration();
+    lCircuitBreakerConfiguration.setFailureRateThreshold(100);
+    lCircuitBreakerConfiguration.setSlowRequestDuration(60000);
+    lCircuitBreakerConfiguration.setSlowRequestRateThreshold(100);
+    RESTClientConfigurationImpl lConfiguration = new RESTClientConfigurationImpl();
+    lConfiguration.setExternalServiceURL(stubServer.getURL());
+    lConfiguration.setCookieDomain("127.0.0.1");
+    lConfiguration.setTraceRequests(tracing);
+    lConfiguration.setTraceResponses(tracing);
+    lConfiguration.setHttpClientConfiguration(lHttpClientConfiguration);
+    lConfiguration.setCircuitBreakerConfiguration(lCircuitBreakerConfiguration);
+    executor = new BenchmarkRequestExecutor(lConfiguration);
+
+    singleObjectRequest = this.createRequest("/single");
+    collectionRequest = this.createRequest("/collection");
+    objectType = ObjectType.createObjectType(Payload.class);
+  }
+
+  private RESTRequest createRequest( String pPath ) {
+    RESTRequest.Builder lBuilder = RESTRequest.builder(ExecutorBenchmark.class, HttpMethod.GET, ContentType.JSON);
+    lBuilder.setPath(pPath);
+    lBuilder.setHeader("X-Request-Source", "benchmark");
+    lBuilder.setQueryParameter("size", String.valueOf(payloadSize));
+    if (cookies) {
+      lBuilder.setCookie("session", "4f9c1a7e-53b2-4d8e-9a61-0c2f7e5d3b18");
+      lBuilder.setCookie("locale", "de_DE");
+    }
+    return lBuilder.build();
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown( ) {
+    stubServer.close();
+  }
+
+  @Benchmark
+  public Payload executeSingleObjectResultRequest( ) {
+    return executor.executeSingleObjectResultRequest(singleObjectRequest, 200, objectType);
+  }
+
+  @Benchmark
+  public Collection<Payload> executeCollectionResultRequest( ) {
+    return executor.executeCollectionResultRequest(collectionRequest, 200, ArrayList.class, objectType);
+  }
+}
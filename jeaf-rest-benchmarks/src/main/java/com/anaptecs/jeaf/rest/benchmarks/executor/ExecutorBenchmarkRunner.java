@@ -0,0 +1,68 @@
+/**
+ * Copyright 2004 - 2022 anaptecs GmbH, Burgstr. 96, 72764 Reutlingen, Germany
+ *
+ * All rights reserved.
+ */
+package com.anaptecs.jeaf.rest.benchmarks.executor;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Class runs {@link ExecutorBenchmark} with different thread counts. For every thread count throughput is reported as
+ * ops/s and latency distribution (including p99) in microseconds. Allocation rates are reported by the GC profiler.
+ *
+ * Thread counts can be passed as arguments e.g. <code>java -cp target/benchmarks.jar
+ * com.anaptecs.jeaf.rest.benchmarks.executor.ExecutorBenchmarkRunner 1 8 64</code>. Results are also written as JSON
+ * files to the current directory.
+ *
+ * @author JEAF Development Team
+ */
+public final class ExecutorBenchmarkRunner {
+  /**
+   * Thread counts that are used if no thread counts are passed as arguments.
+   */
+  private static final int[] DEFAULT_THREAD_COUNTS = new int[] { 1, 4, 16, ExecutorBenchmark.MAX_THREADS };
+
+  private ExecutorBenchmarkRunner( ) {
+    // Nothing to do.
+  }
+
+  public static void main( String[] pArgs ) throws RunnerException {
+    int[] lThreadCounts;
+    if (pArgs.length > 0) {
+      lThreadCounts = new int[pArgs.length];
+      for (int i = 0; i < pArgs.length; i++) {
+        lThreadCounts[i] = Integer.parseInt(pArgs[i]);
+        if (lThreadCounts[i] < 1 || lThreadCounts[i] > ExecutorBenchmark.MAX_THREADS) {
+          throw new IllegalArgumentException(
+              "Thread count has to be between 1 and " + ExecutorBenchmark.MAX_THREADS + ": " + lThreadCounts[i]);
+        }
+      }
+    }
+    else {
+      lThreadCounts = DEFAULT_THREAD_COUNTS;
+    }
+
+    for (int lThreads : lThreadCounts) {
+      // Throughput
+      Options lThroughputOptions = new OptionsBuilder().include(ExecutorBenchmark.class.getSimpleName())
+          .threads(lThreads).mode(Mode.Throughput).timeUnit(TimeUnit.SECONDS).addProfiler(GCProfiler.class)
+          .resultFormat(ResultFormatType.JSON).result("executor-throughput-" + lThreads + "-threads.json").build();
+      new Runner(lThroughputOptions).run();
+
+      // Latency distribution
+      Options lLatencyOptions = new OptionsBuilder().include(ExecutorBenchmark.class.getSimpleName())
+          .threads(lThreads).mode(Mode.SampleTime).timeUnit(TimeUnit.MICROSECONDS).addProfiler(GCProfiler.class)
+          .resultFormat(ResultFormatType.JSON).result("executor-latency-" + lThreads + "-threads.json").build();
+      new Runner(lLatencyOptions).run();
+    }
+  }
+}
@@ -0,0 +1,82 @@
+/**
+ * Copyright 2004 - 2022 anaptecs GmbH, Burgstr. 96, 72764 Reutlingen, Germany
+ *
+ * All rights reserved.
+ */
+package com.anaptecs.jeaf.rest.benchmarks.executor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Class represents the objects that are returned by the stub server during benchmarks.
+ *
+ * @author JEAF Development Team
+ */
+public class Payload {
+  /**
+   * Approximate size of a payload object with an empty description when it is serialized to JSON.
+   */
+  static final int BASE_SIZE = 100;
+
+  private long id;
+
+  private String name;
+
+  private String description;
+
+  private List<String> tags = new ArrayList<>();
+
+  /**
+   * Method creates a new payload object whose JSON representation has approximately the passed size.
+   *
+   * @param pID ID of the payload object.
+   * @param pSize Approximate size in bytes of the JSON representation of the object.
+   * @return {@link Payload} Created payload object. The method never returns null.
+   */
+  static Payload create( long pID, int pSize ) {
+    Payload lPayload = new Payload();
+    lPayload.id = pID;
+    lPayload.name = "Payload " + pID;
+    lPayload.tags.add("benchmark");
+    lPayload.tags.add("jeaf");
+    StringBuilder lDescription = new StringBuilder();
+    for (int i = 0; i < pSize - BASE_SIZE; i++) {
+      lDescription.append((char) ('a' + i % 26));
+    }
+    lPayload.description = lDescription.toString();
+    return lPayload;
+  }
+
+  public long getId( ) {
+    return id;
+  }
+
+  public void setId( long pID ) {
+    id = pID;
+  }
+
+  public String getName( ) {
+    return name;
+  }
+
+  public void setName( String pName ) {
+    name = pName;
+  }
+
+  public String getDescription( ) {
+    return description;
+  }
+
+  public void setDescription( String pDescription ) {
+    description = pDescription;
+  }
+
+  public List<String> getTags( ) {
+    return tags;
+  }
+
+  public void setTags( List<String> pTags ) {
+    tags = pTags;
+  }
+}
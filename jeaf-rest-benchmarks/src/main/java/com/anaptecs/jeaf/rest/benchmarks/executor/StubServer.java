@@ -0,0 +1,112 @@
+/**
+ * Copyright 2004 - 2022 anaptecs GmbH, Burgstr. 96, 72764 Reutlingen, Germany
+ *
+ * All rights reserved.
+ */
+package com.anaptecs.jeaf.rest.benchmarks.executor;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Class implements a simple in-process HTTP server that returns precomputed responses. This way benchmarks measure the
+ * client side of REST calls only.
+ *
+ * @author JEAF Development Team
+ */
+public final class StubServer implements AutoCloseable {
+  static {
+    // Without this setting Nagle's algorithm delays small responses and the benchmarks would only measure TCP timing.
+    System.setProperty("sun.net.httpserver.nodelay", "true");
+  }
+
+  /**
+   * Underlying HTTP server of the JDK.
+   */
+  private final HttpServer httpServer;
+
+  /**
+   * Threads that are used to process requests.
+   */
+  private final ExecutorService executor;
+
+  /**
+   * Responses that will be returned per path.
+   */
+  private final Map<String, byte[]> responses = new ConcurrentHashMap<>();
+
+  /**
+   * Initialize object and start server on a free port of the loopback interface.
+   */
+  public StubServer( ) throws IOException {
+    httpServer = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+    httpServer.createContext("/", new HttpHandler() {
+      @Override
+      public void handle( HttpExchange pExchange ) throws IOException {
+        StubServer.this.handle(pExchange);
+      }
+    });
+    executor = Executors.newCachedThreadPool();
+    httpServer.setExecutor(executor);
+    httpServer.start();
+  }
+
+  /**
+   * Method returns the URL under which the server can be reached.
+   *
+   * @return String URL of the server. The method never returns null.
+   */
+  public String getURL( ) {
+    InetSocketAddress lAddress = httpServer.getAddress();
+    return "http://" + lAddress.getHostString() + ":" + lAddress.getPort();
+  }
+
+  /**
+   * Method registers the JSON response that should be returned for the passed path.
+   *
+   * @param pPath Path for which the response should be returned. The parameter must not be null.
+   * @param pResponse JSON response. The parameter must not be null.
+   */
+  public void addResponse( String pPath, byte[] pResponse ) {
+    responses.put(pPath, pResponse);
+  }
+
+  private void handle( HttpExchange pExchange ) throws IOException {
+    // Request body is not relevant but it has to be consumed completely.
+    try (InputStream lRequestBody = pExchange.getRequestBody()) {
+      lRequestBody.transferTo(OutputStream.nullOutputStream());
+    }
+    byte[] lResponse = responses.get(pExchange.getRequestURI().getPath());
+    if (lResponse != null) {
+      pExchange.getResponseHeaders().add("Content-Type", "application/json");
+      pExchange.sendResponseHeaders(200, lResponse.length);
+      try (OutputStream lResponseBody = pExchange.getResponseBody()) {
+        lResponseBody.write(lResponse);
+      }
+    }
+    else {
+      pExchange.sendResponseHeaders(404, -1);
+      pExchange.close();
+    }
+  }
+
+  /**
+   * Method stops the server.
+   */
+  @Override
+  public void close( ) {
+    httpServer.stop(0);
+    executor.shutdownNow();
+  }
+}
@@ -0,0 +1,195 @@
+/**
+ * Copyright 2004 - 2022 anaptecs GmbH, Burgstr. 96, 72764 Reutlingen, Germany
+ *
+ * All rights reserved.
+ */
+package com.anaptecs.jeaf.rest.composite.impl.kryo;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Class implements base 64 encoding using the URL and filename safe alphabet as defined by RFC 4648. The produced
+ * results are the same as the ones of {@link java.util.Base64#getUrlEncoder()} and
+ * {@link java.util.Base64#getUrlDecoder()}. However in contrast to the JDK implementation this class works on slices of
+ * buffers that are passed by the caller. This way no intermediate byte arrays are required.
+ *
+ * @author JEAF Development Team
+ */
+final class Base64URL {
+  /**
+   * Characters of the base 64 URL alphabet.
+   */
+  private static final byte[] ALPHABET =
+      "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_".getBytes(StandardCharsets.US_ASCII);
+
+  /**
+   * Padding character.
+   */
+  private static final char PADDING = '=';
+
+  /**
+   * Lookup table to resolve the value of a character. Characters that are not part of the alphabet have value -1.
+   */
+  private static final int[] VALUES = new int[128];
+
+  static {
+    Arrays.fill(VALUES, -1);
+    for (int i = 0; i < ALPHABET.length; i++) {
+      VALUES[ALPHABET[i]] = i;
+    }
+  }
+
+  /**
+   * Instances of this class do not make sense.
+   */
+  private Base64URL( ) {
+    // Nothing to do.
+  }
+
+  /**
+   * Method returns the length of the encoded representation of the passed amount of bytes including padding.
+   *
+   * @param pLength Amount of bytes that should be encoded.
+   * @return int Amount of characters of the encoded representation.
+   */
+  static int getEncodedLength( int pLength ) {
+    return ((pLength + 2) / 3) * 4;
+  }
+
+  /**
+   * Method encodes the passed slice of bytes. The encoded characters are written as ASCII bytes to the passed target
+   * buffer.
+   *
+   * @param pSource Buffer containing the bytes that should be encoded. The parameter must not be null.
+   * @param pLength Amount of bytes starting at the beginning of the buffer that should be encoded.
+   * @param pTarget Buffer to which the encoded characters will be written. The buffer must have at least the size as
+   * returned by {@link #getEncodedLength(int)}. The parameter must not be null.
+   * @return int Amount of characters that were written to the target buffer.
+   */
+  static int encode( byte[] pSource, int pLength, byte[] pTarget ) {
+    int lSourcePosition = 0;
+    int lTargetPosition = 0;
+
+    // Encode all complete blocks of 3 bytes.
+    int lCompleteBlocksEnd = pLength - pLength % 3;
+    while (lSourcePosition < lCompleteBlocksEnd) {
+      int lBits = (pSource[lSourcePosition++] & 0xff) << 16 | (pSource[lSourcePosition++] & 0xff) << 8
+          | (pSource[lSourcePosition++] & 0xff);
+      pTarget[lTargetPosition++] = ALPHABET[(lBits >>> 18) & 0x3f];
+      pTarget[lTargetPosition++] = ALPHABET[(lBits >>> 12) & 0x3f];
+      pTarget[lTargetPosition++] = ALPHABET[(lBits >>> 6) & 0x3f];
+      pTarget[lTargetPosition++] = ALPHABET[lBits & 0x3f];
+    }
+
+    // Encode remaining bytes and add padding.
+    int lRemaining = pLength - lCompleteBlocksEnd;
+    if (lRemaining == 1) {
+      int lBits = (pSource[lSourcePosition] & 0xff);
+      pTarget[lTargetPosition++] = ALPHABET[lBits >>> 2];
+      pTarget[lTargetPosition++] = ALPHABET[(lBits << 4) & 0x3f];
+      pTarget[lTargetPosition++] = PADDING;
+      pTarget[lTargetPosition++] = PADDING;
+    }
+    else if (lRemaining == 2) {
+      int lBits = (pSource[lSourcePosition] & 0xff) << 8 | (pSource[lSourcePosition + 1] & 0xff);
+      pTarget[lTargetPosition++] = ALPHABET[lBits >>> 10];
+      pTarget[lTargetPosition++] = ALPHABET[(lBits >>> 4) & 0x3f];
+      pTarget[lTargetPosition++] = ALPHABET[(lBits << 2) & 0x3f];
+      pTarget[lTargetPosition++] = PADDING;
+    }
+    return lTargetPosition;
+  }
+
+  /**
+   * Method returns the amount of bytes that the passed encoded string represents. Padding is optional.
+   *
+   * @param pEncoded Base 64 encoded string. The parameter must not be null.
+   * @return int Amount of decoded bytes.
+   * @throws IllegalArgumentException if the passed string does not have a valid length or padding.
+   */
+  static int getDecodedLength( CharSequence pEncoded ) {
+    int lEnd = getEndWithoutPadding(pEncoded);
+    int lRemainder = lEnd % 4;
+    if (lRemainder == 1) {
+      throw new IllegalArgumentException("Invalid length of base 64 encoded string: " + pEncoded.length());
+    }
+    return (lEnd / 4) * 3 + (lRemainder == 0 ? 0 : lRemainder - 1);
+  }
+
+  /**
+   * Method decodes the passed string into the passed target buffer.
+   *
+   * @param pEncoded Base 64 encoded string. Padding is optional. The parameter must not be null.
+   * @param pTarget Buffer to which the decoded bytes will be written. The buffer must have at least the size as
+   * returned by {@link #getDecodedLength(CharSequence)}. The parameter must not be null.
+   * @return int Amount of bytes that were written to the target buffer.
+   * @throws IllegalArgumentException if the passed string is not a valid base 64 encoded string.
+   */
+  static int decode( CharSequence pEncoded, byte[] pTarget ) {
+    int lEnd = getEndWithoutPadding(pEncoded);
+    if (lEnd % 4 == 1) {
+      throw new IllegalArgumentException("Invalid length of base 64 encoded string: " + pEncoded.length());
+    }
+    int lSourcePosition = 0;
+    int lTargetPosition = 0;
+
+    // Decode all complete blocks of 4 characters.
+    int lCompleteBlocksEnd = lEnd - lEnd % 4;
+    while (lSourcePosition < lCompleteBlocksEnd) {
+      int lBits = getValue(pEncoded, lSourcePosition++) << 18 | getValue(pEncoded, lSourcePosition++) << 12
+          | getValue(pEncoded, lSourcePosition++) << 6 | getValue(pEncoded, lSourcePosition++);
+      pTarget[lTargetPosition++] = (byte) (lBits >>> 16);
+      pTarget[lTargetPosition++] = (byte) (lBits >>> 8);
+      pTarget[lTargetPosition++] = (byte) lBits;
+    }
+
+    // Decode remaining characters. Like the JDK decoder unused bits are ignored.
+    int lRemaining = lEnd - lCompleteBlocksEnd;
+    if (lRemaining == 2) {
+      int lBits = getValue(pEncoded, lSourcePosition) << 6 | getValue(pEncoded, lSourcePosition + 1);
+      pTarget[lTargetPosition++] = (byte) (lBits >>> 4);
+    }
+    else if (lRemaining == 3) {
+      int lBits = getValue(pEncoded, lSourcePosition) << 12 | getValue(pEncoded, lSourcePosition + 1) << 6
+          | getValue(pEncoded, lSourcePosition + 2);
+      pTarget[lTargetPosition++] = (byte) (lBits >>> 10);
+      pTarget[lTargetPosition++] = (byte) (lBits >>> 2);
+    }
+    return lTargetPosition;
+  }
+
+  /**
+   * Method returns the position of the first padding character of the passed string and checks that padding is used
+   * correctly.
+   */
+  private static int getEndWithoutPadding( CharSequence pEncoded ) {
+    int lLength = pEncoded.length();
+    int lEnd = lLength;
+    while (lEnd > 0 && pEncoded.charAt(lEnd - 1) == PADDING) {
+      lEnd--;
+    }
+    // If padding is used then it has to be complete.
+    int lPadding = lLength - lEnd;
+    if (lPadding > 0 && (lPadding > 2 || lLength % 4 != 0)) {
+      throw new IllegalArgumentException("Invalid padding of base 64 encoded string.");
+    }
+    return lEnd;
+  }
+
+  private static int getValue( CharSequence pEncoded, int pPosition ) {
+    char lCharacter = pEncoded.charAt(pPosition);
+    int lValue;
+    if (lCharacter < VALUES.length) {
+      lValue = VALUES[lCharacter];
+    }
+    else {
+      lValue = -1;
+    }
+    if (lValue < 0) {
+      throw new IllegalArgumentException(
+          "Illegal base 64 character " + Integer.toHexString(lCharacter) + " at position " + pPosition);
+    }
+    return lValue;
+  }
+}
@@ -5,58 +5,206 @@
  */
 package com.anaptecs.jeaf.rest.composite.impl.kryo;
 
-import java.io.ByteArrayOutputStream;
-import java.util.Base64;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import com.anaptecs.jeaf.rest.composite.api.CompositeTypeConverter;
 import com.esotericsoftware.kryo.Kryo;
-import com.esotericsoftware.kryo.io.Input;
-import com.esotericsoftware.kryo.io.Output;
+import com.esotericsoftware.kryo.util.Pool;
 
 /**
  * Class implements a Kryo-based {@link CompositeTypeConverter}. Benefit of Kryo over JSON is that it is more efficient
  * and less chatty. However if you require support for semantic versioning then please check
  * <a href="https://github.com/EsotericSoftware/kryo">Kryo documentation</a>.
- * 
+ *
+ * As creating and configuring Kryo instances is expensive they are reused depending on the configured
+ * {@link KryoInstanceMode}. Reused instances are kept per distinct list of registered classes so that registration only
+ * happens once. Please be aware that the order of the classes is relevant as it defines the ids that Kryo uses.
+ *
  * @author JEAF Development Team
  */
 public class KryoCompositeTypeConverter implements CompositeTypeConverter {
+  /**
+   * Default maximum amount of Kryo instances that are kept in a pool per list of registered classes.
+   */
+  public static final int DEFAULT_MAXIMUM_POOL_SIZE = 16;
 
-  @Override
-  public String serializeObject( Object pObject, List<Class<?>> pSerializedClasses ) {
-    // Prepare streams where content will be written to
-    int lInitialSize;
-    if (pSerializedClasses != null && pSerializedClasses.isEmpty() == false) {
-      lInitialSize = 128;
+  /**
+   * Mode that defines how Kryo instances are provided.
+   */
+  private final KryoInstanceMode instanceMode;
+
+  /**
+   * Maximum amount of Kryo instances that are kept in a pool per list of registered classes.
+   */
+  private final int maximumPoolSize;
+
+  /**
+   * Attribute defines if pooled Kryo instances are only referenced softly so that they can be garbage collected in case
+   * of memory pressure.
+   */
+  private final boolean softReferences;
+
+  /**
+   * Map contains the pools of Kryo contexts per list of registered classes. Besides the Kryo instance a context also
+   * contains the buffers for serialization so that they can be reused as well. The map is only used in case of mode
+   * {@link KryoInstanceMode#POOLED}.
+   */
+  private final Map<List<Class<?>>, Pool<KryoContext>> kryoPools = new ConcurrentHashMap<>();
+
+  /**
+   * Kryo contexts of the current thread per list of registered classes. The thread local is only used in case of mode
+   * {@link KryoInstanceMode#THREAD_LOCAL}.
+   */
+  private final ThreadLocal<Map<List<Class<?>>, KryoContext>> threadLocalContexts =
+      new ThreadLocal<Map<List<Class<?>>, KryoContext>>() {
+        @Override
+        protected Map<List<Class<?>>, KryoContext> initialValue( ) {
+          return new HashMap<>();
+        }
+      };
+
+  /**
+   * Initialize object. Kryo instances will be pooled using the default pool size.
+   */
+  public KryoCompositeTypeConverter( ) {
+    this(KryoInstanceMode.POOLED, DEFAULT_MAXIMUM_POOL_SIZE, false);
+  }
+
+  /**
+   * Initialize object.
+   *
+   * @param pInstanceMode Mode that defines how Kryo instances are provided. The parameter must not be null.
+   * @param pMaximumPoolSize Maximum amount of Kryo instances that are kept in a pool per list of registered classes.
+   * The parameter is only relevant in case of mode {@link KryoInstanceMode#POOLED} and must be greater than zero.
+   * @param pSoftReferences Parameter defines if pooled Kryo instances are only referenced softly so that they can be
+   * garbage collected in case of memory pressure.
+   */
+  public KryoCompositeTypeConverter( KryoInstanceMode pInstanceMode, int pMaximumPoolSize, boolean pSoftReferences ) {
+    if (pInstanceMode == null) {
+      throw new IllegalArgumentException("Parameter 'pInstanceMode' must not be null.");
     }
-    else {
-      lInitialSize = 256;
+    if (pMaximumPoolSize <= 0) {
+      throw new IllegalArgumentException("Parameter 'pMaximumPoolSize' must be greater than zero.");
     }
-    ByteArrayOutputStream lByteOutputStream = new ByteArrayOutputStream(lInitialSize);
-    Output lOutput = new Output(lByteOutputStream);
+    instanceMode = pInstanceMode;
+    maximumPoolSize = pMaximumPoolSize;
+    softReferences = pSoftReferences;
+  }
 
-    // Serialize the passed object
-    Kryo lKryo = this.getKryoInstance(pSerializedClasses);
-    lKryo.writeObject(lOutput, pObject);
-    lOutput.close();
+  /**
+   * Method returns the mode that defines how Kryo instances are provided.
+   *
+   * @return {@link KryoInstanceMode} Mode of this converter. The method never returns null.
+   */
+  public KryoInstanceMode getInstanceMode( ) {
+    return instanceMode;
+  }
 
-    // As it is expected we have to convert byte[] to base 64 encoded string.
-    byte[] lBuffer = lByteOutputStream.toByteArray();
-    return Base64.getUrlEncoder().encodeToString(lBuffer);
+  @Override
+  public String serializeObject( Object pObject, List<Class<?>> pSerializedClasses ) {
+    KryoContext lContext = this.obtainKryoContext(pSerializedClasses);
+    try {
+      return lContext.serialize(pObject);
+    }
+    finally {
+      this.releaseKryoContext(lContext, pSerializedClasses);
+    }
   }
 
   @Override
   public <T> T deserializeObject( String pSerializedObject, Class<T> pResultType, List<Class<?>> pSerializedClasses ) {
-    // Decode serialized object as we work with base 64 encoding
-    byte[] lDecodedObject = Base64.getUrlDecoder().decode(pSerializedObject);
-    Kryo lKryo = this.getKryoInstance(pSerializedClasses);
-    Input lInput = new Input(lDecodedObject);
-    return lKryo.readObject(lInput, pResultType);
+    KryoContext lContext = this.obtainKryoContext(pSerializedClasses);
+    try {
+      return lContext.deserialize(pSerializedObject, pResultType);
+    }
+    finally {
+      this.releaseKryoContext(lContext, pSerializedClasses);
+    }
+  }
+
+  /**
+   * Method returns a Kryo context whose Kryo instance has registered the passed classes. The returned context must be
+   * released using {@link #releaseKryoContext(KryoContext, List)} after usage.
+   *
+   * @param pSerializedClasses Classes that need to be registered. The parameter may be null.
+   * @return {@link KryoContext} Kryo context that may be used exclusively by the calling thread. The method never
+   * returns null.
+   */
+  private KryoContext obtainKryoContext( List<Class<?>> pSerializedClasses ) {
+    KryoContext lContext;
+    switch (instanceMode) {
+      case POOLED:
+        lContext = this.getKryoPool(pSerializedClasses).obtain();
+        break;
+
+      case THREAD_LOCAL:
+        Map<List<Class<?>>, KryoContext> lContexts = threadLocalContexts.get();
+        List<Class<?>> lKey = this.getKey(pSerializedClasses);
+        lContext = lContexts.get(lKey);
+        if (lContext == null) {
+          lContext = new KryoContext(this.createKryoInstance(pSerializedClasses));
+          lContexts.put(List.copyOf(lKey), lContext);
+        }
+        break;
+
+      default:
+        lContext = new KryoContext(this.createKryoInstance(pSerializedClasses));
+    }
+    return lContext;
+  }
+
+  /**
+   * Method releases the passed Kryo context after usage.
+   *
+   * @param pContext Kryo context that is no longer used. The parameter must not be null.
+   * @param pSerializedClasses Classes that were used to obtain the Kryo context. The parameter may be null.
+   */
+  private void releaseKryoContext( KryoContext pContext, List<Class<?>> pSerializedClasses ) {
+    pContext.reset();
+    if (instanceMode == KryoInstanceMode.POOLED) {
+      this.getKryoPool(pSerializedClasses).free(pContext);
+    }
+  }
+
+  /**
+   * Method returns the pool of Kryo contexts for the passed list of classes.
+   *
+   * @param pSerializedClasses Classes that need to be registered. The parameter may be null.
+   * @return {@link Pool} Pool with Kryo contexts for the passed classes. The method never returns null.
+   */
+  private Pool<KryoContext> getKryoPool( List<Class<?>> pSerializedClasses ) {
+    List<Class<?>> lKey = this.getKey(pSerializedClasses);
+    Pool<KryoContext> lPool = kryoPools.get(lKey);
+    if (lPool == null) {
+      // Key is copied as the passed list might be changed by the caller later on.
+      lPool = kryoPools.computeIfAbsent(List.copyOf(lKey), pKey -> new Pool<KryoContext>(true,
+          softReferences, maximumPoolSize) {
+        @Override
+        protected KryoContext create( ) {
+          return new KryoContext(KryoCompositeTypeConverter.this.createKryoInstance(pKey));
+        }
+      });
+    }
+    return lPool;
+  }
+
+  private List<Class<?>> getKey( List<Class<?>> pSerializedClasses ) {
+    List<Class<?>> lKey;
+    if (pSerializedClasses != null) {
+      lKey = pSerializedClasses;
+    }
+    else {
+      lKey = Collections.emptyList();
+    }
+    return lKey;
   }
 
-  private Kryo getKryoInstance( List<Class<?>> pSerializedClasses ) {
-    // Create new Kryo instance. As they are not thread-safe we have to created them over and over again.
+  private Kryo createKryoInstance( List<Class<?>> pSerializedClasses ) {
+    // Create new Kryo instance. As they are not thread-safe they must never be shared between threads at the same time.
     Kryo lKryo = new Kryo();
 
     // If provided then register all classes that are involved in the serialization process. This will reduce the size
@@ -0,0 +1,124 @@
+/**
+ * Copyright 2004 - 2022 anaptecs GmbH, Burgstr. 96, 72764 Reutlingen, Germany
+ *
+ * All rights reserved.
+ */
+package com.anaptecs.jeaf.rest.composite.impl.kryo;
+
+import java.nio.charset.StandardCharsets;
+
+import com.esotericsoftware.kryo.Kryo;
+import com.esotericsoftware.kryo.io.Input;
+import com.esotericsoftware.kryo.io.Output;
+
+/**
+ * Class bundles a Kryo instance together with the buffers that are required to serialize and deserialize objects. Just
+ * like Kryo itself instances of this class are not thread-safe and must only be used by one thread at a time.
+ *
+ * @author JEAF Development Team
+ */
+final class KryoContext {
+  /**
+   * Initial size of all buffers.
+   */
+  private static final int INITIAL_BUFFER_SIZE = 256;
+
+  /**
+   * Buffers that grew larger than this size are not kept after usage so that single large objects do not permanently
+   * increase memory consumption.
+   */
+  private static final int MAX_RETAINED_BUFFER_SIZE = 64 * 1024;
+
+  /**
+   * Kryo instance that is used for serialization.
+   */
+  private final Kryo kryo;
+
+  /**
+   * Output to which serialized objects are written. The output uses its internal buffer only.
+   */
+  private final Output output;
+
+  /**
+   * Input from which objects are deserialized.
+   */
+  private final Input input;
+
+  /**
+   * Buffer that contains the base 64 encoded representation of an object.
+   */
+  private byte[] textBuffer;
+
+  /**
+   * Buffer that contains the decoded bytes of an object.
+   */
+  private byte[] binaryBuffer;
+
+  /**
+   * Initialize object.
+   *
+   * @param pKryo Kryo instance that is used for serialization. The parameter must not be null.
+   */
+  KryoContext( Kryo pKryo ) {
+    kryo = pKryo;
+    output = new Output(INITIAL_BUFFER_SIZE, -1);
+    input = new Input();
+    textBuffer = new byte[Base64URL.getEncodedLength(INITIAL_BUFFER_SIZE)];
+    binaryBuffer = new byte[INITIAL_BUFFER_SIZE];
+  }
+
+  /**
+   * Method serializes the passed object and returns its base 64 URL encoded representation.
+   *
+   * @param pObject Object that should be serialized. The parameter may be null.
+   * @return String Base 64 encoded representation of the object. The method never returns null.
+   */
+  String serialize( Object pObject ) {
+    output.reset();
+    kryo.writeObject(output, pObject);
+
+    // Base 64 encoding is done directly from the internal buffer of the output.
+    int lLength = output.position();
+    int lEncodedLength = Base64URL.getEncodedLength(lLength);
+    if (textBuffer.length < lEncodedLength) {
+      textBuffer = new byte[lEncodedLength];
+    }
+    Base64URL.encode(output.getBuffer(), lLength, textBuffer);
+    return new String(textBuffer, 0, lEncodedLength, StandardCharsets.ISO_8859_1);
+  }
+
+  /**
+   * Method deserializes the passed base 64 URL encoded object.
+   *
+   * @param pSerializedObject Base 64 encoded representation of the object. The parameter must not be null.
+   * @param pResultType Type of the serialized object. The parameter must not be null.
+   * @return T Deserialized object.
+   */
+  <T> T deserialize( String pSerializedObject, Class<T> pResultType ) {
+    // Decode serialized object directly into the buffer that is used by the input.
+    int lDecodedLength = Base64URL.getDecodedLength(pSerializedObject);
+    if (binaryBuffer.length < lDecodedLength) {
+      binaryBuffer = new byte[lDecodedLength];
+    }
+    Base64URL.decode(pSerializedObject, binaryBuffer);
+    input.setBuffer(binaryBuffer, 0, lDecodedLength);
+    return kryo.readObject(input, pResultType);
+  }
+
+  /**
+   * Method resets this context after usage so that it can be used again. Buffers that grew too large are released.
+   */
+  void reset( ) {
+    // In case of an exception during (de-)serialization Kryo might not have been reset automatically.
+    kryo.reset();
+    if (output.getBuffer().length > MAX_RETAINED_BUFFER_SIZE) {
+      output.setBuffer(new byte[INITIAL_BUFFER_SIZE], -1);
+    }
+    if (textBuffer.length > Base64URL.getEncodedLength(MAX_RETAINED_BUFFER_SIZE)) {
+      textBuffer = new byte[Base64URL.getEncodedLength(INITIAL_BUFFER_SIZE)];
+    }
+    if (binaryBuffer.length > MAX_RETAINED_BUFFER_SIZE) {
+      binaryBuffer = new byte[INITIAL_BUFFER_SIZE];
+    }
+  }
+}
@@ -0,0 +1,32 @@
+/**
+ * Copyright 2004 - 2022 anaptecs GmbH, Burgstr. 96, 72764 Reutlingen, Germany
+ *
+ * All rights reserved.
+ */
+package com.anaptecs.jeaf.rest.composite.impl.kryo;
+
+/**
+ * Enumeration defines how {@link KryoCompositeTypeConverter} provides the Kryo instances that are used for
+ * serialization. As Kryo instances are not thread-safe they must never be used by two threads at the same time.
+ *
+ * @author JEAF Development Team
+ */
+public enum KryoInstanceMode {
+  /**
+   * Kryo instances are kept in bounded pools. There is one pool for every distinct list of registered classes. This
+   * mode fits to all kinds of threading models including virtual threads.
+   */
+  POOLED,
+
+  /**
+   * Every thread keeps its own Kryo instance for every distinct list of registered classes. This mode avoids any
+   * synchronization but should only be used with a limited number of long living threads.
+   */
+  THREAD_LOCAL,
+
+  /**
+   * A new Kryo instance is created for every call. This mode is the most expensive one and should only be used if
+   * memory consumption is more important than performance.
+   */
+  NEW_INSTANCE;
+}
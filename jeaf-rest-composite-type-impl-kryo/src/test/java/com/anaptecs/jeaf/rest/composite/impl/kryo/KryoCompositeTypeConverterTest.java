@@ -0,0 +1,176 @@
+/**
+ * Copyright 2004 - 2022 anaptecs GmbH, Burgstr. 96, 72764 Reutlingen, Germany
+ *
+ * All rights reserved.
+ */
+package com.anaptecs.jeaf.rest.composite.impl.kryo;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+
+import com.esotericsoftware.kryo.Kryo;
+import com.esotericsoftware.kryo.io.Input;
+
+public class KryoCompositeTypeConverterTest {
+  private static final List<Class<?>> SERIALIZED_CLASSES = Arrays.asList(Payload.class, ArrayList.class);
+
+  @Test
+  void testRoundTrip( ) throws Exception {
+    for (KryoInstanceMode lNextMode : KryoInstanceMode.values()) {
+      KryoCompositeTypeConverter lConverter = new KryoCompositeTypeConverter(lNextMode, 2, false);
+      assertEquals(lNextMode, lConverter.getInstanceMode());
+      Payload lPayload = new Payload("J\u00fcrgen", 4711, 3);
+
+      // With and without registered classes.
+      String lSerialized = lConverter.serializeObject(lPayload, SERIALIZED_CLASSES);
+      assertEquals(lPayload, lConverter.deserializeObject(lSerialized, Payload.class, SERIALIZED_CLASSES));
+      String lUnregistered = lConverter.serializeObject(lPayload, null);
+      assertTrue(lUnregistered.length() > lSerialized.length(), "Class names expected in " + lNextMode);
+      assertEquals(lPayload, lConverter.deserializeObject(lUnregistered, Payload.class, null));
+
+      // Serialized objects are still readable with a plain Kryo instance and the JDK decoder.
+      Kryo lKryo = new Kryo();
+      for (Class<?> lNextClass : SERIALIZED_CLASSES) {
+        lKryo.register(lNextClass);
+      }
+      byte[] lDecoded = Base64.getUrlDecoder().decode(lSerialized);
+      assertEquals(lPayload, lKryo.readObject(new Input(lDecoded), Payload.class));
+
+      // Payloads whose buffers are larger than 64KB are not retained but later payloads must still work.
+      Payload lLargePayload = new Payload("large", 1, 20000);
+      String lLargeSerialized = lConverter.serializeObject(lLargePayload, SERIALIZED_CLASSES);
+      assertTrue(lLargeSerialized.length() > 64 * 1024 * 4 / 3, "Payload too small in " + lNextMode);
+      assertEquals(lLargePayload, lConverter.deserializeObject(lLargeSerialized, Payload.class, SERIALIZED_CLASSES));
+      assertEquals(lSerialized, lConverter.serializeObject(lPayload, SERIALIZED_CLASSES));
+      assertEquals(lPayload, lConverter.deserializeObject(lSerialized, Payload.class, SERIALIZED_CLASSES));
+    }
+    assertThrows(IllegalArgumentException.class, ( ) -> new KryoCompositeTypeConverter(null, 1, false));
+    assertThrows(IllegalArgumentException.class,
+        ( ) -> new KryoCompositeTypeConverter(KryoInstanceMode.POOLED, 0, false));
+  }
+
+  @Test
+  void testConcurrentRoundTrip( ) throws Exception {
+    ExecutorService lThreadPool = Executors.newFixedThreadPool(8);
+    try {
+      for (KryoInstanceMode lNextMode : KryoInstanceMode.values()) {
+        KryoCompositeTypeConverter lConverter = new KryoCompositeTypeConverter(lNextMode, 2, true);
+        List<Future<?>> lResults = new ArrayList<>();
+        for (int i = 0; i < 32; i++) {
+          int lThread = i;
+          lResults.add(lThreadPool.submit(( ) -> {
+            for (int j = 0; j < 200; j++) {
+              Payload lPayload = new Payload("Thread " + lThread, j, j % 10);
+              String lSerialized = lConverter.serializeObject(lPayload, SERIALIZED_CLASSES);
+              assertEquals(lPayload, lConverter.deserializeObject(lSerialized, Payload.class, SERIALIZED_CLASSES));
+            }
+          }));
+        }
+        for (Future<?> lNextResult : lResults) {
+          lNextResult.get();
+        }
+      }
+    }
+    finally {
+      lThreadPool.shutdown();
+    }
+  }
+
+  @Test
+  void testBase64URL( ) {
+    Random lRandom = new Random(4711);
+    List<Integer> lLengths = new ArrayList<>();
+    for (int i = 0; i <= 64; i++) {
+      lLengths.add(i);
+    }
+    lLengths.add(70000);
+    for (int lNextLength : lLengths) {
+      byte[] lBytes = new byte[lNextLength];
+      lRandom.nextBytes(lBytes);
+      byte[] lTarget = new byte[Base64URL.getEncodedLength(lNextLength)];
+      int lEncodedLength = Base64URL.encode(lBytes, lNextLength, lTarget);
+      assertEquals(lTarget.length, lEncodedLength);
+      String lEncoded = new String(lTarget, 0, lEncodedLength, StandardCharsets.ISO_8859_1);
+
+      // Encoding is the same as the one of the JDK. Padding is kept to stay compatible with earlier versions.
+      assertEquals(Base64.getUrlEncoder().encodeToString(lBytes), lEncoded);
+      String lUnpadded = Base64.getUrlEncoder().withoutPadding().encodeToString(lBytes);
+      assertEquals(lUnpadded, lEncoded.replace("=", ""));
+
+      // Padding is optional when decoding.
+      for (String lNextEncoded : Arrays.asList(lEncoded, lUnpadded)) {
+        int lDecodedLength = Base64URL.getDecodedLength(lNextEncoded);
+        assertEquals(lNextLength, lDecodedLength);
+        byte[] lDecoded = new byte[lDecodedLength];
+        assertEquals(lNextLength, Base64URL.decode(lNextEncoded, lDecoded));
+        assertArrayEquals(lBytes, lDecoded);
+      }
+    }
+
+    // Invalid length, padding and characters.
+    byte[] lTarget = new byte[16];
+    assertThrows(IllegalArgumentException.class, ( ) -> Base64URL.decode("QUJDR", lTarget));
+    assertThrows(IllegalArgumentException.class, ( ) -> Base64URL.decode("QQ=", lTarget));
+    assertThrows(IllegalArgumentException.class, ( ) -> Base64URL.decode("Q===", lTarget));
+    assertThrows(IllegalArgumentException.class, ( ) -> Base64URL.decode("QU+/", lTarget));
+    assertThrows(IllegalArgumentException.class, ( ) -> Base64URL.decode("QU\u00fc_", lTarget));
+  }
+
+  public static class Payload {
+    private String name;
+
+    private int number;
+
+    private ArrayList<String> values;
+
+    public Payload( ) {
+      // Required by Kryo.
+    }
+
+    public Payload( String pName, int pNumber, int pValueCount ) {
+      name = pName;
+      number = pNumber;
+      values = new ArrayList<>(pValueCount);
+      for (int i = 0; i < pValueCount; i++) {
+        values.add("Value " + i);
+      }
+    }
+
+    @Override
+    public boolean equals( Object pObject ) {
+      boolean lEquals;
+      if (pObject instanceof Payload) {
+        Payload lPayload = (Payload) pObject;
+        lEquals = name.equals(lPayload.name) && number == lPayload.number && values.equals(lPayload.values);
+      }
+      else {
+        lEquals = false;
+      }
+      return lEquals;
+    }
+
+    @Override
+    public int hashCode( ) {
+      return name.hashCode();
+    }
+
+    @Override
+    public String toString( ) {
+      return name + "/" + number + "/" + values.size();
+    }
+  }
+}
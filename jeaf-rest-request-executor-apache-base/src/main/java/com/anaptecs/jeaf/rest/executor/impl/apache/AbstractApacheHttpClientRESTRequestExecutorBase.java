@@ -5,45 +5,83 @@
  */
 package com.anaptecs.jeaf.rest.executor.impl.apache;
 
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InputStreamReader;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
-import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Spliterator;
+import java.util.Spliterators;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
+import org.apache.hc.client5.http.HttpResponseException;
+import org.apache.hc.client5.http.async.methods.SimpleHttpResponse;
+import org.apache.hc.client5.http.async.methods.SimpleResponseConsumer;
+import org.apache.hc.client5.http.config.ConnectionConfig;
 import org.apache.hc.client5.http.config.RequestConfig;
-import org.apache.hc.client5.http.cookie.BasicCookieStore;
-import org.apache.hc.client5.http.impl.DefaultHttpRequestRetryStrategy;
+import org.apache.hc.client5.http.impl.async.CloseableHttpAsyncClient;
+import org.apache.hc.client5.http.impl.async.H2AsyncClientBuilder;
+import org.apache.hc.client5.http.impl.async.HttpAsyncClientBuilder;
 import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
 import org.apache.hc.client5.http.impl.classic.CloseableHttpResponse;
 import org.apache.hc.client5.http.impl.classic.HttpClientBuilder;
-import org.apache.hc.client5.http.impl.cookie.BasicClientCookie;
-import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
-import org.apache.hc.client5.http.protocol.HttpClientContext;
+import org.apache.hc.client5.http.impl.nio.PoolingAsyncClientConnectionManager;
+import org.apache.hc.client5.http.impl.nio.PoolingAsyncClientConnectionManagerBuilder;
 import org.apache.hc.client5.http.socket.ConnectionSocketFactory;
 import org.apache.hc.client5.http.socket.PlainConnectionSocketFactory;
 import org.apache.hc.client5.http.ssl.SSLConnectionSocketFactory;
+import org.apache.hc.core5.concurrent.CancellableDependency;
+import org.apache.hc.core5.concurrent.FutureCallback;
 import org.apache.hc.core5.http.ClassicHttpRequest;
+import org.apache.hc.core5.http.ClassicHttpResponse;
+import org.apache.hc.core5.http.ConnectionRequestTimeoutException;
 import org.apache.hc.core5.http.ContentType;
 import org.apache.hc.core5.http.Header;
 import org.apache.hc.core5.http.HttpEntity;
 import org.apache.hc.core5.http.HttpHeaders;
+import org.apache.hc.core5.http.HttpStatus;
+import org.apache.hc.core5.http.Method;
 import org.apache.hc.core5.http.URIScheme;
 import org.apache.hc.core5.http.config.Registry;
 import org.apache.hc.core5.http.config.RegistryBuilder;
 import org.apache.hc.core5.http.io.SocketConfig;
-import org.apache.hc.core5.http.io.support.ClassicRequestBuilder;
-import org.apache.hc.core5.http.protocol.BasicHttpContext;
+import org.apache.hc.core5.http.io.entity.ByteArrayEntity;
+import org.apache.hc.core5.http.io.entity.EntityUtils;
+import org.apache.hc.core5.http.message.BasicClassicHttpResponse;
+import org.apache.hc.core5.http.nio.AsyncEntityProducer;
+import org.apache.hc.core5.http.nio.entity.BasicAsyncEntityProducer;
+import org.apache.hc.core5.http.nio.support.BasicRequestProducer;
 import org.apache.hc.core5.http.protocol.HttpContext;
+import org.apache.hc.core5.http2.config.H2Config;
+import org.apache.hc.core5.io.CloseMode;
 import org.apache.hc.core5.pool.PoolConcurrencyPolicy;
 import org.apache.hc.core5.pool.PoolReusePolicy;
+import org.apache.hc.core5.reactor.IOReactorConfig;
 import org.apache.hc.core5.util.TimeValue;
 import org.apache.hc.core5.util.Timeout;
 
@@ -54,9 +92,28 @@ import com.anaptecs.jeaf.rest.executor.api.ObjectType.SingleObjectType;
 import com.anaptecs.jeaf.rest.executor.api.ObjectType.TypeReferenceObjectType;
 import com.anaptecs.jeaf.rest.executor.api.RESTRequest;
 import com.anaptecs.jeaf.rest.executor.api.RESTRequestExecutor;
+import com.anaptecs.jeaf.rest.executor.impl.codec.BodyCodec;
+import com.anaptecs.jeaf.rest.executor.impl.codec.CBORBodyCodec;
+import com.anaptecs.jeaf.rest.executor.impl.codec.JSONBodyCodec;
+import com.anaptecs.jeaf.rest.executor.impl.codec.SmileBodyCodec;
+import com.anaptecs.jeaf.rest.executor.impl.compression.ContentCodec;
+import com.anaptecs.jeaf.rest.executor.impl.compression.DeflateContentCodec;
+import com.anaptecs.jeaf.rest.executor.impl.compression.GzipContentCodec;
+import com.anaptecs.jeaf.rest.executor.impl.config.PoolSizingPolicy;
+import com.anaptecs.jeaf.rest.executor.impl.config.ProtocolPolicy;
 import com.anaptecs.jeaf.rest.executor.impl.config.RESTClientConfiguration;
+import com.anaptecs.jeaf.rest.executor.impl.metrics.ConnectionPoolStatistics;
+import com.anaptecs.jeaf.rest.executor.impl.metrics.PoolResizeDecision;
+import com.anaptecs.jeaf.rest.executor.impl.metrics.RESTClientMetrics;
+import com.anaptecs.jeaf.rest.executor.impl.metrics.RESTMetricsRegistry;
+import com.anaptecs.jeaf.rest.executor.impl.trace.RequestTraceEvent;
+import com.anaptecs.jeaf.rest.executor.impl.trace.ResponseTraceEvent;
+import com.anaptecs.jeaf.rest.executor.impl.trace.TraceEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.MappingIterator;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import com.fasterxml.jackson.databind.type.TypeFactory;
 
 import io.github.resilience4j.circuitbreaker.CircuitBreaker;
@@ -74,24 +131,106 @@ import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
  * <li>Writing of request and response log. String representation is already provided ({@link #traceRequest(String)},
  * {@link #traceResponse(String)})</li>
  * <li>Conversion of exceptions into problems (){@link #processInternalServerError(URI, Exception, String)},
- * {@link #processErrorResponse(URI, CloseableHttpResponse)}</li>
+ * {@link #processErrorResponse(URI, ClassicHttpResponse)}</li>
  * <li>Lookup for matching JSON Object Mapper ({@link #getObjectMapper()})</li>
  * </ul>
  * 
+ * Optionally metrics about every call can be recorded by providing a {@link RESTMetricsRegistry}
+ * ({@link #getMetricsRegistry()}). Metrics are recorded per REST service and path template.
+ * 
+ * Besides the blocking API of {@link RESTRequestExecutor} this class also implements {@link AsyncRESTRequestExecutor}.
+ * Asynchronous requests are executed using Apache HTTP Client's async client and share circuit breaker, tracing and
+ * error handling with their blocking counterparts. All http clients are closed together with the executor
+ * ({@link #close()}).
+ * 
+ * REST services may also be called using HTTP/2 ({@link ProtocolPolicy#HTTP_2}). In this case all requests are sent
+ * as streams that are multiplexed over a few connections. Blocking requests then wait for the result of the
+ * asynchronous execution.
+ * 
+ * Responses are requested compressed using the content encodings that are accepted by the configuration of a REST
+ * service. Compressed responses are decoded while they are read. Besides "gzip" and "deflate" further encodings can be
+ * supported by providing additional codecs ({@link #getContentCodecs()}).
+ * 
+ * Request and response bodies may also be exchanged using binary formats like Smile or CBOR instead of JSON. The
+ * preferred formats are advertised to the REST service and responses are read depending on their content type
+ * ({@link #getBodyCodecs()}).
+ * 
+ * Large collections can be read as stream ({@link #executeStreamingResultRequest(RESTRequest, int, ObjectType)}). Their
+ * elements are parsed while the stream is consumed so that the collection is never held in memory as a whole.
+ * 
+ * Blocking requests may also be fanned out to several threads using {@link #executeAll(List, int, ObjectType)}. On Java
+ * 21 or later virtual threads are used for that purpose. Internally no monitors are held during request execution so
+ * that virtual threads do not pin their carrier threads.
+ * 
+ * Responses of GET requests can be cached per REST service ({@link RESTClientConfiguration#getResponseCacheSize()}).
+ * Cached responses are used as long as they are fresh and are revalidated using conditional requests afterwards. The
+ * cache is only used by blocking requests that are not sent using HTTP/2.
+ * 
+ * Identical GET requests that are executed concurrently may also be coalesced
+ * ({@link RESTClientConfiguration#isRequestCoalescing()}). Then only one request is sent and all callers share its
+ * result or error. Just like the response cache this only applies to blocking requests that are not sent using HTTP/2.
+ * 
  * @author JEAF Development Team
  */
-public abstract class AbstractApacheHttpClientRESTRequestExecutorBase implements RESTRequestExecutor {
+public abstract class AbstractApacheHttpClientRESTRequestExecutorBase
+    implements RESTRequestExecutor, AsyncRESTRequestExecutor, AutoCloseable {
+  /**
+   * Executor that is used to fan out requests. If available virtual threads are used.
+   */
+  private static final ExecutorService FAN_OUT_EXECUTOR = VirtualThreads.newTaskExecutor();
+
+  /**
+   * Maximum amount of request paths per REST service whose metrics are cached. Paths that are not cached any longer
+   * have to be converted into their path template on every call.
+   */
+  private static final int MAX_CACHED_PATHS = 1024;
+
+  /**
+   * Maximum amount of path templates per REST service for which separate metrics are recorded. This limit protects
+   * metrics backends in case that path templates can not be derived properly.
+   */
+  private static final int MAX_PATH_TEMPLATES = 256;
+
+  /**
+   * Maximum amount of response types whose Jackson types and object readers are cached. Further response types have to
+   * be resolved on every call.
+   */
+  private static final int MAX_CACHED_RESPONSE_TYPES = 1024;
+
+  /**
+   * Path template that is used for all calls once {@link #MAX_PATH_TEMPLATES} is reached.
+   */
+  private static final String OVERFLOW_PATH_TEMPLATE = "{other}";
+
+  /**
+   * Map contains the client contexts (http client, circuit breaker and configuration) of all REST services that were
+   * already called. Implementation of this class assumes that there are independent instances for each REST service.
+   * Once a context is created it will only be read, so lookups do not require any locking.
+   */
+  private final Map<Class<?>, ServiceClientContext> clientContexts = new ConcurrentHashMap<>();
+
+  /**
+   * Map contains all async http client instances that are already created. Async clients are only created when a REST
+   * service is called asynchronously for the first time.
+   */
+  private final Map<Class<?>, CloseableHttpAsyncClient> asyncHttpClients = new ConcurrentHashMap<>();
+
+  /**
+   * Map contains the HTTP/2 transports of all REST services that are called using {@link ProtocolPolicy#HTTP_2}.
+   * Transports are created when a REST service is called for the first time.
+   */
+  private final Map<Class<?>, H2Transport> h2Transports = new ConcurrentHashMap<>();
+
   /**
-   * Map contains all http client instances that are already created. Implementation of this class assumes that there
-   * are independent instances for each REST service.
+   * Map contains the Jackson types of all response types that were already resolved.
    */
-  private Map<Class<?>, CloseableHttpClient> httpClients = new HashMap<>();
+  private final Map<ResponseTypeKey, JavaType> responseTypes = new ConcurrentHashMap<>();
 
   /**
-   * Map contains all circuit breakers that are already created. Implementation of this class assumes that there are
-   * independent instances for each REST service.
+   * Map contains prepared object readers per object mapper and response type. Prepared readers already hold the
+   * deserializer of their type so that it does not have to be looked up per call.
    */
-  private Map<Class<?>, CircuitBreaker> circuitBreakers = new HashMap<>();
+  private final Map<ObjectMapper, Map<JavaType, ObjectReader>> objectReaders = new ConcurrentHashMap<>();
 
   /**
    * Method returns the JSON Object Mapper that should be used to serialize from Java to JSON and vice versa.
@@ -130,6 +269,28 @@ public abstract class AbstractApacheHttpClientRESTRequestExecutorBase implements
    */
   protected abstract void traceResponse( String pResponseLog );
 
+  /**
+   * Method traces the passed request event. The default implementation formats the event and passes it to
+   * {@link #traceRequest(String)}. Implementations may override this method to format the event only if the trace is
+   * really written e.g. by passing the event as parameter to their logging framework.
+   *
+   * @param pEvent Event describing the request that should be traced. The parameter is never null.
+   */
+  protected void traceRequest( RequestTraceEvent pEvent ) {
+    this.traceRequest(pEvent.toString());
+  }
+
+  /**
+   * Method traces the passed response event. The default implementation formats the event and passes it to
+   * {@link #traceResponse(String)}. Implementations may override this method to format the event only if the trace is
+   * really written e.g. by passing the event as parameter to their logging framework.
+   *
+   * @param pEvent Event describing the response that should be traced. The parameter is never null.
+   */
+  protected void traceResponse( ResponseTraceEvent pEvent ) {
+    this.traceResponse(pEvent.toString());
+  }
+
   /**
    * Method is called during request execution in case that an exception occurs. This method is responsible to trace the
    * passed exception together with the error message.
@@ -143,12 +304,65 @@ public abstract class AbstractApacheHttpClientRESTRequestExecutorBase implements
    * Method will be called in case that an REST resource returned an error. It is expected that this method creates a
    * description of the Problem and returns it as {@link RuntimeException} e.g. using Zalando Problem library.
    * 
+   * For reasons of compatibility the default implementation passes responses of blocking requests to
+   * {@link #processErrorResponse(URI, CloseableHttpResponse)}. Responses of asynchronous requests can not be passed to
+   * this method. Instead they are reported as internal error
+   * ({@link #processInternalServerError(URI, Exception, String)}). Implementations that execute asynchronous requests
+   * should therefore override this method.
+   * 
+   * @param pRequestURI URI of the request. The parameter must not be null.
+   * @param pResponse Apache HTTP Client response that was received from the REST resource. In case of asynchronous
+   * requests the response already contains the complete body.
+   * @return {@link RuntimeException} Runtime exception representing the occurred problem. The method must not return
+   * null.
+   */
+  @SuppressWarnings("deprecation")
+  protected RuntimeException processErrorResponse( URI pRequestURI, ClassicHttpResponse pResponse ) {
+    RuntimeException lException;
+    if (pResponse instanceof CloseableHttpResponse) {
+      lException = this.processErrorResponse(pRequestURI, (CloseableHttpResponse) pResponse);
+    }
+    else {
+      lException = this.processUnhandledErrorResponse(pRequestURI, pResponse);
+    }
+    return lException;
+  }
+
+  /**
+   * Method will be called in case that an REST resource returned an error to a blocking request. It is expected that
+   * this method creates a description of the Problem and returns it as {@link RuntimeException} e.g. using Zalando
+   * Problem library.
+   * 
+   * The method is only called by the default implementation of {@link #processErrorResponse(URI, ClassicHttpResponse)}
+   * which in turn is not called by this method. If neither of the two methods is overridden then errors are reported
+   * as internal error ({@link #processInternalServerError(URI, Exception, String)}).
+   * 
    * @param pRequestURI URI of the request. The parameter must not be null.
    * @param pResponse Apache HTTP Client response that was received from the REST resource.
    * @return {@link RuntimeException} Runtime exception representing the occurred problem. The method must not return
    * null.
+   * @deprecated Please override {@link #processErrorResponse(URI, ClassicHttpResponse)} instead as it is also called
+   * for asynchronous requests.
+   */
+  @Deprecated
+  protected RuntimeException processErrorResponse( URI pRequestURI, CloseableHttpResponse pResponse ) {
+    return this.processUnhandledErrorResponse(pRequestURI, pResponse);
+  }
+
+  /**
+   * Method reports an error response that could not be processed by the implementation as internal error.
+   * 
+   * @param pRequestURI URI of the request. The parameter must not be null.
+   * @param pResponse Apache HTTP Client response that was received from the REST resource. The parameter must not be
+   * null.
+   * @return {@link RuntimeException} Runtime exception representing the occurred problem. The method never returns
+   * null.
    */
-  protected abstract RuntimeException processErrorResponse( URI pRequestURI, CloseableHttpResponse pResponse );
+  private RuntimeException processUnhandledErrorResponse( URI pRequestURI, ClassicHttpResponse pResponse ) {
+    return this.processInternalServerError(pRequestURI,
+        new HttpResponseException(pResponse.getCode(), pResponse.getReasonPhrase()),
+        "REST Service " + pRequestURI + " returned unexpected status code " + pResponse.getCode());
+  }
 
   /**
    * This method will be called in case that an internal error occurs during REST request execution. It is expected that
@@ -175,14 +389,112 @@ public abstract class AbstractApacheHttpClientRESTRequestExecutorBase implements
    */
   protected abstract RESTClientConfiguration getConfiguration( Class<?> pServiceClass );
 
+  /**
+   * Method returns the registry to which metrics about all calls of the passed REST service are recorded. The method is
+   * only called once per REST service. By default no metrics are recorded.
+   * 
+   * @param pServiceClass Class representing the service whose metrics registry should be returned.
+   * @return {@link RESTMetricsRegistry} Metrics registry that should be used. The method must not return null.
+   */
+  protected RESTMetricsRegistry getMetricsRegistry( Class<?> pServiceClass ) {
+    return RESTMetricsRegistry.NOOP;
+  }
+
+  /**
+   * Method returns the path template of the passed request path. Metrics are recorded per path template. As requests
+   * only contain resolved paths the default implementation replaces all segments that look like identifiers e.g.
+   * numbers or UUIDs with "{id}". Implementations with further knowledge about their REST resources may override this
+   * method. The method is only called once per distinct request path as long as not too many paths are used.
+   * 
+   * @param pServiceClass Class representing the called service. The parameter is never null.
+   * @param pPath Path of the request. The parameter may be null.
+   * @return String Path template of the request. The method must not return null.
+   */
+  protected String getPathTemplate( Class<?> pServiceClass, String pPath ) {
+    return PathTemplates.toPathTemplate(pPath);
+  }
+
+  /**
+   * Method returns the codecs that can be used to compress requests and to decode compressed responses. Only encodings
+   * for which a codec is available may be used in the configuration of a REST service. By default codecs for "gzip" and
+   * "deflate" are available. Subclasses may override this method to provide further codecs e.g. for "br" or "zstd".
+   * 
+   * @return {@link List} Available content codecs. The method must not return null.
+   */
+  protected List<ContentCodec> getContentCodecs( ) {
+    return Arrays.asList(new GzipContentCodec(), new DeflateContentCodec());
+  }
+
+  /**
+   * Method returns the codecs that can be used for request and response bodies. Only content types for which a codec is
+   * available may be used in the configuration of a REST service. By default codecs for JSON, Smile and CBOR are
+   * available that are all derived from the object mapper of this executor ({@link #getObjectMapper()}). Subclasses
+   * may override this method to provide further codecs. The returned list has to contain a codec for JSON.
+   * 
+   * @return {@link List} Available body codecs. The method must not return null.
+   */
+  protected List<BodyCodec> getBodyCodecs( ) {
+    ObjectMapper lObjectMapper = this.getObjectMapper();
+    return Arrays.asList(new JSONBodyCodec(lObjectMapper), new SmileBodyCodec(lObjectMapper),
+        new CBORBodyCodec(lObjectMapper));
+  }
+
+  /**
+   * Method is called whenever the connection pool of a REST service was resized in case of adaptive pool sizing. The
+   * default implementation does nothing. Implementations should at least trace the decision.
+   * 
+   * @param pDecision Decision that was applied to the connection pool. The parameter is never null.
+   */
+  protected void reportPoolResize( PoolResizeDecision pDecision ) {
+    // Nothing to do.
+  }
+
+  /**
+   * Method recalculates the size of the connection pool of the passed REST service based on the load that was observed
+   * since the last calculation. The method is called periodically for all REST services with adaptive pool sizing.
+   * 
+   * @param pServiceClass Class representing the service whose connection pool should be resized. The parameter must
+   * not be null.
+   * @return {@link PoolResizeDecision} Decision that was applied or null if the size did not change or adaptive pool
+   * sizing is not enabled for the service.
+   */
+  protected final PoolResizeDecision resizeConnectionPool( Class<?> pServiceClass ) {
+    AdaptivePoolSizer lPoolSizer = this.getClientContext(pServiceClass).getPoolSizer();
+    PoolResizeDecision lDecision;
+    if (lPoolSizer != null) {
+      lDecision = this.resizeConnectionPool(lPoolSizer);
+    }
+    else {
+      lDecision = null;
+    }
+    return lDecision;
+  }
+
+  /**
+   * Method recalculates the size of the connection pool that is adapted by the passed pool sizer.
+   * 
+   * @param pPoolSizer Pool sizer of the connection pool. The parameter must not be null.
+   * @return {@link PoolResizeDecision} Decision that was applied or null if the size did not change.
+   */
+  private PoolResizeDecision resizeConnectionPool( AdaptivePoolSizer pPoolSizer ) {
+    PoolResizeDecision lDecision = pPoolSizer.resize();
+    if (lDecision != null) {
+      this.reportPoolResize(lDecision);
+    }
+    return lDecision;
+  }
+
   @Override
   public final void executeNoResultRequest( RESTRequest pRequest, int pSuccessfulStatusCode ) {
-    // Execute request.
-    Class<?> lServiceClass = pRequest.getServiceClass();
-    RESTClientConfiguration lConfiguration = this.getConfiguration(lServiceClass);
-    ClassicHttpRequest lHttpClientRequest = this.createHttpClientRequest(pRequest, lConfiguration);
-    HttpContext lHttpContext = this.createHttpContext(pRequest, lConfiguration);
-    this.executeRequest(lServiceClass, lHttpClientRequest, lHttpContext, pSuccessfulStatusCode, null);
+    // Execute request. Requests to REST services that are called using HTTP/2 are always executed asynchronously.
+    ServiceClientContext lClientContext = this.getClientContext(pRequest.getServiceClass());
+    if (this.isHTTP2(lClientContext)) {
+      this.await(this.executeRequestAsync(pRequest, pSuccessfulStatusCode, null));
+      return;
+    }
+    ClassicHttpRequest lHttpClientRequest = this.createHttpClientRequest(pRequest, lClientContext);
+    RESTClientMetrics lMetrics = this.getClientMetrics(lClientContext, pRequest.getPath());
+    this.executeRequest(lClientContext, lHttpClientRequest, lMetrics, pSuccessfulStatusCode, null, false, null, null);
   }
 
   @Override
@@ -193,11 +505,14 @@ public abstract class AbstractApacheHttpClientRESTRequestExecutorBase implements
     JavaType lResponseType = this.getJavaType(pObjectType);
 
     // Execute request and return result.
-    Class<?> lServiceClass = pRequest.getServiceClass();
-    RESTClientConfiguration lConfiguration = this.getConfiguration(lServiceClass);
-    ClassicHttpRequest lHttpClientRequest = this.createHttpClientRequest(pRequest, lConfiguration);
-    HttpContext lHttpContext = this.createHttpContext(pRequest, lConfiguration);
-    return this.executeRequest(lServiceClass, lHttpClientRequest, lHttpContext, pSuccessfulStatusCode, lResponseType);
+    ServiceClientContext lClientContext = this.getClientContext(pRequest.getServiceClass());
+    if (this.isHTTP2(lClientContext)) {
+      return this.await(this.executeRequestAsync(pRequest, pSuccessfulStatusCode, lResponseType));
+    }
+    ClassicHttpRequest lHttpClientRequest = this.createHttpClientRequest(pRequest, lClientContext);
+    RESTClientMetrics lMetrics = this.getClientMetrics(lClientContext, pRequest.getPath());
+    return this.executeCoalescedRequest(lClientContext, lHttpClientRequest, lMetrics, pSuccessfulStatusCode,
+        lResponseType);
   }
 
   @Override
@@ -206,77 +521,440 @@ public abstract class AbstractApacheHttpClientRESTRequestExecutorBase implements
       Class<? extends Collection> pCollectionClass, ObjectType pObjectType ) {
 
     // Create matching response type for collections as defined by the passed parameters
-    JavaType lResponseType = this.getObjectMapper().getTypeFactory().constructCollectionType(pCollectionClass,
-        this.getJavaType(pObjectType));
+    JavaType lResponseType = this.getResponseType(pCollectionClass, pObjectType);
 
     // Execute request and return result.
-    Class<?> lServiceClass = pRequest.getServiceClass();
-    RESTClientConfiguration lConfiguration = this.getConfiguration(lServiceClass);
-    ClassicHttpRequest lHttpClientRequest = this.createHttpClientRequest(pRequest, lConfiguration);
-    HttpContext lHttpContext = this.createHttpContext(pRequest, lConfiguration);
-    return this.executeRequest(lServiceClass, lHttpClientRequest, lHttpContext, pSuccessfulStatusCode, lResponseType);
+    ServiceClientContext lClientContext = this.getClientContext(pRequest.getServiceClass());
+    if (this.isHTTP2(lClientContext)) {
+      return this.await(this.executeRequestAsync(pRequest, pSuccessfulStatusCode, lResponseType));
+    }
+    ClassicHttpRequest lHttpClientRequest = this.createHttpClientRequest(pRequest, lClientContext);
+    RESTClientMetrics lMetrics = this.getClientMetrics(lClientContext, pRequest.getPath());
+    return this.executeCoalescedRequest(lClientContext, lHttpClientRequest, lMetrics, pSuccessfulStatusCode,
+        lResponseType);
+  }
+
+  /**
+   * Method executes the passed request. The called REST resource is expected to return a collection of objects. In
+   * contrast to {@link #executeCollectionResultRequest(RESTRequest, int, Class, ObjectType)} the collection is not
+   * materialized. Instead its elements are parsed one by one while the returned stream is consumed so that even very
+   * large collections do not have to be held in memory.
+   * 
+   * The http response stays open until all elements were consumed or the stream was closed. So the returned stream must
+   * always be closed e.g. using try-with-resources. Exceptions that occur while the response is read are thrown when
+   * the stream is consumed. In case of HTTP/2 the response is received completely before the stream is returned.
+   * 
+   * @param pRequest Request that should be executed. The parameter must not be null.
+   * @param pSuccessfulStatusCode Status code that defines that the call was successful.
+   * @param pObjectType Type of the objects inside the returned collection. The parameter must not be null.
+   * @return {@link Stream} Stream with the elements of the collection returned by the REST resource. If the REST
+   * resource does not return any content then an empty stream is returned. The method never returns null.
+   */
+  public <T> Stream<T> executeStreamingResultRequest( RESTRequest pRequest, int pSuccessfulStatusCode,
+      ObjectType pObjectType ) {
+
+    // Response type describes the elements of the collection and not the collection itself.
+    JavaType lElementType = this.getJavaType(pObjectType);
+
+    // Async client buffers the complete response so there is nothing to stream in case of HTTP/2.
+    ServiceClientContext lClientContext = this.getClientContext(pRequest.getServiceClass());
+    Stream<T> lStream;
+    if (this.isHTTP2(lClientContext)) {
+      JavaType lResponseType = this.getResponseType(List.class, pObjectType);
+      List<T> lResult = this.await(this.executeRequestAsync(pRequest, pSuccessfulStatusCode, lResponseType));
+      lStream = lResult != null ? lResult.stream() : Stream.empty();
+    }
+    else {
+      ClassicHttpRequest lHttpClientRequest = this.createHttpClientRequest(pRequest, lClientContext);
+      RESTClientMetrics lMetrics = this.getClientMetrics(lClientContext, pRequest.getPath());
+      ResponseIterator<T> lIterator = this.executeRequest(lClientContext, lHttpClientRequest, lMetrics,
+          pSuccessfulStatusCode, lElementType, true, null, null);
+      if (lIterator != null) {
+        Spliterator<T> lSpliterator = Spliterators.spliteratorUnknownSize(lIterator, Spliterator.ORDERED);
+        lStream = StreamSupport.stream(lSpliterator, false).onClose(lIterator::close);
+      }
+      else {
+        lStream = Stream.empty();
+      }
+    }
+    return lStream;
+  }
+
+  /**
+   * Method checks if the REST service to which the passed client context belongs is called using HTTP/2.
+   * 
+   * @param pClientContext Client context of the REST service. The parameter must not be null.
+   * @return boolean Method returns true if the REST service is called using HTTP/2 and otherwise false.
+   */
+  private boolean isHTTP2( ServiceClientContext pClientContext ) {
+    return pClientContext.getConfiguration().getProtocolPolicy() == ProtocolPolicy.HTTP_2;
+  }
+
+  /**
+   * Method waits until the passed asynchronous request is completed. Exceptions are reported the same way as in case
+   * of blocking requests.
+   * 
+   * @param pFuture Future of the asynchronous request. The parameter must not be null.
+   * @return T Result of the request.
+   */
+  private <T> T await( CompletableFuture<T> pFuture ) {
+    try {
+      return pFuture.join();
+    }
+    catch (CompletionException e) {
+      // Processing of the response already converted all problems into runtime exceptions.
+      Throwable lCause = e.getCause();
+      if (lCause instanceof RuntimeException) {
+        throw (RuntimeException) lCause;
+      }
+      else {
+        throw e;
+      }
+    }
+  }
+
+  /**
+   * Method executes all passed requests in parallel and waits until all of them are completed. Each request is executed
+   * in its own thread. On Java 21 or later virtual threads are used so that fanning out requests is cheap.
+   * 
+   * Together with pool sizing policy {@link PoolSizingPolicy#VIRTUAL_THREADS} this allows thousands of concurrent
+   * requests without the need to size the connection pool accordingly.
+   * 
+   * @param pRequests Requests that should be executed. The parameter must not be null.
+   * @param pSuccessfulStatusCode Status code that defines that the calls were successful.
+   * @param pObjectType Type of the object that is returned by the REST resources. The parameter must not be null.
+   * @return {@link List} List with the results of all requests. The order of the results is the same as the order of
+   * the passed requests. If a REST resource returns no content then the list contains null at this position. The
+   * method never returns null.
+   */
+  public <T> List<T> executeAll( List<RESTRequest> pRequests, int pSuccessfulStatusCode, ObjectType pObjectType ) {
+    // Start execution of all requests.
+    List<Future<T>> lFutures = new ArrayList<>(pRequests.size());
+    for (RESTRequest lNextRequest : pRequests) {
+      lFutures.add(FAN_OUT_EXECUTOR.submit(
+          ( ) -> this.executeSingleObjectResultRequest(lNextRequest, pSuccessfulStatusCode, pObjectType)));
+    }
+
+    // Collect results. If one of the requests fails then all the others are cancelled.
+    List<T> lResults = new ArrayList<>(lFutures.size());
+    try {
+      for (Future<T> lNextFuture : lFutures) {
+        lResults.add(lNextFuture.get());
+      }
+      return lResults;
+    }
+    catch (ExecutionException e) {
+      this.cancelAll(lFutures);
+      Throwable lCause = e.getCause();
+      if (lCause instanceof RuntimeException) {
+        throw (RuntimeException) lCause;
+      }
+      else {
+        throw new IllegalStateException("Unable to execute REST requests. " + lCause.getMessage(), lCause);
+      }
+    }
+    catch (InterruptedException e) {
+      this.cancelAll(lFutures);
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while waiting for REST requests to complete.", e);
+    }
+  }
+
+  private void cancelAll( List<? extends Future<?>> pFutures ) {
+    for (Future<?> lNextFuture : pFutures) {
+      lNextFuture.cancel(true);
+    }
+  }
+
+  @Override
+  public final CompletableFuture<Void> executeNoResultRequestAsync( RESTRequest pRequest, int pSuccessfulStatusCode ) {
+    return this.executeRequestAsync(pRequest, pSuccessfulStatusCode, null);
+  }
+
+  @Override
+  public <T> CompletableFuture<T> executeSingleObjectResultRequestAsync( RESTRequest pRequest,
+      int pSuccessfulStatusCode, ObjectType pObjectType ) {
+
+    // Create matching response type as defined by the passed parameters
+    JavaType lResponseType = this.getJavaType(pObjectType);
+
+    // Execute request and return future of result.
+    return this.executeRequestAsync(pRequest, pSuccessfulStatusCode, lResponseType);
+  }
+
+  @Override
+  public <T> CompletableFuture<T> executeCollectionResultRequestAsync( RESTRequest pRequest,
+      int pSuccessfulStatusCode, @SuppressWarnings("rawtypes")
+      Class<? extends Collection> pCollectionClass, ObjectType pObjectType ) {
+
+    // Create matching response type for collections as defined by the passed parameters
+    JavaType lResponseType = this.getResponseType(pCollectionClass, pObjectType);
+
+    // Execute request and return future of result.
+    return this.executeRequestAsync(pRequest, pSuccessfulStatusCode, lResponseType);
+  }
+
+  /**
+   * Method executes the passed HTTP request. If requests to the REST service are coalesced and an identical GET request
+   * is already in flight then no further request is sent. Instead the result or error of the request in flight is
+   * shared. As only one request is sent a failure is also recorded only once by the circuit breaker. Requests are
+   * identical if they have the same key as used by the {@link ResponseCache} and expect the same result. So headers
+   * that are not part of the cache key like request ids do not prevent coalescing. As the key contains the credentials
+   * of the caller (<code>Authorization</code>, <code>Cookie</code> and all sensitive headers) requests of different
+   * users are never coalesced.
+   * 
+   * @param pClientContext Client context of the REST service that will be called. The parameter must not be null.
+   * @param pRequest Request that should b executed. The parameter must not be null.
+   * @param pMetrics Metrics to which the call is recorded. The parameter must not be null.
+   * @param pSuccessfulStatusCode Status code that defines that the call was successful.
+   * @param pResponseType Object describing the response type of the call. The parameter must not be null.
+   * @return T Object of defined response type. If the called REST resource returns no content as response then null
+   * will be returned.
+   */
+  private <T> T executeCoalescedRequest( ServiceClientContext pClientContext, ClassicHttpRequest pRequest,
+      RESTClientMetrics pMetrics, int pSuccessfulStatusCode, JavaType pResponseType ) {
+    Map<String, CompletableFuture<Object>> lInFlightRequests = pClientContext.getInFlightRequests();
+    URI lRequestURI;
+    if (lInFlightRequests != null && Method.GET.isSame(pRequest.getMethod())) {
+      lRequestURI = this.getRequestURI(pRequest);
+    }
+    else {
+      lRequestURI = null;
+    }
+
+    T lResultObject;
+    if (lRequestURI != null) {
+      // Requests are only identical if they also expect the same result.
+      String lRequestKey = ResponseCache.createKey(pRequest, lRequestURI, pClientContext.getConfiguration()) + '\n'
+          + pSuccessfulStatusCode + '\n' + pResponseType.toCanonical();
+      CompletableFuture<Object> lFuture = new CompletableFuture<>();
+      CompletableFuture<Object> lRequestInFlight = lInFlightRequests.putIfAbsent(lRequestKey, lFuture);
+      if (lRequestInFlight == null) {
+        try {
+          lResultObject = this.executeCacheableRequest(pClientContext, pRequest, pMetrics, pSuccessfulStatusCode,
+              pResponseType);
+          lFuture.complete(lResultObject);
+        }
+        catch (RuntimeException | Error e) {
+          lFuture.completeExceptionally(e);
+          throw e;
+        }
+        finally {
+          lInFlightRequests.remove(lRequestKey, lFuture);
+        }
+      }
+      // Wait for the request in flight. Its error is thrown the same way as if the request was executed by this thread.
+      else {
+        @SuppressWarnings("unchecked")
+        T lSharedResultObject = (T) this.await(lRequestInFlight);
+        lResultObject = lSharedResultObject;
+      }
+    }
+    else {
+      lResultObject = this.executeCacheableRequest(pClientContext, pRequest, pMetrics, pSuccessfulStatusCode,
+          pResponseType);
+    }
+    return lResultObject;
+  }
+
+  /**
+   * Method executes the passed HTTP request. If responses of the REST service are cached and the request is a GET
+   * request then fresh responses are taken from the cache without calling the REST service. Such cache hits are
+   * recorded separately as they are no calls of the REST service. Stale responses are revalidated using a conditional
+   * request.
+   * 
+   * @param pClientContext Client context of the REST service that will be called. The parameter must not be null.
+   * @param pRequest Request that should b executed. The parameter must not be null.
+   * @param pMetrics Metrics to which the call is recorded. The parameter must not be null.
+   * @param pSuccessfulStatusCode Status code that defines that the call was successful.
+   * @param pResponseType Object describing the response type of the call. The parameter must not be null.
+   * @return T Object of defined response type. If the called REST resource returns no content as response then null
+   * will be returned.
+   */
+  private <T> T executeCacheableRequest( ServiceClientContext pClientContext, ClassicHttpRequest pRequest,
+      RESTClientMetrics pMetrics, int pSuccessfulStatusCode, JavaType pResponseType ) {
+    // Only successful responses of GET requests are cached.
+    ResponseCache lResponseCache = pClientContext.getResponseCache();
+    URI lRequestURI;
+    boolean lCacheable = pSuccessfulStatusCode == HttpStatus.SC_OK && Method.GET.isSame(pRequest.getMethod());
+    if (lResponseCache != null && lCacheable) {
+      lRequestURI = this.getRequestURI(pRequest);
+    }
+    else {
+      lRequestURI = null;
+    }
+
+    T lResultObject;
+    if (lRequestURI != null) {
+      long lStartTime = System.nanoTime();
+      String lCacheKey = ResponseCache.createKey(pRequest, lRequestURI, pClientContext.getConfiguration());
+      CachedResponse lCachedResponse = lResponseCache.get(lCacheKey, pRequest);
+      if (lCachedResponse != null && lCachedResponse.isFresh(System.currentTimeMillis())) {
+        try {
+          lResultObject = this.readCachedResponse(pClientContext, lCachedResponse, pMetrics, pResponseType);
+          pMetrics.recordCacheHit(System.nanoTime() - lStartTime);
+        }
+        catch (IOException e) {
+          throw this.processInternalServerError(lRequestURI, e,
+              "Exception occurred when reading cached response of REST Service " + lRequestURI);
+        }
+      }
+      else {
+        // Stale responses are revalidated. Conditional headers are not part of the cache key.
+        if (lCachedResponse != null) {
+          lCachedResponse.addConditionalHeaders(pRequest);
+        }
+        lResultObject = this.executeRequest(pClientContext, pRequest, pMetrics, pSuccessfulStatusCode, pResponseType,
+            false, lCacheKey, lCachedResponse);
+      }
+    }
+    else {
+      lResultObject = this.executeRequest(pClientContext, pRequest, pMetrics, pSuccessfulStatusCode, pResponseType,
+          false, null, null);
+    }
+    return lResultObject;
   }
 
   /**
    * Method executes the passed HTTP request using the configured HTTP client and circuit breaker.
    * 
+   * @param pClientContext Client context of the REST service that will be called. The parameter must not be null.
    * @param pRequest Request that should b executed. The parameter must not be null.
+   * @param pMetrics Metrics to which the call is recorded. The parameter must not be null.
    * @param pSuccessfulStatusCode Status code that defines that the call was successful.
    * @param pResponseType Object describing the response type of the call. The parameter may be null in case that
    * operation does not return any content e.g. void operations.
+   * @param pStreaming Parameter defines if the response is a collection that should be streamed. In this case the
+   * response type describes the elements of the collection and a {@link ResponseIterator} is returned. The request is
+   * only completed when the iterator is closed.
+   * @param pCacheKey Key under which the response is cached. The parameter may be null if the response must not be
+   * cached.
+   * @param pCachedResponse Stale cached response that is revalidated by the request. The parameter may be null.
    * @return T Object of defined response type. If the called REST resource returns no content as response then null
    * will be returned.
    */
-  private <T> T executeRequest( Class<?> pServiceClass, ClassicHttpRequest pRequest, HttpContext pHttpContext,
-      int pSuccessfulStatusCode, JavaType pResponseType ) {
+  private <T> T executeRequest( ServiceClientContext pClientContext, ClassicHttpRequest pRequest,
+      RESTClientMetrics pMetrics, int pSuccessfulStatusCode, JavaType pResponseType, boolean pStreaming,
+      String pCacheKey, CachedResponse pCachedResponse ) {
     // Try to execute call to REST resource
     CloseableHttpResponse lResponse = null;
     URI lRequestURI = null;
+    long lStartTime = System.nanoTime();
+    int lStatusCode = 0;
 
-    // Resolve http client, circuit breaker and configuration for service that will be called.
-    CloseableHttpClient lHttpClient = this.getHttpClient(pServiceClass);
-    CircuitBreaker lCircuitBreaker = this.getCircuitBreaker(pServiceClass);
-    RESTClientConfiguration lConfiguration = this.getConfiguration(pServiceClass);
+    // Http client, circuit breaker and configuration of the called service are all part of the client context.
+    CloseableHttpClient lHttpClient = pClientContext.getHttpClient();
+    CircuitBreaker lCircuitBreaker = pClientContext.getCircuitBreaker();
+    RESTClientConfiguration lConfiguration = pClientContext.getConfiguration();
+    Semaphore lAdmissionPermits = pClientContext.getAdmissionPermits();
+    boolean lAdmitted = false;
+    long lWaitTime = 0;
+    boolean lStreamed = false;
 
     try {
       // For reasons of proper error handling we need to find out the request URI.
       lRequestURI = pRequest.getUri();
-      // Trace request. Actually request logging is only done if log level is set to DEBUG.
-      this.traceRequest(pRequest, lConfiguration);
-      // Decorate call to proxy with circuit breaker.
-      Callable<CloseableHttpResponse> lCallable =
-          CircuitBreaker.decorateCallable(lCircuitBreaker, new Callable<CloseableHttpResponse>() {
-            @Override
-            public CloseableHttpResponse call( ) throws IOException {
-              return lHttpClient.execute(pRequest, pHttpContext);
-            }
-          });
-      // Execute request to REST resource
+      // Trace request. Actually request logging is only done if log level is set to DEBUG. Request and response are
+      // only traced if the request is sampled.
+      boolean lSampled = pClientContext.getTraceSampler().isSampled(pRequest);
+      this.traceRequest(pRequest, lRequestURI, pClientContext, lSampled);
+      // If configured requests have to be admitted before they may use the connection pool. Waiting on a semaphore
+      // parks virtual threads instead of pinning them inside the connection pool.
+      if (lAdmissionPermits != null) {
+        long lAdmissionStartTime = System.nanoTime();
+        lAdmitted = lAdmissionPermits.tryAcquire(lConfiguration.getAdmissionTimeout(), TimeUnit.MILLISECONDS);
+        lWaitTime = System.nanoTime() - lAdmissionStartTime;
+        if (lAdmitted == false) {
+          throw new ConnectionRequestTimeoutException("Timeout waiting for admission to connection pool of REST "
+              + "Service " + pClientContext.getExternalServiceURL());
+        }
+      }
+      // Call to proxy is executed by the circuit breaker. As executing already records the call it must not be
+      // decorated in addition. Otherwise every call would be counted twice.
+      Callable<CloseableHttpResponse> lCallable = new Callable<CloseableHttpResponse>() {
+        @Override
+        public CloseableHttpResponse call( ) throws IOException {
+          return lHttpClient.execute(pRequest, (HttpContext) null);
+        }
+      };
+      // Execute request to REST resource. Lease wait is measured by the connection manager on this thread.
+      InstrumentedConnectionManager.resetLeaseWait();
+      long lExecutionStartTime = System.nanoTime();
       lResponse = lCircuitBreaker.executeCallable(lCallable);
+      long lLeaseWait = InstrumentedConnectionManager.getLeaseWait();
+      lWaitTime += lLeaseWait;
+      pMetrics.recordConnectionLeaseWait(lLeaseWait);
+      pMetrics.recordTimeToFirstByte(System.nanoTime() - lExecutionStartTime - lLeaseWait);
+      this.recordBytesSent(pMetrics, pRequest.getEntity());
+
+      // Compressed responses are decoded while they are read. This also applies to error responses.
+      lStatusCode = lResponse.getCode();
+      lResponse.setEntity(pClientContext.getContentCompression().decode(lResponse.getEntity()));
+
       // If call was successful then we have to convert response into real objects.
-      int lStatusCode = lResponse.getCode();
       if (lStatusCode == pSuccessfulStatusCode) {
         T lResultObject;
         HttpEntity lEntity = lResponse.getEntity();
 
         // Check if there is a response. Due to behavior of Spring that in case of stream does not return the actual
         // size we just check for zero length.
-        if (pResponseType != null && lEntity.getContentLength() != 0) {
-          // Check if response logging is active.
-          if (this.isResponseTracingEnabled(lConfiguration)) {
-            String lResponseBody = this.getContent(lEntity.getContent());
-            this.traceResponse(lResponse, lRequestURI, lResponseBody, lConfiguration);
-            lResultObject = this.getObjectMapper().readValue(lResponseBody, pResponseType);
-          }
-          else {
-            lResultObject = this.getObjectMapper().readValue(lEntity.getContent(), pResponseType);
-          }
+        long lContentLength = lEntity.getContentLength();
+        if (pStreaming && lContentLength != 0) {
+          BodyCodec lBodyCodec = pClientContext.getContentNegotiation().getResponseCodec(lEntity.getContentType());
+          this.traceResponse(lResponse, lRequestURI, "<streamed>", pClientContext, lSampled);
+
+          // Response is completed as soon as the returned iterator is closed. Responses of cancelled requests do not
+          // have to be closed as their connection is already discarded.
+          CloseableHttpResponse lStreamedResponse = lResponse;
+          CancellableDependency lCancellableRequest =
+              pRequest instanceof CancellableDependency ? (CancellableDependency) pRequest : null;
+          CountingInputStream lInputStream = new CountingInputStream(lEntity.getContent());
+          boolean lStreamAdmitted = lAdmitted;
+          int lStreamStatusCode = lStatusCode;
+          long lStreamWaitTime = lWaitTime;
+          URI lStreamRequestURI = lRequestURI;
+          Runnable lCompletion = ( ) -> {
+            this.recordBytesReceived(pMetrics, lEntity, lInputStream.getCount());
+            boolean lCancelled = lCancellableRequest != null && lCancellableRequest.isCancelled();
+            this.completeRequest(pClientContext, pMetrics, lCancelled ? null : lStreamedResponse, lStreamAdmitted,
+                lStreamStatusCode, lStartTime, lStreamWaitTime);
+          };
+          MappingIterator<Object> lElements =
+              this.getObjectReader(lBodyCodec.getObjectMapper(), pResponseType).readValues(lInputStream);
+          @SuppressWarnings("unchecked")
+          T lIterator = (T) new ResponseIterator<>(lElements, lCompletion, lCancellableRequest,
+              e -> this.processInternalServerError(lStreamRequestURI, e,
+                  "Exception occurred when reading streamed response of REST Service " + lStreamRequestURI));
+          lResultObject = lIterator;
+          lStreamed = true;
+        }
+        // Responses that are too large for the cache do not have to be captured.
+        else if (pResponseType != null && lContentLength != 0 && pCacheKey != null
+            && lContentLength <= pClientContext.getResponseCache().getMaxBodySize()) {
+          BodyCodec lBodyCodec = pClientContext.getContentNegotiation().getResponseCodec(lEntity.getContentType());
+          lResultObject = this.readCacheableEntity(pRequest, lResponse, lRequestURI, lEntity, lBodyCodec,
+              pClientContext, pMetrics, pResponseType, lSampled, pCacheKey, pCachedResponse);
+        }
+        else if (pResponseType != null && lContentLength != 0) {
+          BodyCodec lBodyCodec = pClientContext.getContentNegotiation().getResponseCodec(lEntity.getContentType());
+          lResultObject = this.readEntity(lResponse, lRequestURI, lEntity, lBodyCodec, pClientContext, pMetrics,
+              pResponseType, lSampled);
         }
         else {
           lResultObject = null;
         }
         return lResultObject;
       }
+      // Cached response is still valid so neither its body has to be transferred nor does it have to be parsed again
+      // if deserialized objects are cached.
+      else if (lStatusCode == HttpStatus.SC_NOT_MODIFIED && pCachedResponse != null) {
+        this.traceResponse(lResponse, lRequestURI, null, pClientContext, lSampled);
+        ResponseCache lResponseCache = pClientContext.getResponseCache();
+        if (lResponseCache.revalidate(pCachedResponse, lResponse, System.currentTimeMillis()) == false) {
+          lResponseCache.remove(pCacheKey, pCachedResponse);
+        }
+        return this.readCachedResponse(pClientContext, pCachedResponse, pMetrics, pResponseType);
+      }
       // Error when trying to execute REST call.
       else {
         // If server provided problem JSON then we will return this information.
@@ -291,214 +969,1025 @@ public abstract class AbstractApacheHttpClientRESTRequestExecutorBase implements
     catch (RuntimeException e) {
       throw e;
     }
+    // Thread got interrupted while waiting for admission to the connection pool.
+    catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw this.processInternalServerError(lRequestURI, e,
+          "Interrupted when trying to call REST Service " + pRequest.toString());
+    }
     // IOException can result from communication or serialization problems. Thanks to circuit breaker interface
     // definition of Resilience4J we also have to catch java.lang.Exception ;-(
     catch (Exception e) {
       throw this.processInternalServerError(lRequestURI, e,
           "Exception occurred when try to call REST Service " + pRequest.toString());
     }
-    // No matter what happened we have at least close the http response if possible.
+    // No matter what happened we have at least close the http response if possible. Streamed responses are completed
+    // when their iterator is closed.
     finally {
-      if (lResponse != null) {
-        try {
-          lResponse.close();
-        }
-        catch (IOException e) {
-          this.traceException("Unable to close http client response from REST Service "
-              + this.getConfiguration(pServiceClass).getExternalServiceURL(), e);
-        }
+      if (lStreamed == false) {
+        this.completeRequest(pClientContext, pMetrics, lResponse, lAdmitted, lStatusCode, lStartTime, lWaitTime);
       }
     }
   }
 
-  private ClassicHttpRequest createHttpClientRequest( RESTRequest pRequest, RESTClientConfiguration pConfiguration ) {
-    URI lRequestURI = null;
-    try {
-      // Create builder for POST request
-      ClassicRequestBuilder lRequestBuilder = this.createRequestBuilder(pRequest.getHttpMethod());
-
-      // Build URI of request
-      StringBuilder lURIBuilder = new StringBuilder();
-      lURIBuilder.append(pConfiguration.getExternalServiceURL());
-      lURIBuilder.append(pRequest.getPath());
-      lRequestBuilder.setUri(lURIBuilder.toString());
-      lRequestURI = lRequestBuilder.getUri();
-
-      // Set query params
-      for (Entry<String, List<String>> lNextQueryParam : pRequest.getQueryParameters().entrySet()) {
-        // As the might be multiple values for one query param we have to lopp over all passed values.
-        for (String lNextValue : lNextQueryParam.getValue()) {
-          lRequestBuilder.addParameter(lNextQueryParam.getKey(), lNextValue);
-        }
-      }
-
-      // Set HTTP header(s)
-      for (Entry<String, List<String>> lNextHeader : pRequest.getHeaderFields().entrySet()) {
-        String lHeaderName = lNextHeader.getKey();
-        List<String> lHeaderValues = lNextHeader.getValue();
-        if (lHeaderValues != null && lHeaderValues.size() > 0) {
-          for (String lNextValue : lHeaderValues) {
-            lRequestBuilder.addHeader(lHeaderName, lNextValue);
-          }
-        }
-        else {
-          lRequestBuilder.addHeader(lHeaderName, null);
-        }
+  /**
+   * Method completes the execution of a request. The response is closed, the connection is released and the call is
+   * recorded.
+   * 
+   * @param pClientContext Client context of the called REST service. The parameter must not be null.
+   * @param pMetrics Metrics to which the call is recorded. The parameter must not be null.
+   * @param pResponse Response that should be closed. The parameter may be null.
+   * @param pAdmitted Parameter defines if the request was admitted to the connection pool using an admission permit.
+   * @param pStatusCode Status code of the response or 0 if no response was received.
+   * @param pStartTime Time in nanoseconds when the execution of the request started.
+   * @param pWaitTime Time in nanoseconds that the request waited for a connection.
+   */
+  private void completeRequest( ServiceClientContext pClientContext, RESTClientMetrics pMetrics,
+      CloseableHttpResponse pResponse, boolean pAdmitted, int pStatusCode, long pStartTime, long pWaitTime ) {
+    if (pResponse != null) {
+      try {
+        pResponse.close();
       }
-
-      // Resolve content type and add it to http header as well
-      ContentType lContentType = this.getHttpClientContentType(pRequest.getContentType());
-      lRequestBuilder.setHeader(HttpHeaders.ACCEPT, lContentType.getMimeType());
-
-      // Convert body object into body.
-      if (org.apache.hc.core5.http.ContentType.APPLICATION_JSON.equals(lContentType)) {
-        String lRequestBody = this.getObjectMapper().writeValueAsString(pRequest.getBody());
-        lRequestBuilder.setEntity(lRequestBody, lContentType);
+      catch (IOException e) {
+        this.traceException("Unable to close http client response from REST Service "
+            + pClientContext.getExternalServiceURL(), e);
       }
-      // Content type other than JSON is currently not supported.
-      else {
-        throw new IllegalArgumentException("Content type other than 'application/json' is currently not supported.");
+    }
+    // Connection is back in the pool so the next request may be admitted.
+    if (pAdmitted) {
+      pClientContext.getAdmissionPermits().release();
+    }
+    long lDuration = System.nanoTime() - pStartTime;
+    pMetrics.recordCall(pStatusCode, lDuration);
+    AdaptivePoolSizer lPoolSizer = pClientContext.getPoolSizer();
+    if (lPoolSizer != null) {
+      lPoolSizer.record(pWaitTime, lDuration);
+    }
+  }
+
+  /**
+   * Method reads the content of the passed response entity and converts it into an object of the passed response type.
+   * If possible the content is streamed directly into Jackson.
+   * 
+   * @param pResponse Response to which the entity belongs. The parameter must not be null.
+   * @param pRequestURI URI of the request. The parameter must not be null.
+   * @param pEntity Entity whose content should be read. The parameter must not be null.
+   * @param pBodyCodec Codec matching the content type of the entity. The parameter must not be null.
+   * @param pClientContext Client context of the called REST service. The parameter must not be null.
+   * @param pMetrics Metrics to which the call is recorded. The parameter must not be null.
+   * @param pResponseType Object describing the response type of the call. The parameter must not be null.
+   * @param pSampled Indicator whether the request was sampled for tracing.
+   * @return T Object of defined response type.
+   */
+  private <T> T readEntity( ClassicHttpResponse pResponse, URI pRequestURI, HttpEntity pEntity, BodyCodec pBodyCodec,
+      ServiceClientContext pClientContext, RESTClientMetrics pMetrics, JavaType pResponseType, boolean pSampled )
+    throws IOException {
+
+    T lResultObject;
+    ObjectReader lObjectReader = this.getObjectReader(pBodyCodec.getObjectMapper(), pResponseType);
+    long lContentLength = pEntity.getContentLength();
+    // Check if response logging is active.
+    // In this case the response is still streamed into Jackson but its beginning is copied for tracing. This way
+    // tracing never needs more memory than the configured maximum size of traced bodies.
+    RESTClientConfiguration lConfiguration = pClientContext.getConfiguration();
+    if (pSampled && this.isResponseTracingEnabled(lConfiguration)) {
+      int lMaxSize = pBodyCodec.isBinary() ? 0 : lConfiguration.getMaxTracedBodySize();
+      TeeInputStream lInputStream = new TeeInputStream(pEntity.getContent(), lMaxSize);
+      Charset lCharset = ResponseContent.resolveCharset(pEntity.getContentType());
+      try {
+        long lDeserializationStartTime = System.nanoTime();
+        if (pBodyCodec.isBinary() || StandardCharsets.UTF_8.equals(lCharset)) {
+          lResultObject = lObjectReader.readValue(lInputStream);
+        }
+        else {
+          lResultObject = lObjectReader.readValue(new InputStreamReader(lInputStream, lCharset));
+        }
+        pMetrics.recordDeserialization(System.nanoTime() - lDeserializationStartTime);
       }
+      // Response is also traced if it can not be deserialized.
+      finally {
+        this.recordBytesReceived(pMetrics, pEntity, lInputStream.getCount());
+        String lResponseBody;
+        if (pBodyCodec.isBinary()) {
+          lResponseBody = this.getBinaryContentForTracing(pEntity.getContentType(), lInputStream.getCount());
+        }
+        else {
+          lResponseBody = lInputStream.getCapturedContent(lCharset);
+        }
+        this.traceResponse(pResponse, pRequestURI, lResponseBody, pClientContext, true);
+      }
+    }
+    // Response is streamed into Jackson. If its size is not known in advance the bytes have to be counted.
+    else {
+      long lDeserializationStartTime = System.nanoTime();
+      if (lContentLength > 0) {
+        lResultObject = lObjectReader.readValue(pEntity.getContent());
+        pMetrics.recordBytesReceived(lContentLength);
+      }
+      else {
+        CountingInputStream lInputStream = new CountingInputStream(pEntity.getContent());
+        lResultObject = lObjectReader.readValue(lInputStream);
+        this.recordBytesReceived(pMetrics, pEntity, lInputStream.getCount());
+      }
+      pMetrics.recordDeserialization(System.nanoTime() - lDeserializationStartTime);
+    }
+    return lResultObject;
+  }
 
-      // Create http client request and return it..
-      return lRequestBuilder.build();
+  /**
+   * Method reads the content of the passed response entity and converts it into an object of the passed response type.
+   * While the content is streamed into Jackson it is captured so that the response can be cached afterwards.
+   * 
+   * @param pRequest Request to which the response belongs. The parameter must not be null.
+   * @param pResponse Response to which the entity belongs. The parameter must not be null.
+   * @param pRequestURI URI of the request. The parameter must not be null.
+   * @param pEntity Entity whose content should be read. The parameter must not be null.
+   * @param pBodyCodec Codec matching the content type of the entity. The parameter must not be null.
+   * @param pClientContext Client context of the called REST service. The parameter must not be null.
+   * @param pMetrics Metrics to which the call is recorded. The parameter must not be null.
+   * @param pResponseType Object describing the response type of the call. The parameter must not be null.
+   * @param pSampled Indicator whether the request was sampled for tracing.
+   * @param pCacheKey Key under which the response is cached. The parameter must not be null.
+   * @param pCachedResponse Stale cached response that is replaced. The parameter may be null.
+   * @return T Object of defined response type.
+   */
+  private <T> T readCacheableEntity( ClassicHttpRequest pRequest, ClassicHttpResponse pResponse, URI pRequestURI,
+      HttpEntity pEntity, BodyCodec pBodyCodec, ServiceClientContext pClientContext, RESTClientMetrics pMetrics,
+      JavaType pResponseType, boolean pSampled, String pCacheKey, CachedResponse pCachedResponse )
+    throws IOException {
+
+    T lResultObject;
+    ObjectReader lObjectReader = this.getObjectReader(pBodyCodec.getObjectMapper(), pResponseType);
+    ResponseCache lResponseCache = pClientContext.getResponseCache();
+    TeeInputStream lInputStream = new TeeInputStream(pEntity.getContent(), lResponseCache.getMaxBodySize());
+    Charset lCharset = ResponseContent.resolveCharset(pEntity.getContentType());
+    try {
+      long lDeserializationStartTime = System.nanoTime();
+      if (pBodyCodec.isBinary() || StandardCharsets.UTF_8.equals(lCharset)) {
+        lResultObject = lObjectReader.readValue(lInputStream);
+      }
+      else {
+        lResultObject = lObjectReader.readValue(new InputStreamReader(lInputStream, lCharset));
+      }
+      pMetrics.recordDeserialization(System.nanoTime() - lDeserializationStartTime);
+    }
+    // Response is also traced if it can not be deserialized.
+    finally {
+      this.recordBytesReceived(pMetrics, pEntity, lInputStream.getCount());
+      RESTClientConfiguration lConfiguration = pClientContext.getConfiguration();
+      if (pSampled && this.isResponseTracingEnabled(lConfiguration)) {
+        String lResponseBody;
+        byte[] lCapturedBody = lInputStream.getCapturedBytes();
+        int lMaxSize = lConfiguration.getMaxTracedBodySize();
+        if (pBodyCodec.isBinary()) {
+          lResponseBody = this.getBinaryContentForTracing(pEntity.getContentType(), lInputStream.getCount());
+        }
+        else if (lCapturedBody.length > lMaxSize) {
+          lResponseBody = this.getTextContentForTracing(lCapturedBody, lCharset, lMaxSize);
+        }
+        else {
+          lResponseBody = lInputStream.getCapturedContent(lCharset);
+        }
+        this.traceResponse(pResponse, pRequestURI, lResponseBody, pClientContext, true);
+      }
+    }
+
+    // Response can only be cached if it was captured completely.
+    CachedResponse lCachedResponse;
+    if (lInputStream.isTruncated() == false) {
+      lCachedResponse = lResponseCache.createCachedResponse(pRequest, pResponse, lInputStream.getCapturedBytes(),
+          System.currentTimeMillis());
+    }
+    else {
+      lCachedResponse = null;
+    }
+    if (lCachedResponse != null) {
+      if (lResponseCache.isStoringObjects() && lResultObject != null) {
+        lCachedResponse.setValue(pResponseType, lResultObject);
+      }
+      lResponseCache.put(pCacheKey, lCachedResponse);
     }
-    catch (IOException e) {
-      throw this.processInternalServerError(lRequestURI, e, "Unable to serialize object(s) to JSON.");
+    else {
+      lResponseCache.remove(pCacheKey, pCachedResponse);
     }
+    return lResultObject;
   }
 
-  private HttpContext createHttpContext( RESTRequest pRequest, RESTClientConfiguration pConfiguration ) {
-    // HttpContext is only need in case that request has cookies.
-    Map<String, String> lCookies = pRequest.getCookies();
-    HttpContext lLocalContext;
-    if (lCookies.size() > 0) {
-      // Handle cookie parameters
-      BasicCookieStore lCookieStore = new BasicCookieStore();
-      lLocalContext = new BasicHttpContext();
-      lLocalContext.setAttribute(HttpClientContext.COOKIE_STORE, lCookieStore);
+  /**
+   * Method returns the result of a cached response. If deserialized objects are cached and the response was already
+   * deserialized to the passed response type then the object is returned directly. Otherwise the cached body is
+   * deserialized.
+   * 
+   * @param pClientContext Client context of the called REST service. The parameter must not be null.
+   * @param pCachedResponse Cached response whose result should be returned. The parameter must not be null.
+   * @param pMetrics Metrics to which the deserialization is recorded. The parameter must not be null.
+   * @param pResponseType Object describing the response type of the call. The parameter must not be null.
+   * @return T Object of defined response type. If the cached response does not have any content then null is
+   * returned.
+   */
+  private <T> T readCachedResponse( ServiceClientContext pClientContext, CachedResponse pCachedResponse,
+      RESTClientMetrics pMetrics, JavaType pResponseType ) throws IOException {
+
+    Object lResultObject = pCachedResponse.getValue(pResponseType);
+    byte[] lBody = pCachedResponse.getBody();
+    if (lResultObject == null && lBody.length > 0) {
+      String lContentType = pCachedResponse.getContentType();
+      BodyCodec lBodyCodec = pClientContext.getContentNegotiation().getResponseCodec(lContentType);
+      ObjectReader lObjectReader = this.getObjectReader(lBodyCodec.getObjectMapper(), pResponseType);
+      Charset lCharset = ResponseContent.resolveCharset(lContentType);
+      long lDeserializationStartTime = System.nanoTime();
+      if (lBodyCodec.isBinary() || StandardCharsets.UTF_8.equals(lCharset)) {
+        lResultObject = lObjectReader.readValue(lBody);
+      }
+      else {
+        lResultObject = lObjectReader.readValue(new String(lBody, lCharset));
+      }
+      pMetrics.recordDeserialization(System.nanoTime() - lDeserializationStartTime);
+      if (pClientContext.getResponseCache().isStoringObjects() && lResultObject != null) {
+        pCachedResponse.setValue(pResponseType, lResultObject);
+      }
+    }
+    @SuppressWarnings("unchecked")
+    T lTypedResultObject = (T) lResultObject;
+    return lTypedResultObject;
+  }
+
+  /**
+   * Method returns the text that is traced instead of a binary body.
+   * 
+   * @param pContentType Content type of the body. The parameter may be null.
+   * @param pLength Size of the body in bytes.
+   * @return String Text describing the body. The method never returns null.
+   */
+  private String getBinaryContentForTracing( String pContentType, long pLength ) {
+    return "<" + pContentType + ", " + pLength + " bytes>";
+  }
+
+  /**
+   * Method returns the text that is traced for a text body. Bodies that exceed the passed maximum size are truncated.
+   * 
+   * @param pContent Content of the body. The parameter must not be null.
+   * @param pCharset Charset of the body. The parameter must not be null.
+   * @param pMaxSize Maximum amount of bytes of the body that are traced.
+   * @return String Text that should be traced. The method never returns null.
+   */
+  private String getTextContentForTracing( byte[] pContent, Charset pCharset, int pMaxSize ) {
+    String lContent;
+    if (pContent.length > pMaxSize) {
+      lContent = new String(pContent, 0, Math.max(pMaxSize, 0), pCharset) + "...";
+    }
+    else {
+      lContent = new String(pContent, pCharset);
+    }
+    return lContent;
+  }
+
+  /**
+   * Method checks if content of the passed content type can be traced as text.
+   * 
+   * @param pContentType Content type of the body. The parameter may be null.
+   * @return boolean Method returns true if the content is text e.g. JSON or XML and false otherwise.
+   */
+  private boolean isTextContent( String pContentType ) {
+    boolean lTextContent;
+    if (pContentType != null) {
+      String lMimeType = ContentType.parse(pContentType).getMimeType().toLowerCase(Locale.ROOT);
+      lTextContent = lMimeType.startsWith("text/") || lMimeType.endsWith("json") || lMimeType.endsWith("xml");
+    }
+    else {
+      lTextContent = true;
+    }
+    return lTextContent;
+  }
+
+  /**
+   * Method records the size of the passed request entity.
+   * 
+   * @param pMetrics Metrics to which the size is recorded. The parameter must not be null.
+   * @param pEntity Entity that was sent. The parameter may be null.
+   */
+  private void recordBytesSent( RESTClientMetrics pMetrics, HttpEntity pEntity ) {
+    if (pEntity instanceof JacksonHttpEntity) {
+      pMetrics.recordBytesSent(((JacksonHttpEntity) pEntity).getBytesWritten());
+    }
+    else if (pEntity != null && pEntity.getContentLength() > 0) {
+      pMetrics.recordBytesSent(pEntity.getContentLength());
+      this.recordRequestCompression(pMetrics, pEntity);
+    }
+  }
 
-      // Process all passed cookies
-      for (Entry<String, String> lNextCookie : lCookies.entrySet()) {
-        BasicClientCookie lResellerCookie = new BasicClientCookie(lNextCookie.getKey(), lNextCookie.getValue());
-        String lCookieDomain = pConfiguration.getCookieDomain();
-        if (lCookieDomain != null) {
-          lResellerCookie.setDomain(lCookieDomain);
+  /**
+   * Method records the compression ratio of the passed request entity if it was compressed.
+   * 
+   * @param pMetrics Metrics to which the compression is recorded. The parameter must not be null.
+   * @param pEntity Entity that was sent. The parameter may be null.
+   */
+  private void recordRequestCompression( RESTClientMetrics pMetrics, HttpEntity pEntity ) {
+    if (pEntity instanceof EncodedHttpEntity) {
+      pMetrics.recordRequestCompression(((EncodedHttpEntity) pEntity).getDecodedLength(), pEntity.getContentLength());
+    }
+  }
+
+  /**
+   * Method records the size of the passed response entity. In case of compressed responses the amount of bytes that
+   * were actually received is recorded together with the compression ratio.
+   * 
+   * @param pMetrics Metrics to which the size is recorded. The parameter must not be null.
+   * @param pEntity Entity that was received. The parameter must not be null.
+   * @param pContentLength Length of the (decoded) content of the entity.
+   */
+  private void recordBytesReceived( RESTClientMetrics pMetrics, HttpEntity pEntity, long pContentLength ) {
+    if (pEntity instanceof DecodingHttpEntity) {
+      long lEncodedLength = ((DecodingHttpEntity) pEntity).getEncodedLength();
+      pMetrics.recordBytesReceived(lEncodedLength);
+      pMetrics.recordResponseCompression(pContentLength, lEncodedLength);
+    }
+    else {
+      pMetrics.recordBytesReceived(pContentLength);
+    }
+  }
+
+  /**
+   * Method returns the metrics to which calls of the passed request path are recorded. In steady state this method
+   * neither requires any locks nor does it allocate any objects.
+   * 
+   * @param pClientContext Client context of the called REST service. The parameter must not be null.
+   * @param pPath Path of the request. The parameter may be null.
+   * @return {@link RESTClientMetrics} Metrics of the request path. The method never returns null.
+   */
+  private RESTClientMetrics getClientMetrics( ServiceClientContext pClientContext, String pPath ) {
+    RESTMetricsRegistry lMetricsRegistry = pClientContext.getMetricsRegistry();
+    RESTClientMetrics lMetrics;
+    if (lMetricsRegistry != RESTMetricsRegistry.NOOP) {
+      String lPath;
+      if (pPath != null) {
+        lPath = pPath;
+      }
+      else {
+        lPath = "";
+      }
+      Map<String, RESTClientMetrics> lPathMetrics = pClientContext.getPathMetrics();
+      lMetrics = lPathMetrics.get(lPath);
+      if (lMetrics == null) {
+        // Resolve metrics through path template. Number of templates is limited so that in case of unexpected paths
+        // the metrics backend is not flooded.
+        Class<?> lServiceClass = pClientContext.getServiceClass();
+        Map<String, RESTClientMetrics> lPathTemplateMetrics = pClientContext.getPathTemplateMetrics();
+        String lPathTemplate = this.getPathTemplate(lServiceClass, lPath);
+        lMetrics = lPathTemplateMetrics.get(lPathTemplate);
+        if (lMetrics == null) {
+          if (lPathTemplateMetrics.size() >= MAX_PATH_TEMPLATES) {
+            lPathTemplate = OVERFLOW_PATH_TEMPLATE;
+          }
+          lMetrics = lPathTemplateMetrics.computeIfAbsent(lPathTemplate,
+              t -> lMetricsRegistry.getClientMetrics(lServiceClass, t));
         }
-        String lCookiePath = pConfiguration.getCookiePath();
-        if (lCookiePath != null) {
-          lResellerCookie.setPath(lCookiePath);
+        if (lPathMetrics.size() < MAX_CACHED_PATHS) {
+          lPathMetrics.put(lPath, lMetrics);
         }
-        lCookieStore.addCookie(lResellerCookie);
       }
     }
     else {
-      lLocalContext = null;
+      lMetrics = RESTClientMetrics.NOOP;
     }
-    return lLocalContext;
+    return lMetrics;
   }
 
-  private ClassicRequestBuilder createRequestBuilder( HttpMethod pHttpMethod ) {
-    ClassicRequestBuilder lBuilder;
-    switch (pHttpMethod) {
-      case DELETE:
-        lBuilder = ClassicRequestBuilder.delete();
-        break;
+  /**
+   * Method executes the passed request asynchronously using the async HTTP client and circuit breaker of the called
+   * service.
+   * 
+   * @param pRequest Request that should be executed. The parameter must not be null.
+   * @param pSuccessfulStatusCode Status code that defines that the call was successful.
+   * @param pResponseType Object describing the response type of the call. The parameter may be null in case that
+   * operation does not return any content e.g. void operations.
+   * @return {@link CompletableFuture} Future that completes with the object of the defined response type. If the called
+   * REST resource returns no content as response then the future completes with null. The method never returns null.
+   */
+  private <T> CompletableFuture<T> executeRequestAsync( RESTRequest pRequest, int pSuccessfulStatusCode,
+      JavaType pResponseType ) {
 
-      case GET:
-        lBuilder = ClassicRequestBuilder.get();
-        break;
+    URI lRequestURI = null;
+    long lStartTime = System.nanoTime();
+    try {
+      // Resolve everything that is needed to execute the request. This is exactly the same as for blocking requests.
+      ServiceClientContext lClientContext = this.getClientContext(pRequest.getServiceClass());
+      RESTClientMetrics lMetrics = this.getClientMetrics(lClientContext, pRequest.getPath());
+      ClassicHttpRequest lHttpClientRequest = this.createHttpClientRequest(pRequest, lClientContext);
+      URI lResolvedRequestURI = lHttpClientRequest.getUri();
+      lRequestURI = lResolvedRequestURI;
 
-      case HEAD:
-        lBuilder = ClassicRequestBuilder.head();
-        break;
+      // Trace request. Actually request logging is only done if log level is set to DEBUG. Request and response are
+      // only traced if the request is sampled.
+      boolean lSampled = lClientContext.getTraceSampler().isSampled(lHttpClientRequest);
+      this.traceRequest(lHttpClientRequest, lResolvedRequestURI, lClientContext, lSampled);
 
-      case OPTIONS:
-        lBuilder = ClassicRequestBuilder.options();
-        break;
+      // Async client requires the request body to be provided through an entity producer.
+      AsyncEntityProducer lEntityProducer;
+      HttpEntity lEntity = lHttpClientRequest.getEntity();
+      if (lEntity != null) {
+        byte[] lContent;
+        if (lEntity instanceof JacksonHttpEntity) {
+          lContent = ((JacksonHttpEntity) lEntity).getContentAsBytes();
+        }
+        else {
+          lContent = EntityUtils.toByteArray(lEntity);
+        }
+        lEntityProducer = new BasicAsyncEntityProducer(lContent, ContentType.parse(lEntity.getContentType()));
+        lMetrics.recordBytesSent(lContent.length);
+        this.recordRequestCompression(lMetrics, lEntity);
+      }
+      else {
+        lEntityProducer = null;
+      }
 
-      case PATCH:
-        lBuilder = ClassicRequestBuilder.patch();
-        break;
+      // Decorate call to REST resource with circuit breaker. Only the exchange with the REST resource itself is
+      // protected by the circuit breaker, just like in case of blocking requests.
+      Supplier<CompletionStage<SimpleHttpResponse>> lSupplier =
+          CircuitBreaker.decorateCompletionStage(lClientContext.getCircuitBreaker(),
+              ( ) -> this.sendAsync(lClientContext, lHttpClientRequest, lEntityProducer));
 
-      case POST:
-        lBuilder = ClassicRequestBuilder.post();
-        break;
+      // Convert response into real objects as soon as it is available. As the async client buffers the complete
+      // response the time until it is available is recorded as time to first byte.
+      long lExecutionStartTime = System.nanoTime();
+      return lSupplier.get().toCompletableFuture().handle(( lResponse, lException ) -> {
+        int lStatusCode = 0;
+        try {
+          if (lException == null) {
+            lMetrics.recordTimeToFirstByte(System.nanoTime() - lExecutionStartTime);
+            lStatusCode = lResponse.getCode();
+            return this.processAsyncResponse(lResponse, lResolvedRequestURI, lClientContext, lMetrics,
+                pSuccessfulStatusCode, pResponseType, lSampled);
+          }
+          else {
+            throw this.toRuntimeException(lResolvedRequestURI, lException, lHttpClientRequest);
+          }
+        }
+        finally {
+          lMetrics.recordCall(lStatusCode, System.nanoTime() - lStartTime);
+        }
+      });
+    }
+    // Problems that already occur when preparing the request are also reported through the returned future.
+    catch (RuntimeException e) {
+      return CompletableFuture.failedFuture(e);
+    }
+    catch (Exception e) {
+      return CompletableFuture.failedFuture(this.processInternalServerError(lRequestURI, e,
+          "Exception occurred when try to call REST Service " + pRequest.toString()));
+    }
+  }
 
-      case PUT:
-        lBuilder = ClassicRequestBuilder.put();
-        break;
+  /**
+   * Method sends the passed request using the async HTTP client or the HTTP/2 transport of the called REST service.
+   * 
+   * @param pClientContext Client context of the called REST service. The parameter must not be null.
+   * @param pRequest Request that should be sent. The parameter must not be null.
+   * @param pEntityProducer Producer for the body of the request. The parameter may be null.
+   * @return {@link CompletableFuture} Future that completes as soon as the response was received. The method never
+   * returns null.
+   */
+  private CompletableFuture<SimpleHttpResponse> sendAsync( ServiceClientContext pClientContext,
+      ClassicHttpRequest pRequest, AsyncEntityProducer pEntityProducer ) {
 
-      case TRACE:
-        lBuilder = ClassicRequestBuilder.trace();
-        break;
+    // In case of HTTP/2 the transport takes care about distributing the request to one of its connections.
+    if (this.isHTTP2(pClientContext)) {
+      return this.getH2Transport(pClientContext).execute(pRequest, pEntityProducer, null);
+    }
 
-      default:
-        throw new IllegalArgumentException("Unsupported http method '" + pHttpMethod.name() + "'.");
+    CompletableFuture<SimpleHttpResponse> lFuture = new CompletableFuture<>();
+    CloseableHttpAsyncClient lAsyncHttpClient = this.getAsyncHttpClient(pClientContext);
+    lAsyncHttpClient.execute(new BasicRequestProducer(pRequest, pEntityProducer), SimpleResponseConsumer.create(),
+        new FutureCallback<SimpleHttpResponse>() {
+          @Override
+          public void completed( SimpleHttpResponse pResponse ) {
+            lFuture.complete(pResponse);
+          }
+
+          @Override
+          public void failed( Exception pException ) {
+            lFuture.completeExceptionally(pException);
+          }
+
+          @Override
+          public void cancelled( ) {
+            lFuture.cancel(false);
+          }
+        });
+    return lFuture;
+  }
+
+  /**
+   * Method processes the response of an asynchronous request.
+   * 
+   * @param pResponse Response that was received from the REST resource. The parameter must not be null.
+   * @param pRequestURI URI of the request. The parameter must not be null.
+   * @param pClientContext Client context of the called REST service. The parameter must not be null.
+   * @param pMetrics Metrics to which the call is recorded. The parameter must not be null.
+   * @param pSuccessfulStatusCode Status code that defines that the call was successful.
+   * @param pResponseType Object describing the response type of the call. The parameter may be null.
+   * @param pSampled Indicator whether the request was sampled for tracing.
+   * @return T Object of defined response type. If the called REST resource returns no content as response then null
+   * will be returned.
+   */
+  private <T> T processAsyncResponse( SimpleHttpResponse pResponse, URI pRequestURI,
+      ServiceClientContext pClientContext, RESTClientMetrics pMetrics, int pSuccessfulStatusCode,
+      JavaType pResponseType, boolean pSampled ) {
+
+    // Async response is converted into a classic one so that tracing and error handling can be reused.
+    RESTClientConfiguration lConfiguration = pClientContext.getConfiguration();
+    ClassicHttpResponse lResponse = new BasicClassicHttpResponse(pResponse.getCode(), pResponse.getReasonPhrase());
+    lResponse.setHeaders(pResponse.getHeaders());
+    byte[] lBody = pResponse.getBodyBytes();
+
+    try {
+      // Compressed responses are decoded while they are read. Their size is recorded as soon as they were read.
+      HttpEntity lEntity;
+      if (lBody != null) {
+        Header lContentEncoding = pResponse.getFirstHeader(HttpHeaders.CONTENT_ENCODING);
+        lEntity = new ByteArrayEntity(lBody, pResponse.getContentType(),
+            lContentEncoding != null ? lContentEncoding.getValue() : null);
+        lEntity = pClientContext.getContentCompression().decode(lEntity);
+        lResponse.setEntity(lEntity);
+        if (lEntity instanceof DecodingHttpEntity == false) {
+          pMetrics.recordBytesReceived(lBody.length);
+        }
+      }
+      else {
+        lEntity = null;
+      }
+
+      T lResultObject;
+      if (lResponse.getCode() == pSuccessfulStatusCode) {
+        BodyCodec lBodyCodec;
+        if (lEntity != null) {
+          lBodyCodec = pClientContext.getContentNegotiation().getResponseCodec(lEntity.getContentType());
+        }
+        else {
+          lBodyCodec = null;
+        }
+        if (pResponseType != null && lEntity instanceof DecodingHttpEntity) {
+          lResultObject = this.readEntity(lResponse, pRequestURI, lEntity, lBodyCodec, pClientContext, pMetrics,
+              pResponseType, pSampled);
+        }
+        else if (pResponseType != null && lBody != null && lBody.length > 0) {
+          // Check if response logging is active.
+          if (pSampled && this.isResponseTracingEnabled(lConfiguration)) {
+            String lResponseBody;
+            if (lBodyCodec.isBinary()) {
+              lResponseBody = this.getBinaryContentForTracing(lEntity.getContentType(), lBody.length);
+            }
+            else {
+              lResponseBody = this.getTextContentForTracing(lBody, ResponseContent.resolveCharset(
+                  lEntity.getContentType()), lConfiguration.getMaxTracedBodySize());
+            }
+            this.traceResponse(lResponse, pRequestURI, lResponseBody, pClientContext, true);
+          }
+          long lDeserializationStartTime = System.nanoTime();
+          ObjectReader lObjectReader = this.getObjectReader(lBodyCodec.getObjectMapper(), pResponseType);
+          lResultObject = lObjectReader.readValue(lBody);
+          pMetrics.recordDeserialization(System.nanoTime() - lDeserializationStartTime);
+        }
+        else {
+          lResultObject = null;
+        }
+      }
+      // Error when trying to execute REST call.
+      else {
+        throw this.processErrorResponse(pRequestURI, lResponse);
+      }
+      return lResultObject;
+    }
+    catch (RuntimeException e) {
+      throw e;
+    }
+    catch (Exception e) {
+      throw this.processInternalServerError(pRequestURI, e,
+          "Exception occurred when processing response of REST Service " + pRequestURI);
     }
-    return lBuilder;
   }
 
-  private synchronized CloseableHttpClient getHttpClient( Class<?> pServiceClass ) {
-    return httpClients.computeIfAbsent(pServiceClass, s -> this.createHttpClient(this.getConfiguration(pServiceClass)));
+  /**
+   * Method converts an exception that occurred during an asynchronous request into the runtime exception that is
+   * reported to the caller.
+   * 
+   * @param pRequestURI URI of the request. The parameter must not be null.
+   * @param pException Exception that occurred. The parameter must not be null.
+   * @param pRequest Request that failed. The parameter must not be null.
+   * @return {@link RuntimeException} Exception that should be reported to the caller. The method never returns null.
+   */
+  private RuntimeException toRuntimeException( URI pRequestURI, Throwable pException, ClassicHttpRequest pRequest ) {
+    // Futures wrap the real cause so we have to unwrap it first.
+    Throwable lCause = pException;
+    if (lCause instanceof CompletionException && lCause.getCause() != null) {
+      lCause = lCause.getCause();
+    }
+
+    // Runtime exceptions e.g. from circuit breaker are passed as they are.
+    RuntimeException lRuntimeException;
+    if (lCause instanceof RuntimeException) {
+      lRuntimeException = (RuntimeException) lCause;
+    }
+    else if (lCause instanceof Exception) {
+      lRuntimeException = this.processInternalServerError(pRequestURI, (Exception) lCause,
+          "Exception occurred when try to call REST Service " + pRequest.toString());
+    }
+    else {
+      lRuntimeException = new CompletionException(lCause);
+    }
+    return lRuntimeException;
+  }
+
+  private ClassicHttpRequest createHttpClientRequest( RESTRequest pRequest, ServiceClientContext pClientContext ) {
+    // Create request directly from the prepared components of the REST service's URL. Cookies are directly added as
+    // header so that no cookie store is required.
+    RequestTemplate lRequestTemplate = pClientContext.getRequestTemplate();
+    ClassicHttpRequest lRequest = lRequestTemplate.createRequest(pRequest.getHttpMethod().name(), pRequest.getPath(),
+        pRequest.getQueryParameters(), pRequest.getCookies());
+
+    // Set HTTP header(s)
+    for (Entry<String, List<String>> lNextHeader : pRequest.getHeaderFields().entrySet()) {
+      String lHeaderName = lNextHeader.getKey();
+      List<String> lHeaderValues = lNextHeader.getValue();
+      if (lHeaderValues != null && lHeaderValues.size() > 0) {
+        for (String lNextValue : lHeaderValues) {
+          lRequest.addHeader(lHeaderName, lNextValue);
+        }
+      }
+      else {
+        lRequest.addHeader(lHeaderName, null);
+      }
+    }
+
+    // Resolve content type and add it to http header as well. In case of JSON the REST service may also respond using
+    // one of the preferred binary formats.
+    ContentType lContentType = this.getHttpClientContentType(pRequest.getContentType());
+    ContentNegotiation lContentNegotiation = pClientContext.getContentNegotiation();
+    if (ContentType.APPLICATION_JSON.equals(lContentType)) {
+      lRequest.setHeader(lRequestTemplate.getAcceptHeader());
+    }
+    else {
+      lRequest.setHeader(HttpHeaders.ACCEPT, lContentType.getMimeType());
+    }
+
+    // Request compressed responses unless the caller explicitly defined the accepted encodings.
+    ContentCompression lContentCompression = pClientContext.getContentCompression();
+    Header lAcceptEncoding = lRequestTemplate.getAcceptEncodingHeader();
+    if (lAcceptEncoding != null && lRequest.getFirstHeader(HttpHeaders.ACCEPT_ENCODING) == null) {
+      lRequest.setHeader(lAcceptEncoding);
+    }
+
+    // Convert body object into body. Serialization takes place when the request is sent so that the body is directly
+    // written to the connection. Only if requests are compressed the body has to be serialized in advance. The body is
+    // written using the most preferred format of the REST service.
+    if (ContentType.APPLICATION_JSON.equals(lContentType)) {
+      BodyCodec lRequestCodec = lContentNegotiation.getRequestCodec();
+      HttpEntity lEntity;
+      try {
+        lEntity = lContentCompression.encode(new JacksonHttpEntity(lRequestCodec.getObjectMapper(), pRequest.getBody(),
+            lRequestCodec.getContentType()));
+      }
+      catch (IOException e) {
+        throw this.processInternalServerError(this.getRequestURI(lRequest), e,
+            "Exception occurred when try to serialize request body for REST Service " + pRequest.toString());
+      }
+      // Content encoding is also set as header as async requests do not take it from the entity.
+      if (lEntity.getContentEncoding() != null) {
+        lRequest.setHeader(HttpHeaders.CONTENT_ENCODING, lEntity.getContentEncoding());
+      }
+      lRequest.setEntity(lEntity);
+    }
+    // Content type other than JSON or one of its binary counterparts is currently not supported.
+    else {
+      throw new IllegalArgumentException("Content type other than 'application/json' is currently not supported.");
+    }
+    return lRequest;
+  }
+
+  /**
+   * Method returns the URI of the passed request for error handling.
+   *
+   * @param pRequest Request whose URI should be returned. The parameter must not be null.
+   * @return {@link URI} URI of the request or null if the request does not have a valid URI.
+   */
+  private URI getRequestURI( ClassicHttpRequest pRequest ) {
+    try {
+      return pRequest.getUri();
+    }
+    catch (URISyntaxException e) {
+      return null;
+    }
+  }
+
+  /**
+   * Method returns the client context of the passed REST service. If the context does not yet exist then it will be
+   * created. In steady state this method does not require any locks.
+   * 
+   * @param pServiceClass Class representing the service whose client context should be returned. The parameter must
+   * not be null.
+   * @return {@link ServiceClientContext} Client context of the passed service. The method never returns null.
+   */
+  protected final ServiceClientContext getClientContext( Class<?> pServiceClass ) {
+    // Contexts are only created once so in most cases a simple lookup is sufficient.
+    ServiceClientContext lClientContext = clientContexts.get(pServiceClass);
+    if (lClientContext == null) {
+      lClientContext = clientContexts.computeIfAbsent(pServiceClass, s -> this.createClientContext(pServiceClass));
+      // Pool sizing is only started once the context is installed so that a failed creation does not leave a task
+      // behind. Concurrent callers may get here as well but only one task is kept by the context.
+      this.startPoolSizing(lClientContext);
+    }
+    return lClientContext;
+  }
+
+  /**
+   * Method starts the task that periodically resizes the connection pool of the passed REST service if adaptive pool
+   * sizing is enabled.
+   * 
+   * @param pClientContext Client context of the REST service. The parameter must not be null.
+   */
+  private void startPoolSizing( ServiceClientContext pClientContext ) {
+    AdaptivePoolSizer lPoolSizer = pClientContext.getPoolSizer();
+    if (lPoolSizer != null && pClientContext.isPoolSizingStarted() == false) {
+      long lInterval = Math.max(1, pClientContext.getConfiguration().getAdaptivePoolSizingInterval());
+      Class<?> lServiceClass = pClientContext.getServiceClass();
+      pClientContext.startPoolSizing(PoolSizingScheduler.INSTANCE.scheduleWithFixedDelay(
+          ( ) -> this.resizeConnectionPoolSafely(lServiceClass, lPoolSizer), lInterval, lInterval,
+          TimeUnit.MILLISECONDS));
+    }
+  }
+
+  /**
+   * Method creates a new client context for the passed REST service.
+   * 
+   * @param pServiceClass Class representing the service whose client context should be created. The parameter must not
+   * be null.
+   * @return {@link ServiceClientContext} Created client context. The method never returns null.
+   */
+  private ServiceClientContext createClientContext( Class<?> pServiceClass ) {
+    RESTClientConfiguration lConfiguration = this.getConfiguration(pServiceClass);
+    InstrumentedConnectionManager lConnectionManager = this.createConnectionManager(lConfiguration);
+    CloseableHttpClient lHttpClient = this.createHttpClient(lConfiguration, lConnectionManager);
+    CircuitBreaker lCircuitBreaker = this.createCircuitBreaker(pServiceClass, lConfiguration);
+
+    // In case of virtual threads requests are admitted to the connection pool through a fair semaphore that has as
+    // many permits as connections can be opened to the REST service.
+    ResizableSemaphore lAdmissionPermits;
+    if (lConfiguration.getPoolSizingPolicy() == PoolSizingPolicy.VIRTUAL_THREADS) {
+      int lPermits = Math.min(lConfiguration.getMaxPoolSize(), lConfiguration.getMaxPerRoute());
+      lAdmissionPermits = new ResizableSemaphore(lPermits);
+    }
+    else {
+      lAdmissionPermits = null;
+    }
+
+    // Size of the connection pool and the amount of admission permits are adapted periodically to the observed load.
+    // The task that does so is started as soon as the context is installed.
+    AdaptivePoolSizer lPoolSizer;
+    if (lConfiguration.isAdaptivePoolSizing()) {
+      lPoolSizer = new AdaptivePoolSizer(pServiceClass, lConnectionManager, lAdmissionPermits, lConfiguration);
+    }
+    else {
+      lPoolSizer = null;
+    }
+    ContentCompression lContentCompression = new ContentCompression(lConfiguration, this.getContentCodecs());
+    ContentNegotiation lContentNegotiation = new ContentNegotiation(lConfiguration, this.getBodyCodecs());
+    RequestTemplate lRequestTemplate = new RequestTemplate(lConfiguration, lContentNegotiation, lContentCompression);
+    RESTMetricsRegistry lMetricsRegistry = this.getMetricsRegistry(pServiceClass);
+    return new ServiceClientContext(pServiceClass, lConfiguration, lHttpClient, lConnectionManager, lCircuitBreaker,
+        lAdmissionPermits, lPoolSizer, lContentCompression, lContentNegotiation, lRequestTemplate, lMetricsRegistry);
+  }
+
+  /**
+   * Method resizes the connection pool of the passed REST service. As it is called by the scheduler all exceptions are
+   * traced as they would otherwise stop further executions.
+   * 
+   * @param pServiceClass Class representing the service whose connection pool should be resized. The parameter must
+   * not be null.
+   * @param pPoolSizer Pool sizer of the connection pool. The parameter must not be null.
+   */
+  private void resizeConnectionPoolSafely( Class<?> pServiceClass, AdaptivePoolSizer pPoolSizer ) {
+    try {
+      this.resizeConnectionPool(pPoolSizer);
+    }
+    catch (RuntimeException e) {
+      this.traceException("Unable to resize connection pool of REST service " + pServiceClass.getName(), e);
+    }
+  }
+
+  /**
+   * Method returns the current statistics of the connection pools of all REST services that were already called.
+   *
+   * @return {@link List} Statistics of all connection pools. The method never returns null.
+   */
+  public List<ConnectionPoolStatistics> getConnectionPoolStatistics( ) {
+    List<ConnectionPoolStatistics> lStatistics = new ArrayList<>(clientContexts.size());
+    for (ServiceClientContext lNextClientContext : clientContexts.values()) {
+      lStatistics.add(lNextClientContext.getConnectionPoolStatistics());
+    }
+    return lStatistics;
+  }
+
+  /**
+   * Method closes the blocking, async and HTTP/2 http clients of all REST services that were already called and stops
+   * adaptive pool sizing. Afterwards the executor must not be used any longer.
+   */
+  @Override
+  public void close( ) {
+    for (ServiceClientContext lNextClientContext : clientContexts.values()) {
+      lNextClientContext.stopPoolSizing();
+      lNextClientContext.getHttpClient().close(CloseMode.GRACEFUL);
+    }
+    for (CloseableHttpAsyncClient lNextAsyncHttpClient : asyncHttpClients.values()) {
+      lNextAsyncHttpClient.close(CloseMode.GRACEFUL);
+    }
+    for (H2Transport lNextH2Transport : h2Transports.values()) {
+      lNextH2Transport.close();
+    }
+    clientContexts.clear();
+    asyncHttpClients.clear();
+    h2Transports.clear();
   }
 
-  private CloseableHttpClient createHttpClient( RESTClientConfiguration pConfiguration ) {
+  private InstrumentedConnectionManager createConnectionManager( RESTClientConfiguration pConfiguration ) {
     // Create connection manager that can be used by multiple threads in parallel.
     SocketConfig lSocketConfig = SocketConfig.custom().setTcpNoDelay(true).build();
     Registry<ConnectionSocketFactory> lRegistry = RegistryBuilder.<ConnectionSocketFactory> create()
         .register(URIScheme.HTTP.id, PlainConnectionSocketFactory.getSocketFactory())
         .register(URIScheme.HTTPS.id, SSLConnectionSocketFactory.getSocketFactory()).build();
 
-    // Configure connection manager according to provided configuration parameters
-    PoolingHttpClientConnectionManager lConnectionManager =
-        new PoolingHttpClientConnectionManager(lRegistry, PoolConcurrencyPolicy.LAX, PoolReusePolicy.LIFO,
+    // Configure connection manager according to provided configuration parameters. Connection manager also measures
+    // how long requests have to wait for a connection.
+    InstrumentedConnectionManager lConnectionManager =
+        new InstrumentedConnectionManager(lRegistry, PoolConcurrencyPolicy.LAX, PoolReusePolicy.LIFO,
             TimeValue.ofMilliseconds(pConfiguration.getKeepAliveDuration()));
     lConnectionManager.setMaxTotal(pConfiguration.getMaxPoolSize());
-    lConnectionManager.setDefaultMaxPerRoute(pConfiguration.getMaxIdleConnections());
+    lConnectionManager.setDefaultMaxPerRoute(pConfiguration.getMaxPerRoute());
     lConnectionManager
         .setValidateAfterInactivity(TimeValue.ofMilliseconds(pConfiguration.getValidateAfterInactivityDuration()));
     lConnectionManager.setDefaultSocketConfig(lSocketConfig);
+    return lConnectionManager;
+  }
 
+  private CloseableHttpClient createHttpClient( RESTClientConfiguration pConfiguration,
+      InstrumentedConnectionManager pConnectionManager ) {
     // Create pool for http connections that is used for this proxy.
     HttpClientBuilder lBuilder = HttpClientBuilder.create();
-    lBuilder.setConnectionManager(lConnectionManager);
+    lBuilder.setConnectionManager(pConnectionManager);
+
+    // Idle and expired connections are closed by a background thread so that they do not have to be detected when a
+    // request leases them from the pool.
+    int lMaxIdleTime = pConfiguration.getMaxIdleTime();
+    if (lMaxIdleTime > 0) {
+      lBuilder.evictIdleConnections(TimeValue.ofMilliseconds(lMaxIdleTime));
+    }
+    if (pConfiguration.isEvictExpiredConnections()) {
+      lBuilder.evictExpiredConnections();
+    }
 
     // Configure request specific parameters.
-    RequestConfig.Builder lConfigBuilder = RequestConfig.custom();
-    lConfigBuilder.setConnectionKeepAlive(TimeValue.ofMilliseconds(pConfiguration.getKeepAliveDuration()));
-    lConfigBuilder.setConnectTimeout(Timeout.ofMilliseconds(pConfiguration.getConnectTimeout()));
-    lConfigBuilder.setConnectionRequestTimeout(Timeout.ofMilliseconds(pConfiguration.getConnectionRequestTimeout()));
-    lConfigBuilder.setResponseTimeout(Timeout.ofMilliseconds(pConfiguration.getResponseTimeout()));
-    lConfigBuilder.setExpectContinueEnabled(true);
-    lBuilder.setDefaultRequestConfig(lConfigBuilder.build());
+    lBuilder.setDefaultRequestConfig(this.createRequestConfig(pConfiguration));
 
-    // Define retry behavior.
-    lBuilder.setRetryStrategy(new DefaultHttpRequestRetryStrategy(pConfiguration.getMaxRetries(),
+    // Content encodings are negotiated and decoded by the executor itself according to the configuration of the REST
+    // service. This way blocking and asynchronous requests behave the same.
+    lBuilder.disableContentCompression();
+
+    // Define retry behavior. Bodies are serialized while the request is sent so serialization problems must not lead
+    // to retries.
+    lBuilder.setRetryStrategy(new RequestRetryStrategy(pConfiguration.getMaxRetries(),
         TimeValue.ofMilliseconds(pConfiguration.getRetryInterval())));
 
     // Finally we have to create the http client.
     return lBuilder.build();
   }
 
-  private synchronized CircuitBreaker getCircuitBreaker( Class<?> pServiceClass ) {
-    return circuitBreakers.computeIfAbsent(pServiceClass, s -> this.createCircuitBreaker(pServiceClass));
+  /**
+   * Method returns the async http client of the REST service to which the passed client context belongs. If the client
+   * does not yet exist then it will be created and started.
+   * 
+   * @param pClientContext Client context of the REST service. The parameter must not be null.
+   * @return {@link CloseableHttpAsyncClient} Async http client of the REST service. The method never returns null.
+   */
+  private CloseableHttpAsyncClient getAsyncHttpClient( ServiceClientContext pClientContext ) {
+    Class<?> lServiceClass = pClientContext.getServiceClass();
+    CloseableHttpAsyncClient lAsyncHttpClient = asyncHttpClients.get(lServiceClass);
+    if (lAsyncHttpClient == null) {
+      lAsyncHttpClient = asyncHttpClients.computeIfAbsent(lServiceClass,
+          s -> this.createAsyncHttpClient(pClientContext.getConfiguration()));
+    }
+    return lAsyncHttpClient;
+  }
+
+  private CloseableHttpAsyncClient createAsyncHttpClient( RESTClientConfiguration pConfiguration ) {
+    // Configure async connection manager according to provided configuration parameters
+    PoolingAsyncClientConnectionManagerBuilder lConnectionManagerBuilder =
+        PoolingAsyncClientConnectionManagerBuilder.create();
+    lConnectionManagerBuilder.setPoolConcurrencyPolicy(PoolConcurrencyPolicy.LAX);
+    lConnectionManagerBuilder.setConnPoolPolicy(PoolReusePolicy.LIFO);
+    lConnectionManagerBuilder.setMaxConnTotal(pConfiguration.getMaxPoolSize());
+    lConnectionManagerBuilder.setMaxConnPerRoute(pConfiguration.getMaxPerRoute());
+    ConnectionConfig.Builder lConnectionConfigBuilder = ConnectionConfig.custom();
+    lConnectionConfigBuilder.setTimeToLive(TimeValue.ofMilliseconds(pConfiguration.getKeepAliveDuration()));
+    lConnectionConfigBuilder
+        .setValidateAfterInactivity(TimeValue.ofMilliseconds(pConfiguration.getValidateAfterInactivityDuration()));
+    lConnectionManagerBuilder.setDefaultConnectionConfig(lConnectionConfigBuilder.build());
+    PoolingAsyncClientConnectionManager lConnectionManager = lConnectionManagerBuilder.build();
+
+    // Create async client using the connection manager.
+    HttpAsyncClientBuilder lBuilder = HttpAsyncClientBuilder.create();
+    lBuilder.setConnectionManager(lConnectionManager);
+
+    // Idle and expired connections are closed in background the same way as for blocking requests.
+    int lMaxIdleTime = pConfiguration.getMaxIdleTime();
+    if (lMaxIdleTime > 0) {
+      lBuilder.evictIdleConnections(TimeValue.ofMilliseconds(lMaxIdleTime));
+    }
+    if (pConfiguration.isEvictExpiredConnections()) {
+      lBuilder.evictExpiredConnections();
+    }
+    lBuilder.setIOReactorConfig(IOReactorConfig.custom().setTcpNoDelay(true).build());
+
+    // Configure request specific parameters. They are the same as for blocking requests.
+    lBuilder.setDefaultRequestConfig(this.createRequestConfig(pConfiguration));
+
+    // Define retry behavior.
+    lBuilder.setRetryStrategy(new RequestRetryStrategy(pConfiguration.getMaxRetries(),
+        TimeValue.ofMilliseconds(pConfiguration.getRetryInterval())));
+
+    // Async clients have to be started before they can be used.
+    CloseableHttpAsyncClient lAsyncHttpClient = lBuilder.build();
+    lAsyncHttpClient.start();
+    return lAsyncHttpClient;
+  }
+
+  /**
+   * Method returns the HTTP/2 transport of the REST service to which the passed client context belongs. If the
+   * transport does not yet exist then it will be created and started.
+   * 
+   * @param pClientContext Client context of the REST service. The parameter must not be null.
+   * @return {@link H2Transport} HTTP/2 transport of the REST service. The method never returns null.
+   */
+  private H2Transport getH2Transport( ServiceClientContext pClientContext ) {
+    Class<?> lServiceClass = pClientContext.getServiceClass();
+    H2Transport lH2Transport = h2Transports.get(lServiceClass);
+    if (lH2Transport == null) {
+      lH2Transport =
+          h2Transports.computeIfAbsent(lServiceClass, s -> this.createH2Transport(pClientContext.getConfiguration()));
+    }
+    return lH2Transport;
+  }
+
+  private H2Transport createH2Transport( RESTClientConfiguration pConfiguration ) {
+    // Server push is not used by REST services. Our own limit of concurrent streams is also announced to the server.
+    H2Config lH2Config = H2Config.custom().setPushEnabled(false)
+        .setMaxConcurrentStreams(pConfiguration.getMaxConcurrentStreams()).build();
+
+    // Every HTTP/2 client holds exactly one connection to the REST service so one I/O thread is sufficient.
+    int lConnectionCount = Math.max(1, pConfiguration.getHttp2ConnectionCount());
+    CloseableHttpAsyncClient[] lClients = new CloseableHttpAsyncClient[lConnectionCount];
+    for (int i = 0; i < lConnectionCount; i++) {
+      H2AsyncClientBuilder lBuilder = H2AsyncClientBuilder.create();
+      lBuilder.setH2Config(lH2Config);
+      lBuilder.setIOReactorConfig(IOReactorConfig.custom().setIoThreadCount(1).setTcpNoDelay(true).build());
+      lBuilder.setDefaultRequestConfig(this.createRequestConfig(pConfiguration));
+      lBuilder.setRetryStrategy(new RequestRetryStrategy(pConfiguration.getMaxRetries(),
+          TimeValue.ofMilliseconds(pConfiguration.getRetryInterval())));
+      lClients[i] = lBuilder.build();
+      lClients[i].start();
+    }
+    return new H2Transport(lClients, pConfiguration.getMaxConcurrentStreams(), pConfiguration.getAdmissionTimeout());
+  }
+
+  /**
+   * Method creates the request configuration that is used by blocking as well as async http clients.
+   * 
+   * @param pConfiguration Configuration of the REST service. The parameter must not be null.
+   * @return {@link RequestConfig} Request configuration. The method never returns null.
+   */
+  private RequestConfig createRequestConfig( RESTClientConfiguration pConfiguration ) {
+    RequestConfig.Builder lConfigBuilder = RequestConfig.custom();
+    lConfigBuilder.setConnectionKeepAlive(TimeValue.ofMilliseconds(pConfiguration.getKeepAliveDuration()));
+    lConfigBuilder.setConnectTimeout(Timeout.ofMilliseconds(pConfiguration.getConnectTimeout()));
+    lConfigBuilder.setConnectionRequestTimeout(Timeout.ofMilliseconds(pConfiguration.getConnectionRequestTimeout()));
+    lConfigBuilder.setResponseTimeout(Timeout.ofMilliseconds(pConfiguration.getResponseTimeout()));
+    lConfigBuilder.setExpectContinueEnabled(true);
+    return lConfigBuilder.build();
   }
 
   /**
    * Method is called after service startup and performs initialization of resilience4J circuit breaker.
    */
-  private CircuitBreaker createCircuitBreaker( Class<?> pServiceClass ) {
+  private CircuitBreaker createCircuitBreaker( Class<?> pServiceClass, RESTClientConfiguration pConfiguration ) {
     // Create circuit break configuration for target.
-    RESTClientConfiguration lConfiguration = this.getConfiguration(pServiceClass);
     CircuitBreakerConfig.Builder lConfigBuilder = CircuitBreakerConfig.custom();
-    lConfigBuilder.failureRateThreshold(lConfiguration.getFailureRateThreshold());
-    lConfigBuilder.waitDurationInOpenState(Duration.ofMillis(lConfiguration.getDurationInOpenState()));
-    lConfigBuilder.slowCallDurationThreshold(Duration.ofMillis(lConfiguration.getSlowRequestDuration()));
-    lConfigBuilder.slowCallRateThreshold(lConfiguration.getSlowRequestRateThreshold());
-    lConfigBuilder.permittedNumberOfCallsInHalfOpenState(lConfiguration.getPermittedCallsInHalfOpenState());
-    lConfigBuilder.slidingWindowSize(lConfiguration.getSlidingWindowSizeSeconds());
+    lConfigBuilder.failureRateThreshold(pConfiguration.getFailureRateThreshold());
+    lConfigBuilder.waitDurationInOpenState(Duration.ofMillis(pConfiguration.getDurationInOpenState()));
+    lConfigBuilder.slowCallDurationThreshold(Duration.ofMillis(pConfiguration.getSlowRequestDuration()));
+    lConfigBuilder.slowCallRateThreshold(pConfiguration.getSlowRequestRateThreshold());
+    lConfigBuilder.permittedNumberOfCallsInHalfOpenState(pConfiguration.getPermittedCallsInHalfOpenState());
+    lConfigBuilder.slidingWindowSize(pConfiguration.getSlidingWindowSizeSeconds());
     lConfigBuilder.recordExceptions(IOException.class, RuntimeException.class);
+    // Problems when serializing the request body are not caused by the REST service.
+    lConfigBuilder.ignoreExceptions(JsonProcessingException.class);
     CircuitBreakerRegistry lCircuitBreakerRegistry = CircuitBreakerRegistry.of(lConfigBuilder.build());
     return lCircuitBreakerRegistry.circuitBreaker(pServiceClass.getSimpleName() + " Circuit Breaker");
   }
@@ -520,96 +2009,131 @@ public abstract class AbstractApacheHttpClientRESTRequestExecutorBase implements
     return lContentType;
   }
 
-  private void traceRequest( ClassicHttpRequest pRequest, RESTClientConfiguration pConfiguration )
-    throws URISyntaxException, IOException {
-    if (this.isRequestTracingEnabled(pConfiguration)) {
-      StringBuilder lBuilder = new StringBuilder();
-      // Add first line with http method and URL
-      lBuilder.append("Request: (");
-      lBuilder.append(pRequest.getMethod());
-      lBuilder.append(") ");
-      lBuilder.append(pRequest.getUri());
-      lBuilder.append(System.lineSeparator());
-      // Add header fields
-      List<String> lSensitiveHeaderNames = pConfiguration.getSensitiveHeaderNames();
-      lBuilder.append("Request Headers: ");
-      for (Header lNextHeader : pRequest.getHeaders()) {
-        // For security reasons sensitive headers have to be filtered out from tracing.
-        if (lSensitiveHeaderNames.contains(lNextHeader.getName().toLowerCase()) == false) {
-          lBuilder.append(lNextHeader.getName());
-          lBuilder.append("='");
-          lBuilder.append(lNextHeader.getValue());
-          lBuilder.append("' ");
-        }
-      }
-      lBuilder.append(System.lineSeparator());
-      // Add body if request has one.
+  /**
+   * Method traces the passed request if request tracing is enabled. The request is only captured as trace event. The
+   * event is formatted not before it is really written.
+   *
+   * @param pRequest Request that should be traced. The parameter must not be null.
+   * @param pRequestURI URI of the request. The parameter must not be null.
+   * @param pClientContext Client context of the called REST service. The parameter must not be null.
+   * @param pSampled Indicator whether the request was sampled for tracing.
+   */
+  private void traceRequest( ClassicHttpRequest pRequest, URI pRequestURI, ServiceClientContext pClientContext,
+      boolean pSampled ) {
+    RESTClientConfiguration lConfiguration = pClientContext.getConfiguration();
+    if (pSampled && this.isRequestTracingEnabled(lConfiguration)) {
       HttpEntity lEntity = pRequest.getEntity();
-      if (lEntity != null && lEntity.getContentLength() > 0) {
-        lBuilder.append("Body: ");
-        lBuilder.append(this.getContent(lEntity.getContent()));
+      int lMaxSize = lConfiguration.getMaxTracedBodySize();
+      this.traceRequest(new RequestTraceEvent(pRequest.getMethod(), pRequestURI, pRequest.getHeaders(),
+          pClientContext.getSensitiveHeaderNames(), ( ) -> this.getRequestBodyForTracing(lEntity, lMaxSize)));
+    }
+  }
+
+  /**
+   * Method returns the body of a request as it should be traced.
+   *
+   * @param pEntity Entity of the request. The parameter may be null.
+   * @param pMaxSize Maximum amount of bytes of the body that are traced.
+   * @return String Body as it should be traced or null if there is no body to be traced.
+   */
+  private String getRequestBodyForTracing( HttpEntity pEntity, int pMaxSize ) {
+    String lBody;
+    try {
+      // Streamed JSON bodies are only captured up to a maximum size.
+      if (pEntity instanceof JacksonHttpEntity) {
+        lBody = ((JacksonHttpEntity) pEntity).getContentForTracing(pMaxSize);
       }
-      // Finally really log the request.
-      this.traceRequest(lBuilder.toString());
+      // Compressed bodies are not decoded again just for tracing.
+      else if (pEntity instanceof EncodedHttpEntity) {
+        lBody = "<" + pEntity.getContentEncoding() + " encoded, " + pEntity.getContentLength() + " bytes>";
+      }
+      else if (pEntity != null && pEntity.getContentLength() > 0) {
+        if (this.isTextContent(pEntity.getContentType())) {
+          try (TeeInputStream lInputStream = new TeeInputStream(pEntity.getContent(), pMaxSize)) {
+            lInputStream.readNBytes(pMaxSize + 1);
+            lBody = lInputStream.getCapturedContent(ResponseContent.resolveCharset(pEntity.getContentType()));
+          }
+        }
+        else {
+          lBody = this.getBinaryContentForTracing(pEntity.getContentType(), pEntity.getContentLength());
+        }
+      }
+      else {
+        lBody = null;
+      }
+    }
+    // As tracing happens lazily problems with the body must not break the trace. If the body really can not be
+    // serialized then the request itself will fail anyway.
+    catch (IOException | RuntimeException e) {
+      lBody = "<body not available: " + e.getMessage() + ">";
+    }
+    return lBody;
+  }
+
+  /**
+   * Method traces the passed response if response tracing is enabled. The response is only captured as trace event. The
+   * event is formatted not before it is really written.
+   *
+   * @param pResponse Response that should be traced. The parameter must not be null.
+   * @param pRequestURI URI of the request to which the response belongs. The parameter may be null.
+   * @param pBody Body of the response as it should be traced. The parameter may be null.
+   * @param pClientContext Client context of the called REST service. The parameter must not be null.
+   * @param pSampled Indicator whether the request was sampled for tracing.
+   */
+  protected final void traceResponse( ClassicHttpResponse pResponse, URI pRequestURI, String pBody,
+      ServiceClientContext pClientContext, boolean pSampled ) {
+    if (pSampled && this.isResponseTracingEnabled(pClientContext.getConfiguration())) {
+      this.traceResponse(new ResponseTraceEvent(pRequestURI, pResponse.getCode(), pResponse.getHeaders(),
+          pClientContext.getSensitiveHeaderNames(), pBody));
     }
   }
 
+  /**
+   * Method traces the passed response if response tracing is enabled. In contrast to
+   * {@link #traceResponse(ClassicHttpResponse, URI, String, ServiceClientContext, boolean)} sampling is not applied and
+   * sensitive headers are resolved from the passed configuration with every call.
+   *
+   * @param pResponse Response that should be traced. The parameter must not be null.
+   * @param pRequestURI URI of the request to which the response belongs. The parameter may be null.
+   * @param pBody Body of the response as it should be traced. The parameter may be null.
+   * @param pConfiguration Configuration of the called REST service. The parameter must not be null.
+   * @deprecated Please use {@link #traceResponse(ClassicHttpResponse, URI, String, ServiceClientContext, boolean)}
+   * instead.
+   */
+  @Deprecated
   protected final void traceResponse( CloseableHttpResponse pResponse, URI pRequestURI, String pBody,
       RESTClientConfiguration pConfiguration )
     throws URISyntaxException, IOException {
     if (this.isResponseTracingEnabled(pConfiguration)) {
-      StringBuilder lBuilder = new StringBuilder();
-      // Add first line with http method and URL
-      lBuilder.append("Response: ");
-      lBuilder.append(pRequestURI);
-      lBuilder.append(System.lineSeparator());
-      // Add http status code.
-      lBuilder.append("Status Code: ");
-      lBuilder.append(pResponse.getCode());
-      lBuilder.append(System.lineSeparator());
-      // Add header fields
-      List<String> lSensitiveHeaderNames = pConfiguration.getSensitiveHeaderNames();
-      lBuilder.append("Response Headers: ");
-      for (Header lNextHeader : pResponse.getHeaders()) {
-        lBuilder.append(lNextHeader.getName());
-        lBuilder.append("='");
-        // For security reasons sensitive headers must not be written to traces.
-        if (lSensitiveHeaderNames.contains(lNextHeader.getName().toLowerCase()) == false) {
-          lBuilder.append(lNextHeader.getValue());
-        }
-        // Write sensitive headers to log but without value e.g. '***'
-        else {
-          lBuilder.append("***");
-        }
-        lBuilder.append("'");
-      }
-      lBuilder.append(System.lineSeparator());
-      // Add body if request has one.
-      if (pBody != null) {
-        lBuilder.append("Body: ");
-        lBuilder.append(pBody);
-      }
-      // Finally really log the response.
-      this.traceResponse(lBuilder.toString());
+      this.traceResponse(new ResponseTraceEvent(pRequestURI, pResponse.getCode(), pResponse.getHeaders(),
+          TraceEvent.createSensitiveHeaderNames(pConfiguration.getSensitiveHeaderNames()), pBody));
     }
   }
 
   /**
-   * Method returns the content of the passed input stream.
+   * Method returns the content of the passed input stream. As no content type is known the content is expected to be
+   * UTF-8 encoded.
    * 
    * @param pInputStream Stream to access the content. The parameter must not be null.
    * @return String Available content of the stream. The method never returns null.
    */
   protected final String getContent( InputStream pInputStream ) throws IOException {
-    int lAvailableBytes = pInputStream.available();
-    ByteArrayOutputStream lBytes = new ByteArrayOutputStream(lAvailableBytes);
-    // Read as much bytes as possible into the buffer.
-    int lBytesRead;
-    byte[] lBuffer = new byte[128];
-    while ((lBytesRead = pInputStream.read(lBuffer, 0, lBuffer.length)) != -1) {
-      lBytes.write(lBuffer, 0, lBytesRead);
+    try (ResponseContent lContent = ResponseContent.read(pInputStream, -1, StandardCharsets.UTF_8)) {
+      return lContent.toString();
+    }
+  }
+
+  /**
+   * Method returns the content of the passed http entity. The charset that is used to convert the content into a String
+   * is taken from the content type of the entity. If it does not define one then UTF-8 is used.
+   * 
+   * @param pEntity Entity whose content should be returned. The parameter must not be null.
+   * @return String Content of the entity. The method never returns null.
+   */
+  protected final String getContent( HttpEntity pEntity ) throws IOException {
+    try (ResponseContent lContent = ResponseContent.read(pEntity)) {
+      return lContent.toString();
     }
-    return new String(lBytes.toByteArray());
   }
 
   /**
@@ -620,24 +2144,91 @@ public abstract class AbstractApacheHttpClientRESTRequestExecutorBase implements
    * @return {@link JavaType} JavaType that was created using the passed response type. The method never returns null.
    */
   private JavaType getJavaType( ObjectType pObjectType ) {
-    TypeFactory lTypeFactory = this.getObjectMapper().getTypeFactory();
+    return this.getResponseType(null, pObjectType);
+  }
+
+  /**
+   * Method returns the Jackson type of a response. As resolving types requires some effort especially in case of
+   * generic types and collections resolved types are cached.
+   * 
+   * @param pCollectionClass Collection class of the response. The parameter may be null if the response is a single
+   * object.
+   * @param pObjectType Type of the response or of the elements of the collection. The parameter must not be null.
+   * @return {@link JavaType} Jackson type of the response. The method never returns null.
+   */
+  private JavaType getResponseType( @SuppressWarnings("rawtypes")
+  Class<? extends Collection> pCollectionClass, ObjectType pObjectType ) {
+    ResponseTypeKey lKey = new ResponseTypeKey(pCollectionClass, pObjectType);
+    JavaType lResponseType = responseTypes.get(lKey);
+    if (lResponseType == null) {
+      TypeFactory lTypeFactory = this.getObjectMapper().getTypeFactory();
+      lResponseType = this.resolveJavaType(lTypeFactory, pObjectType);
+      if (pCollectionClass != null) {
+        lResponseType = lTypeFactory.constructCollectionType(pCollectionClass, lResponseType);
+      }
+      if (responseTypes.size() < MAX_CACHED_RESPONSE_TYPES) {
+        responseTypes.put(lKey, lResponseType);
+      }
+    }
+    return lResponseType;
+  }
 
+  private JavaType resolveJavaType( TypeFactory pTypeFactory, ObjectType pObjectType ) {
     JavaType lJavaType;
     if (pObjectType instanceof SingleObjectType) {
-      lJavaType = lTypeFactory.constructType(((SingleObjectType) pObjectType).getObjectType());
+      lJavaType = pTypeFactory.constructType(((SingleObjectType) pObjectType).getObjectType());
     }
     else if (pObjectType instanceof GenericsObjectType) {
       GenericsObjectType lGenericsObjectType = (GenericsObjectType) pObjectType;
-      lJavaType = lTypeFactory.constructParametricType(lGenericsObjectType.getGenericType(),
+      lJavaType = pTypeFactory.constructParametricType(lGenericsObjectType.getGenericType(),
           lGenericsObjectType.getParameterType());
     }
     else if (pObjectType instanceof TypeReferenceObjectType) {
       TypeReferenceObjectType lTypeReferenceObjectType = (TypeReferenceObjectType) pObjectType;
-      lJavaType = lTypeFactory.constructType(lTypeReferenceObjectType.getTypeReference().getType());
+      lJavaType = pTypeFactory.constructType(lTypeReferenceObjectType.getTypeReference().getType());
     }
     else {
       throw new IllegalArgumentException("Unexpected ObjectType implementation " + pObjectType.getClass().getName());
     }
     return lJavaType;
   }
+
+  /**
+   * Method returns a prepared object reader for the passed object mapper and response type. Readers are cached so that
+   * the deserializer of a response type only has to be looked up once.
+   * 
+   * @param pObjectMapper Object mapper that should be used to read the response. The parameter must not be null.
+   * @param pResponseType Jackson type of the response. The parameter must not be null.
+   * @return {@link ObjectReader} Reader for the passed response type. The method never returns null.
+   */
+  private ObjectReader getObjectReader( ObjectMapper pObjectMapper, JavaType pResponseType ) {
+    Map<JavaType, ObjectReader> lObjectReaders = objectReaders.get(pObjectMapper);
+    if (lObjectReaders == null) {
+      lObjectReaders = objectReaders.computeIfAbsent(pObjectMapper, m -> new ConcurrentHashMap<>());
+    }
+    ObjectReader lObjectReader = lObjectReaders.get(pResponseType);
+    if (lObjectReader == null) {
+      lObjectReader = pObjectMapper.readerFor(pResponseType);
+      if (lObjectReaders.size() < MAX_CACHED_RESPONSE_TYPES) {
+        lObjectReaders.put(pResponseType, lObjectReader);
+      }
+    }
+    return lObjectReader;
+  }
+
+  /**
+   * Class holds the scheduler that periodically resizes connection pools. It is only created as soon as the first REST
+   * service with adaptive pool sizing is called. Its only thread is a daemon thread so that it does not prevent the JVM
+   * from shutting down.
+   */
+  private static final class PoolSizingScheduler {
+    static final ScheduledExecutorService INSTANCE = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+      @Override
+      public Thread newThread( Runnable pRunnable ) {
+        Thread lThread = new Thread(pRunnable, "jeaf-rest-pool-sizing");
+        lThread.setDaemon(true);
+        return lThread;
+      }
+    });
+  }
 }
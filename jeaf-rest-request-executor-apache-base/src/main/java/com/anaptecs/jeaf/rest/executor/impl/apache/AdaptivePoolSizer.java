@@ -0,0 +1,207 @@
+/**
+ * Copyright 2004 - 2022 anaptecs GmbH, Burgstr. 96, 72764 Reutlingen, Germany
+ *
+ * All rights reserved.
+ */
+package com.anaptecs.jeaf.rest.executor.impl.apache;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.hc.client5.http.HttpRoute;
+
+import com.anaptecs.jeaf.rest.executor.impl.config.RESTClientConfiguration;
+import com.anaptecs.jeaf.rest.executor.impl.metrics.PoolResizeDecision;
+
+/**
+ * Class adapts the amount of connections per route of a connection pool to the observed load. All requests record
+ * their duration and the time they had to wait for a connection. Periodically the average concurrency of requests is
+ * calculated using Little's law (arrival rate multiplied with average duration) and the pool is resized accordingly.
+ *
+ * Pools grow immediately to the required size but only shrink by half of the difference per period so that short
+ * drops of the load do not cause connections to be closed and reopened again.
+ *
+ * @author JEAF Development Team
+ */
+final class AdaptivePoolSizer {
+  /**
+   * Factor by which the pool is sized larger than the observed demand.
+   */
+  private static final double HEADROOM = 1.25;
+
+  /**
+   * Average wait time in nanoseconds for a connection above which requests are considered to be blocked by the pool.
+   */
+  private static final long LEASE_WAIT_THRESHOLD = 1000000;
+
+  /**
+   * Class representing the REST service to which the connection pool belongs.
+   */
+  private final Class<?> serviceClass;
+
+  /**
+   * Connection manager whose amount of connections per route is adapted.
+   */
+  private final InstrumentedConnectionManager connectionManager;
+
+  /**
+   * Semaphore through which requests are admitted to the connection pool. The reference may be null if requests are
+   * not admitted through a semaphore.
+   */
+  private final ResizableSemaphore admissionPermits;
+
+  /**
+   * Minimum amount of connections per route.
+   */
+  private final int minSize;
+
+  /**
+   * Maximum amount of connections per route.
+   */
+  private final int maxSize;
+
+  /**
+   * Amount of requests since the last resize.
+   */
+  private final LongAdder requests = new LongAdder();
+
+  /**
+   * Sum of the durations of all requests since the last resize in nanoseconds.
+   */
+  private final LongAdder busyTime = new LongAdder();
+
+  /**
+   * Sum of the time that requests waited for admission and a connection since the last resize in nanoseconds.
+   */
+  private final LongAdder leaseWaitTime = new LongAdder();
+
+  /**
+   * Point in time of the last resize as returned by {@link System#nanoTime()}.
+   */
+  private long lastResize;
+
+  /**
+   * Current amount of connections per route.
+   */
+  private int size;
+
+  /**
+   * Initialize object.
+   *
+   * @param pServiceClass Class representing the REST service. The parameter must not be null.
+   * @param pConnectionManager Connection manager whose pool should be adapted. The parameter must not be null.
+   * @param pAdmissionPermits Semaphore through which requests are admitted to the connection pool. The parameter may be
+   * null.
+   * @param pConfiguration Configuration of the REST service. The parameter must not be null.
+   */
+  AdaptivePoolSizer( Class<?> pServiceClass, InstrumentedConnectionManager pConnectionManager,
+      ResizableSemaphore pAdmissionPermits, RESTClientConfiguration pConfiguration ) {
+    serviceClass = pServiceClass;
+    connectionManager = pConnectionManager;
+    admissionPermits = pAdmissionPermits;
+    minSize = Math.max(1, pConfiguration.getMinPoolSize());
+    maxSize = Math.max(minSize, pConfiguration.getMaxPoolSize());
+    size = this.limit(pConnectionManager.getDefaultMaxPerRoute());
+    this.apply(size);
+    lastResize = System.nanoTime();
+  }
+
+  /**
+   * Method records a request that was executed using the connection pool.
+   *
+   * @param pLeaseWait Time in nanoseconds that the request waited for admission and a connection.
+   * @param pDuration Total duration of the request in nanoseconds.
+   */
+  void record( long pLeaseWait, long pDuration ) {
+    requests.increment();
+    leaseWaitTime.add(pLeaseWait);
+    busyTime.add(pDuration);
+  }
+
+  /**
+   * Method returns the current amount of connections per route.
+   *
+   * @return int Current pool size.
+   */
+  synchronized int getSize( ) {
+    return size;
+  }
+
+  /**
+   * Method calculates the required size of the connection pool from the requests that were recorded since the last
+   * resize and applies it to the connection pool.
+   *
+   * @return {@link PoolResizeDecision} Decision that was applied or null if the size of the pool did not change.
+   */
+  synchronized PoolResizeDecision resize( ) {
+    long lNow = System.nanoTime();
+    long lElapsed = lNow - lastResize;
+    lastResize = lNow;
+    long lRequests = requests.sumThenReset();
+    long lBusyTime = busyTime.sumThenReset();
+    long lLeaseWaitTime = leaseWaitTime.sumThenReset();
+
+    PoolResizeDecision lDecision;
+    if (lElapsed > 0) {
+      // Little's law: average concurrency is arrival rate multiplied with average duration which equals the total
+      // duration of all requests divided by the observation period.
+      double lConcurrency = (double) lBusyTime / lElapsed;
+      long lAverageLeaseWait;
+      if (lRequests > 0) {
+        lAverageLeaseWait = lLeaseWaitTime / lRequests;
+      }
+      else {
+        lAverageLeaseWait = 0;
+      }
+      int lPending = connectionManager.getTotalStats().getPending();
+      if (admissionPermits != null) {
+        lPending += admissionPermits.getQueueLength();
+      }
+
+      // If requests had to wait then they would have needed a connection during their whole duration. Otherwise only
+      // the time while a connection was actually used counts.
+      double lDemand;
+      if (lAverageLeaseWait > LEASE_WAIT_THRESHOLD || lPending > 0) {
+        lDemand = lConcurrency + lPending;
+      }
+      else {
+        lDemand = (double) (lBusyTime - lLeaseWaitTime) / lElapsed;
+      }
+      int lTarget = (int) Math.ceil(lDemand * HEADROOM);
+      int lNewSize;
+      if (lTarget < size) {
+        lNewSize = this.limit(size - Math.max(1, (size - lTarget) / 2));
+      }
+      else {
+        lNewSize = this.limit(lTarget);
+      }
+
+      if (lNewSize != size) {
+        lDecision = new PoolResizeDecision(serviceClass, size, lNewSize, lConcurrency, lAverageLeaseWait, lPending);
+        size = lNewSize;
+        this.apply(lNewSize);
+      }
+      else {
+        lDecision = null;
+      }
+    }
+    else {
+      lDecision = null;
+    }
+    return lDecision;
+  }
+
+  private int limit( int pSize ) {
+    return Math.min(maxSize, Math.max(minSize, pSize));
+  }
+
+  private void apply( int pSize ) {
+    // Default only applies to routes that are used for the first time.
+    connectionManager.setDefaultMaxPerRoute(pSize);
+    for (HttpRoute lNextRoute : connectionManager.getRoutes()) {
+      connectionManager.setMaxPerRoute(lNextRoute, pSize);
+    }
+    if (admissionPermits != null) {
+      admissionPermits.resize(pSize);
+    }
+  }
+}
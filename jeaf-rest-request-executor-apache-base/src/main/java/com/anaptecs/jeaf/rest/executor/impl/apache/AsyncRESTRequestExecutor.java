@@ -0,0 +1,62 @@
+/**
+ * Copyright 2004 - 2022 anaptecs GmbH, Burgstr. 96, 72764 Reutlingen, Germany
+ *
+ * All rights reserved.
+ */
+package com.anaptecs.jeaf.rest.executor.impl.apache;
+
+import java.util.Collection;
+import java.util.concurrent.CompletableFuture;
+
+import com.anaptecs.jeaf.rest.executor.api.ObjectType;
+import com.anaptecs.jeaf.rest.executor.api.RESTRequest;
+import com.anaptecs.jeaf.rest.executor.api.RESTRequestExecutor;
+
+/**
+ * Interface defines the asynchronous counterpart of {@link RESTRequestExecutor}. Instead of blocking the calling thread
+ * until the response was received all methods return immediately with a {@link CompletableFuture} that will be
+ * completed as soon as the response of the REST service is available.
+ *
+ * In case of an error the returned future completes exceptionally with the same runtime exceptions that would be thrown
+ * by the synchronous variant.
+ *
+ * @author JEAF Development Team
+ */
+public interface AsyncRESTRequestExecutor {
+  /**
+   * Method executes the passed request asynchronously. The called REST resource is not expected to return any content.
+   *
+   * @param pRequest Request that should be executed. The parameter must not be null.
+   * @param pSuccessfulStatusCode Status code that defines that the call was successful.
+   * @return {@link CompletableFuture} Future that completes as soon as the request was executed. The method never
+   * returns null.
+   */
+  CompletableFuture<Void> executeNoResultRequestAsync( RESTRequest pRequest, int pSuccessfulStatusCode );
+
+  /**
+   * Method executes the passed request asynchronously. The called REST resource is expected to return a single object.
+   *
+   * @param pRequest Request that should be executed. The parameter must not be null.
+   * @param pSuccessfulStatusCode Status code that defines that the call was successful.
+   * @param pObjectType Type of the object that is returned by the REST resource. The parameter must not be null.
+   * @return {@link CompletableFuture} Future that completes with the object returned by the REST resource. If the REST
+   * resource does not return any content then the future completes with null. The method never returns null.
+   */
+  <T> CompletableFuture<T> executeSingleObjectResultRequestAsync( RESTRequest pRequest, int pSuccessfulStatusCode,
+      ObjectType pObjectType );
+
+  /**
+   * Method executes the passed request asynchronously. The called REST resource is expected to return a collection of
+   * objects.
+   *
+   * @param pRequest Request that should be executed. The parameter must not be null.
+   * @param pSuccessfulStatusCode Status code that defines that the call was successful.
+   * @param pCollectionClass Collection class that should be used for the result. The parameter must not be null.
+   * @param pObjectType Type of the objects inside the returned collection. The parameter must not be null.
+   * @return {@link CompletableFuture} Future that completes with the collection returned by the REST resource. If the
+   * REST resource does not return any content then the future completes with null. The method never returns null.
+   */
+  <T> CompletableFuture<T> executeCollectionResultRequestAsync( RESTRequest pRequest, int pSuccessfulStatusCode,
+      @SuppressWarnings("rawtypes")
+      Class<? extends Collection> pCollectionClass, ObjectType pObjectType );
+}
@@ -0,0 +1,213 @@
+/**
+ * Copyright 2004 - 2022 anaptecs GmbH, Burgstr. 96, 72764 Reutlingen, Germany
+ *
+ * All rights reserved.
+ */
+package com.anaptecs.jeaf.rest.executor.impl.apache;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.hc.core5.http.HttpHeaders;
+import org.apache.hc.core5.http.HttpRequest;
+
+import com.fasterxml.jackson.databind.JavaType;
+
+/**
+ * Class represents a response that is kept in the {@link ResponseCache}. Besides the body the entry holds the
+ * validators that are required to revalidate the response and the time until which it is fresh. Optionally the
+ * deserialized objects of the response are kept as well.
+ *
+ * @author JEAF Development Team
+ */
+final class CachedResponse {
+  /**
+   * Decoded body of the response.
+   */
+  private final byte[] body;
+
+  /**
+   * Content type of the response. The value may be null.
+   */
+  private final String contentType;
+
+  /**
+   * Values of the request headers that are named in the <code>Vary</code> header of the response per lower-case header
+   * name. Values of sensitive headers are only kept as hash.
+   */
+  private final Map<String, String> varyingHeaders;
+
+  /**
+   * Deserialized objects of the response per response type. Objects are only kept if the cache is configured to do so.
+   */
+  private final Map<JavaType, Object> values = new ConcurrentHashMap<>(2);
+
+  /**
+   * Value of the <code>ETag</code> header of the response. The value may be null.
+   */
+  private volatile String eTag;
+
+  /**
+   * Value of the <code>Last-Modified</code> header of the response. The value may be null.
+   */
+  private volatile String lastModified;
+
+  /**
+   * Freshness lifetime of the response in milliseconds as defined by the REST service.
+   */
+  private volatile long freshnessLifetime;
+
+  /**
+   * Point in time (milliseconds since 1970) until which the response is fresh.
+   */
+  private volatile long expirationTime;
+
+  /**
+   * Point in time ({@link System#nanoTime()}) when the response was used the last time.
+   */
+  private volatile long lastAccessTime;
+
+  /**
+   * Initialize object.
+   *
+   * @param pBody Decoded body of the response. The parameter must not be null.
+   * @param pContentType Content type of the response. The parameter may be null.
+   * @param pVaryingHeaders Values of the request headers that are named in the <code>Vary</code> header of the
+   * response per lower-case header name. The parameter must not be null.
+   * @param pETag Value of the <code>ETag</code> header. The parameter may be null.
+   * @param pLastModified Value of the <code>Last-Modified</code> header. The parameter may be null.
+   * @param pFreshnessLifetime Freshness lifetime of the response in milliseconds.
+   * @param pExpirationTime Point in time (milliseconds since 1970) until which the response is fresh.
+   */
+  CachedResponse( byte[] pBody, String pContentType, Map<String, String> pVaryingHeaders, String pETag,
+      String pLastModified, long pFreshnessLifetime, long pExpirationTime ) {
+    body = pBody;
+    contentType = pContentType;
+    varyingHeaders = pVaryingHeaders;
+    eTag = pETag;
+    lastModified = pLastModified;
+    freshnessLifetime = pFreshnessLifetime;
+    expirationTime = pExpirationTime;
+  }
+
+  /**
+   * Method returns the decoded body of the response. The returned array must not be modified.
+   *
+   * @return byte[] Body of the response. The method never returns null.
+   */
+  byte[] getBody( ) {
+    return body;
+  }
+
+  /**
+   * Method returns the content type of the response.
+   *
+   * @return String Content type of the response. The method may return null.
+   */
+  String getContentType( ) {
+    return contentType;
+  }
+
+  /**
+   * Method returns the values of the request headers that are named in the <code>Vary</code> header of the response.
+   *
+   * @return {@link Map} Values of the request headers per lower-case header name. The method never returns null.
+   */
+  Map<String, String> getVaryingHeaders( ) {
+    return varyingHeaders;
+  }
+
+  /**
+   * Method returns when the response was used the last time.
+   *
+   * @return long Point in time ({@link System#nanoTime()}) of the last access.
+   */
+  long getLastAccessTime( ) {
+    return lastAccessTime;
+  }
+
+  /**
+   * Method sets when the response was used the last time.
+   *
+   * @param pLastAccessTime Point in time ({@link System#nanoTime()}) of the last access.
+   */
+  void setLastAccessTime( long pLastAccessTime ) {
+    lastAccessTime = pLastAccessTime;
+  }
+
+  /**
+   * Method returns the freshness lifetime of the response as defined by the REST service.
+   *
+   * @return long Freshness lifetime in milliseconds.
+   */
+  long getFreshnessLifetime( ) {
+    return freshnessLifetime;
+  }
+
+  /**
+   * Method checks if the response is still fresh and can be used without asking the REST service.
+   *
+   * @param pNow Current time in milliseconds since 1970.
+   * @return boolean Method returns true if the response is fresh and false if it has to be revalidated.
+   */
+  boolean isFresh( long pNow ) {
+    return pNow < expirationTime;
+  }
+
+  /**
+   * Method adds the headers to the passed request that make it a conditional request for this response.
+   *
+   * @param pRequest Request to which the headers should be added. The parameter must not be null.
+   */
+  void addConditionalHeaders( HttpRequest pRequest ) {
+    String lETag = eTag;
+    if (lETag != null) {
+      pRequest.setHeader(HttpHeaders.IF_NONE_MATCH, lETag);
+    }
+    String lLastModified = lastModified;
+    if (lLastModified != null) {
+      pRequest.setHeader(HttpHeaders.IF_MODIFIED_SINCE, lLastModified);
+    }
+  }
+
+  /**
+   * Method updates the response after the REST service confirmed that it was not modified.
+   *
+   * @param pETag Value of the <code>ETag</code> header of the confirmation. The parameter may be null if the header was
+   * not sent.
+   * @param pLastModified Value of the <code>Last-Modified</code> header of the confirmation. The parameter may be null
+   * if the header was not sent.
+   * @param pFreshnessLifetime New freshness lifetime of the response in milliseconds.
+   * @param pExpirationTime Point in time (milliseconds since 1970) until which the response is fresh again.
+   */
+  void revalidated( String pETag, String pLastModified, long pFreshnessLifetime, long pExpirationTime ) {
+    if (pETag != null) {
+      eTag = pETag;
+    }
+    if (pLastModified != null) {
+      lastModified = pLastModified;
+    }
+    freshnessLifetime = pFreshnessLifetime;
+    expirationTime = pExpirationTime;
+  }
+
+  /**
+   * Method returns the deserialized object of the response for the passed type.
+   *
+   * @param pResponseType Jackson type of the response. The parameter must not be null.
+   * @return Object Deserialized response or null if it was not kept.
+   */
+  Object getValue( JavaType pResponseType ) {
+    return values.get(pResponseType);
+  }
+
+  /**
+   * Method keeps the deserialized object of the response for the passed type.
+   *
+   * @param pResponseType Jackson type of the response. The parameter must not be null.
+   * @param pValue Deserialized response. The parameter must not be null.
+   */
+  void setValue( JavaType pResponseType, Object pValue ) {
+    values.put(pResponseType, pValue);
+  }
+}
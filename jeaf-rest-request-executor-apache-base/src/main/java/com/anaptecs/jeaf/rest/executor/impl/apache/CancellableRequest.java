@@ -0,0 +1,77 @@
+/**
+ * Copyright 2004 - 2022 anaptecs GmbH, Burgstr. 96, 72764 Reutlingen, Germany
+ *
+ * All rights reserved.
+ */
+package com.anaptecs.jeaf.rest.executor.impl.apache;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.apache.hc.core5.concurrent.Cancellable;
+import org.apache.hc.core5.concurrent.CancellableDependency;
+import org.apache.hc.core5.http.message.BasicClassicHttpRequest;
+import org.apache.hc.core5.net.URIAuthority;
+
+/**
+ * Class represents a request that can be cancelled while it is executed. Apache HTTP Client passes the execution of
+ * the request to it ({@link #setDependency(Cancellable)}). Cancelling the request discards its connection. This is
+ * required to close responses that were not read completely. Otherwise closing them would read them up to their end.
+ *
+ * @author JEAF Development Team
+ */
+final class CancellableRequest extends BasicClassicHttpRequest implements CancellableDependency {
+  private static final long serialVersionUID = 1L;
+
+  /**
+   * Current step of the execution of the request, e.g. leasing a connection or reading the response.
+   */
+  private final transient AtomicReference<Cancellable> dependency = new AtomicReference<>();
+
+  /**
+   * Indicator whether the request was cancelled.
+   */
+  private volatile boolean cancelled;
+
+  /**
+   * Initialize object.
+   *
+   * @param pMethod Http method of the request. The parameter must not be null.
+   * @param pScheme Scheme of the request. The parameter must not be null.
+   * @param pAuthority Authority of the request. The parameter must not be null.
+   * @param pPath Path including the query of the request. The parameter must not be null.
+   */
+  CancellableRequest( String pMethod, String pScheme, URIAuthority pAuthority, String pPath ) {
+    super(pMethod, pScheme, pAuthority, pPath);
+  }
+
+  @Override
+  public void setDependency( Cancellable pDependency ) {
+    dependency.set(pDependency);
+    // Request might have been cancelled while the dependency was set.
+    if (cancelled) {
+      this.cancelDependency();
+    }
+  }
+
+  @Override
+  public boolean isCancelled( ) {
+    return cancelled;
+  }
+
+  @Override
+  public boolean cancel( ) {
+    cancelled = true;
+    this.cancelDependency();
+    return true;
+  }
+
+  /**
+   * Method cancels the current step of the execution of the request.
+   */
+  private void cancelDependency( ) {
+    Cancellable lDependency = dependency.getAndSet(null);
+    if (lDependency != null) {
+      lDependency.cancel();
+    }
+  }
+}
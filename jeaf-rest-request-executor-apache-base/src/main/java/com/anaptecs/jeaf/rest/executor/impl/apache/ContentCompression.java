@@ -0,0 +1,199 @@
+/**
+ * Copyright 2004 - 2022 anaptecs GmbH, Burgstr. 96, 72764 Reutlingen, Germany
+ *
+ * All rights reserved.
+ */
+package com.anaptecs.jeaf.rest.executor.impl.apache;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import org.apache.hc.core5.http.ContentType;
+import org.apache.hc.core5.http.HttpEntity;
+import org.apache.hc.core5.http.ProtocolException;
+import org.apache.hc.core5.http.io.entity.ByteArrayEntity;
+
+import com.anaptecs.jeaf.rest.executor.impl.compression.ContentCodec;
+import com.anaptecs.jeaf.rest.executor.impl.compression.GzipContentCodec;
+import com.anaptecs.jeaf.rest.executor.impl.config.RESTClientConfiguration;
+
+/**
+ * Class bundles everything that is required to compress requests to and decompress responses from a REST service. The
+ * codecs are resolved once from the configuration of the service so that no lookups by configuration are required per
+ * request.
+ *
+ * @author JEAF Development Team
+ */
+final class ContentCompression {
+  /**
+   * Content encoding that means that the content is not encoded at all.
+   */
+  private static final String IDENTITY = "identity";
+
+  /**
+   * Alias of "gzip" that is still used by some servers.
+   */
+  private static final String X_GZIP = "x-gzip";
+
+  /**
+   * Value of http header <code>Accept-Encoding</code>. The value is null if no encodings are accepted.
+   */
+  private final String acceptEncoding;
+
+  /**
+   * Codecs of all accepted encodings. The key is the name of the encoding in lower case.
+   */
+  private final Map<String, ContentCodec> decoders;
+
+  /**
+   * Codec that is used to compress request bodies. The value is null if requests are not compressed.
+   */
+  private final ContentCodec requestCodec;
+
+  /**
+   * Minimum size of a request body in bytes so that it gets compressed.
+   */
+  private final int requestCompressionThreshold;
+
+  /**
+   * Initialize object.
+   *
+   * @param pConfiguration Configuration of the REST service. The parameter must not be null.
+   * @param pContentCodecs Codecs that are supported by the executor. The parameter must not be null.
+   */
+  ContentCompression( RESTClientConfiguration pConfiguration, List<ContentCodec> pContentCodecs ) {
+    Map<String, ContentCodec> lAvailableCodecs = new HashMap<>();
+    for (ContentCodec lNextCodec : pContentCodecs) {
+      lAvailableCodecs.put(lNextCodec.getEncoding().toLowerCase(Locale.ROOT), lNextCodec);
+    }
+
+    // Every accepted encoding requires a codec. Otherwise we would receive responses that we are not able to read.
+    decoders = new HashMap<>();
+    StringBuilder lAcceptEncoding = new StringBuilder();
+    List<String> lAcceptEncodings = pConfiguration.getAcceptEncodings();
+    if (lAcceptEncodings != null) {
+      for (String lNextEncoding : lAcceptEncodings) {
+        ContentCodec lCodec = this.getCodec(lAvailableCodecs, lNextEncoding, "acceptEncodings");
+        decoders.put(lCodec.getEncoding(), lCodec);
+        if (lAcceptEncoding.length() > 0) {
+          lAcceptEncoding.append(", ");
+        }
+        lAcceptEncoding.append(lCodec.getEncoding());
+      }
+    }
+    ContentCodec lGzipCodec = decoders.get(GzipContentCodec.ENCODING);
+    if (lGzipCodec != null) {
+      decoders.put(X_GZIP, lGzipCodec);
+    }
+    if (lAcceptEncoding.length() > 0) {
+      acceptEncoding = lAcceptEncoding.toString();
+    }
+    else {
+      acceptEncoding = null;
+    }
+
+    // Resolve codec for compression of requests.
+    String lRequestEncoding = pConfiguration.getRequestEncoding();
+    if (lRequestEncoding != null) {
+      requestCodec = this.getCodec(lAvailableCodecs, lRequestEncoding, "requestEncoding");
+    }
+    else {
+      requestCodec = null;
+    }
+    requestCompressionThreshold = pConfiguration.getRequestCompressionThreshold();
+  }
+
+  private ContentCodec getCodec( Map<String, ContentCodec> pAvailableCodecs, String pEncoding, String pParameter ) {
+    ContentCodec lCodec = pAvailableCodecs.get(pEncoding.trim().toLowerCase(Locale.ROOT));
+    if (lCodec == null) {
+      throw new IllegalArgumentException("Content encoding '" + pEncoding + "' of configuration parameter '"
+          + pParameter + "' is not supported. Supported encodings are " + pAvailableCodecs.keySet() + ".");
+    }
+    return lCodec;
+  }
+
+  /**
+   * Method returns the value of http header <code>Accept-Encoding</code> that has to be sent with requests.
+   *
+   * @return String Accepted content encodings or null if compressed responses are not accepted.
+   */
+  String getAcceptEncoding( ) {
+    return acceptEncoding;
+  }
+
+  /**
+   * Method returns the codec that is used to compress request bodies.
+   *
+   * @return {@link ContentCodec} Codec for requests or null if requests are not compressed.
+   */
+  ContentCodec getRequestCodec( ) {
+    return requestCodec;
+  }
+
+  /**
+   * Method returns an entity that decodes the content of the passed entity while it is read.
+   *
+   * @param pEntity Entity of a response. The parameter may be null.
+   * @return {@link HttpEntity} Entity that provides the decoded content. If the content of the passed entity is not
+   * encoded then the passed entity itself is returned.
+   * @throws ProtocolException if the content is encoded using an encoding that was not accepted.
+   */
+  HttpEntity decode( HttpEntity pEntity ) throws ProtocolException {
+    HttpEntity lEntity;
+    String lContentEncoding;
+    if (pEntity != null && pEntity.getContentLength() != 0) {
+      lContentEncoding = pEntity.getContentEncoding();
+    }
+    else {
+      lContentEncoding = null;
+    }
+    if (lContentEncoding != null && IDENTITY.equalsIgnoreCase(lContentEncoding) == false) {
+      ContentCodec lCodec = decoders.get(lContentEncoding.trim().toLowerCase(Locale.ROOT));
+      if (lCodec == null) {
+        throw new ProtocolException("Unsupported Content-Encoding: " + lContentEncoding);
+      }
+      lEntity = new DecodingHttpEntity(pEntity, lCodec);
+    }
+    else {
+      lEntity = pEntity;
+    }
+    return lEntity;
+  }
+
+  /**
+   * Method compresses the passed request body if compression of requests is enabled and the body is large enough.
+   * Compressing the body requires that it is serialized before the request is sent as the http headers depend on the
+   * result. Bodies that are serialized anyway are then sent with a known content length.
+   *
+   * @param pEntity Request body that should be compressed. The parameter must not be null.
+   * @return {@link HttpEntity} Entity that should be sent. If compression of requests is not enabled then the passed
+   * entity is returned. The method never returns null.
+   */
+  HttpEntity encode( JacksonHttpEntity pEntity ) throws IOException {
+    HttpEntity lEntity;
+    if (requestCodec != null) {
+      byte[] lContent = pEntity.getContentAsBytes();
+      ContentType lContentType = ContentType.parse(pEntity.getContentType());
+      if (lContent.length >= requestCompressionThreshold) {
+        ByteArrayOutputStream lEncodedContent = new ByteArrayOutputStream(lContent.length / 2);
+        try (OutputStream lOutputStream = requestCodec.encode(lEncodedContent)) {
+          lOutputStream.write(lContent);
+        }
+        lEntity = new EncodedHttpEntity(lEncodedContent.toByteArray(), lContentType, requestCodec.getEncoding(),
+            lContent.length);
+      }
+      else {
+        lEntity = new ByteArrayEntity(lContent, lContentType);
+      }
+    }
+    else {
+      lEntity = pEntity;
+    }
+    return lEntity;
+  }
+}
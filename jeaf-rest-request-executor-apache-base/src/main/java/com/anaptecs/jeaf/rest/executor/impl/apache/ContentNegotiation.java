@@ -0,0 +1,147 @@
+/**
+ * Copyright 2004 - 2022 anaptecs GmbH, Burgstr. 96, 72764 Reutlingen, Germany
+ *
+ * All rights reserved.
+ */
+package com.anaptecs.jeaf.rest.executor.impl.apache;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import org.apache.hc.core5.http.ContentType;
+
+import com.anaptecs.jeaf.rest.executor.impl.codec.BodyCodec;
+import com.anaptecs.jeaf.rest.executor.impl.config.RESTClientConfiguration;
+
+/**
+ * Class bundles everything that is required to negotiate the format of request and response bodies with a REST
+ * service. The codecs are resolved once from the configuration of the service so that no lookups by configuration are
+ * required per request.
+ *
+ * Request bodies are always written using the most preferred content type. For responses all configured content types
+ * are advertised using http header <code>Accept</code> and the codec is selected by the content type of the response.
+ * JSON is always accepted as fallback.
+ *
+ * @author JEAF Development Team
+ */
+final class ContentNegotiation {
+  /**
+   * Value of http header <code>Accept</code>.
+   */
+  private final String accept;
+
+  /**
+   * Codec that is used to write request bodies.
+   */
+  private final BodyCodec requestCodec;
+
+  /**
+   * Codecs of all accepted content types. The key is the mime type in lower case.
+   */
+  private final Map<String, BodyCodec> responseCodecs;
+
+  /**
+   * Codec that is used for JSON and for responses whose content type is not accepted.
+   */
+  private final BodyCodec fallbackCodec;
+
+  /**
+   * Initialize object.
+   *
+   * @param pConfiguration Configuration of the REST service. The parameter must not be null.
+   * @param pBodyCodecs Codecs that are supported by the executor. The list has to contain a codec for JSON. The
+   * parameter must not be null.
+   */
+  ContentNegotiation( RESTClientConfiguration pConfiguration, List<BodyCodec> pBodyCodecs ) {
+    Map<String, BodyCodec> lAvailableCodecs = new HashMap<>();
+    for (BodyCodec lNextCodec : pBodyCodecs) {
+      lAvailableCodecs.put(lNextCodec.getContentType().getMimeType().toLowerCase(Locale.ROOT), lNextCodec);
+    }
+    fallbackCodec = this.getCodec(lAvailableCodecs, ContentType.APPLICATION_JSON.getMimeType(), "bodyContentTypes");
+
+    // Every accepted content type requires a codec. Otherwise we would receive responses that we are not able to read.
+    responseCodecs = new LinkedHashMap<>();
+    List<String> lBodyContentTypes = pConfiguration.getBodyContentTypes();
+    if (lBodyContentTypes != null) {
+      for (String lNextContentType : lBodyContentTypes) {
+        BodyCodec lCodec = this.getCodec(lAvailableCodecs, lNextContentType, "bodyContentTypes");
+        responseCodecs.put(lCodec.getContentType().getMimeType().toLowerCase(Locale.ROOT), lCodec);
+      }
+    }
+    if (responseCodecs.isEmpty()) {
+      requestCodec = fallbackCodec;
+    }
+    else {
+      requestCodec = responseCodecs.values().iterator().next();
+    }
+    responseCodecs.putIfAbsent(fallbackCodec.getContentType().getMimeType(), fallbackCodec);
+
+    // Content types are advertised with decreasing quality so that the server respects our order of preference.
+    StringBuilder lAccept = new StringBuilder();
+    int lQuality = 10;
+    for (String lNextMimeType : responseCodecs.keySet()) {
+      if (lAccept.length() > 0) {
+        lAccept.append(", ");
+      }
+      lAccept.append(lNextMimeType);
+      if (lQuality < 10) {
+        lAccept.append(";q=0.").append(lQuality);
+      }
+      lQuality = Math.max(lQuality - 1, 1);
+    }
+    accept = lAccept.toString();
+  }
+
+  private BodyCodec getCodec( Map<String, BodyCodec> pAvailableCodecs, String pContentType, String pParameter ) {
+    BodyCodec lCodec = pAvailableCodecs.get(pContentType.trim().toLowerCase(Locale.ROOT));
+    if (lCodec == null) {
+      throw new IllegalArgumentException("Content type '" + pContentType + "' of configuration parameter '"
+          + pParameter + "' is not supported. Supported content types are " + pAvailableCodecs.keySet() + ".");
+    }
+    return lCodec;
+  }
+
+  /**
+   * Method returns the value of http header <code>Accept</code> that has to be sent with requests.
+   *
+   * @return String Accepted content types. The method never returns null.
+   */
+  String getAccept( ) {
+    return accept;
+  }
+
+  /**
+   * Method returns the codec that is used to write request bodies.
+   *
+   * @return {@link BodyCodec} Codec for requests. The method never returns null.
+   */
+  BodyCodec getRequestCodec( ) {
+    return requestCodec;
+  }
+
+  /**
+   * Method returns the codec that has to be used to read a response with the passed content type.
+   *
+   * @param pContentType Value of http header <code>Content-Type</code> of the response. The parameter may be null.
+   * @return {@link BodyCodec} Codec for the response. If no codec exists for the passed content type then the JSON
+   * codec is returned. The method never returns null.
+   */
+  BodyCodec getResponseCodec( String pContentType ) {
+    BodyCodec lCodec;
+    if (pContentType != null) {
+      int lEnd = pContentType.indexOf(';');
+      String lMimeType = lEnd >= 0 ? pContentType.substring(0, lEnd) : pContentType;
+      lCodec = responseCodecs.get(lMimeType.trim().toLowerCase(Locale.ROOT));
+    }
+    else {
+      lCodec = null;
+    }
+    if (lCodec == null) {
+      lCodec = fallbackCodec;
+    }
+    return lCodec;
+  }
+}
@@ -0,0 +1,72 @@
+/**
+ * Copyright 2004 - 2022 anaptecs GmbH, Burgstr. 96, 72764 Reutlingen, Germany
+ *
+ * All rights reserved.
+ */
+package com.anaptecs.jeaf.rest.executor.impl.apache;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Input stream counts the bytes that are read from the wrapped stream. It is used to determine the size of responses
+ * whose content length is not known in advance.
+ *
+ * @author JEAF Development Team
+ */
+final class CountingInputStream extends FilterInputStream {
+  /**
+   * Amount of bytes that were read so far.
+   */
+  private long count;
+
+  /**
+   * Initialize object.
+   *
+   * @param pInputStream Stream whose bytes should be counted. The parameter must not be null.
+   */
+  CountingInputStream( InputStream pInputStream ) {
+    super(pInputStream);
+  }
+
+  @Override
+  public int read( ) throws IOException {
+    int lByte = super.read();
+    if (lByte >= 0) {
+      count++;
+    }
+    return lByte;
+  }
+
+  @Override
+  public int read( byte[] pBuffer, int pOffset, int pLength ) throws IOException {
+    int lRead = super.read(pBuffer, pOffset, pLength);
+    if (lRead > 0) {
+      count += lRead;
+    }
+    return lRead;
+  }
+
+  @Override
+  public long skip( long pAmount ) throws IOException {
+    long lSkipped = super.skip(pAmount);
+    count += lSkipped;
+    return lSkipped;
+  }
+
+  @Override
+  public boolean markSupported( ) {
+    // Counting would be wrong after a reset.
+    return false;
+  }
+
+  /**
+   * Method returns the amount of bytes that were read so far.
+   *
+   * @return long Amount of read bytes.
+   */
+  long getCount( ) {
+    return count;
+  }
+}
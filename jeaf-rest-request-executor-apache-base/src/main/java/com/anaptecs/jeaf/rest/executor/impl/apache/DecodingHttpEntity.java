@@ -0,0 +1,119 @@
+/**
+ * Copyright 2004 - 2022 anaptecs GmbH, Burgstr. 96, 72764 Reutlingen, Germany
+ *
+ * All rights reserved.
+ */
+package com.anaptecs.jeaf.rest.executor.impl.apache;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+import org.apache.hc.core5.http.HttpEntity;
+import org.apache.hc.core5.http.io.entity.HttpEntityWrapper;
+
+import com.anaptecs.jeaf.rest.executor.impl.compression.ContentCodec;
+
+/**
+ * Class wraps an http entity whose content is encoded e.g. using "gzip". The content is decoded while it is read so
+ * that it can be streamed directly into Jackson without keeping a decoded copy of it in memory.
+ *
+ * As the size of the decoded content is not known in advance the entity does not provide a content length. The amount
+ * of encoded bytes that were read is counted so that the compression ratio can be determined.
+ *
+ * @author JEAF Development Team
+ */
+final class DecodingHttpEntity extends HttpEntityWrapper {
+  /**
+   * Codec that is used to decode the content.
+   */
+  private final ContentCodec codec;
+
+  /**
+   * Stream from which the encoded content is read. The stream is created on first access to the content.
+   */
+  private CountingInputStream encodedStream;
+
+  /**
+   * Stream providing the decoded content. The stream is created on first access to the content.
+   */
+  private InputStream decodedStream;
+
+  /**
+   * Initialize object.
+   *
+   * @param pEntity Entity with encoded content. The parameter must not be null.
+   * @param pCodec Codec that is used to decode the content. The parameter must not be null.
+   */
+  DecodingHttpEntity( HttpEntity pEntity, ContentCodec pCodec ) {
+    super(pEntity);
+    codec = pCodec;
+  }
+
+  @Override
+  public InputStream getContent( ) throws IOException {
+    // Content of the wrapped entity can only be read once so the decoding stream is also created only once.
+    if (decodedStream == null) {
+      encodedStream = new CountingInputStream(super.getContent());
+      decodedStream = codec.decode(encodedStream);
+    }
+    return decodedStream;
+  }
+
+  @Override
+  public void writeTo( OutputStream pOutputStream ) throws IOException {
+    try (InputStream lInputStream = this.getContent()) {
+      lInputStream.transferTo(pOutputStream);
+    }
+  }
+
+  @Override
+  public long getContentLength( ) {
+    return -1;
+  }
+
+  @Override
+  public String getContentEncoding( ) {
+    // Content is provided decoded.
+    return null;
+  }
+
+  @Override
+  public boolean isStreaming( ) {
+    return true;
+  }
+
+  @Override
+  public boolean isRepeatable( ) {
+    return false;
+  }
+
+  @Override
+  public void close( ) throws IOException {
+    // Decoding stream has to be closed explicitly so that native resources of the codec are released immediately.
+    try {
+      if (decodedStream != null) {
+        decodedStream.close();
+      }
+    }
+    finally {
+      super.close();
+    }
+  }
+
+  /**
+   * Method returns the amount of encoded bytes that were read so far.
+   *
+   * @return long Amount of encoded bytes.
+   */
+  long getEncodedLength( ) {
+    long lEncodedLength;
+    if (encodedStream != null) {
+      lEncodedLength = encodedStream.getCount();
+    }
+    else {
+      lEncodedLength = 0;
+    }
+    return lEncodedLength;
+  }
+}
@@ -0,0 +1,44 @@
+/**
+ * Copyright 2004 - 2022 anaptecs GmbH, Burgstr. 96, 72764 Reutlingen, Germany
+ *
+ * All rights reserved.
+ */
+package com.anaptecs.jeaf.rest.executor.impl.apache;
+
+import org.apache.hc.core5.http.ContentType;
+import org.apache.hc.core5.http.io.entity.ByteArrayEntity;
+
+/**
+ * Class represents the body of a request that was compressed before it is sent. Besides the compressed content the
+ * entity also knows the size of the uncompressed content so that the compression ratio can be determined.
+ *
+ * @author JEAF Development Team
+ */
+final class EncodedHttpEntity extends ByteArrayEntity {
+  /**
+   * Size of the uncompressed content in bytes.
+   */
+  private final long decodedLength;
+
+  /**
+   * Initialize object.
+   *
+   * @param pEncodedContent Compressed content. The parameter must not be null.
+   * @param pContentType Content type of the uncompressed content. The parameter must not be null.
+   * @param pContentEncoding Content encoding that was used for compression. The parameter must not be null.
+   * @param pDecodedLength Size of the uncompressed content in bytes.
+   */
+  EncodedHttpEntity( byte[] pEncodedContent, ContentType pContentType, String pContentEncoding, long pDecodedLength ) {
+    super(pEncodedContent, pContentType, pContentEncoding);
+    decodedLength = pDecodedLength;
+  }
+
+  /**
+   * Method returns the size of the uncompressed content.
+   *
+   * @return long Size of the uncompressed content in bytes.
+   */
+  long getDecodedLength( ) {
+    return decodedLength;
+  }
+}
@@ -0,0 +1,201 @@
+/**
+ * Copyright 2004 - 2022 anaptecs GmbH, Burgstr. 96, 72764 Reutlingen, Germany
+ *
+ * All rights reserved.
+ */
+package com.anaptecs.jeaf.rest.executor.impl.apache;
+
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.hc.client5.http.async.methods.SimpleHttpResponse;
+import org.apache.hc.client5.http.async.methods.SimpleResponseConsumer;
+import org.apache.hc.client5.http.impl.async.CloseableHttpAsyncClient;
+import org.apache.hc.core5.concurrent.FutureCallback;
+import org.apache.hc.core5.http.ClassicHttpRequest;
+import org.apache.hc.core5.http.ConnectionRequestTimeoutException;
+import org.apache.hc.core5.http.nio.AsyncEntityProducer;
+import org.apache.hc.core5.http.nio.support.BasicRequestProducer;
+import org.apache.hc.core5.http.protocol.HttpContext;
+import org.apache.hc.core5.io.CloseMode;
+
+/**
+ * Class sends requests to a REST service as streams that are multiplexed over a fixed number of HTTP/2 connections.
+ * Each connection is provided by its own HTTP/2 async client. Requests are distributed round robin across the
+ * connections.
+ *
+ * The amount of concurrent streams is limited on client side to the configured maximum per connection. Requests that
+ * exceed this limit are queued without blocking the calling thread and are sent as soon as another stream completed.
+ * Requests that were queued longer than the admission timeout fail.
+ *
+ * @author JEAF Development Team
+ */
+final class H2Transport {
+  /**
+   * HTTP/2 clients each of which holds one connection to the REST service.
+   */
+  private final CloseableHttpAsyncClient[] clients;
+
+  /**
+   * Maximum amount of streams that may be in flight across all connections.
+   */
+  private final int maxStreams;
+
+  /**
+   * Maximum time in nanoseconds that a request may be queued.
+   */
+  private final long admissionTimeout;
+
+  /**
+   * Amount of streams that are currently in flight.
+   */
+  private final AtomicInteger activeStreams = new AtomicInteger();
+
+  /**
+   * Counter that is used to distribute streams round robin across the connections.
+   */
+  private final AtomicInteger nextClient = new AtomicInteger();
+
+  /**
+   * Requests that wait for a free stream.
+   */
+  private final Queue<PendingRequest> pendingRequests = new ConcurrentLinkedQueue<>();
+
+  /**
+   * Initialize object.
+   *
+   * @param pClients Started HTTP/2 clients each of which provides one connection. The parameter must not be null.
+   * @param pMaxConcurrentStreams Maximum amount of concurrent streams per connection.
+   * @param pAdmissionTimeout Maximum time in milliseconds that a request may wait for a free stream.
+   */
+  H2Transport( CloseableHttpAsyncClient[] pClients, int pMaxConcurrentStreams, int pAdmissionTimeout ) {
+    clients = pClients;
+    maxStreams = pClients.length * Math.max(1, pMaxConcurrentStreams);
+    admissionTimeout = pAdmissionTimeout * 1000000L;
+  }
+
+  /**
+   * Method sends the passed request as soon as a stream is available.
+   *
+   * @param pRequest Request that should be sent. The parameter must not be null.
+   * @param pEntityProducer Producer for the body of the request. The parameter may be null.
+   * @param pHttpContext Http context that should be used for the request. The parameter may be null.
+   * @return {@link CompletableFuture} Future that completes as soon as the response was received. The method never
+   * returns null.
+   */
+  CompletableFuture<SimpleHttpResponse> execute( ClassicHttpRequest pRequest, AsyncEntityProducer pEntityProducer,
+      HttpContext pHttpContext ) {
+    PendingRequest lPendingRequest = new PendingRequest(pRequest, pEntityProducer, pHttpContext);
+    pendingRequests.add(lPendingRequest);
+    this.dispatch();
+    return lPendingRequest.future;
+  }
+
+  /**
+   * Method returns the amount of streams that are currently in flight.
+   *
+   * @return int Amount of active streams.
+   */
+  int getActiveStreams( ) {
+    return activeStreams.get();
+  }
+
+  /**
+   * Method closes all connections of the transport. Requests that are still waiting for a free stream are cancelled.
+   */
+  void close( ) {
+    for (CloseableHttpAsyncClient lNextClient : clients) {
+      lNextClient.close(CloseMode.GRACEFUL);
+    }
+    PendingRequest lPendingRequest = pendingRequests.poll();
+    while (lPendingRequest != null) {
+      lPendingRequest.future.cancel(false);
+      lPendingRequest = pendingRequests.poll();
+    }
+  }
+
+  /**
+   * Method sends pending requests as long as streams are available.
+   */
+  private void dispatch( ) {
+    while (true) {
+      // Reserve stream before a request is taken from the queue.
+      int lActiveStreams = activeStreams.get();
+      if (lActiveStreams >= maxStreams) {
+        return;
+      }
+      if (activeStreams.compareAndSet(lActiveStreams, lActiveStreams + 1) == false) {
+        continue;
+      }
+      PendingRequest lPendingRequest = pendingRequests.poll();
+      if (lPendingRequest == null) {
+        // Another request might have been queued after polling so we have to check again after releasing the stream.
+        activeStreams.decrementAndGet();
+        if (pendingRequests.isEmpty()) {
+          return;
+        }
+      }
+      else if (System.nanoTime() - lPendingRequest.queuedAt > admissionTimeout) {
+        activeStreams.decrementAndGet();
+        lPendingRequest.future.completeExceptionally(new ConnectionRequestTimeoutException(
+            "Timeout waiting for free HTTP/2 stream to " + lPendingRequest.request.getAuthority()));
+      }
+      else {
+        this.send(lPendingRequest);
+      }
+    }
+  }
+
+  private void send( PendingRequest pPendingRequest ) {
+    CloseableHttpAsyncClient lClient = clients[Math.floorMod(nextClient.getAndIncrement(), clients.length)];
+    CompletableFuture<SimpleHttpResponse> lFuture = pPendingRequest.future;
+    lClient.execute(new BasicRequestProducer(pPendingRequest.request, pPendingRequest.entityProducer),
+        SimpleResponseConsumer.create(), pPendingRequest.httpContext, new FutureCallback<SimpleHttpResponse>() {
+          @Override
+          public void completed( SimpleHttpResponse pResponse ) {
+            H2Transport.this.release();
+            lFuture.complete(pResponse);
+          }
+
+          @Override
+          public void failed( Exception pException ) {
+            H2Transport.this.release();
+            lFuture.completeExceptionally(pException);
+          }
+
+          @Override
+          public void cancelled( ) {
+            H2Transport.this.release();
+            lFuture.cancel(false);
+          }
+        });
+  }
+
+  private void release( ) {
+    activeStreams.decrementAndGet();
+    this.dispatch();
+  }
+
+  /**
+   * Class represents a request that waits for a free stream.
+   */
+  private static final class PendingRequest {
+    final ClassicHttpRequest request;
+
+    final AsyncEntityProducer entityProducer;
+
+    final HttpContext httpContext;
+
+    final CompletableFuture<SimpleHttpResponse> future = new CompletableFuture<>();
+
+    final long queuedAt = System.nanoTime();
+
+    PendingRequest( ClassicHttpRequest pRequest, AsyncEntityProducer pEntityProducer, HttpContext pHttpContext ) {
+      request = pRequest;
+      entityProducer = pEntityProducer;
+      httpContext = pHttpContext;
+    }
+  }
+}
@@ -0,0 +1,109 @@
+/**
+ * Copyright 2004 - 2022 anaptecs GmbH, Burgstr. 96, 72764 Reutlingen, Germany
+ *
+ * All rights reserved.
+ */
+package com.anaptecs.jeaf.rest.executor.impl.apache;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeoutException;
+
+import org.apache.hc.client5.http.HttpRoute;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.io.ConnectionEndpoint;
+import org.apache.hc.client5.http.io.LeaseRequest;
+import org.apache.hc.client5.http.socket.ConnectionSocketFactory;
+import org.apache.hc.core5.http.config.Registry;
+import org.apache.hc.core5.pool.PoolConcurrencyPolicy;
+import org.apache.hc.core5.pool.PoolReusePolicy;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+
+import com.anaptecs.jeaf.rest.executor.impl.metrics.LatencyHistogram;
+
+/**
+ * Class extends Apache HTTP Client's pooling connection manager by measuring how long requests have to wait for a
+ * connection from the pool. Wait times of all leases are recorded to a histogram that belongs to the connection
+ * manager.
+ *
+ * Apache HTTP Client leases connections on the thread that executes the request. The measured wait time is therefore
+ * kept per thread and can be read by the executor directly after the request was executed. As requests might be
+ * retried the wait times of all leases since the last call of {@link #resetLeaseWait()} are summed up.
+ *
+ * @author JEAF Development Team
+ */
+class InstrumentedConnectionManager extends PoolingHttpClientConnectionManager {
+  /**
+   * Accumulated lease wait time in nanoseconds of the current thread. An array is used so that updates do not require
+   * any allocations.
+   */
+  private static final ThreadLocal<long[]> LEASE_WAIT = ThreadLocal.withInitial(( ) -> new long[1]);
+
+  /**
+   * Wait times in nanoseconds of all leases of this connection manager.
+   */
+  private final LatencyHistogram leaseWaitHistogram = new LatencyHistogram();
+
+  /**
+   * Initialize object.
+   *
+   * @param pRegistry Registry with socket factories for all supported schemes. The parameter must not be null.
+   * @param pPoolConcurrencyPolicy Concurrency policy of the pool. The parameter must not be null.
+   * @param pPoolReusePolicy Reuse policy of the pool. The parameter must not be null.
+   * @param pTimeToLive Maximum time to live of pooled connections. The parameter must not be null.
+   */
+  InstrumentedConnectionManager( Registry<ConnectionSocketFactory> pRegistry,
+      PoolConcurrencyPolicy pPoolConcurrencyPolicy, PoolReusePolicy pPoolReusePolicy, TimeValue pTimeToLive ) {
+    super(pRegistry, pPoolConcurrencyPolicy, pPoolReusePolicy, pTimeToLive);
+  }
+
+  /**
+   * Method resets the accumulated lease wait time of the current thread.
+   */
+  static void resetLeaseWait( ) {
+    LEASE_WAIT.get()[0] = 0;
+  }
+
+  /**
+   * Method returns the accumulated lease wait time of the current thread since the last reset.
+   *
+   * @return long Lease wait time in nanoseconds.
+   */
+  static long getLeaseWait( ) {
+    return LEASE_WAIT.get()[0];
+  }
+
+  /**
+   * Method returns the histogram with the wait times of all leases of this connection manager.
+   *
+   * @return {@link LatencyHistogram} Histogram with lease wait times in nanoseconds. The method never returns null.
+   */
+  LatencyHistogram getLeaseWaitHistogram( ) {
+    return leaseWaitHistogram;
+  }
+
+  @Override
+  public LeaseRequest lease( String pID, HttpRoute pRoute, Timeout pRequestTimeout, Object pState ) {
+    LeaseRequest lLeaseRequest = super.lease(pID, pRoute, pRequestTimeout, pState);
+    return new LeaseRequest() {
+      @Override
+      public ConnectionEndpoint get( Timeout pTimeout )
+        throws InterruptedException, ExecutionException, TimeoutException {
+        long lStartTime = System.nanoTime();
+        try {
+          return lLeaseRequest.get(pTimeout);
+        }
+        finally {
+          long lLeaseWait = System.nanoTime() - lStartTime;
+          LEASE_WAIT.get()[0] += lLeaseWait;
+          leaseWaitHistogram.record(lLeaseWait);
+        }
+      }
+
+      @Override
+      public boolean cancel( ) {
+        return lLeaseRequest.cancel();
+      }
+    };
+  }
+}
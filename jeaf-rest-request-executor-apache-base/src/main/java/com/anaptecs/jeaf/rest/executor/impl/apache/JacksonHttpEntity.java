@@ -0,0 +1,224 @@
+/**
+ * Copyright 2004 - 2022 anaptecs GmbH, Burgstr. 96, 72764 Reutlingen, Germany
+ *
+ * All rights reserved.
+ */
+package com.anaptecs.jeaf.rest.executor.impl.apache;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.FilterOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+import org.apache.hc.core5.http.ContentType;
+import org.apache.hc.core5.http.io.entity.AbstractHttpEntity;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+/**
+ * Class implements an {@link org.apache.hc.core5.http.HttpEntity} that serializes an object using Jackson directly into
+ * the output stream of the http connection. This way no intermediate String or byte[] representation of the body is
+ * required. As the size of the body is not known in advance the entity is sent using chunked transfer encoding.
+ *
+ * The entity is repeatable as the object is simply serialized again e.g. in case of retries. Requests whose body can
+ * not be serialized are not retried ({@link RequestRetryStrategy}).
+ *
+ * @author JEAF Development Team
+ */
+final class JacksonHttpEntity extends AbstractHttpEntity {
+  /**
+   * Writer that is used to serialize the body. Jackson must not close the output stream as this is up to Apache HTTP
+   * Client.
+   */
+  private final ObjectWriter writer;
+
+  /**
+   * Object that will be serialized as body of the request. The object may be null.
+   */
+  private final Object body;
+
+  /**
+   * Amount of bytes that were written when the entity was sent the last time.
+   */
+  private long bytesWritten;
+
+  /**
+   * Initialize object.
+   *
+   * @param pObjectMapper Object mapper that should be used for serialization. The parameter must not be null.
+   * @param pBody Object that should be serialized. The parameter may be null.
+   * @param pContentType Content type of the entity. The parameter must not be null.
+   */
+  JacksonHttpEntity( ObjectMapper pObjectMapper, Object pBody, ContentType pContentType ) {
+    super(pContentType, null, true);
+    writer = pObjectMapper.writer().without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    body = pBody;
+  }
+
+  @Override
+  public void writeTo( OutputStream pOutputStream ) throws IOException {
+    CountingOutputStream lOutputStream = new CountingOutputStream(pOutputStream);
+    writer.writeValue(lOutputStream, body);
+    bytesWritten = lOutputStream.count;
+  }
+
+  /**
+   * Method returns the amount of bytes that were written when the entity was sent the last time.
+   *
+   * @return long Size of the serialized body or 0 if the entity was not sent yet.
+   */
+  long getBytesWritten( ) {
+    return bytesWritten;
+  }
+
+  /**
+   * Method returns the content of the entity as stream. As this requires to serialize the whole body into memory this
+   * method should only be used if really required. For sending the body {@link #writeTo(OutputStream)} is used.
+   */
+  @Override
+  public InputStream getContent( ) throws IOException {
+    return new ByteArrayInputStream(this.getContentAsBytes());
+  }
+
+  /**
+   * Method returns the serialized body as byte array. This is required in case that the body can not be streamed e.g.
+   * in case of asynchronous requests.
+   *
+   * @return byte[] Serialized body. The method never returns null.
+   */
+  byte[] getContentAsBytes( ) throws IOException {
+    return writer.writeValueAsBytes(body);
+  }
+
+  @Override
+  public long getContentLength( ) {
+    // Size of the body is not known in advance.
+    return -1;
+  }
+
+  @Override
+  public boolean isRepeatable( ) {
+    return true;
+  }
+
+  @Override
+  public boolean isStreaming( ) {
+    return false;
+  }
+
+  @Override
+  public void close( ) {
+    // Nothing to do.
+  }
+
+  /**
+   * Method returns the content of this entity for tracing purposes. To keep tracing cheap serialization stops as soon
+   * as the passed maximum size is reached. Binary content is not traced at all.
+   *
+   * @param pMaxSize Maximum amount of bytes that should be captured.
+   * @return String Captured content. If the body is larger than the passed maximum size then the returned content is
+   * truncated and ends with "...". The method never returns null.
+   */
+  String getContentForTracing( int pMaxSize ) throws IOException {
+    // Binary formats like Smile or CBOR can not be traced as text so only their size is traced. The serialized body is
+    // only counted but not kept in memory.
+    if (writer.getFactory().canHandleBinaryNatively()) {
+      CountingOutputStream lCounter = new CountingOutputStream(OutputStream.nullOutputStream());
+      writer.writeValue(lCounter, body);
+      return "<" + this.getContentType() + ", " + lCounter.count + " bytes>";
+    }
+    BoundedCaptureOutputStream lCapture = new BoundedCaptureOutputStream(pMaxSize);
+    try {
+      writer.writeValue(lCapture, body);
+    }
+    // Depending on where serialization is stopped Jackson may wrap our exception.
+    catch (IOException | RuntimeException e) {
+      // Exceeding the limit is expected in case of large bodies. All other problems are real ones.
+      if (lCapture.isLimitReached() == false) {
+        throw e;
+      }
+    }
+    String lContent = new String(lCapture.toByteArray(), StandardCharsets.UTF_8);
+    if (lCapture.isLimitReached()) {
+      lContent = lContent + "...";
+    }
+    return lContent;
+  }
+
+  /**
+   * Output stream captures content up to a defined limit. As soon as the limit is exceeded an exception is thrown so
+   * that serialization stops.
+   */
+  private static final class BoundedCaptureOutputStream extends ByteArrayOutputStream {
+    private final int maxSize;
+
+    private boolean limitReached;
+
+    BoundedCaptureOutputStream( int pMaxSize ) {
+      super(Math.min(pMaxSize, 1024));
+      maxSize = pMaxSize;
+    }
+
+    @Override
+    public void write( int pByte ) {
+      this.write(new byte[] { (byte) pByte }, 0, 1);
+    }
+
+    @Override
+    public void write( byte[] pBytes, int pOffset, int pLength ) {
+      int lRemaining = maxSize - this.size();
+      if (pLength <= lRemaining) {
+        super.write(pBytes, pOffset, pLength);
+      }
+      else {
+        super.write(pBytes, pOffset, lRemaining);
+        limitReached = true;
+        throw new CaptureLimitReachedException();
+      }
+    }
+
+    boolean isLimitReached( ) {
+      return limitReached;
+    }
+  }
+
+  /**
+   * Output stream counts the bytes that are written to the wrapped stream.
+   */
+  private static final class CountingOutputStream extends FilterOutputStream {
+    private long count;
+
+    CountingOutputStream( OutputStream pOutputStream ) {
+      super(pOutputStream);
+    }
+
+    @Override
+    public void write( int pByte ) throws IOException {
+      out.write(pByte);
+      count++;
+    }
+
+    @Override
+    public void write( byte[] pBytes, int pOffset, int pLength ) throws IOException {
+      // Bytes are passed as block. FilterOutputStream would write them one by one.
+      out.write(pBytes, pOffset, pLength);
+      count += pLength;
+    }
+  }
+
+  /**
+   * Exception is used to stop serialization once the capture limit is reached.
+   */
+  private static final class CaptureLimitReachedException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    CaptureLimitReachedException( ) {
+      super("Capture limit reached.", null, false, false);
+    }
+  }
+}
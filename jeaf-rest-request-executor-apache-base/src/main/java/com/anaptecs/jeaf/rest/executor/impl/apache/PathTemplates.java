@@ -0,0 +1,149 @@
+/**
+ * Copyright 2004 - 2022 anaptecs GmbH, Burgstr. 96, 72764 Reutlingen, Germany
+ *
+ * All rights reserved.
+ */
+package com.anaptecs.jeaf.rest.executor.impl.apache;
+
+/**
+ * Class derives path templates from concrete request paths. Requests only contain the already resolved path so
+ * segments that look like identifiers are replaced by a placeholder. This keeps the number of distinct paths that are
+ * used e.g. as metric tags small.
+ *
+ * @author JEAF Development Team
+ */
+final class PathTemplates {
+  /**
+   * Placeholder that replaces path segments that are identifiers.
+   */
+  static final String ID_PLACEHOLDER = "{id}";
+
+  /**
+   * Hex strings with at least this length are considered to be identifiers.
+   */
+  private static final int MIN_HEX_ID_LENGTH = 16;
+
+  /**
+   * Instances of this class do not make sense.
+   */
+  private PathTemplates( ) {
+    // Nothing to do.
+  }
+
+  /**
+   * Method returns the path template of the passed path. Segments that consist of digits only, UUIDs and long hex
+   * strings are replaced with {@link #ID_PLACEHOLDER}. Query strings and fragments are removed.
+   *
+   * @param pPath Path of a request. The parameter may be null.
+   * @return String Path template. If the path does not contain any identifiers then it is returned as it is. The
+   * method never returns null.
+   */
+  static String toPathTemplate( String pPath ) {
+    String lPathTemplate;
+    if (pPath != null) {
+      // Query and fragment are not part of the template.
+      int lEnd = pPath.length();
+      for (int i = 0; i < lEnd; i++) {
+        char lCharacter = pPath.charAt(i);
+        if (lCharacter == '?' || lCharacter == '#') {
+          lEnd = i;
+        }
+      }
+      StringBuilder lBuilder = null;
+      int lSegmentStart = 0;
+      while (lSegmentStart <= lEnd) {
+        int lSegmentEnd = pPath.indexOf('/', lSegmentStart);
+        if (lSegmentEnd < 0 || lSegmentEnd > lEnd) {
+          lSegmentEnd = lEnd;
+        }
+        if (isIdentifier(pPath, lSegmentStart, lSegmentEnd)) {
+          // Builder is only created as soon as there is something to replace.
+          if (lBuilder == null) {
+            lBuilder = new StringBuilder(lEnd);
+            lBuilder.append(pPath, 0, lSegmentStart);
+          }
+          lBuilder.append(ID_PLACEHOLDER);
+        }
+        else if (lBuilder != null) {
+          lBuilder.append(pPath, lSegmentStart, lSegmentEnd);
+        }
+        if (lBuilder != null && lSegmentEnd < lEnd) {
+          lBuilder.append('/');
+        }
+        lSegmentStart = lSegmentEnd + 1;
+      }
+      if (lBuilder != null) {
+        lPathTemplate = lBuilder.toString();
+      }
+      else {
+        lPathTemplate = pPath.substring(0, lEnd);
+      }
+    }
+    else {
+      lPathTemplate = "";
+    }
+    return lPathTemplate;
+  }
+
+  private static boolean isIdentifier( String pPath, int pStart, int pEnd ) {
+    int lLength = pEnd - pStart;
+    boolean lIdentifier;
+    if (lLength == 0) {
+      lIdentifier = false;
+    }
+    else if (isDigits(pPath, pStart, pEnd)) {
+      lIdentifier = true;
+    }
+    else if (lLength == 36) {
+      lIdentifier = isUUID(pPath, pStart);
+    }
+    else if (lLength >= MIN_HEX_ID_LENGTH) {
+      lIdentifier = isHex(pPath, pStart, pEnd);
+    }
+    else {
+      lIdentifier = false;
+    }
+    return lIdentifier;
+  }
+
+  private static boolean isDigits( String pPath, int pStart, int pEnd ) {
+    for (int i = pStart; i < pEnd; i++) {
+      char lCharacter = pPath.charAt(i);
+      if (lCharacter < '0' || lCharacter > '9') {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static boolean isUUID( String pPath, int pStart ) {
+    for (int i = 0; i < 36; i++) {
+      char lCharacter = pPath.charAt(pStart + i);
+      boolean lValid;
+      if (i == 8 || i == 13 || i == 18 || i == 23) {
+        lValid = lCharacter == '-';
+      }
+      else {
+        lValid = isHex(lCharacter);
+      }
+      if (lValid == false) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static boolean isHex( String pPath, int pStart, int pEnd ) {
+    for (int i = pStart; i < pEnd; i++) {
+      if (isHex(pPath.charAt(i)) == false) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static boolean isHex( char pCharacter ) {
+    return (pCharacter >= '0' && pCharacter <= '9') || (pCharacter >= 'a' && pCharacter <= 'f')
+        || (pCharacter >= 'A' && pCharacter <= 'F');
+  }
+}
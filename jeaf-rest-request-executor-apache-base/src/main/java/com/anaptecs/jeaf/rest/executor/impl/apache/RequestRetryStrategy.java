@@ -0,0 +1,49 @@
+/**
+ * Copyright 2004 - 2022 anaptecs GmbH, Burgstr. 96, 72764 Reutlingen, Germany
+ *
+ * All rights reserved.
+ */
+package com.anaptecs.jeaf.rest.executor.impl.apache;
+
+import java.io.IOException;
+
+import org.apache.hc.client5.http.impl.DefaultHttpRequestRetryStrategy;
+import org.apache.hc.core5.http.HttpRequest;
+import org.apache.hc.core5.http.protocol.HttpContext;
+import org.apache.hc.core5.util.TimeValue;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+
+/**
+ * Class implements the retry behavior of all http clients. It behaves like {@link DefaultHttpRequestRetryStrategy}
+ * except that requests whose body could not be serialized are never retried.
+ *
+ * Request bodies are serialized while the request is sent ({@link JacksonHttpEntity}). Jackson reports serialization
+ * problems as {@link JsonProcessingException} which is an {@link IOException}. Apache HTTP Client would treat them like
+ * communication problems and retry idempotent requests even though serialization would fail again every time.
+ *
+ * @author JEAF Development Team
+ */
+final class RequestRetryStrategy extends DefaultHttpRequestRetryStrategy {
+  /**
+   * Initialize object.
+   *
+   * @param pMaxRetries Maximum amount of retries of a request.
+   * @param pRetryInterval Interval between two retries if the REST service does not define one.
+   */
+  RequestRetryStrategy( int pMaxRetries, TimeValue pRetryInterval ) {
+    super(pMaxRetries, pRetryInterval);
+  }
+
+  @Override
+  public boolean retryRequest( HttpRequest pRequest, IOException pException, int pExecCount, HttpContext pContext ) {
+    boolean lRetry;
+    if (pException instanceof JsonProcessingException) {
+      lRetry = false;
+    }
+    else {
+      lRetry = super.retryRequest(pRequest, pException, pExecCount, pContext);
+    }
+    return lRetry;
+  }
+}
@@ -0,0 +1,296 @@
+/**
+ * Copyright 2004 - 2022 anaptecs GmbH, Burgstr. 96, 72764 Reutlingen, Germany
+ *
+ * All rights reserved.
+ */
+package com.anaptecs.jeaf.rest.executor.impl.apache;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.hc.core5.http.ClassicHttpRequest;
+import org.apache.hc.core5.http.Header;
+import org.apache.hc.core5.http.HttpHeaders;
+import org.apache.hc.core5.http.message.BasicHeader;
+import org.apache.hc.core5.net.PercentCodec;
+import org.apache.hc.core5.net.URIAuthority;
+
+import com.anaptecs.jeaf.rest.executor.impl.config.RESTClientConfiguration;
+
+/**
+ * Class holds everything that is the same for all requests to a REST service. The URL of the REST service is parsed
+ * only once and headers that do not depend on the request are prepared in advance. Requests are then created directly
+ * from these components so that no URIs have to be parsed per request.
+ *
+ * The request path and the query parameters are assembled in a single pass. Query parameters are encoded exactly like
+ * Apache HTTP Client's <code>URIBuilder</code> does.
+ *
+ * Cookies are written directly into a single <code>Cookie</code> header instead of passing them through a cookie store.
+ * Whether cookies are sent at all is decided the same way as by the cookie store: The configured cookie domain has to
+ * match the host of the REST service and the configured cookie path has to match the path of the request. As the
+ * domain does not change it is only checked once. Optionally encoded cookie headers are cached per cookie map.
+ *
+ * @author JEAF Development Team
+ */
+final class RequestTemplate {
+  /**
+   * Scheme of the REST service e.g. "https".
+   */
+  private final String scheme;
+
+  /**
+   * Authority (host and port) of the REST service.
+   */
+  private final URIAuthority authority;
+
+  /**
+   * Raw path of the URL of the REST service. Request paths are appended to it. The base path may be empty.
+   */
+  private final String basePath;
+
+  /**
+   * Header <code>Accept</code> that is used for JSON requests.
+   */
+  private final Header acceptHeader;
+
+  /**
+   * Header <code>Accept-Encoding</code> or null if compressed responses are not accepted.
+   */
+  private final Header acceptEncodingHeader;
+
+  /**
+   * Indicator whether cookies are sent to the REST service. This is only the case if the configured cookie domain
+   * matches the host of the REST service.
+   */
+  private final boolean cookiesEnabled;
+
+  /**
+   * Path for which cookies are sent. Cookies are only sent with requests to this path or to paths below it.
+   */
+  private final String cookiePath;
+
+  /**
+   * Maximum number of cached cookie headers. 0 means that cookie headers are not cached.
+   */
+  private final int cookieHeaderCacheSize;
+
+  /**
+   * Cache of encoded cookie headers. The key is the map of cookies from which the header was encoded.
+   */
+  private final Map<Map<String, String>, Header> cookieHeaders = new ConcurrentHashMap<>();
+
+  /**
+   * Initialize object.
+   *
+   * @param pConfiguration Configuration of the REST service. The parameter must not be null.
+   * @param pContentNegotiation Content negotiation of the REST service. The parameter must not be null.
+   * @param pContentCompression Compression settings of the REST service. The parameter must not be null.
+   */
+  RequestTemplate( RESTClientConfiguration pConfiguration, ContentNegotiation pContentNegotiation,
+      ContentCompression pContentCompression ) {
+    String lExternalServiceURL = pConfiguration.getExternalServiceURL();
+    URI lURI = URI.create(lExternalServiceURL);
+    if (lURI.getHost() == null) {
+      throw new IllegalArgumentException("URL '" + lExternalServiceURL + "' of REST service does not contain a host.");
+    }
+    scheme = lURI.getScheme();
+    authority = new URIAuthority(lURI.getRawUserInfo(), lURI.getHost(), lURI.getPort());
+    basePath = lURI.getRawPath() != null ? lURI.getRawPath() : "";
+    acceptHeader = new BasicHeader(HttpHeaders.ACCEPT, pContentNegotiation.getAccept());
+    String lAcceptEncoding = pContentCompression.getAcceptEncoding();
+    if (lAcceptEncoding != null) {
+      acceptEncodingHeader = new BasicHeader(HttpHeaders.ACCEPT_ENCODING, lAcceptEncoding);
+    }
+    else {
+      acceptEncodingHeader = null;
+    }
+
+    // Cookies are only sent if their domain is the host of the REST service.
+    String lCookieDomain = pConfiguration.getCookieDomain();
+    if (lCookieDomain != null) {
+      if (lCookieDomain.startsWith(".")) {
+        lCookieDomain = lCookieDomain.substring(1);
+      }
+      cookiesEnabled = lCookieDomain.equalsIgnoreCase(lURI.getHost());
+    }
+    else {
+      cookiesEnabled = false;
+    }
+    String lCookiePath = pConfiguration.getCookiePath();
+    if (lCookiePath == null) {
+      lCookiePath = "/";
+    }
+    else if (lCookiePath.length() > 1 && lCookiePath.endsWith("/")) {
+      lCookiePath = lCookiePath.substring(0, lCookiePath.length() - 1);
+    }
+    cookiePath = lCookiePath;
+    cookieHeaderCacheSize = pConfiguration.getCookieHeaderCacheSize();
+  }
+
+  /**
+   * Method creates a new request to the REST service.
+   *
+   * @param pMethod Http method of the request. The parameter must not be null.
+   * @param pPath Path of the request relative to the URL of the REST service. The path has to be encoded already. The
+   * parameter may be null.
+   * @param pQueryParameters Query parameters of the request. Parameter names and values will be encoded. The parameter
+   * must not be null.
+   * @param pCookies Cookies that should be sent with the request. The parameter must not be null.
+   * @return {@link ClassicHttpRequest} Created request. The method never returns null.
+   */
+  ClassicHttpRequest createRequest( String pMethod, String pPath, Map<String, List<String>> pQueryParameters,
+      Map<String, String> pCookies ) {
+    // Request line is assembled into one buffer that is large enough in most cases.
+    int lPathLength = pPath != null ? pPath.length() : 0;
+    StringBuilder lBuilder = new StringBuilder(basePath.length() + lPathLength + 16 * (pQueryParameters.size() + 1));
+    lBuilder.append(basePath);
+    if (pPath != null) {
+      lBuilder.append(pPath);
+    }
+    if (lBuilder.length() == 0) {
+      lBuilder.append('/');
+    }
+    boolean lSendCookies = pCookies.isEmpty() == false && cookiesEnabled && this.matchesCookiePath(lBuilder);
+
+    // As there might be multiple values for one query param we have to loop over all passed values.
+    char lSeparator = '?';
+    for (Entry<String, List<String>> lNextQueryParam : pQueryParameters.entrySet()) {
+      for (String lNextValue : lNextQueryParam.getValue()) {
+        lBuilder.append(lSeparator);
+        PercentCodec.encode(lBuilder, lNextQueryParam.getKey(), StandardCharsets.UTF_8);
+        if (lNextValue != null) {
+          lBuilder.append('=');
+          PercentCodec.encode(lBuilder, lNextValue, StandardCharsets.UTF_8);
+        }
+        lSeparator = '&';
+      }
+    }
+    // Requests are cancellable so that responses that are not read completely can be discarded.
+    ClassicHttpRequest lRequest = new CancellableRequest(pMethod, scheme, authority, lBuilder.toString());
+    if (lSendCookies) {
+      lRequest.addHeader(this.getCookieHeader(pCookies));
+    }
+    return lRequest;
+  }
+
+  /**
+   * Method checks if the passed request path matches the cookie path.
+   *
+   * @param pPath Path of the request. The parameter must not be null.
+   * @return boolean Method returns true if the request path is the cookie path or a path below it.
+   */
+  private boolean matchesCookiePath( CharSequence pPath ) {
+    int lLength = cookiePath.length();
+    boolean lMatches = pPath.length() >= lLength;
+    for (int i = 0; lMatches && i < lLength; i++) {
+      lMatches = pPath.charAt(i) == cookiePath.charAt(i);
+    }
+    if (lMatches && lLength > 1 && pPath.length() > lLength) {
+      lMatches = pPath.charAt(lLength) == '/';
+    }
+    return lMatches;
+  }
+
+  /**
+   * Method returns the <code>Cookie</code> header for the passed cookies. If caching is enabled then the header is only
+   * encoded once for the same cookies.
+   *
+   * @param pCookies Cookies that should be sent. The parameter must not be null.
+   * @return {@link Header} Cookie header. The method never returns null.
+   */
+  private Header getCookieHeader( Map<String, String> pCookies ) {
+    Header lCookieHeader;
+    if (cookieHeaderCacheSize > 0) {
+      lCookieHeader = cookieHeaders.get(pCookies);
+      if (lCookieHeader == null) {
+        lCookieHeader = this.encodeCookies(pCookies);
+
+        // Cookies like session ids change over time. So the cache is rather reset than blocking new entries forever.
+        if (cookieHeaders.size() >= cookieHeaderCacheSize) {
+          cookieHeaders.clear();
+        }
+        // Cookies are copied as the passed map might be changed by the caller afterwards.
+        cookieHeaders.put(new HashMap<>(pCookies), lCookieHeader);
+      }
+    }
+    else {
+      lCookieHeader = this.encodeCookies(pCookies);
+    }
+    return lCookieHeader;
+  }
+
+  /**
+   * Method encodes the passed cookies into one <code>Cookie</code> header. Values are formatted like Apache HTTP
+   * Client's RFC 6265 cookie spec does. Cookies are ordered by their name as it was done by the cookie store.
+   *
+   * @param pCookies Cookies that should be encoded. The parameter must not be null.
+   * @return {@link Header} Cookie header. The method never returns null.
+   */
+  private Header encodeCookies( Map<String, String> pCookies ) {
+    StringBuilder lBuilder = new StringBuilder(32 * pCookies.size());
+    for (Entry<String, String> lNextCookie : new TreeMap<>(pCookies).entrySet()) {
+      if (lBuilder.length() > 0) {
+        lBuilder.append("; ");
+      }
+      lBuilder.append(lNextCookie.getKey());
+      String lValue = lNextCookie.getValue();
+      if (lValue != null) {
+        lBuilder.append('=');
+        if (this.containsSpecialChar(lValue)) {
+          lBuilder.append('"');
+          for (int i = 0; i < lValue.length(); i++) {
+            char lNext = lValue.charAt(i);
+            if (lNext == '"' || lNext == '\\') {
+              lBuilder.append('\\');
+            }
+            lBuilder.append(lNext);
+          }
+          lBuilder.append('"');
+        }
+        else {
+          lBuilder.append(lValue);
+        }
+      }
+    }
+    return new BasicHeader(HttpHeaders.COOKIE, lBuilder.toString());
+  }
+
+  /**
+   * Method checks if the passed cookie value has to be quoted.
+   *
+   * @param pValue Cookie value that should be checked. The parameter must not be null.
+   * @return boolean Method returns true if the value contains characters that require quoting.
+   */
+  private boolean containsSpecialChar( String pValue ) {
+    boolean lSpecial = false;
+    for (int i = 0; lSpecial == false && i < pValue.length(); i++) {
+      char lNext = pValue.charAt(i);
+      lSpecial = lNext == ' ' || lNext == '"' || lNext == ',' || lNext == ';' || lNext == '\\';
+    }
+    return lSpecial;
+  }
+
+  /**
+   * Method returns the header <code>Accept</code> that is used for JSON requests.
+   *
+   * @return {@link Header} Accept header. The method never returns null.
+   */
+  Header getAcceptHeader( ) {
+    return acceptHeader;
+  }
+
+  /**
+   * Method returns the header <code>Accept-Encoding</code> that is sent with all requests.
+   *
+   * @return {@link Header} Accept-Encoding header or null if compressed responses are not accepted.
+   */
+  Header getAcceptEncodingHeader( ) {
+    return acceptEncodingHeader;
+  }
+}
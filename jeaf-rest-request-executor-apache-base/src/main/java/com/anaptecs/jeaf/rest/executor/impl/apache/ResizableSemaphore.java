@@ -0,0 +1,51 @@
+/**
+ * Copyright 2004 - 2022 anaptecs GmbH, Burgstr. 96, 72764 Reutlingen, Germany
+ *
+ * All rights reserved.
+ */
+package com.anaptecs.jeaf.rest.executor.impl.apache;
+
+import java.util.concurrent.Semaphore;
+
+/**
+ * Fair semaphore whose amount of permits can be changed at runtime. It is used to admit requests to connection pools
+ * whose size is adapted to the observed load.
+ *
+ * @author JEAF Development Team
+ */
+final class ResizableSemaphore extends Semaphore {
+  private static final long serialVersionUID = 1L;
+
+  /**
+   * Current amount of permits of the semaphore. It is only changed through {@link #resize(int)}.
+   */
+  private int size;
+
+  /**
+   * Initialize object.
+   *
+   * @param pPermits Initial amount of permits.
+   */
+  ResizableSemaphore( int pPermits ) {
+    super(pPermits, true);
+    size = pPermits;
+  }
+
+  /**
+   * Method changes the amount of permits of this semaphore. If permits are currently acquired then the amount of
+   * available permits might become negative. In this case no further requests are admitted until enough permits are
+   * released again.
+   *
+   * @param pPermits New amount of permits.
+   */
+  synchronized void resize( int pPermits ) {
+    int lDelta = pPermits - size;
+    if (lDelta > 0) {
+      this.release(lDelta);
+    }
+    else if (lDelta < 0) {
+      this.reducePermits(-lDelta);
+    }
+    size = pPermits;
+  }
+}
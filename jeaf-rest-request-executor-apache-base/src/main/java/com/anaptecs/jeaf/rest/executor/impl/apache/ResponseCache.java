@@ -0,0 +1,687 @@
+/**
+ * Copyright 2004 - 2022 anaptecs GmbH, Burgstr. 96, 72764 Reutlingen, Germany
+ *
+ * All rights reserved.
+ */
+package com.anaptecs.jeaf.rest.executor.impl.apache;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.apache.hc.client5.http.utils.DateUtils;
+import org.apache.hc.core5.http.Header;
+import org.apache.hc.core5.http.HttpHeaders;
+import org.apache.hc.core5.http.HttpRequest;
+import org.apache.hc.core5.http.HttpResponse;
+
+import com.anaptecs.jeaf.rest.executor.impl.config.RESTClientConfiguration;
+
+/**
+ * Class implements the cache for responses of GET requests to a REST service. As the cache is shared by all callers of
+ * the REST service it behaves like a shared HTTP cache: Responses are stored and used according to their
+ * <code>Cache-Control</code> and <code>Expires</code> headers. Once a response is no longer fresh it is revalidated
+ * using its <code>ETag</code> or <code>Last-Modified</code> header.
+ *
+ * Responses are cached per method, URI and the request headers that are configured as part of the cache key
+ * ({@link RESTClientConfiguration#getResponseCacheKeyHeaders()}). Further headers are only compared if a response
+ * names them in its <code>Vary</code> header. Only one variant is kept per key so a request with other values replaces
+ * it.
+ *
+ * The cache is bounded by the amount of responses and by the size of their bodies. Looking up responses does not
+ * require any lock. Once a limit is exceeded a sample of the cached responses is taken and the least recently used one
+ * of the sample is evicted (sampled LRU). Eviction is guarded by a lock instead of a monitor so that virtual threads
+ * are not pinned.
+ *
+ * @author JEAF Development Team
+ */
+final class ResponseCache {
+  /**
+   * Estimated amount of memory in bytes that is required for a cached response in addition to its body and key.
+   */
+  private static final int ENTRY_OVERHEAD = 256;
+
+  /**
+   * Amount of cached responses that are compared when the least recently used response has to be evicted.
+   */
+  private static final int EVICTION_SAMPLE_SIZE = 8;
+
+  /**
+   * Maximum amount of cached responses.
+   */
+  private final int maxEntries;
+
+  /**
+   * Maximum amount of bytes of all cached responses.
+   */
+  private final long maxBytes;
+
+  /**
+   * Indicator whether deserialized responses are cached as well.
+   */
+  private final boolean storingObjects;
+
+  /**
+   * Names of the request headers whose values are only compared as hash. All names are lower-case.
+   */
+  private final List<String> sensitiveHeaderNames;
+
+  /**
+   * Cached responses per key.
+   */
+  private final ConcurrentHashMap<String, CachedResponse> entries = new ConcurrentHashMap<>();
+
+  /**
+   * Amount of bytes of all cached responses.
+   */
+  private final AtomicLong size = new AtomicLong();
+
+  /**
+   * Lock that guards the eviction of responses.
+   */
+  private final ReentrantLock evictionLock = new ReentrantLock();
+
+  /**
+   * Iterator from which the samples for eviction are taken. So subsequent evictions sample different responses. The
+   * iterator is guarded by {@link #evictionLock}.
+   */
+  private Iterator<Map.Entry<String, CachedResponse>> evictionIterator;
+
+  /**
+   * Initialize object.
+   *
+   * @param pConfiguration Configuration of the REST service. The parameter must not be null.
+   */
+  ResponseCache( RESTClientConfiguration pConfiguration ) {
+    maxEntries = pConfiguration.getResponseCacheSize();
+    maxBytes = pConfiguration.getResponseCacheMaxBytes();
+    if (maxEntries < 0 || maxBytes < 0) {
+      throw new IllegalArgumentException("Configuration parameters 'responseCacheSize' and 'responseCacheMaxBytes' "
+          + "must not be negative but are " + maxEntries + " and " + maxBytes + ".");
+    }
+    storingObjects = pConfiguration.isCacheDeserializedResponses();
+    sensitiveHeaderNames = pConfiguration.getSensitiveHeaderNames();
+  }
+
+  /**
+   * Method creates the key under which the response to the passed request is cached. Besides method and URI the key
+   * only contains the configured request headers and the credentials of the request i.e. <code>Authorization</code>,
+   * <code>Cookie</code> and all sensitive headers. Other headers like trace or request ids would make every key unique.
+   * Credentials are only contained as hash so that they are not kept by the cache.
+   *
+   * @param pRequest Request whose key should be created. The parameter must not be null.
+   * @param pRequestURI URI of the request. The parameter must not be null.
+   * @param pConfiguration Configuration of the REST service. The parameter must not be null.
+   * @return String Key of the request. The method never returns null.
+   */
+  static String createKey( HttpRequest pRequest, URI pRequestURI, RESTClientConfiguration pConfiguration ) {
+    StringBuilder lBuilder = new StringBuilder(128);
+    lBuilder.append(pRequest.getMethod());
+    lBuilder.append(' ');
+    lBuilder.append(pRequestURI.toString());
+    List<String> lSensitiveHeaderNames = pConfiguration.getSensitiveHeaderNames();
+    Set<String> lHeaderNames = new LinkedHashSet<>();
+    for (String lNextHeaderName : pConfiguration.getResponseCacheKeyHeaders()) {
+      lHeaderNames.add(lNextHeaderName.toLowerCase(Locale.ROOT));
+    }
+    // Responses to requests with different credentials must never be mixed up.
+    lHeaderNames.add("authorization");
+    lHeaderNames.add("cookie");
+    lHeaderNames.addAll(lSensitiveHeaderNames);
+    for (String lNextHeaderName : lHeaderNames) {
+      appendHeader(lBuilder, lNextHeaderName, pRequest, lSensitiveHeaderNames);
+    }
+    return lBuilder.toString();
+  }
+
+  /**
+   * Method checks if the passed header contains credentials of the caller.
+   *
+   * @param pHeaderName Lower-case name of the header. The parameter must not be null.
+   * @param pSensitiveHeaderNames Lower-case names of all sensitive headers. The parameter must not be null.
+   * @return boolean Method returns true if the header is <code>Authorization</code>, <code>Cookie</code> or a sensitive
+   * header.
+   */
+  private static boolean isCredential( String pHeaderName, List<String> pSensitiveHeaderNames ) {
+    return pHeaderName.equals("authorization") || pHeaderName.equals("cookie")
+        || pSensitiveHeaderNames.contains(pHeaderName);
+  }
+
+  /**
+   * Method appends the passed request header to a cache key.
+   *
+   * @param pBuilder Builder of the cache key. The parameter must not be null.
+   * @param pHeaderName Lower-case name of the header. The parameter must not be null.
+   * @param pRequest Request whose header should be appended. The parameter must not be null.
+   * @param pSensitiveHeaderNames Lower-case names of all sensitive headers. The parameter must not be null.
+   */
+  private static void appendHeader( StringBuilder pBuilder, String pHeaderName, HttpRequest pRequest,
+      List<String> pSensitiveHeaderNames ) {
+    String lValue = getKeyValue(pRequest, pHeaderName, pSensitiveHeaderNames);
+    if (lValue != null) {
+      pBuilder.append('\n');
+      pBuilder.append(pHeaderName);
+      pBuilder.append(':');
+      pBuilder.append(lValue);
+    }
+  }
+
+  /**
+   * Method returns the value of the passed request header as it is used to distinguish cached responses.
+   *
+   * @param pRequest Request whose header value should be returned. The parameter must not be null.
+   * @param pHeaderName Lower-case name of the header. The parameter must not be null.
+   * @param pSensitiveHeaderNames Lower-case names of all sensitive headers. The parameter must not be null.
+   * @return String All values of the header separated by comma. Credentials are replaced by their SHA-256 hash. The
+   * method returns null if the request does not have such a header.
+   */
+  private static String getKeyValue( HttpRequest pRequest, String pHeaderName, List<String> pSensitiveHeaderNames ) {
+    Header[] lHeaders = pRequest.getHeaders(pHeaderName);
+    String lValue;
+    if (lHeaders.length == 0) {
+      lValue = null;
+    }
+    else if (lHeaders.length == 1) {
+      lValue = lHeaders[0].getValue();
+    }
+    else {
+      StringBuilder lBuilder = new StringBuilder();
+      for (Header lNextHeader : lHeaders) {
+        if (lBuilder.length() > 0) {
+          lBuilder.append(',');
+        }
+        lBuilder.append(lNextHeader.getValue());
+      }
+      lValue = lBuilder.toString();
+    }
+    if (lValue != null && isCredential(pHeaderName, pSensitiveHeaderNames)) {
+      lValue = hash(lValue);
+    }
+    return lValue;
+  }
+
+  /**
+   * Method returns the SHA-256 hash of the passed value.
+   *
+   * @param pValue Value that should be hashed. The parameter must not be null.
+   * @return String Base64 encoded hash of the value. The method never returns null.
+   */
+  private static String hash( String pValue ) {
+    try {
+      byte[] lHash = MessageDigest.getInstance("SHA-256").digest(pValue.getBytes(StandardCharsets.UTF_8));
+      return Base64.getEncoder().withoutPadding().encodeToString(lHash);
+    }
+    // Every Java platform has to support SHA-256.
+    catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  /**
+   * Method checks if deserialized responses are cached as well.
+   *
+   * @return boolean Method returns true if deserialized responses are cached and false otherwise.
+   */
+  boolean isStoringObjects( ) {
+    return storingObjects;
+  }
+
+  /**
+   * Method returns the maximum size of a body that can be cached.
+   *
+   * @return int Maximum size of a body in bytes.
+   */
+  int getMaxBodySize( ) {
+    return (int) Math.max(0, Math.min(maxBytes - ENTRY_OVERHEAD, Integer.MAX_VALUE - 8));
+  }
+
+  /**
+   * Method returns the cached response for the passed request. The response may already be stale.
+   *
+   * @param pKey Key of the request. The parameter must not be null.
+   * @param pRequest Request whose response should be returned. The request is compared with the headers that are named
+   * in the <code>Vary</code> header of the cached response. The parameter must not be null.
+   * @return {@link CachedResponse} Cached response or null if no response for the request is cached.
+   */
+  CachedResponse get( String pKey, HttpRequest pRequest ) {
+    CachedResponse lCachedResponse = entries.get(pKey);
+    if (lCachedResponse != null) {
+      if (this.isMatchingVariant(lCachedResponse, pRequest)) {
+        lCachedResponse.setLastAccessTime(System.nanoTime());
+      }
+      else {
+        lCachedResponse = null;
+      }
+    }
+    return lCachedResponse;
+  }
+
+  /**
+   * Method adds the passed response to the cache. If required least recently used responses are evicted.
+   *
+   * @param pKey Key of the request. The parameter must not be null.
+   * @param pResponse Response that should be cached. The parameter must not be null.
+   */
+  void put( String pKey, CachedResponse pResponse ) {
+    long lSize = this.getSize(pKey, pResponse);
+    if (lSize <= maxBytes && maxEntries > 0) {
+      pResponse.setLastAccessTime(System.nanoTime());
+      CachedResponse lPreviousResponse = entries.put(pKey, pResponse);
+      if (lPreviousResponse != null) {
+        lSize -= this.getSize(pKey, lPreviousResponse);
+      }
+      if (size.addAndGet(lSize) > maxBytes || entries.size() > maxEntries) {
+        this.evict();
+      }
+    }
+  }
+
+  /**
+   * Method removes the passed response from the cache. If the cache meanwhile contains another response for the same
+   * key then the cache is not changed.
+   *
+   * @param pKey Key of the request. The parameter must not be null.
+   * @param pResponse Response that should be removed. The parameter may be null.
+   */
+  void remove( String pKey, CachedResponse pResponse ) {
+    if (pResponse != null && entries.remove(pKey, pResponse)) {
+      size.addAndGet(-this.getSize(pKey, pResponse));
+    }
+  }
+
+  /**
+   * Method returns the amount of cached responses.
+   *
+   * @return int Amount of cached responses.
+   */
+  int getEntryCount( ) {
+    return entries.size();
+  }
+
+  /**
+   * Method evicts least recently used responses until the cache is within its limits again. The least recently used
+   * response is determined from a sample of the cached responses. Samples are taken one after the other from all cached
+   * responses. So if the cache does not contain more responses than the sample size the least recently used response is
+   * always evicted.
+   */
+  private void evict( ) {
+    evictionLock.lock();
+    try {
+      while (size.get() > maxBytes || entries.size() > maxEntries) {
+        Map.Entry<String, CachedResponse> lEldest = null;
+        int lSampleSize = Math.min(EVICTION_SAMPLE_SIZE, entries.size());
+        for (int i = 0; i < lSampleSize; i++) {
+          if (evictionIterator == null || evictionIterator.hasNext() == false) {
+            evictionIterator = entries.entrySet().iterator();
+            if (evictionIterator.hasNext() == false) {
+              break;
+            }
+          }
+          Map.Entry<String, CachedResponse> lNextEntry = evictionIterator.next();
+          if (lEldest == null
+              || lNextEntry.getValue().getLastAccessTime() - lEldest.getValue().getLastAccessTime() < 0) {
+            lEldest = lNextEntry;
+          }
+        }
+        if (lEldest == null) {
+          break;
+        }
+        this.remove(lEldest.getKey(), lEldest.getValue());
+      }
+    }
+    finally {
+      evictionLock.unlock();
+    }
+  }
+
+  /**
+   * Method checks if the passed request has the same values for all headers that are named in the <code>Vary</code>
+   * header of the passed cached response as the request that the response belongs to.
+   *
+   * @param pCachedResponse Cached response that should be checked. The parameter must not be null.
+   * @param pRequest Request that should be checked. The parameter must not be null.
+   * @return boolean Method returns true if the cached response can be used for the request.
+   */
+  private boolean isMatchingVariant( CachedResponse pCachedResponse, HttpRequest pRequest ) {
+    boolean lMatching = true;
+    for (Map.Entry<String, String> lNextHeader : pCachedResponse.getVaryingHeaders().entrySet()) {
+      String lValue = getKeyValue(pRequest, lNextHeader.getKey(), sensitiveHeaderNames);
+      if (Objects.equals(lNextHeader.getValue(), lValue) == false) {
+        lMatching = false;
+        break;
+      }
+    }
+    return lMatching;
+  }
+
+  /**
+   * Method returns the values of all request headers that are named in the <code>Vary</code> header of the passed
+   * response.
+   *
+   * @param pRequest Request to which the response belongs. The parameter must not be null.
+   * @param pResponse Response whose <code>Vary</code> header should be evaluated. The parameter must not be null.
+   * @return {@link Map} Values of the request headers per lower-case header name. A value is null if the request does
+   * not have the header. The method never returns null.
+   */
+  private Map<String, String> getVaryingHeaders( HttpRequest pRequest, HttpResponse pResponse ) {
+    Map<String, String> lVaryingHeaders = Collections.emptyMap();
+    for (Header lNextHeader : pResponse.getHeaders(HttpHeaders.VARY)) {
+      for (String lNextName : lNextHeader.getValue().split(",")) {
+        String lHeaderName = lNextName.trim().toLowerCase(Locale.ROOT);
+        if (lHeaderName.isEmpty() == false) {
+          if (lVaryingHeaders.isEmpty()) {
+            lVaryingHeaders = new HashMap<>(4);
+          }
+          lVaryingHeaders.put(lHeaderName, getKeyValue(pRequest, lHeaderName, sensitiveHeaderNames));
+        }
+      }
+    }
+    return lVaryingHeaders;
+  }
+
+  /**
+   * Method creates a cache entry for the passed response.
+   *
+   * @param pRequest Request to which the response belongs. The parameter must not be null.
+   * @param pResponse Response that should be cached. The parameter must not be null.
+   * @param pBody Decoded body of the response. The parameter must not be null.
+   * @param pNow Current time in milliseconds since 1970.
+   * @return {@link CachedResponse} Cache entry for the response or null if the response must not be cached.
+   */
+  CachedResponse createCachedResponse( HttpRequest pRequest, HttpResponse pResponse, byte[] pBody, long pNow ) {
+    CacheDirectives lDirectives = new CacheDirectives(pResponse);
+    boolean lStorable;
+    if (lDirectives.noStore || lDirectives.privateResponse || this.isVaryingOnAnything(pResponse)) {
+      lStorable = false;
+    }
+    // Responses to requests with credentials may only be shared if the REST service explicitly allows this.
+    else if (this.containsCredentials(pRequest)) {
+      lStorable = lDirectives.publicResponse || lDirectives.mustRevalidate || lDirectives.sharedMaxAge >= 0;
+    }
+    else {
+      lStorable = true;
+    }
+
+    CachedResponse lCachedResponse;
+    if (lStorable) {
+      String lETag = this.getHeaderValue(pResponse, HttpHeaders.ETAG);
+      String lLastModified = this.getHeaderValue(pResponse, HttpHeaders.LAST_MODIFIED);
+      long lFreshnessLifetime = this.getFreshnessLifetime(lDirectives, pResponse, pNow, 0);
+      // Responses that are neither fresh nor can be revalidated are useless.
+      if (lFreshnessLifetime > 0 || lETag != null || lLastModified != null) {
+        lCachedResponse = new CachedResponse(pBody, this.getHeaderValue(pResponse, HttpHeaders.CONTENT_TYPE),
+            this.getVaryingHeaders(pRequest, pResponse), lETag, lLastModified, lFreshnessLifetime,
+            this.getExpirationTime(pResponse, lFreshnessLifetime, pNow));
+      }
+      else {
+        lCachedResponse = null;
+      }
+    }
+    else {
+      lCachedResponse = null;
+    }
+    return lCachedResponse;
+  }
+
+  /**
+   * Method checks if the passed request contains credentials of the caller.
+   *
+   * @param pRequest Request that should be checked. The parameter must not be null.
+   * @return boolean Method returns true if the request has header <code>Authorization</code>, <code>Cookie</code> or
+   * any sensitive header.
+   */
+  private boolean containsCredentials( HttpRequest pRequest ) {
+    boolean lCredentials = false;
+    for (Header lNextHeader : pRequest.getHeaders()) {
+      if (isCredential(lNextHeader.getName().toLowerCase(Locale.ROOT), sensitiveHeaderNames)) {
+        lCredentials = true;
+        break;
+      }
+    }
+    return lCredentials;
+  }
+
+  /**
+   * Method updates the passed cached response after the REST service responded with <code>304 Not Modified</code>.
+   *
+   * @param pCachedResponse Response that was revalidated. The parameter must not be null.
+   * @param pResponse Response of the REST service. The parameter must not be null.
+   * @param pNow Current time in milliseconds since 1970.
+   * @return boolean Method returns true if the response may still be cached and false if it has to be removed.
+   */
+  boolean revalidate( CachedResponse pCachedResponse, HttpResponse pResponse, long pNow ) {
+    CacheDirectives lDirectives = new CacheDirectives(pResponse);
+    boolean lStorable = lDirectives.noStore == false && lDirectives.privateResponse == false;
+    if (lStorable) {
+      // If the confirmation does not contain any freshness information then the one of the cached response applies.
+      long lFreshnessLifetime =
+          this.getFreshnessLifetime(lDirectives, pResponse, pNow, pCachedResponse.getFreshnessLifetime());
+      pCachedResponse.revalidated(this.getHeaderValue(pResponse, HttpHeaders.ETAG),
+          this.getHeaderValue(pResponse, HttpHeaders.LAST_MODIFIED), lFreshnessLifetime,
+          this.getExpirationTime(pResponse, lFreshnessLifetime, pNow));
+    }
+    return lStorable;
+  }
+
+  /**
+   * Method returns the freshness lifetime of the passed response.
+   *
+   * @param pDirectives Cache directives of the response. The parameter must not be null.
+   * @param pResponse Response whose freshness lifetime should be returned. The parameter must not be null.
+   * @param pNow Current time in milliseconds since 1970.
+   * @param pDefaultLifetime Freshness lifetime that is used if the response does not define one.
+   * @return long Freshness lifetime in milliseconds.
+   */
+  private long getFreshnessLifetime( CacheDirectives pDirectives, HttpResponse pResponse, long pNow,
+      long pDefaultLifetime ) {
+    long lFreshnessLifetime;
+    if (pDirectives.noCache) {
+      lFreshnessLifetime = 0;
+    }
+    // As this is a shared cache s-maxage has precedence over max-age.
+    else if (pDirectives.sharedMaxAge >= 0) {
+      lFreshnessLifetime = pDirectives.sharedMaxAge * 1000;
+    }
+    else if (pDirectives.maxAge >= 0) {
+      lFreshnessLifetime = pDirectives.maxAge * 1000;
+    }
+    else if (pResponse.containsHeader(HttpHeaders.EXPIRES)) {
+      // Invalid dates like "0" mean that the response is already expired.
+      Instant lExpires = DateUtils.parseStandardDate(pResponse, HttpHeaders.EXPIRES);
+      Instant lDate = DateUtils.parseStandardDate(pResponse, HttpHeaders.DATE);
+      long lDateMillis = lDate != null ? lDate.toEpochMilli() : pNow;
+      lFreshnessLifetime = lExpires != null ? Math.max(0, lExpires.toEpochMilli() - lDateMillis) : 0;
+    }
+    else {
+      lFreshnessLifetime = pDefaultLifetime;
+    }
+    return lFreshnessLifetime;
+  }
+
+  /**
+   * Method calculates the point in time until which the passed response is fresh. The time that the response already
+   * spent in other caches (<code>Age</code> header) is taken into account.
+   *
+   * @param pResponse Response whose expiration time should be calculated. The parameter must not be null.
+   * @param pFreshnessLifetime Freshness lifetime of the response in milliseconds.
+   * @param pNow Current time in milliseconds since 1970.
+   * @return long Expiration time in milliseconds since 1970.
+   */
+  private long getExpirationTime( HttpResponse pResponse, long pFreshnessLifetime, long pNow ) {
+    long lAge;
+    try {
+      String lAgeHeader = this.getHeaderValue(pResponse, HttpHeaders.AGE);
+      lAge = lAgeHeader != null ? Math.max(0, Long.parseLong(lAgeHeader.trim())) * 1000 : 0;
+    }
+    catch (NumberFormatException e) {
+      lAge = 0;
+    }
+    return pNow + pFreshnessLifetime - lAge;
+  }
+
+  /**
+   * Method checks if the passed response varies on request properties other than headers e.g. <code>Vary: *</code>.
+   *
+   * @param pResponse Response that should be checked. The parameter must not be null.
+   * @return boolean Method returns true if the response must not be reused for any other request.
+   */
+  private boolean isVaryingOnAnything( HttpResponse pResponse ) {
+    boolean lVaryingOnAnything = false;
+    for (Header lNextHeader : pResponse.getHeaders(HttpHeaders.VARY)) {
+      if (lNextHeader.getValue().contains("*")) {
+        lVaryingOnAnything = true;
+        break;
+      }
+    }
+    return lVaryingOnAnything;
+  }
+
+  /**
+   * Method returns the value of the passed header.
+   *
+   * @param pResponse Response whose header should be returned. The parameter must not be null.
+   * @param pHeaderName Name of the header. The parameter must not be null.
+   * @return String Value of the first header with the passed name or null if the response does not have such a header.
+   */
+  private String getHeaderValue( HttpResponse pResponse, String pHeaderName ) {
+    Header lHeader = pResponse.getFirstHeader(pHeaderName);
+    return lHeader != null ? lHeader.getValue() : null;
+  }
+
+  /**
+   * Method returns the estimated amount of memory of the passed cache entry.
+   *
+   * @param pKey Key of the entry. The parameter must not be null.
+   * @param pResponse Cached response. The parameter must not be null.
+   * @return long Size of the entry in bytes.
+   */
+  private long getSize( String pKey, CachedResponse pResponse ) {
+    return (long) pResponse.getBody().length + pKey.length() + ENTRY_OVERHEAD;
+  }
+
+  /**
+   * Class holds the directives of the <code>Cache-Control</code> headers of a response that are relevant for this
+   * cache.
+   */
+  private static final class CacheDirectives {
+    /**
+     * Directive <code>no-store</code>: Response must not be cached at all.
+     */
+    boolean noStore;
+
+    /**
+     * Directive <code>no-cache</code>: Response has to be revalidated every time it is used.
+     */
+    boolean noCache;
+
+    /**
+     * Directive <code>private</code>: Response must not be stored by shared caches.
+     */
+    boolean privateResponse;
+
+    /**
+     * Directive <code>public</code>: Response may be stored by shared caches even if the request was authorized.
+     */
+    boolean publicResponse;
+
+    /**
+     * Directive <code>must-revalidate</code> or <code>proxy-revalidate</code>.
+     */
+    boolean mustRevalidate;
+
+    /**
+     * Value of directive <code>max-age</code> in seconds or -1 if the directive is not set.
+     */
+    long maxAge = -1;
+
+    /**
+     * Value of directive <code>s-maxage</code> in seconds or -1 if the directive is not set.
+     */
+    long sharedMaxAge = -1;
+
+    /**
+     * Initialize object.
+     *
+     * @param pResponse Response whose directives should be parsed. The parameter must not be null.
+     */
+    CacheDirectives( HttpResponse pResponse ) {
+      for (Header lNextHeader : pResponse.getHeaders(HttpHeaders.CACHE_CONTROL)) {
+        for (String lNextDirective : lNextHeader.getValue().split(",")) {
+          int lSeparator = lNextDirective.indexOf('=');
+          String lName;
+          String lValue;
+          if (lSeparator >= 0) {
+            lName = lNextDirective.substring(0, lSeparator).trim().toLowerCase(Locale.ROOT);
+            lValue = lNextDirective.substring(lSeparator + 1).trim().replace("\"", "");
+          }
+          else {
+            lName = lNextDirective.trim().toLowerCase(Locale.ROOT);
+            lValue = null;
+          }
+          switch (lName) {
+            case "no-store":
+              noStore = true;
+              break;
+            // "no-cache" with a list of header names only restricts these headers. As headers are not cached
+            // separately the whole response has to be revalidated.
+            case "no-cache":
+              noCache = true;
+              break;
+            case "private":
+              privateResponse = true;
+              break;
+            case "public":
+              publicResponse = true;
+              break;
+            case "must-revalidate":
+            case "proxy-revalidate":
+              mustRevalidate = true;
+              break;
+            case "max-age":
+              maxAge = this.parseSeconds(lValue);
+              break;
+            case "s-maxage":
+              sharedMaxAge = this.parseSeconds(lValue);
+              break;
+            default:
+              // Other directives are not relevant.
+          }
+        }
+      }
+    }
+
+    /**
+     * Method parses the value of a directive that defines an amount of seconds.
+     *
+     * @param pValue Value of the directive. The parameter may be null.
+     * @return long Amount of seconds. Invalid values are treated as 0 so that the response is considered stale. Values
+     * that exceed 2^31 seconds are limited to 2^31 - 1.
+     */
+    private long parseSeconds( String pValue ) {
+      long lSeconds;
+      try {
+        lSeconds = pValue != null ? Math.max(0, Math.min(Long.parseLong(pValue), Integer.MAX_VALUE)) : 0;
+      }
+      // Values that exceed the range of long are valid but have to be limited.
+      catch (NumberFormatException e) {
+        lSeconds = pValue.matches("[0-9]+") ? Integer.MAX_VALUE : 0;
+      }
+      return lSeconds;
+    }
+  }
+}
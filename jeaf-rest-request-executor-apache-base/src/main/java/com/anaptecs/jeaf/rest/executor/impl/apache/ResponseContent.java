@@ -0,0 +1,247 @@
+/**
+ * Copyright 2004 - 2022 anaptecs GmbH, Burgstr. 96, 72764 Reutlingen, Germany
+ *
+ * All rights reserved.
+ */
+package com.anaptecs.jeaf.rest.executor.impl.apache;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.charset.UnsupportedCharsetException;
+import java.util.Arrays;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+import org.apache.hc.core5.http.ContentType;
+import org.apache.hc.core5.http.HttpEntity;
+
+/**
+ * Class represents the content of an http entity that was completely read into memory. The content is read directly
+ * into a buffer that is taken from a pool. This way the same bytes can be passed to tracing as well as to Jackson
+ * without any further copies.
+ *
+ * Instances have to be closed after usage so that their buffer can be reused. After closing an instance must not be
+ * used any longer.
+ *
+ * @author JEAF Development Team
+ */
+final class ResponseContent implements AutoCloseable {
+  /**
+   * Size of the buffers that are kept in the pool. Content that is larger than this size is read into buffers that are
+   * allocated on demand and that are not returned to the pool.
+   */
+  static final int POOLED_BUFFER_SIZE = 16 * 1024;
+
+  /**
+   * Maximum number of buffers that are kept in the pool.
+   */
+  private static final int MAX_POOLED_BUFFERS = 64;
+
+  /**
+   * Pool with currently unused buffers.
+   */
+  private static final BlockingQueue<byte[]> BUFFER_POOL = new ArrayBlockingQueue<>(MAX_POOLED_BUFFERS);
+
+  /**
+   * Buffer containing the content. The buffer may be larger than the actual content.
+   */
+  private byte[] buffer;
+
+  /**
+   * Amount of bytes of the buffer that contain content.
+   */
+  private final int length;
+
+  /**
+   * Charset that has to be used to convert the content into a String.
+   */
+  private final Charset charset;
+
+  /**
+   * Initialize object.
+   *
+   * @param pBuffer Buffer containing the content. The parameter must not be null.
+   * @param pLength Amount of bytes of the buffer that contain content.
+   * @param pCharset Charset of the content. The parameter must not be null.
+   */
+  private ResponseContent( byte[] pBuffer, int pLength, Charset pCharset ) {
+    buffer = pBuffer;
+    length = pLength;
+    charset = pCharset;
+  }
+
+  /**
+   * Method reads the complete content of the passed entity. The charset is taken from the content type of the entity.
+   * If it does not define one then UTF-8 is used as this is the default for JSON.
+   *
+   * @param pEntity Entity whose content should be read. The parameter must not be null.
+   * @return {@link ResponseContent} Content of the entity. The method never returns null.
+   */
+  static ResponseContent read( HttpEntity pEntity ) throws IOException {
+    try (InputStream lInputStream = pEntity.getContent()) {
+      return read(lInputStream, pEntity.getContentLength(), resolveCharset(pEntity.getContentType()));
+    }
+  }
+
+  /**
+   * Method reads the complete content of the passed stream.
+   *
+   * @param pInputStream Stream whose content should be read. The parameter must not be null.
+   * @param pContentLength Expected length of the content or a negative value if the length is unknown.
+   * @param pCharset Charset of the content. The parameter must not be null.
+   * @return {@link ResponseContent} Content of the stream. The method never returns null.
+   */
+  static ResponseContent read( InputStream pInputStream, long pContentLength, Charset pCharset ) throws IOException {
+    // If the length of the content is known then we directly read into a buffer of the matching size.
+    int lInitialSize;
+    if (pContentLength >= 0 && pContentLength < Integer.MAX_VALUE) {
+      lInitialSize = (int) pContentLength;
+    }
+    else {
+      lInitialSize = Math.max(pInputStream.available(), POOLED_BUFFER_SIZE);
+    }
+    byte[] lBuffer = acquireBuffer(lInitialSize);
+    int lLength = 0;
+    try {
+      while (true) {
+        // Buffer is full. Before growing it we check if there is still something to read.
+        if (lLength == lBuffer.length) {
+          int lNextByte = pInputStream.read();
+          if (lNextByte == -1) {
+            break;
+          }
+          byte[] lLargerBuffer = Arrays.copyOf(lBuffer, Math.max(lBuffer.length * 2, POOLED_BUFFER_SIZE));
+          releaseBuffer(lBuffer);
+          lBuffer = lLargerBuffer;
+          lBuffer[lLength++] = (byte) lNextByte;
+        }
+        // Read as much bytes as fit into the remaining part of the buffer.
+        int lBytesRead = pInputStream.read(lBuffer, lLength, lBuffer.length - lLength);
+        if (lBytesRead == -1) {
+          break;
+        }
+        lLength = lLength + lBytesRead;
+      }
+    }
+    catch (IOException | RuntimeException e) {
+      releaseBuffer(lBuffer);
+      throw e;
+    }
+    return new ResponseContent(lBuffer, lLength, pCharset);
+  }
+
+  /**
+   * Method resolves the charset from the passed content type.
+   *
+   * @param pContentType Content type as defined by the http header. The parameter may be null.
+   * @return {@link Charset} Charset of the content type. If the content type does not define a (supported) charset then
+   * UTF-8 is returned. The method never returns null.
+   */
+  static Charset resolveCharset( String pContentType ) {
+    Charset lCharset;
+    if (pContentType != null) {
+      try {
+        lCharset = ContentType.getCharset(ContentType.parseLenient(pContentType), StandardCharsets.UTF_8);
+      }
+      catch (UnsupportedCharsetException e) {
+        lCharset = StandardCharsets.UTF_8;
+      }
+    }
+    else {
+      lCharset = StandardCharsets.UTF_8;
+    }
+    return lCharset;
+  }
+
+  /**
+   * Method returns the buffer containing the content. Please be aware that the buffer may be larger than the content
+   * itself. Only the first {@link #getLength()} bytes are valid.
+   *
+   * @return byte[] Buffer with the content. The method never returns null.
+   */
+  byte[] getBuffer( ) {
+    return buffer;
+  }
+
+  /**
+   * Method returns the length of the content.
+   *
+   * @return int Length of the content in bytes.
+   */
+  int getLength( ) {
+    return length;
+  }
+
+  /**
+   * Method returns the charset of the content.
+   *
+   * @return {@link Charset} Charset of the content. The method never returns null.
+   */
+  Charset getCharset( ) {
+    return charset;
+  }
+
+  /**
+   * Method checks if the content is encoded in UTF-8 and can thus be passed to Jackson as bytes.
+   *
+   * @return boolean Method returns true if the content is encoded in UTF-8 and false otherwise.
+   */
+  boolean isUTF8( ) {
+    return StandardCharsets.UTF_8.equals(charset);
+  }
+
+  /**
+   * Method returns the content as String using the charset of the content.
+   *
+   * @return String Content as String. The method never returns null.
+   */
+  @Override
+  public String toString( ) {
+    return new String(buffer, 0, length, charset);
+  }
+
+  /**
+   * Method returns the buffer of this object to the pool.
+   */
+  @Override
+  public void close( ) {
+    if (buffer != null) {
+      releaseBuffer(buffer);
+      buffer = null;
+    }
+  }
+
+  /**
+   * Method returns a buffer with at least the passed size. If possible a buffer from the pool is returned.
+   *
+   * @param pMinimumSize Minimum size of the buffer.
+   * @return byte[] Buffer with at least the passed size. The method never returns null.
+   */
+  private static byte[] acquireBuffer( int pMinimumSize ) {
+    byte[] lBuffer;
+    if (pMinimumSize <= POOLED_BUFFER_SIZE) {
+      lBuffer = BUFFER_POOL.poll();
+      if (lBuffer == null) {
+        lBuffer = new byte[POOLED_BUFFER_SIZE];
+      }
+    }
+    else {
+      lBuffer = new byte[pMinimumSize];
+    }
+    return lBuffer;
+  }
+
+  /**
+   * Method returns the passed buffer to the pool. Buffers that do not have the pooled size as well as buffers that do
+   * not fit into the pool any longer are left to the garbage collector.
+   *
+   * @param pBuffer Buffer that should be released. The parameter must not be null.
+   */
+  private static void releaseBuffer( byte[] pBuffer ) {
+    if (pBuffer.length == POOLED_BUFFER_SIZE) {
+      BUFFER_POOL.offer(pBuffer);
+    }
+  }
+}
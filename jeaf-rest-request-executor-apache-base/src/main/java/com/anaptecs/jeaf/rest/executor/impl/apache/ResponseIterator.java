@@ -0,0 +1,139 @@
+/**
+ * Copyright 2004 - 2022 anaptecs GmbH, Burgstr. 96, 72764 Reutlingen, Germany
+ *
+ * All rights reserved.
+ */
+package com.anaptecs.jeaf.rest.executor.impl.apache;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.Function;
+
+import org.apache.hc.core5.concurrent.Cancellable;
+
+import com.fasterxml.jackson.databind.MappingIterator;
+
+/**
+ * Class iterates over the elements of a collection that is returned by a REST service while the response is still
+ * being read. Elements are parsed one by one when they are requested so that the collection never has to be held in
+ * memory as a whole. As the response is read directly from the connection backpressure is provided by the socket.
+ *
+ * The response stays open until the iterator is closed or all elements were read. Closing the iterator before all
+ * elements were read cancels the request. This discards the connection instead of reading the response up to its
+ * end.
+ *
+ * @author JEAF Development Team
+ */
+final class ResponseIterator<T> implements Iterator<T>, Closeable {
+  /**
+   * Jackson iterator that parses the elements of the response.
+   */
+  private final MappingIterator<T> elements;
+
+  /**
+   * Callback that completes the request as soon as the iterator is closed.
+   */
+  private final Runnable completion;
+
+  /**
+   * Request that is cancelled if the iterator is closed before all elements were read. The value may be null.
+   */
+  private final Cancellable request;
+
+  /**
+   * Function converts exceptions that occur while the response is read into the exceptions that are reported to the
+   * caller.
+   */
+  private final Function<Exception, RuntimeException> exceptionHandler;
+
+  /**
+   * Indicator whether all elements of the response were read.
+   */
+  private boolean exhausted;
+
+  /**
+   * Indicator whether the iterator is already closed.
+   */
+  private boolean closed;
+
+  /**
+   * Initialize object.
+   *
+   * @param pElements Jackson iterator that parses the elements of the response. The parameter must not be null.
+   * @param pCompletion Callback that completes the request. It is called exactly once. The parameter must not be null.
+   * @param pRequest Request that is cancelled if the iterator is closed early. The parameter may be null.
+   * @param pExceptionHandler Function to convert exceptions while reading the response. The parameter must not be null.
+   */
+  ResponseIterator( MappingIterator<T> pElements, Runnable pCompletion, Cancellable pRequest,
+      Function<Exception, RuntimeException> pExceptionHandler ) {
+    elements = pElements;
+    completion = pCompletion;
+    request = pRequest;
+    exceptionHandler = pExceptionHandler;
+  }
+
+  @Override
+  public boolean hasNext( ) {
+    boolean lHasNext;
+    if (closed == false) {
+      try {
+        lHasNext = elements.hasNextValue();
+      }
+      catch (IOException | RuntimeException e) {
+        this.close();
+        throw exceptionHandler.apply(e);
+      }
+      // Response is released as early as possible so that the connection can be reused.
+      if (lHasNext == false) {
+        exhausted = true;
+        this.close();
+      }
+    }
+    else {
+      lHasNext = false;
+    }
+    return lHasNext;
+  }
+
+  @Override
+  public T next( ) {
+    if (this.hasNext() == false) {
+      throw new NoSuchElementException();
+    }
+    try {
+      return elements.nextValue();
+    }
+    catch (IOException | RuntimeException e) {
+      this.close();
+      throw exceptionHandler.apply(e);
+    }
+  }
+
+  /**
+   * Method closes the iterator and releases the response. Calling this method more than once has no effect.
+   */
+  @Override
+  public void close( ) {
+    if (closed == false) {
+      closed = true;
+      try {
+        // Closing the content stream would read the remaining response up to its end. So the stream is only closed if
+        // it was read completely. Otherwise the request is cancelled which discards the connection.
+        if (exhausted) {
+          elements.close();
+        }
+        else if (request != null) {
+          request.cancel();
+        }
+      }
+      catch (IOException e) {
+        // Problems when closing are handled together with the response.
+      }
+      finally {
+        completion.run();
+      }
+    }
+  }
+}
@@ -0,0 +1,91 @@
+/**
+ * Copyright 2004 - 2022 anaptecs GmbH, Burgstr. 96, 72764 Reutlingen, Germany
+ *
+ * All rights reserved.
+ */
+package com.anaptecs.jeaf.rest.executor.impl.apache;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Objects;
+
+import com.anaptecs.jeaf.rest.executor.api.ObjectType;
+import com.anaptecs.jeaf.rest.executor.api.ObjectType.GenericsObjectType;
+import com.anaptecs.jeaf.rest.executor.api.ObjectType.SingleObjectType;
+import com.anaptecs.jeaf.rest.executor.api.ObjectType.TypeReferenceObjectType;
+
+/**
+ * Class is used as key to cache the Jackson types of responses. As callers usually create a new {@link ObjectType} for
+ * every request the key is derived from the described type and not from the {@link ObjectType} instance itself.
+ *
+ * @author JEAF Development Team
+ */
+final class ResponseTypeKey {
+  /**
+   * Collection class of the response. The value is null if the response is a single object.
+   */
+  @SuppressWarnings("rawtypes")
+  private final Class<? extends Collection> collectionClass;
+
+  /**
+   * Type that is described by the object type. Depending on the kind of object type this is a class, a list of classes
+   * or a reflection type.
+   */
+  private final Object type;
+
+  /**
+   * Hash code of the key which is calculated in advance.
+   */
+  private final int hashCode;
+
+  /**
+   * Initialize object.
+   *
+   * @param pCollectionClass Collection class of the response. The parameter may be null.
+   * @param pObjectType Object type of the response or its elements. The parameter must not be null.
+   */
+  ResponseTypeKey( @SuppressWarnings("rawtypes")
+  Class<? extends Collection> pCollectionClass, ObjectType pObjectType ) {
+    collectionClass = pCollectionClass;
+    if (pObjectType instanceof SingleObjectType) {
+      type = ((SingleObjectType) pObjectType).getObjectType();
+    }
+    else if (pObjectType instanceof GenericsObjectType) {
+      GenericsObjectType lGenericsObjectType = (GenericsObjectType) pObjectType;
+      Class<?>[] lParameterTypes = lGenericsObjectType.getParameterType();
+      Object[] lTypes = new Object[lParameterTypes.length + 1];
+      lTypes[0] = lGenericsObjectType.getGenericType();
+      System.arraycopy(lParameterTypes, 0, lTypes, 1, lParameterTypes.length);
+      type = Arrays.asList(lTypes);
+    }
+    else if (pObjectType instanceof TypeReferenceObjectType) {
+      type = ((TypeReferenceObjectType) pObjectType).getTypeReference().getType();
+    }
+    else {
+      throw new IllegalArgumentException("Unexpected ObjectType implementation " + pObjectType.getClass().getName());
+    }
+    hashCode = 31 * Objects.hashCode(collectionClass) + Objects.hashCode(type);
+  }
+
+  @Override
+  public int hashCode( ) {
+    return hashCode;
+  }
+
+  @Override
+  public boolean equals( Object pObject ) {
+    boolean lEquals;
+    if (pObject == this) {
+      lEquals = true;
+    }
+    else if (pObject instanceof ResponseTypeKey) {
+      ResponseTypeKey lOther = (ResponseTypeKey) pObject;
+      lEquals = hashCode == lOther.hashCode && collectionClass == lOther.collectionClass
+          && Objects.equals(type, lOther.type);
+    }
+    else {
+      lEquals = false;
+    }
+    return lEquals;
+  }
+}
@@ -0,0 +1,385 @@
+/**
+ * Copyright 2004 - 2022 anaptecs GmbH, Burgstr. 96, 72764 Reutlingen, Germany
+ *
+ * All rights reserved.
+ */
+package com.anaptecs.jeaf.rest.executor.impl.apache;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.core5.pool.PoolStats;
+
+import com.anaptecs.jeaf.rest.executor.impl.config.RESTClientConfiguration;
+import com.anaptecs.jeaf.rest.executor.impl.metrics.ConnectionPoolStatistics;
+import com.anaptecs.jeaf.rest.executor.impl.metrics.RESTClientMetrics;
+import com.anaptecs.jeaf.rest.executor.impl.metrics.RESTMetricsRegistry;
+import com.anaptecs.jeaf.rest.executor.impl.trace.TraceEvent;
+
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+
+/**
+ * Class bundles all objects that are required to call a specific REST service. Instances are created exactly once per
+ * service and are immutable afterwards. This way the executor only needs one lookup per request to resolve everything
+ * it needs. The only exception are the caches of the metrics per request path that are filled on demand.
+ *
+ * @author JEAF Development Team
+ */
+public final class ServiceClientContext {
+  /**
+   * Marker for a pool sizing task that was stopped. Tasks that are started afterwards are cancelled immediately.
+   */
+  private static final Future<?> STOPPED_POOL_SIZING = CompletableFuture.completedFuture(null);
+
+  /**
+   * Class representing the REST service to which this context belongs.
+   */
+  private final Class<?> serviceClass;
+
+  /**
+   * Configuration of the REST service.
+   */
+  private final RESTClientConfiguration configuration;
+
+  /**
+   * Apache HTTP Client that is used to call the REST service.
+   */
+  private final CloseableHttpClient httpClient;
+
+  /**
+   * Connection manager of the http client. It is kept to provide statistics about the connection pool.
+   */
+  private final InstrumentedConnectionManager connectionManager;
+
+  /**
+   * Circuit breaker protecting calls to the REST service.
+   */
+  private final CircuitBreaker circuitBreaker;
+
+  /**
+   * URL of the REST service as defined by the configuration. The value is resolved once so that it does not have to be
+   * looked up on every request.
+   */
+  private final String externalServiceURL;
+
+  /**
+   * Semaphore that admits requests to the connection pool. It is only present in case of pool sizing policy
+   * {@link com.anaptecs.jeaf.rest.executor.impl.config.PoolSizingPolicy#VIRTUAL_THREADS}.
+   */
+  private final Semaphore admissionPermits;
+
+  /**
+   * Object that adapts the size of the connection pool to the observed load. It is only present if adaptive pool sizing
+   * is enabled.
+   */
+  private final AdaptivePoolSizer poolSizer;
+
+  /**
+   * Task that periodically resizes the connection pool. The value is null as long as no task was started.
+   */
+  private final AtomicReference<Future<?>> poolSizingTask = new AtomicReference<>();
+
+  /**
+   * Codecs and settings that are used to compress requests and to decode compressed responses.
+   */
+  private final ContentCompression contentCompression;
+
+  /**
+   * Codecs and settings that are used to negotiate the format of request and response bodies.
+   */
+  private final ContentNegotiation contentNegotiation;
+
+  /**
+   * Template from which all requests to the REST service are created.
+   */
+  private final RequestTemplate requestTemplate;
+
+  /**
+   * Case insensitive set of headers whose values must not be traced.
+   */
+  private final Set<String> sensitiveHeaderNames;
+
+  /**
+   * Sampler that decides which requests are traced.
+   */
+  private final TraceSampler traceSampler;
+
+  /**
+   * Cache for responses of GET requests. The value is null if responses of the REST service are not cached.
+   */
+  private final ResponseCache responseCache;
+
+  /**
+   * GET requests that are currently executed per request key. Concurrent identical requests wait for the result of the
+   * request that is already in flight. The value is null if requests to the REST service are not coalesced.
+   */
+  private final Map<String, CompletableFuture<Object>> inFlightRequests;
+
+  /**
+   * Registry that provides the metrics of the REST service.
+   */
+  private final RESTMetricsRegistry metricsRegistry;
+
+  /**
+   * Metrics of the REST service per request path. Several paths usually share the metrics of the same path template.
+   */
+  private final Map<String, RESTClientMetrics> pathMetrics = new ConcurrentHashMap<>();
+
+  /**
+   * Metrics of the REST service per path template.
+   */
+  private final Map<String, RESTClientMetrics> pathTemplateMetrics = new ConcurrentHashMap<>();
+
+  /**
+   * Initialize object.
+   *
+   * @param pServiceClass Class representing the REST service. The parameter must not be null.
+   * @param pConfiguration Configuration of the REST service. The parameter must not be null.
+   * @param pHttpClient Apache HTTP Client that is used to call the REST service. The parameter must not be null.
+   * @param pConnectionManager Connection manager of the http client. The parameter must not be null.
+   * @param pCircuitBreaker Circuit breaker protecting calls to the REST service. The parameter must not be null.
+   * @param pAdmissionPermits Semaphore that admits requests to the connection pool. The parameter may be null.
+   * @param pPoolSizer Object that adapts the size of the connection pool. The parameter may be null.
+   * @param pContentCompression Settings for compression of requests and responses. The parameter must not be null.
+   * @param pContentNegotiation Settings for the format of request and response bodies. The parameter must not be null.
+   * @param pRequestTemplate Template from which requests to the REST service are created. The parameter must not be
+   * null.
+   * @param pMetricsRegistry Registry that provides the metrics of the REST service. The parameter must not be null.
+   */
+  ServiceClientContext( Class<?> pServiceClass, RESTClientConfiguration pConfiguration,
+      CloseableHttpClient pHttpClient, InstrumentedConnectionManager pConnectionManager, CircuitBreaker pCircuitBreaker,
+      Semaphore pAdmissionPermits, AdaptivePoolSizer pPoolSizer, ContentCompression pContentCompression,
+      ContentNegotiation pContentNegotiation, RequestTemplate pRequestTemplate, RESTMetricsRegistry pMetricsRegistry ) {
+    serviceClass = pServiceClass;
+    configuration = pConfiguration;
+    httpClient = pHttpClient;
+    connectionManager = pConnectionManager;
+    circuitBreaker = pCircuitBreaker;
+    externalServiceURL = pConfiguration.getExternalServiceURL();
+    admissionPermits = pAdmissionPermits;
+    poolSizer = pPoolSizer;
+    contentCompression = pContentCompression;
+    contentNegotiation = pContentNegotiation;
+    requestTemplate = pRequestTemplate;
+    sensitiveHeaderNames = TraceEvent.createSensitiveHeaderNames(pConfiguration.getSensitiveHeaderNames());
+    traceSampler = new TraceSampler(pConfiguration);
+    responseCache = pConfiguration.getResponseCacheSize() > 0 ? new ResponseCache(pConfiguration) : null;
+    inFlightRequests = pConfiguration.isRequestCoalescing() ? new ConcurrentHashMap<>() : null;
+    metricsRegistry = pMetricsRegistry;
+  }
+
+  /**
+   * Method returns the class representing the REST service to which this context belongs.
+   *
+   * @return {@link Class} Class of the REST service. The method never returns null.
+   */
+  public Class<?> getServiceClass( ) {
+    return serviceClass;
+  }
+
+  /**
+   * Method returns the configuration of the REST service.
+   *
+   * @return {@link RESTClientConfiguration} Configuration of the REST service. The method never returns null.
+   */
+  public RESTClientConfiguration getConfiguration( ) {
+    return configuration;
+  }
+
+  /**
+   * Method returns the Apache HTTP Client that is used to call the REST service.
+   *
+   * @return {@link CloseableHttpClient} HTTP client of the REST service. The method never returns null.
+   */
+  public CloseableHttpClient getHttpClient( ) {
+    return httpClient;
+  }
+
+  /**
+   * Method returns the current statistics of the connection pool of the REST service.
+   *
+   * @return {@link ConnectionPoolStatistics} Statistics of the connection pool. The method never returns null.
+   */
+  public ConnectionPoolStatistics getConnectionPoolStatistics( ) {
+    PoolStats lPoolStats = connectionManager.getTotalStats();
+
+    // Pool only limits connections per route and only knows the limits of routes that were already used.
+    int lMax = lPoolStats.getMax();
+    if (lMax == 0) {
+      lMax = connectionManager.getDefaultMaxPerRoute();
+    }
+    return new ConnectionPoolStatistics(serviceClass, lPoolStats.getLeased(), lPoolStats.getAvailable(),
+        lPoolStats.getPending(), lMax, configuration.getPendingLeasesThreshold(),
+        connectionManager.getLeaseWaitHistogram());
+  }
+
+  /**
+   * Method returns the circuit breaker protecting calls to the REST service.
+   *
+   * @return {@link CircuitBreaker} Circuit breaker of the REST service. The method never returns null.
+   */
+  public CircuitBreaker getCircuitBreaker( ) {
+    return circuitBreaker;
+  }
+
+  /**
+   * Method returns the URL of the REST service.
+   *
+   * @return String URL of the REST service. The method never returns null.
+   */
+  public String getExternalServiceURL( ) {
+    return externalServiceURL;
+  }
+
+  /**
+   * Method returns the semaphore that admits requests to the connection pool.
+   *
+   * @return {@link Semaphore} Semaphore for admission of requests or null if requests directly compete for pooled
+   * connections.
+   */
+  public Semaphore getAdmissionPermits( ) {
+    return admissionPermits;
+  }
+
+  /**
+   * Method returns the object that adapts the size of the connection pool to the observed load.
+   *
+   * @return {@link AdaptivePoolSizer} Pool sizer or null if adaptive pool sizing is not enabled.
+   */
+  AdaptivePoolSizer getPoolSizer( ) {
+    return poolSizer;
+  }
+
+  /**
+   * Method keeps the passed task that periodically resizes the connection pool. If a task was already started or pool
+   * sizing was already stopped then the passed task is cancelled.
+   *
+   * @param pTask Task that resizes the connection pool. The parameter must not be null.
+   * @return boolean Method returns true if the task was kept and false if it was cancelled.
+   */
+  boolean startPoolSizing( Future<?> pTask ) {
+    boolean lStarted = poolSizingTask.compareAndSet(null, pTask);
+    if (lStarted == false) {
+      pTask.cancel(false);
+    }
+    return lStarted;
+  }
+
+  /**
+   * Method checks if a task that resizes the connection pool was already started or pool sizing was stopped.
+   *
+   * @return boolean Method returns true if no further task has to be started.
+   */
+  boolean isPoolSizingStarted( ) {
+    return poolSizingTask.get() != null;
+  }
+
+  /**
+   * Method cancels the task that periodically resizes the connection pool. Tasks that are started afterwards are
+   * cancelled immediately.
+   */
+  void stopPoolSizing( ) {
+    Future<?> lTask = poolSizingTask.getAndSet(STOPPED_POOL_SIZING);
+    if (lTask != null) {
+      lTask.cancel(false);
+    }
+  }
+
+  /**
+   * Method returns the codecs and settings that are used to compress requests and to decode compressed responses.
+   *
+   * @return {@link ContentCompression} Compression settings of the REST service. The method never returns null.
+   */
+  ContentCompression getContentCompression( ) {
+    return contentCompression;
+  }
+
+  /**
+   * Method returns the codecs and settings that are used to negotiate the format of request and response bodies.
+   *
+   * @return {@link ContentNegotiation} Content negotiation of the REST service. The method never returns null.
+   */
+  ContentNegotiation getContentNegotiation( ) {
+    return contentNegotiation;
+  }
+
+  /**
+   * Method returns the template from which all requests to the REST service are created.
+   *
+   * @return {@link RequestTemplate} Request template of the REST service. The method never returns null.
+   */
+  RequestTemplate getRequestTemplate( ) {
+    return requestTemplate;
+  }
+
+  /**
+   * Method returns the headers whose values must not be traced. The lookup is case insensitive so header names do not
+   * have to be converted before.
+   *
+   * @return {@link Set} Case insensitive set of sensitive header names. The method never returns null.
+   */
+  Set<String> getSensitiveHeaderNames( ) {
+    return sensitiveHeaderNames;
+  }
+
+  /**
+   * Method returns the sampler that decides which requests to the REST service are traced.
+   *
+   * @return {@link TraceSampler} Trace sampler of the REST service. The method never returns null.
+   */
+  TraceSampler getTraceSampler( ) {
+    return traceSampler;
+  }
+
+  /**
+   * Method returns the cache for responses of GET requests to the REST service.
+   *
+   * @return {@link ResponseCache} Response cache of the REST service or null if responses are not cached.
+   */
+  ResponseCache getResponseCache( ) {
+    return responseCache;
+  }
+
+  /**
+   * Method returns the GET requests to the REST service that are currently in flight.
+   *
+   * @return {@link Map} Futures of all requests in flight per request key. The method returns null if requests are not
+   * coalesced.
+   */
+  Map<String, CompletableFuture<Object>> getInFlightRequests( ) {
+    return inFlightRequests;
+  }
+
+  /**
+   * Method returns the registry that provides the metrics of the REST service.
+   *
+   * @return {@link RESTMetricsRegistry} Metrics registry of the REST service. The method never returns null.
+   */
+  public RESTMetricsRegistry getMetricsRegistry( ) {
+    return metricsRegistry;
+  }
+
+  /**
+   * Method returns the cache with the metrics per request path.
+   *
+   * @return {@link Map} Metrics per request path. The method never returns null.
+   */
+  Map<String, RESTClientMetrics> getPathMetrics( ) {
+    return pathMetrics;
+  }
+
+  /**
+   * Method returns the cache with the metrics per path template.
+   *
+   * @return {@link Map} Metrics per path template. The method never returns null.
+   */
+  Map<String, RESTClientMetrics> getPathTemplateMetrics( ) {
+    return pathTemplateMetrics;
+  }
+}
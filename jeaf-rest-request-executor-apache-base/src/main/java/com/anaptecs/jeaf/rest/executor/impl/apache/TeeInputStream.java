@@ -0,0 +1,135 @@
+/**
+ * Copyright 2004 - 2022 anaptecs GmbH, Burgstr. 96, 72764 Reutlingen, Germany
+ *
+ * All rights reserved.
+ */
+package com.anaptecs.jeaf.rest.executor.impl.apache;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+
+/**
+ * Input stream copies the beginning of the content that is read through it so that it can be traced afterwards. This
+ * way responses can be deserialized directly from the original stream while tracing only costs as much memory as the
+ * maximum size of traced bodies. Besides that the stream counts all bytes that were read.
+ *
+ * @author JEAF Development Team
+ */
+final class TeeInputStream extends FilterInputStream {
+  /**
+   * Maximum amount of bytes that are copied.
+   */
+  private final int maxSize;
+
+  /**
+   * Copy of the beginning of the content.
+   */
+  private final ByteArrayOutputStream capture;
+
+  /**
+   * Amount of bytes that were read so far.
+   */
+  private long count;
+
+  /**
+   * Initialize object.
+   *
+   * @param pInputStream Stream whose content should be copied. The parameter must not be null.
+   * @param pMaxSize Maximum amount of bytes that are copied. 0 means that only bytes are counted.
+   */
+  TeeInputStream( InputStream pInputStream, int pMaxSize ) {
+    super(pInputStream);
+    maxSize = Math.max(pMaxSize, 0);
+    capture = new ByteArrayOutputStream(Math.min(maxSize, 1024));
+  }
+
+  @Override
+  public int read( ) throws IOException {
+    int lByte = super.read();
+    if (lByte >= 0) {
+      if (count < maxSize) {
+        capture.write(lByte);
+      }
+      count++;
+    }
+    return lByte;
+  }
+
+  @Override
+  public int read( byte[] pBuffer, int pOffset, int pLength ) throws IOException {
+    int lRead = super.read(pBuffer, pOffset, pLength);
+    if (lRead > 0) {
+      int lCaptured = (int) Math.min(lRead, maxSize - Math.min(count, maxSize));
+      if (lCaptured > 0) {
+        capture.write(pBuffer, pOffset, lCaptured);
+      }
+      count += lRead;
+    }
+    return lRead;
+  }
+
+  @Override
+  public long skip( long pAmount ) throws IOException {
+    // Skipped bytes can not be copied so they are read instead.
+    long lSkipped = 0;
+    byte[] lBuffer = new byte[(int) Math.min(pAmount, 4096)];
+    while (lSkipped < pAmount) {
+      int lRead = this.read(lBuffer, 0, (int) Math.min(lBuffer.length, pAmount - lSkipped));
+      if (lRead < 0) {
+        break;
+      }
+      lSkipped += lRead;
+    }
+    return lSkipped;
+  }
+
+  @Override
+  public boolean markSupported( ) {
+    // Copy would be wrong after a reset.
+    return false;
+  }
+
+  /**
+   * Method returns the amount of bytes that were read so far.
+   *
+   * @return long Amount of read bytes.
+   */
+  long getCount( ) {
+    return count;
+  }
+
+  /**
+   * Method checks if more bytes were read than copied.
+   *
+   * @return boolean Method returns true if the copy does not contain the complete content that was read so far.
+   */
+  boolean isTruncated( ) {
+    return count > capture.size();
+  }
+
+  /**
+   * Method returns the copied content.
+   *
+   * @return byte[] Copy of the beginning of the content. The method never returns null.
+   */
+  byte[] getCapturedBytes( ) {
+    return capture.toByteArray();
+  }
+
+  /**
+   * Method returns the copied content as String. If more bytes were read than copied then "..." is appended.
+   *
+   * @param pCharset Charset of the content. The parameter must not be null.
+   * @return String Copied content. The method never returns null.
+   */
+  String getCapturedContent( Charset pCharset ) {
+    String lContent = capture.toString(pCharset);
+    if (this.isTruncated()) {
+      lContent = lContent + "...";
+    }
+    return lContent;
+  }
+}
@@ -0,0 +1,69 @@
+/**
+ * Copyright 2004 - 2022 anaptecs GmbH, Burgstr. 96, 72764 Reutlingen, Germany
+ *
+ * All rights reserved.
+ */
+package com.anaptecs.jeaf.rest.executor.impl.apache;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.apache.hc.core5.http.HttpRequest;
+
+import com.anaptecs.jeaf.rest.executor.impl.config.RESTClientConfiguration;
+
+/**
+ * Class decides which requests to a REST service are traced. Requests are sampled randomly according to the configured
+ * sampling rate. Besides that single requests can be traced on demand by sending the configured trace header. The
+ * decision is made once per request and applies to its request and response trace.
+ *
+ * @author JEAF Development Team
+ */
+final class TraceSampler {
+  /**
+   * Sampling rate. 1 means that every request is traced, N that about one of N requests is traced and 0 that only
+   * requests with the trace header are traced.
+   */
+  private final int samplingRate;
+
+  /**
+   * Name of the header that enables tracing for a single request. The value is null if no trace header is configured.
+   */
+  private final String traceHeaderName;
+
+  /**
+   * Initialize object.
+   *
+   * @param pConfiguration Configuration of the REST service. The parameter must not be null.
+   */
+  TraceSampler( RESTClientConfiguration pConfiguration ) {
+    samplingRate = pConfiguration.getTraceSamplingRate();
+    if (samplingRate < 0) {
+      throw new IllegalArgumentException(
+          "Configuration parameter 'traceSamplingRate' must not be negative but is " + samplingRate + ".");
+    }
+    traceHeaderName = pConfiguration.getTraceHeaderName();
+  }
+
+  /**
+   * Method decides if the passed request should be traced.
+   *
+   * @param pRequest Request that is about to be executed. The parameter must not be null.
+   * @return boolean Method returns true if the request is sampled and false otherwise.
+   */
+  boolean isSampled( HttpRequest pRequest ) {
+    boolean lSampled;
+    if (samplingRate == 1) {
+      lSampled = true;
+    }
+    else if (traceHeaderName != null && pRequest.containsHeader(traceHeaderName)) {
+      lSampled = true;
+    }
+    else if (samplingRate > 1) {
+      lSampled = ThreadLocalRandom.current().nextInt(samplingRate) == 0;
+    }
+    else {
+      lSampled = false;
+    }
+    return lSampled;
+  }
+}
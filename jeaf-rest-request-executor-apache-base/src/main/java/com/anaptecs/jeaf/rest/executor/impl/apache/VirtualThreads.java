@@ -0,0 +1,88 @@
+/**
+ * Copyright 2004 - 2022 anaptecs GmbH, Burgstr. 96, 72764 Reutlingen, Germany
+ *
+ * All rights reserved.
+ */
+package com.anaptecs.jeaf.rest.executor.impl.apache;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Class provides access to virtual threads. As this library is still built for Java 17 virtual threads are looked up
+ * dynamically. If the runtime does not support them then platform threads are used instead.
+ *
+ * @author JEAF Development Team
+ */
+final class VirtualThreads {
+  /**
+   * Handle to <code>Executors.newVirtualThreadPerTaskExecutor()</code> or null if the runtime does not provide virtual
+   * threads.
+   */
+  private static final MethodHandle VIRTUAL_THREAD_EXECUTOR_FACTORY = lookupVirtualThreadExecutorFactory();
+
+  /**
+   * Instances of this class do not make sense.
+   */
+  private VirtualThreads( ) {
+    // Nothing to do.
+  }
+
+  /**
+   * Method checks if the current runtime supports virtual threads.
+   *
+   * @return boolean Method returns true if virtual threads are available and false otherwise.
+   */
+  static boolean isAvailable( ) {
+    return VIRTUAL_THREAD_EXECUTOR_FACTORY != null;
+  }
+
+  /**
+   * Method creates an executor that starts a new thread for every task. If available virtual threads will be used.
+   * Otherwise a cached pool of daemon platform threads is returned.
+   *
+   * @return {@link ExecutorService} Executor for the execution of tasks. The method never returns null.
+   */
+  static ExecutorService newTaskExecutor( ) {
+    ExecutorService lExecutor;
+    if (VIRTUAL_THREAD_EXECUTOR_FACTORY != null) {
+      try {
+        lExecutor = (ExecutorService) VIRTUAL_THREAD_EXECUTOR_FACTORY.invoke();
+      }
+      catch (Throwable e) {
+        throw new IllegalStateException("Unable to create virtual thread executor. " + e.getMessage(), e);
+      }
+    }
+    else {
+      lExecutor = Executors.newCachedThreadPool(new ThreadFactory() {
+        private final AtomicInteger threadCount = new AtomicInteger();
+
+        @Override
+        public Thread newThread( Runnable pRunnable ) {
+          Thread lThread = new Thread(pRunnable, "jeaf-rest-fan-out-" + threadCount.incrementAndGet());
+          lThread.setDaemon(true);
+          return lThread;
+        }
+      });
+    }
+    return lExecutor;
+  }
+
+  private static MethodHandle lookupVirtualThreadExecutorFactory( ) {
+    MethodHandle lFactory;
+    try {
+      lFactory = MethodHandles.publicLookup().findStatic(Executors.class, "newVirtualThreadPerTaskExecutor",
+          MethodType.methodType(ExecutorService.class));
+    }
+    // Runtime is older than Java 21
+    catch (NoSuchMethodException | IllegalAccessException e) {
+      lFactory = null;
+    }
+    return lFactory;
+  }
+}
@@ -0,0 +1,43 @@
+/**
+ * Copyright 2004 - 2022 anaptecs GmbH, Burgstr. 96, 72764 Reutlingen, Germany
+ *
+ * All rights reserved.
+ */
+package com.anaptecs.jeaf.rest.executor.impl.codec;
+
+import org.apache.hc.core5.http.ContentType;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Interface defines a codec for bodies of requests and responses with a specific content type like "application/json"
+ * or "application/cbor". Each codec provides the Jackson object mapper that is able to read and write its format.
+ *
+ * Codecs are selected by the content type of a request or response. Implementations have to be thread-safe as the same
+ * codec is used for all requests.
+ *
+ * @author JEAF Development Team
+ */
+public interface BodyCodec {
+  /**
+   * Method returns the content type that is supported by this codec as it is used in http headers <code>Accept</code>
+   * and <code>Content-Type</code>.
+   *
+   * @return {@link ContentType} Content type of the codec. The method never returns null.
+   */
+  ContentType getContentType( );
+
+  /**
+   * Method returns the Jackson object mapper that reads and writes the format of this codec.
+   *
+   * @return {@link ObjectMapper} Object mapper of the codec. The method never returns null.
+   */
+  ObjectMapper getObjectMapper( );
+
+  /**
+   * Method checks if the format of this codec is a binary one. Binary content can not be traced as text.
+   *
+   * @return boolean Method returns true if the format is a binary one and false otherwise.
+   */
+  boolean isBinary( );
+}
@@ -0,0 +1,54 @@
+/**
+ * Copyright 2004 - 2022 anaptecs GmbH, Burgstr. 96, 72764 Reutlingen, Germany
+ *
+ * All rights reserved.
+ */
+package com.anaptecs.jeaf.rest.executor.impl.codec;
+
+import org.apache.hc.core5.http.ContentType;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+
+/**
+ * Class implements content type "application/cbor" using CBOR (RFC 8949). The object mapper of the codec is derived
+ * from the JSON object mapper of the executor so that modules and features are the same for both formats.
+ *
+ * @author JEAF Development Team
+ */
+public final class CBORBodyCodec implements BodyCodec {
+  /**
+   * Content type of the format.
+   */
+  public static final ContentType CONTENT_TYPE = ContentType.create("application/cbor");
+
+  /**
+   * Object mapper that is used for CBOR.
+   */
+  private final ObjectMapper objectMapper;
+
+  /**
+   * Initialize object.
+   *
+   * @param pObjectMapper JSON object mapper whose configuration should also be used for CBOR. The parameter must not
+   * be null.
+   */
+  public CBORBodyCodec( ObjectMapper pObjectMapper ) {
+    objectMapper = pObjectMapper.copyWith(new CBORFactory());
+  }
+
+  @Override
+  public ContentType getContentType( ) {
+    return CONTENT_TYPE;
+  }
+
+  @Override
+  public ObjectMapper getObjectMapper( ) {
+    return objectMapper;
+  }
+
+  @Override
+  public boolean isBinary( ) {
+    return true;
+  }
+}
@@ -0,0 +1,47 @@
+/**
+ * Copyright 2004 - 2022 anaptecs GmbH, Burgstr. 96, 72764 Reutlingen, Germany
+ *
+ * All rights reserved.
+ */
+package com.anaptecs.jeaf.rest.executor.impl.codec;
+
+import org.apache.hc.core5.http.ContentType;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Class implements content type "application/json". The codec is always available and is used as fallback if a REST
+ * service responds with a content type for which no other codec exists.
+ *
+ * @author JEAF Development Team
+ */
+public final class JSONBodyCodec implements BodyCodec {
+  /**
+   * Object mapper that is used for JSON.
+   */
+  private final ObjectMapper objectMapper;
+
+  /**
+   * Initialize object.
+   *
+   * @param pObjectMapper Object mapper that should be used for JSON. The parameter must not be null.
+   */
+  public JSONBodyCodec( ObjectMapper pObjectMapper ) {
+    objectMapper = pObjectMapper;
+  }
+
+  @Override
+  public ContentType getContentType( ) {
+    return ContentType.APPLICATION_JSON;
+  }
+
+  @Override
+  public ObjectMapper getObjectMapper( ) {
+    return objectMapper;
+  }
+
+  @Override
+  public boolean isBinary( ) {
+    return false;
+  }
+}
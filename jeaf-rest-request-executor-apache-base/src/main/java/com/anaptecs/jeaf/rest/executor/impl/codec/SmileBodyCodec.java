@@ -0,0 +1,55 @@
+/**
+ * Copyright 2004 - 2022 anaptecs GmbH, Burgstr. 96, 72764 Reutlingen, Germany
+ *
+ * All rights reserved.
+ */
+package com.anaptecs.jeaf.rest.executor.impl.codec;
+
+import org.apache.hc.core5.http.ContentType;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+/**
+ * Class implements content type "application/x-jackson-smile" using Jackson's binary JSON format Smile. The object
+ * mapper of the codec is derived from the JSON object mapper of the executor so that modules and features are the same
+ * for both formats.
+ *
+ * @author JEAF Development Team
+ */
+public final class SmileBodyCodec implements BodyCodec {
+  /**
+   * Content type of the format.
+   */
+  public static final ContentType CONTENT_TYPE = ContentType.create("application/x-jackson-smile");
+
+  /**
+   * Object mapper that is used for Smile.
+   */
+  private final ObjectMapper objectMapper;
+
+  /**
+   * Initialize object.
+   *
+   * @param pObjectMapper JSON object mapper whose configuration should also be used for Smile. The parameter must not
+   * be null.
+   */
+  public SmileBodyCodec( ObjectMapper pObjectMapper ) {
+    objectMapper = pObjectMapper.copyWith(new SmileFactory());
+  }
+
+  @Override
+  public ContentType getContentType( ) {
+    return CONTENT_TYPE;
+  }
+
+  @Override
+  public ObjectMapper getObjectMapper( ) {
+    return objectMapper;
+  }
+
+  @Override
+  public boolean isBinary( ) {
+    return true;
+  }
+}
@@ -0,0 +1,48 @@
+/**
+ * Copyright 2004 - 2022 anaptecs GmbH, Burgstr. 96, 72764 Reutlingen, Germany
+ *
+ * All rights reserved.
+ */
+package com.anaptecs.jeaf.rest.executor.impl.compression;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * Interface defines a codec for a http content encoding like "gzip". Codecs are used to decode compressed responses
+ * while they are read and to compress the bodies of requests.
+ *
+ * Besides the codecs for "gzip" and "deflate" that are always available executors may provide further codecs e.g. for
+ * "br" or "zstd". Implementations have to be thread-safe as the same codec is used for all requests.
+ *
+ * @author JEAF Development Team
+ */
+public interface ContentCodec {
+  /**
+   * Method returns the name of the content encoding that is supported by this codec as it is used in http headers
+   * <code>Accept-Encoding</code> and <code>Content-Encoding</code>.
+   *
+   * @return String Name of the content encoding in lower case. The method never returns null.
+   */
+  String getEncoding( );
+
+  /**
+   * Method returns a stream that decodes the content of the passed stream while it is read. Closing the returned stream
+   * also closes the passed one.
+   *
+   * @param pInputStream Stream with encoded content. The parameter must not be null.
+   * @return {@link InputStream} Stream that provides the decoded content. The method never returns null.
+   */
+  InputStream decode( InputStream pInputStream ) throws IOException;
+
+  /**
+   * Method returns a stream that encodes all content that is written to it into the passed stream. Encoding is only
+   * completed when the returned stream is closed. Closing the returned stream also closes the passed one.
+   *
+   * @param pOutputStream Stream to which the encoded content should be written. The parameter must not be null.
+   * @return {@link OutputStream} Stream to which the content that should be encoded has to be written. The method never
+   * returns null.
+   */
+  OutputStream encode( OutputStream pOutputStream ) throws IOException;
+}
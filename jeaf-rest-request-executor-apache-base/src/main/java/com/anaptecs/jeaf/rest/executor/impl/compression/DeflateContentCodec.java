@@ -0,0 +1,55 @@
+/**
+ * Copyright 2004 - 2022 anaptecs GmbH, Burgstr. 96, 72764 Reutlingen, Germany
+ *
+ * All rights reserved.
+ */
+package com.anaptecs.jeaf.rest.executor.impl.compression;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+
+import org.apache.hc.client5.http.entity.DeflateInputStream;
+
+/**
+ * Class implements the content encoding "deflate". Content is compressed using the zlib format as required by RFC 9110.
+ * As some servers send raw deflate data instead, decoding supports both formats.
+ *
+ * @author JEAF Development Team
+ */
+public final class DeflateContentCodec implements ContentCodec {
+  /**
+   * Name of the content encoding.
+   */
+  public static final String ENCODING = "deflate";
+
+  @Override
+  public String getEncoding( ) {
+    return ENCODING;
+  }
+
+  @Override
+  public InputStream decode( InputStream pInputStream ) throws IOException {
+    // Apache HTTP Client's implementation detects if the content is wrapped into the zlib format or not.
+    return new DeflateInputStream(pInputStream);
+  }
+
+  @Override
+  public OutputStream encode( OutputStream pOutputStream ) throws IOException {
+    // Deflater has to be released explicitly as DeflaterOutputStream only does so for its own default deflater.
+    Deflater lDeflater = new Deflater();
+    return new DeflaterOutputStream(pOutputStream, lDeflater) {
+      @Override
+      public void close( ) throws IOException {
+        try {
+          super.close();
+        }
+        finally {
+          lDeflater.end();
+        }
+      }
+    };
+  }
+}
@@ -0,0 +1,44 @@
+/**
+ * Copyright 2004 - 2022 anaptecs GmbH, Burgstr. 96, 72764 Reutlingen, Germany
+ *
+ * All rights reserved.
+ */
+package com.anaptecs.jeaf.rest.executor.impl.compression;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Class implements the content encoding "gzip" using the GZIP implementation of the JDK.
+ *
+ * @author JEAF Development Team
+ */
+public final class GzipContentCodec implements ContentCodec {
+  /**
+   * Name of the content encoding.
+   */
+  public static final String ENCODING = "gzip";
+
+  /**
+   * Size of the buffers that are used for compression and decompression.
+   */
+  private static final int BUFFER_SIZE = 8 * 1024;
+
+  @Override
+  public String getEncoding( ) {
+    return ENCODING;
+  }
+
+  @Override
+  public InputStream decode( InputStream pInputStream ) throws IOException {
+    return new GZIPInputStream(pInputStream, BUFFER_SIZE);
+  }
+
+  @Override
+  public OutputStream encode( OutputStream pOutputStream ) throws IOException {
+    return new GZIPOutputStream(pOutputStream, BUFFER_SIZE);
+  }
+}
@@ -5,6 +5,10 @@
  */
 package com.anaptecs.jeaf.rest.executor.impl.config;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
 /**
  * Class provided a {@link RESTClientConfiguration} that reads all required configuration parameters from a YAML file.
  * 
@@ -18,9 +22,142 @@ public class ApacheHttpClientConfiguration {
 
   /**
    * Maximum amount of idle connections in the connection pool.
+   * 
+   * @deprecated Apache HTTP Client does not limit the amount of idle connections. The parameter was used as limit of
+   * connections per route which is now configured through <code>maxPerRoute</code>. Idle connections are closed
+   * after <code>maxIdleTime</code>. As long as <code>maxPerRoute</code> is not set the value is still used as limit of
+   * connections per route.
    */
+  @Deprecated
   private int maxIdleConnections = 5;
 
+  /**
+   * Maximum amount of connections per route. As all requests of a REST service usually use the same route this limits
+   * the amount of concurrent requests to the REST service. If the value is not set then the deprecated
+   * <code>maxIdleConnections</code> is used.
+   */
+  private Integer maxPerRoute;
+
+  /**
+   * Time in milliseconds after which idle connections are closed by a background thread. Values less or equal to 0
+   * disable eviction of idle connections.
+   */
+  private int maxIdleTime = 30000;
+
+  /**
+   * Parameter defines whether connections whose keep alive duration expired are closed by a background thread.
+   * Otherwise expired connections are only detected when they are leased from the pool again.
+   */
+  private boolean evictExpiredConnections = true;
+
+  /**
+   * Policy that defines which version of the HTTP protocol is used to call the REST service. In case of
+   * {@link ProtocolPolicy#HTTP_2} concurrent requests are multiplexed over <code>http2ConnectionCount</code>
+   * connections.
+   */
+  private ProtocolPolicy protocolPolicy = ProtocolPolicy.HTTP_1;
+
+  /**
+   * Maximum amount of concurrent streams per HTTP/2 connection. Further requests wait until a stream gets available.
+   * The parameter is only used in case of protocol policy {@link ProtocolPolicy#HTTP_2}.
+   */
+  private int maxConcurrentStreams = 100;
+
+  /**
+   * Amount of HTTP/2 connections over which requests to the REST service are multiplexed. The parameter is only used
+   * in case of protocol policy {@link ProtocolPolicy#HTTP_2}.
+   */
+  private int http2ConnectionCount = 1;
+
+  /**
+   * Content encodings that are advertised to the REST service using http header <code>Accept-Encoding</code>. Responses
+   * using one of these encodings are decoded while they are read. Besides "gzip" and "deflate" further encodings can be
+   * supported by the executor through additional content codecs. An empty list disables compression of responses.
+   */
+  private List<String> acceptEncodings = Arrays.asList("gzip", "deflate");
+
+  /**
+   * Content encoding that is used to compress bodies of requests e.g. "gzip". Only bodies whose size reaches
+   * <code>requestCompressionThreshold</code> are compressed. If no encoding is defined then requests are never
+   * compressed.
+   */
+  private String requestEncoding;
+
+  /**
+   * Minimum size in bytes of a request body so that it gets compressed. Smaller bodies are sent uncompressed as
+   * compression would not pay off. The parameter is only used if a <code>requestEncoding</code> is defined.
+   */
+  private int requestCompressionThreshold = 2048;
+
+  /**
+   * Content types of request and response bodies in the order of preference. The first content type is used for
+   * request bodies and all of them are advertised to the REST service using http header <code>Accept</code>. Besides
+   * "application/json" the binary formats "application/x-jackson-smile" and "application/cbor" are supported. JSON is
+   * always accepted as fallback.
+   */
+  private List<String> bodyContentTypes = Arrays.asList("application/json");
+
+  /**
+   * Maximum number of encoded <code>Cookie</code> headers that are cached per REST service. Requests with the same
+   * cookies then share the same header. Caching pays off if the same cookies are sent again and again e.g. session
+   * cookies. 0 disables caching.
+   */
+  private int cookieHeaderCacheSize = 0;
+
+  /**
+   * Sampling rate of request and response tracing. 1 means that every request is traced, N means that about one of
+   * N requests is traced and 0 means that only requests with header <code>traceHeaderName</code> are traced.
+   * Sampling is only applied if tracing is enabled at all.
+   */
+  private int traceSamplingRate = 1;
+
+  /**
+   * Name of the request header that enables tracing for a single request. Requests with this header are always
+   * traced if tracing is enabled, no matter of <code>traceSamplingRate</code>.
+   */
+  private String traceHeaderName = null;
+
+  /**
+   * Maximum amount of bytes of a request or response body that are written to the trace. Larger bodies are
+   * truncated.
+   */
+  private int maxTracedBodySize = 64 * 1024;
+
+  /**
+   * Maximum amount of responses of GET requests that are cached. Cached responses are used as long as they are fresh
+   * according to their <code>Cache-Control</code> or <code>Expires</code> header and are revalidated afterwards using
+   * <code>ETag</code> or <code>Last-Modified</code>. 0 means that responses are not cached.
+   */
+  private int responseCacheSize = 0;
+
+  /**
+   * Maximum amount of bytes of all response bodies that are cached. Least recently used responses are evicted once
+   * either this limit or <code>responseCacheSize</code> is reached.
+   */
+  private int responseCacheMaxBytes = 16 * 1024 * 1024;
+
+  /**
+   * Parameter defines whether cached responses are also kept as deserialized objects. In this case fresh and
+   * revalidated responses do not have to be parsed again but all callers share the same objects. So this must only be
+   * enabled if the returned objects are immutable.
+   */
+  private boolean cacheDeserializedResponses = false;
+
+  /**
+   * Names of the request headers that distinguish cached responses and coalesced requests in addition to method and
+   * URI e.g. "Accept-Language". Credentials i.e. <code>Authorization</code>, <code>Cookie</code> and all sensitive
+   * headers are always taken into account but only as hash. Further headers are only compared if a cached response
+   * names them in its <code>Vary</code> header.
+   */
+  private List<String> responseCacheKeyHeaders = Collections.emptyList();
+
+  /**
+   * Parameter defines whether identical GET requests that are executed concurrently are coalesced. In this case only
+   * one request is sent to the REST service and all callers share its result or error. As the deserialized result is
+   * shared this should only be enabled if the returned objects are immutable.
+   */
+  private boolean requestCoalescing = false;
+
   /**
    * Keep alive duration for connection to REST service (in milliseconds).
    */
@@ -61,6 +198,44 @@ public class ApacheHttpClientConfiguration {
    */
   private int connectionRequestTimeout = 100;
 
+  /**
+   * Policy that defines how the connection pool is used by the threads that execute requests. Policy
+   * {@link PoolSizingPolicy#VIRTUAL_THREADS} should be used if requests are executed by a large number of virtual
+   * threads.
+   */
+  private PoolSizingPolicy poolSizingPolicy = PoolSizingPolicy.FIXED;
+
+  /**
+   * Maximum time in milliseconds that a request waits until it gets admitted to the connection pool. The parameter is
+   * only used in case of pool sizing policy {@link PoolSizingPolicy#VIRTUAL_THREADS}. As many virtual threads may be
+   * waiting for a connection this timeout is usually much higher than <code>connectionRequestTimeout</code>.
+   */
+  private int admissionTimeout = 5000;
+
+  /**
+   * Amount of requests that may wait for a connection from the pool before the connection pool is considered to be
+   * saturated. Saturated connection pools are reported by health checks.
+   */
+  private int pendingLeasesThreshold = 10;
+
+  /**
+   * Parameter defines whether the amount of connections per route is adapted to the observed load at runtime. The
+   * size is calculated from the observed concurrency of requests and always stays between <code>minPoolSize</code> and
+   * <code>maxPoolSize</code>.
+   */
+  private boolean adaptivePoolSizing = false;
+
+  /**
+   * Minimum amount of connections per route in case of adaptive pool sizing.
+   */
+  private int minPoolSize = 2;
+
+  /**
+   * Interval in milliseconds after which the size of the connection pool is recalculated in case of adaptive pool
+   * sizing.
+   */
+  private int adaptivePoolSizingInterval = 10000;
+
   /**
    * Method returns the maximum size of the connection pool.
    * 
@@ -74,11 +249,198 @@ public class ApacheHttpClientConfiguration {
    * Method returns the maximum amount of idle connections in the connection pool.
    * 
    * @return int Maximum amount of idle connections.
+   * @deprecated Apache HTTP Client does not limit the amount of idle connections. The parameter was used as limit of
+   * connections per route which is now configured through <code>maxPerRoute</code>. Idle connections are closed
+   * after <code>maxIdleTime</code>.
    */
+  @Deprecated
   public int getMaxIdleConnections( ) {
     return maxIdleConnections;
   }
 
+  /**
+   * Method returns the maximum amount of connections per route. If it was not set explicitly then the value of the
+   * deprecated <code>maxIdleConnections</code> is returned as it was used as limit of connections per route before.
+   * 
+   * @return int Maximum amount of connections per route.
+   */
+  @SuppressWarnings("deprecation")
+  public int getMaxPerRoute( ) {
+    int lMaxPerRoute;
+    if (maxPerRoute != null) {
+      lMaxPerRoute = maxPerRoute;
+    }
+    else {
+      lMaxPerRoute = this.getMaxIdleConnections();
+    }
+    return lMaxPerRoute;
+  }
+
+  /**
+   * Method returns the time in milliseconds after which idle connections are closed by a background thread.
+   * 
+   * @return int Maximum idle time of pooled connections in milliseconds. Values less or equal to 0 mean that idle
+   * connections are not evicted.
+   */
+  public int getMaxIdleTime( ) {
+    return maxIdleTime;
+  }
+
+  /**
+   * Method checks whether connections whose keep alive duration expired are closed by a background thread.
+   * 
+   * @return boolean Method returns true if expired connections are evicted in background and otherwise false.
+   */
+  public boolean isEvictExpiredConnections( ) {
+    return evictExpiredConnections;
+  }
+
+  /**
+   * Method returns the policy that defines which version of the HTTP protocol is used to call the REST service.
+   * 
+   * @return {@link ProtocolPolicy} Protocol policy of the REST service. The method never returns null.
+   */
+  public ProtocolPolicy getProtocolPolicy( ) {
+    return protocolPolicy;
+  }
+
+  /**
+   * Method returns the maximum amount of concurrent streams per HTTP/2 connection.
+   * 
+   * @return int Maximum amount of concurrent streams per connection.
+   */
+  public int getMaxConcurrentStreams( ) {
+    return maxConcurrentStreams;
+  }
+
+  /**
+   * Method returns the amount of HTTP/2 connections over which requests to the REST service are multiplexed.
+   * 
+   * @return int Amount of HTTP/2 connections.
+   */
+  public int getHttp2ConnectionCount( ) {
+    return http2ConnectionCount;
+  }
+
+  /**
+   * Method returns the content encodings that are advertised to the REST service.
+   * 
+   * @return {@link List} Accepted content encodings in the order of preference. The method never returns null.
+   */
+  public List<String> getAcceptEncodings( ) {
+    return acceptEncodings;
+  }
+
+  /**
+   * Method returns the content encoding that is used to compress bodies of requests.
+   * 
+   * @return String Content encoding of compressed requests or null if requests should not be compressed.
+   */
+  public String getRequestEncoding( ) {
+    return requestEncoding;
+  }
+
+  /**
+   * Method returns the minimum size of a request body so that it gets compressed.
+   * 
+   * @return int Minimum size in bytes of compressed request bodies.
+   */
+  public int getRequestCompressionThreshold( ) {
+    return requestCompressionThreshold;
+  }
+
+  /**
+   * Method returns the content types of request and response bodies in the order of preference.
+   * 
+   * @return {@link List} Content types of bodies in the order of preference. The method never returns null.
+   */
+  public List<String> getBodyContentTypes( ) {
+    return bodyContentTypes;
+  }
+
+  /**
+   * Method returns the maximum number of encoded cookie headers that are cached per REST service.
+   * 
+   * @return int Maximum number of cached cookie headers. 0 means that cookie headers are not cached.
+   */
+  public int getCookieHeaderCacheSize( ) {
+    return cookieHeaderCacheSize;
+  }
+
+  /**
+   * Method returns the sampling rate of request and response tracing.
+   * 
+   * @return int Sampling rate. 1 means that every request is traced and 0 that only requests with the trace header are
+   * traced.
+   */
+  public int getTraceSamplingRate( ) {
+    return traceSamplingRate;
+  }
+
+  /**
+   * Method returns the name of the request header that enables tracing for a single request.
+   * 
+   * @return String Name of the trace header or null if tracing can not be enabled per request.
+   */
+  public String getTraceHeaderName( ) {
+    return traceHeaderName;
+  }
+
+  /**
+   * Method returns the maximum amount of bytes of a request or response body that are written to the trace.
+   * 
+   * @return int Maximum size of traced bodies in bytes.
+   */
+  public int getMaxTracedBodySize( ) {
+    return maxTracedBodySize;
+  }
+
+  /**
+   * Method returns the maximum amount of responses of GET requests that are cached.
+   * 
+   * @return int Maximum amount of cached responses. 0 means that responses are not cached.
+   */
+  public int getResponseCacheSize( ) {
+    return responseCacheSize;
+  }
+
+  /**
+   * Method returns the maximum amount of bytes of all response bodies that are cached.
+   * 
+   * @return int Maximum amount of cached bytes.
+   */
+  public int getResponseCacheMaxBytes( ) {
+    return responseCacheMaxBytes;
+  }
+
+  /**
+   * Method checks whether cached responses are also kept as deserialized objects.
+   * 
+   * @return boolean Method returns true if deserialized objects are cached and false if only the response bodies are
+   * cached.
+   */
+  public boolean isCacheDeserializedResponses( ) {
+    return cacheDeserializedResponses;
+  }
+
+  /**
+   * Method returns the names of the request headers that distinguish cached responses and coalesced requests.
+   * 
+   * @return {@link List} Names of the request headers that are part of the cache key. The method never returns null.
+   */
+  public List<String> getResponseCacheKeyHeaders( ) {
+    return responseCacheKeyHeaders;
+  }
+
+  /**
+   * Method checks whether identical GET requests that are executed concurrently are coalesced.
+   * 
+   * @return boolean Method returns true if identical concurrent GET requests are coalesced and false otherwise.
+   */
+  public boolean isRequestCoalescing( ) {
+    return requestCoalescing;
+  }
+
   /**
    * Method returns the keep alive duration for connection to REST service (in milliseconds).
    * 
@@ -147,14 +509,148 @@ public class ApacheHttpClientConfiguration {
     return connectionRequestTimeout;
   }
 
+  /**
+   * Method returns the policy that defines how the connection pool is used by the threads that execute requests.
+   * 
+   * @return {@link PoolSizingPolicy} Pool sizing policy. The method never returns null.
+   */
+  public PoolSizingPolicy getPoolSizingPolicy( ) {
+    return poolSizingPolicy;
+  }
+
+  /**
+   * Method returns the maximum time in milliseconds that a request waits until it gets admitted to the connection pool.
+   * The value is only used in case of pool sizing policy {@link PoolSizingPolicy#VIRTUAL_THREADS}.
+   * 
+   * @return int Admission timeout in milliseconds.
+   */
+  public int getAdmissionTimeout( ) {
+    return admissionTimeout;
+  }
+
+  /**
+   * Method returns the amount of requests that may wait for a connection from the pool before the connection pool is
+   * considered to be saturated.
+   * 
+   * @return int Threshold of pending connection leases.
+   */
+  public int getPendingLeasesThreshold( ) {
+    return pendingLeasesThreshold;
+  }
+
+  /**
+   * Method checks whether the amount of connections per route is adapted to the observed load at runtime.
+   * 
+   * @return boolean Method returns true if adaptive pool sizing is enabled and otherwise false.
+   */
+  public boolean isAdaptivePoolSizing( ) {
+    return adaptivePoolSizing;
+  }
+
+  /**
+   * Method returns the minimum amount of connections per route in case of adaptive pool sizing.
+   * 
+   * @return int Minimum pool size.
+   */
+  public int getMinPoolSize( ) {
+    return minPoolSize;
+  }
+
+  /**
+   * Method returns the interval in milliseconds after which the size of the connection pool is recalculated in case of
+   * adaptive pool sizing.
+   * 
+   * @return int Interval in milliseconds between two calculations of the pool size.
+   */
+  public int getAdaptivePoolSizingInterval( ) {
+    return adaptivePoolSizingInterval;
+  }
+
   public void setMaxPoolSize( int pMaxPoolSize ) {
     maxPoolSize = pMaxPoolSize;
   }
 
+  @Deprecated
   public void setMaxIdleConnections( int pMaxIdleConnections ) {
     maxIdleConnections = pMaxIdleConnections;
   }
 
+  public void setMaxPerRoute( int pMaxPerRoute ) {
+    maxPerRoute = pMaxPerRoute;
+  }
+
+  public void setMaxIdleTime( int pMaxIdleTime ) {
+    maxIdleTime = pMaxIdleTime;
+  }
+
+  public void setEvictExpiredConnections( boolean pEvictExpiredConnections ) {
+    evictExpiredConnections = pEvictExpiredConnections;
+  }
+
+  public void setProtocolPolicy( ProtocolPolicy pProtocolPolicy ) {
+    protocolPolicy = pProtocolPolicy;
+  }
+
+  public void setMaxConcurrentStreams( int pMaxConcurrentStreams ) {
+    maxConcurrentStreams = pMaxConcurrentStreams;
+  }
+
+  public void setHttp2ConnectionCount( int pHttp2ConnectionCount ) {
+    http2ConnectionCount = pHttp2ConnectionCount;
+  }
+
+  public void setAcceptEncodings( List<String> pAcceptEncodings ) {
+    acceptEncodings = pAcceptEncodings;
+  }
+
+  public void setRequestEncoding( String pRequestEncoding ) {
+    requestEncoding = pRequestEncoding;
+  }
+
+  public void setRequestCompressionThreshold( int pRequestCompressionThreshold ) {
+    requestCompressionThreshold = pRequestCompressionThreshold;
+  }
+
+  public void setBodyContentTypes( List<String> pBodyContentTypes ) {
+    bodyContentTypes = pBodyContentTypes;
+  }
+
+  public void setCookieHeaderCacheSize( int pCookieHeaderCacheSize ) {
+    cookieHeaderCacheSize = pCookieHeaderCacheSize;
+  }
+
+  public void setTraceSamplingRate( int pTraceSamplingRate ) {
+    traceSamplingRate = pTraceSamplingRate;
+  }
+
+  public void setTraceHeaderName( String pTraceHeaderName ) {
+    traceHeaderName = pTraceHeaderName;
+  }
+
+  public void setMaxTracedBodySize( int pMaxTracedBodySize ) {
+    maxTracedBodySize = pMaxTracedBodySize;
+  }
+
+  public void setResponseCacheSize( int pResponseCacheSize ) {
+    responseCacheSize = pResponseCacheSize;
+  }
+
+  public void setResponseCacheMaxBytes( int pResponseCacheMaxBytes ) {
+    responseCacheMaxBytes = pResponseCacheMaxBytes;
+  }
+
+  public void setCacheDeserializedResponses( boolean pCacheDeserializedResponses ) {
+    cacheDeserializedResponses = pCacheDeserializedResponses;
+  }
+
+  public void setResponseCacheKeyHeaders( List<String> pResponseCacheKeyHeaders ) {
+    responseCacheKeyHeaders = pResponseCacheKeyHeaders;
+  }
+
+  public void setRequestCoalescing( boolean pRequestCoalescing ) {
+    requestCoalescing = pRequestCoalescing;
+  }
+
   public void setKeepAliveDuration( int pKeepAliveDuration ) {
     keepAliveDuration = pKeepAliveDuration;
   }
@@ -183,4 +679,28 @@ public class ApacheHttpClientConfiguration {
     connectionRequestTimeout = pConnectionRequestTimeout;
   }
 
+  public void setPoolSizingPolicy( PoolSizingPolicy pPoolSizingPolicy ) {
+    poolSizingPolicy = pPoolSizingPolicy;
+  }
+
+  public void setAdmissionTimeout( int pAdmissionTimeout ) {
+    admissionTimeout = pAdmissionTimeout;
+  }
+
+  public void setPendingLeasesThreshold( int pPendingLeasesThreshold ) {
+    pendingLeasesThreshold = pPendingLeasesThreshold;
+  }
+
+  public void setAdaptivePoolSizing( boolean pAdaptivePoolSizing ) {
+    adaptivePoolSizing = pAdaptivePoolSizing;
+  }
+
+  public void setMinPoolSize( int pMinPoolSize ) {
+    minPoolSize = pMinPoolSize;
+  }
+
+  public void setAdaptivePoolSizingInterval( int pAdaptivePoolSizingInterval ) {
+    adaptivePoolSizingInterval = pAdaptivePoolSizingInterval;
+  }
+
 }
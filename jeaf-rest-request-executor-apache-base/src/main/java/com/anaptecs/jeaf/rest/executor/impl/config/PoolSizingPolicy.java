@@ -0,0 +1,27 @@
+/*
+ * anaptecs GmbH, Ricarda-Huch-Str. 71, 72760 Reutlingen, Germany
+ *
+ * Copyright 2004 - 2019. All rights reserved.
+ */
+package com.anaptecs.jeaf.rest.executor.impl.config;
+
+/**
+ * Enumeration defines how the connection pool of a REST service is used by the threads that execute requests.
+ *
+ * @author JEAF Development Team
+ */
+public enum PoolSizingPolicy {
+  /**
+   * Connection pool is used as configured. Every thread that executes a request directly competes for a pooled
+   * connection. This policy fits to classical thread pools whose size is in the same range as the connection pool.
+   */
+  FIXED,
+
+  /**
+   * Connection pool is used as configured but requests are admitted through a semaphore that has as many permits as
+   * connections are available per route. Threads that can not get a connection immediately are parked on the semaphore
+   * instead of blocking inside the connection pool. This policy fits to thousands of concurrent virtual threads as they
+   * neither pin their carrier thread nor run into connection request timeouts of the pool.
+   */
+  VIRTUAL_THREADS;
+}
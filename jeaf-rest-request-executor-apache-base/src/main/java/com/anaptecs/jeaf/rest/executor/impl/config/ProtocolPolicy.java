@@ -0,0 +1,25 @@
+/*
+ * anaptecs GmbH, Ricarda-Huch-Str. 71, 72760 Reutlingen, Germany
+ *
+ * Copyright 2004 - 2019. All rights reserved.
+ */
+package com.anaptecs.jeaf.rest.executor.impl.config;
+
+/**
+ * Enumeration defines which version of the HTTP protocol is used to call a REST service.
+ *
+ * @author JEAF Development Team
+ */
+public enum ProtocolPolicy {
+  /**
+   * Requests are sent using HTTP/1.1. Every concurrent request requires its own connection from the connection pool.
+   */
+  HTTP_1,
+
+  /**
+   * Requests are sent using HTTP/2. Many concurrent requests are multiplexed as streams over a small number of
+   * connections. In case of plain http the REST service must support HTTP/2 with prior knowledge, in case of https the
+   * protocol is negotiated using ALPN. Blocking requests wait for the response of the multiplexed transport.
+   */
+  HTTP_2;
+}
@@ -158,12 +158,209 @@ public class RESTClientConfigurationImpl implements RESTClientConfiguration {
    * Method returns the maximum amount of idle connections in the connection pool.
    * 
    * @return int Maximum amount of idle connections.
+   * @deprecated Apache HTTP Client does not limit the amount of idle connections. The parameter was used as limit of
+   * connections per route which is now configured through <code>maxPerRoute</code>. Idle connections are closed
+   * after <code>maxIdleTime</code>.
    */
   @Override
+  @Deprecated
   public int getMaxIdleConnections( ) {
     return httpClientConfiguration.getMaxIdleConnections();
   }
 
+  /**
+   * Method returns the maximum amount of connections per route.
+   * 
+   * @return int Maximum amount of connections per route.
+   */
+  @Override
+  public int getMaxPerRoute( ) {
+    return httpClientConfiguration.getMaxPerRoute();
+  }
+
+  /**
+   * Method returns the time in milliseconds after which idle connections are closed by a background thread.
+   * 
+   * @return int Maximum idle time of pooled connections in milliseconds. Values less or equal to 0 mean that idle
+   * connections are not evicted.
+   */
+  @Override
+  public int getMaxIdleTime( ) {
+    return httpClientConfiguration.getMaxIdleTime();
+  }
+
+  /**
+   * Method checks whether connections whose keep alive duration expired are closed by a background thread.
+   * 
+   * @return boolean Method returns true if expired connections are evicted in background and otherwise false.
+   */
+  @Override
+  public boolean isEvictExpiredConnections( ) {
+    return httpClientConfiguration.isEvictExpiredConnections();
+  }
+
+  /**
+   * Method returns the policy that defines which version of the HTTP protocol is used to call the REST service.
+   * 
+   * @return {@link ProtocolPolicy} Protocol policy of the REST service. The method never returns null.
+   */
+  @Override
+  public ProtocolPolicy getProtocolPolicy( ) {
+    return httpClientConfiguration.getProtocolPolicy();
+  }
+
+  /**
+   * Method returns the maximum amount of concurrent streams per HTTP/2 connection.
+   * 
+   * @return int Maximum amount of concurrent streams per connection.
+   */
+  @Override
+  public int getMaxConcurrentStreams( ) {
+    return httpClientConfiguration.getMaxConcurrentStreams();
+  }
+
+  /**
+   * Method returns the amount of HTTP/2 connections over which requests to the REST service are multiplexed.
+   * 
+   * @return int Amount of HTTP/2 connections.
+   */
+  @Override
+  public int getHttp2ConnectionCount( ) {
+    return httpClientConfiguration.getHttp2ConnectionCount();
+  }
+
+  /**
+   * Method returns the content encodings that are advertised to the REST service.
+   * 
+   * @return {@link List} Accepted content encodings in the order of preference. The method never returns null.
+   */
+  @Override
+  public List<String> getAcceptEncodings( ) {
+    return httpClientConfiguration.getAcceptEncodings();
+  }
+
+  /**
+   * Method returns the content encoding that is used to compress bodies of requests.
+   * 
+   * @return String Content encoding of compressed requests or null if requests should not be compressed.
+   */
+  @Override
+  public String getRequestEncoding( ) {
+    return httpClientConfiguration.getRequestEncoding();
+  }
+
+  /**
+   * Method returns the minimum size of a request body so that it gets compressed.
+   * 
+   * @return int Minimum size in bytes of compressed request bodies.
+   */
+  @Override
+  public int getRequestCompressionThreshold( ) {
+    return httpClientConfiguration.getRequestCompressionThreshold();
+  }
+
+  /**
+   * Method returns the content types of request and response bodies in the order of preference.
+   * 
+   * @return {@link List} Content types of bodies in the order of preference. The method never returns null.
+   */
+  @Override
+  public List<String> getBodyContentTypes( ) {
+    return httpClientConfiguration.getBodyContentTypes();
+  }
+
+  /**
+   * Method returns the maximum number of encoded cookie headers that are cached per REST service.
+   * 
+   * @return int Maximum number of cached cookie headers. 0 means that cookie headers are not cached.
+   */
+  @Override
+  public int getCookieHeaderCacheSize( ) {
+    return httpClientConfiguration.getCookieHeaderCacheSize();
+  }
+
+  /**
+   * Method returns the sampling rate of request and response tracing.
+   * 
+   * @return int Sampling rate. 1 means that every request is traced and 0 that only requests with the trace header are
+   * traced.
+   */
+  @Override
+  public int getTraceSamplingRate( ) {
+    return httpClientConfiguration.getTraceSamplingRate();
+  }
+
+  /**
+   * Method returns the name of the request header that enables tracing for a single request.
+   * 
+   * @return String Name of the trace header or null if tracing can not be enabled per request.
+   */
+  @Override
+  public String getTraceHeaderName( ) {
+    return httpClientConfiguration.getTraceHeaderName();
+  }
+
+  /**
+   * Method returns the maximum amount of bytes of a request or response body that are written to the trace.
+   * 
+   * @return int Maximum size of traced bodies in bytes.
+   */
+  @Override
+  public int getMaxTracedBodySize( ) {
+    return httpClientConfiguration.getMaxTracedBodySize();
+  }
+
+  /**
+   * Method returns the maximum amount of responses of GET requests that are cached.
+   * 
+   * @return int Maximum amount of cached responses. 0 means that responses are not cached.
+   */
+  @Override
+  public int getResponseCacheSize( ) {
+    return httpClientConfiguration.getResponseCacheSize();
+  }
+
+  /**
+   * Method returns the maximum amount of bytes of all response bodies that are cached.
+   * 
+   * @return int Maximum amount of cached bytes.
+   */
+  @Override
+  public int getResponseCacheMaxBytes( ) {
+    return httpClientConfiguration.getResponseCacheMaxBytes();
+  }
+
+  /**
+   * Method checks whether cached responses are also kept as deserialized objects.
+   * 
+   * @return boolean Method returns true if deserialized objects are cached and false if only the response bodies are
+   * cached.
+   */
+  @Override
+  public boolean isCacheDeserializedResponses( ) {
+    return httpClientConfiguration.isCacheDeserializedResponses();
+  }
+
+  /**
+   * Method returns the names of the request headers that distinguish cached responses and coalesced requests.
+   * 
+   * @return {@link List} Names of the request headers that are part of the cache key. The method never returns null.
+   */
+  @Override
+  public List<String> getResponseCacheKeyHeaders( ) {
+    return httpClientConfiguration.getResponseCacheKeyHeaders();
+  }
+
+  /**
+   * Method checks whether identical GET requests that are executed concurrently are coalesced.
+   * 
+   * @return boolean Method returns true if identical concurrent GET requests are coalesced and false otherwise.
+   */
+  @Override
+  public boolean isRequestCoalescing( ) {
+    return httpClientConfiguration.isRequestCoalescing();
+  }
+
   /**
    * Method returns the keep alive duration for connection to REST service (in milliseconds).
    * 
@@ -239,6 +436,69 @@ public class RESTClientConfigurationImpl implements RESTClientConfiguration {
     return httpClientConfiguration.getConnectionRequestTimeout();
   }
 
+  /**
+   * Method returns the policy that defines how the connection pool is used by the threads that execute requests.
+   * 
+   * @return {@link PoolSizingPolicy} Pool sizing policy. The method never returns null.
+   */
+  @Override
+  public PoolSizingPolicy getPoolSizingPolicy( ) {
+    return httpClientConfiguration.getPoolSizingPolicy();
+  }
+
+  /**
+   * Method returns the maximum time in milliseconds that a request waits until it gets admitted to the connection pool.
+   * The value is only used in case of pool sizing policy {@link PoolSizingPolicy#VIRTUAL_THREADS}.
+   * 
+   * @return int Admission timeout in milliseconds.
+   */
+  @Override
+  public int getAdmissionTimeout( ) {
+    return httpClientConfiguration.getAdmissionTimeout();
+  }
+
+  /**
+   * Method returns the amount of requests that may wait for a connection from the pool before the connection pool is
+   * considered to be saturated.
+   * 
+   * @return int Threshold of pending connection leases.
+   */
+  @Override
+  public int getPendingLeasesThreshold( ) {
+    return httpClientConfiguration.getPendingLeasesThreshold();
+  }
+
+  /**
+   * Method checks whether the amount of connections per route is adapted to the observed load at runtime.
+   * 
+   * @return boolean Method returns true if adaptive pool sizing is enabled and otherwise false.
+   */
+  @Override
+  public boolean isAdaptivePoolSizing( ) {
+    return httpClientConfiguration.isAdaptivePoolSizing();
+  }
+
+  /**
+   * Method returns the minimum amount of connections per route in case of adaptive pool sizing.
+   * 
+   * @return int Minimum pool size.
+   */
+  @Override
+  public int getMinPoolSize( ) {
+    return httpClientConfiguration.getMinPoolSize();
+  }
+
+  /**
+   * Method returns the interval in milliseconds after which the size of the connection pool is recalculated in case of
+   * adaptive pool sizing.
+   * 
+   * @return int Interval in milliseconds between two calculations of the pool size.
+   */
+  @Override
+  public int getAdaptivePoolSizingInterval( ) {
+    return httpClientConfiguration.getAdaptivePoolSizingInterval();
+  }
+
   /**
    * Method returns the failure rate threshold (percent of requests) defines which amount of failed request must be
    * exceeded due to technical problems that the circuit breaker opens and no further request will be sent to the REST
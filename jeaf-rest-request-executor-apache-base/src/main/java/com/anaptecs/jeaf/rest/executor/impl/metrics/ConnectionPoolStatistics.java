@@ -0,0 +1,157 @@
+/**
+ * Copyright 2004 - 2022 anaptecs GmbH, Burgstr. 96, 72764 Reutlingen, Germany
+ *
+ * All rights reserved.
+ */
+package com.anaptecs.jeaf.rest.executor.impl.metrics;
+
+/**
+ * Class represents the state of the connection pool of a REST service at a certain point in time. Besides the current
+ * counts it also provides the histogram with the wait times of all connection leases so far.
+ *
+ * @author JEAF Development Team
+ */
+public final class ConnectionPoolStatistics {
+  /**
+   * Class representing the REST service to which the connection pool belongs.
+   */
+  private final Class<?> serviceClass;
+
+  /**
+   * Amount of connections that are currently used by requests.
+   */
+  private final int leased;
+
+  /**
+   * Amount of idle connections that are available in the pool.
+   */
+  private final int available;
+
+  /**
+   * Amount of requests that are currently waiting for a connection.
+   */
+  private final int pending;
+
+  /**
+   * Maximum amount of connections of the pool.
+   */
+  private final int max;
+
+  /**
+   * Amount of pending requests above which the pool is considered to be saturated.
+   */
+  private final int pendingLeasesThreshold;
+
+  /**
+   * Wait times in nanoseconds of all connection leases.
+   */
+  private final LatencyHistogram leaseWait;
+
+  /**
+   * Initialize object.
+   *
+   * @param pServiceClass Class representing the REST service. The parameter must not be null.
+   * @param pLeased Amount of connections that are currently used by requests.
+   * @param pAvailable Amount of idle connections that are available in the pool.
+   * @param pPending Amount of requests that are currently waiting for a connection.
+   * @param pMax Maximum amount of connections of the pool.
+   * @param pPendingLeasesThreshold Amount of pending requests above which the pool is considered to be saturated.
+   * @param pLeaseWait Wait times in nanoseconds of all connection leases. The parameter must not be null.
+   */
+  public ConnectionPoolStatistics( Class<?> pServiceClass, int pLeased, int pAvailable, int pPending, int pMax,
+      int pPendingLeasesThreshold, LatencyHistogram pLeaseWait ) {
+    serviceClass = pServiceClass;
+    leased = pLeased;
+    available = pAvailable;
+    pending = pPending;
+    max = pMax;
+    pendingLeasesThreshold = pPendingLeasesThreshold;
+    leaseWait = pLeaseWait;
+  }
+
+  /**
+   * Method returns the class representing the REST service to which the connection pool belongs.
+   *
+   * @return {@link Class} Class of the REST service. The method never returns null.
+   */
+  public Class<?> getServiceClass( ) {
+    return serviceClass;
+  }
+
+  /**
+   * Method returns the amount of connections that are currently used by requests.
+   *
+   * @return int Amount of leased connections.
+   */
+  public int getLeased( ) {
+    return leased;
+  }
+
+  /**
+   * Method returns the amount of idle connections that are available in the pool.
+   *
+   * @return int Amount of available connections.
+   */
+  public int getAvailable( ) {
+    return available;
+  }
+
+  /**
+   * Method returns the amount of requests that are currently waiting for a connection.
+   *
+   * @return int Amount of pending connection leases.
+   */
+  public int getPending( ) {
+    return pending;
+  }
+
+  /**
+   * Method returns the maximum amount of connections of the pool.
+   *
+   * @return int Maximum pool size.
+   */
+  public int getMax( ) {
+    return max;
+  }
+
+  /**
+   * Method returns the amount of pending requests above which the pool is considered to be saturated.
+   *
+   * @return int Threshold of pending connection leases.
+   */
+  public int getPendingLeasesThreshold( ) {
+    return pendingLeasesThreshold;
+  }
+
+  /**
+   * Method returns the wait times of all connection leases so far. In contrast to all other values the histogram is
+   * not a snapshot but continues to record.
+   *
+   * @return {@link LatencyHistogram} Histogram with lease wait times in nanoseconds. The method never returns null.
+   */
+  public LatencyHistogram getLeaseWait( ) {
+    return leaseWait;
+  }
+
+  /**
+   * Method checks if the connection pool is saturated which means that more requests are waiting for a connection than
+   * defined by the threshold.
+   *
+   * @return boolean Method returns true if the pool is saturated and otherwise false.
+   */
+  public boolean isSaturated( ) {
+    return pending > pendingLeasesThreshold;
+  }
+
+  @Override
+  public String toString( ) {
+    StringBuilder lBuilder = new StringBuilder();
+    lBuilder.append(serviceClass.getName());
+    lBuilder.append(": leased=").append(leased);
+    lBuilder.append(" available=").append(available);
+    lBuilder.append(" pending=").append(pending);
+    lBuilder.append(" max=").append(max);
+    lBuilder.append(" leaseWait(p99)=").append(leaseWait.getValueAtPercentile(0.99) / 1000000).append("ms");
+    return lBuilder.toString();
+  }
+}
@@ -0,0 +1,285 @@
+/**
+ * Copyright 2004 - 2022 anaptecs GmbH, Burgstr. 96, 72764 Reutlingen, Germany
+ *
+ * All rights reserved.
+ */
+package com.anaptecs.jeaf.rest.executor.impl.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Class implements {@link RESTClientMetrics} that keeps all values in memory. Timers are represented by
+ * {@link LatencyHistogram}s and all counters are lock-free so recording never allocates any objects.
+ *
+ * @author JEAF Development Team
+ */
+public final class InMemoryRESTClientMetrics implements RESTClientMetrics {
+  /**
+   * Status codes are counted up to this value. Larger status codes are counted as 0.
+   */
+  private static final int MAX_STATUS_CODE = 599;
+
+  /**
+   * Class representing the REST service to which the metrics belong.
+   */
+  private final Class<?> serviceClass;
+
+  /**
+   * Path template to which the metrics belong.
+   */
+  private final String pathTemplate;
+
+  /**
+   * Wait times for connections from the connection pool.
+   */
+  private final LatencyHistogram connectionLeaseWait = new LatencyHistogram();
+
+  /**
+   * Times until the response was received.
+   */
+  private final LatencyHistogram timeToFirstByte = new LatencyHistogram();
+
+  /**
+   * Times that were required to deserialize responses.
+   */
+  private final LatencyHistogram deserialization = new LatencyHistogram();
+
+  /**
+   * Total durations of all calls.
+   */
+  private final LatencyHistogram calls = new LatencyHistogram();
+
+  /**
+   * Amount of calls per status code. Index 0 counts calls without response.
+   */
+  private final AtomicLongArray statusCodes = new AtomicLongArray(MAX_STATUS_CODE + 1);
+
+  /**
+   * Durations of all calls that were answered from the response cache.
+   */
+  private final LatencyHistogram cacheHits = new LatencyHistogram();
+
+  /**
+   * Amount of bytes that were sent.
+   */
+  private final LongAdder bytesSent = new LongAdder();
+
+  /**
+   * Amount of bytes that were received.
+   */
+  private final LongAdder bytesReceived = new LongAdder();
+
+  /**
+   * Size of all compressed request bodies before compression.
+   */
+  private final LongAdder requestUncompressedBytes = new LongAdder();
+
+  /**
+   * Size of all compressed request bodies after compression.
+   */
+  private final LongAdder requestCompressedBytes = new LongAdder();
+
+  /**
+   * Size of all compressed response bodies after decompression.
+   */
+  private final LongAdder responseUncompressedBytes = new LongAdder();
+
+  /**
+   * Size of all compressed response bodies as they were received.
+   */
+  private final LongAdder responseCompressedBytes = new LongAdder();
+
+  /**
+   * Initialize object.
+   *
+   * @param pServiceClass Class representing the REST service. The parameter must not be null.
+   * @param pPathTemplate Path template to which the metrics belong. The parameter must not be null.
+   */
+  public InMemoryRESTClientMetrics( Class<?> pServiceClass, String pPathTemplate ) {
+    serviceClass = pServiceClass;
+    pathTemplate = pPathTemplate;
+  }
+
+  @Override
+  public void recordConnectionLeaseWait( long pNanos ) {
+    connectionLeaseWait.record(pNanos);
+  }
+
+  @Override
+  public void recordTimeToFirstByte( long pNanos ) {
+    timeToFirstByte.record(pNanos);
+  }
+
+  @Override
+  public void recordDeserialization( long pNanos ) {
+    deserialization.record(pNanos);
+  }
+
+  @Override
+  public void recordCall( int pStatusCode, long pNanos ) {
+    calls.record(pNanos);
+    if (pStatusCode > 0 && pStatusCode <= MAX_STATUS_CODE) {
+      statusCodes.incrementAndGet(pStatusCode);
+    }
+    else {
+      statusCodes.incrementAndGet(0);
+    }
+  }
+
+  @Override
+  public void recordCacheHit( long pNanos ) {
+    cacheHits.record(pNanos);
+  }
+
+  @Override
+  public void recordBytesSent( long pBytes ) {
+    bytesSent.add(pBytes);
+  }
+
+  @Override
+  public void recordBytesReceived( long pBytes ) {
+    bytesReceived.add(pBytes);
+  }
+
+  @Override
+  public void recordRequestCompression( long pUncompressedBytes, long pCompressedBytes ) {
+    requestUncompressedBytes.add(pUncompressedBytes);
+    requestCompressedBytes.add(pCompressedBytes);
+  }
+
+  @Override
+  public void recordResponseCompression( long pUncompressedBytes, long pCompressedBytes ) {
+    responseUncompressedBytes.add(pUncompressedBytes);
+    responseCompressedBytes.add(pCompressedBytes);
+  }
+
+  /**
+   * Method returns the class representing the REST service to which the metrics belong.
+   *
+   * @return {@link Class} Class of the REST service. The method never returns null.
+   */
+  public Class<?> getServiceClass( ) {
+    return serviceClass;
+  }
+
+  /**
+   * Method returns the path template to which the metrics belong.
+   *
+   * @return String Path template. The method never returns null.
+   */
+  public String getPathTemplate( ) {
+    return pathTemplate;
+  }
+
+  /**
+   * Method returns the wait times for connections from the connection pool in nanoseconds.
+   *
+   * @return {@link LatencyHistogram} Histogram with lease wait times. The method never returns null.
+   */
+  public LatencyHistogram getConnectionLeaseWait( ) {
+    return connectionLeaseWait;
+  }
+
+  /**
+   * Method returns the times until the response was received in nanoseconds.
+   *
+   * @return {@link LatencyHistogram} Histogram with times to first byte. The method never returns null.
+   */
+  public LatencyHistogram getTimeToFirstByte( ) {
+    return timeToFirstByte;
+  }
+
+  /**
+   * Method returns the times that were required to deserialize responses in nanoseconds.
+   *
+   * @return {@link LatencyHistogram} Histogram with deserialization times. The method never returns null.
+   */
+  public LatencyHistogram getDeserialization( ) {
+    return deserialization;
+  }
+
+  /**
+   * Method returns the total durations of all calls in nanoseconds.
+   *
+   * @return {@link LatencyHistogram} Histogram with call durations. The method never returns null.
+   */
+  public LatencyHistogram getCalls( ) {
+    return calls;
+  }
+
+  /**
+   * Method returns how many calls returned the passed status code.
+   *
+   * @param pStatusCode Status code whose count should be returned. 0 returns the amount of calls without response.
+   * @return long Amount of calls with the passed status code.
+   */
+  public long getStatusCodeCount( int pStatusCode ) {
+    long lCount;
+    if (pStatusCode >= 0 && pStatusCode <= MAX_STATUS_CODE) {
+      lCount = statusCodes.get(pStatusCode);
+    }
+    else {
+      lCount = 0;
+    }
+    return lCount;
+  }
+
+  /**
+   * Method returns the durations of all calls that were answered from the response cache in nanoseconds.
+   *
+   * @return {@link LatencyHistogram} Histogram with durations of cache hits. The method never returns null.
+   */
+  public LatencyHistogram getCacheHits( ) {
+    return cacheHits;
+  }
+
+  /**
+   * Method returns the amount of bytes that were sent.
+   *
+   * @return long Amount of sent bytes.
+   */
+  public long getBytesSent( ) {
+    return bytesSent.sum();
+  }
+
+  /**
+   * Method returns the amount of bytes that were received.
+   *
+   * @return long Amount of received bytes.
+   */
+  public long getBytesReceived( ) {
+    return bytesReceived.sum();
+  }
+
+  /**
+   * Method returns the compression ratio of all compressed request bodies.
+   *
+   * @return double Ratio between the uncompressed and the compressed size of request bodies or 0 if no request body
+   * was compressed yet.
+   */
+  public double getRequestCompressionRatio( ) {
+    return this.getRatio(requestUncompressedBytes.sum(), requestCompressedBytes.sum());
+  }
+
+  /**
+   * Method returns the compression ratio of all compressed response bodies.
+   *
+   * @return double Ratio between the uncompressed and the compressed size of response bodies or 0 if no compressed
+   * response was received yet.
+   */
+  public double getResponseCompressionRatio( ) {
+    return this.getRatio(responseUncompressedBytes.sum(), responseCompressedBytes.sum());
+  }
+
+  private double getRatio( long pUncompressedBytes, long pCompressedBytes ) {
+    double lRatio;
+    if (pCompressedBytes > 0) {
+      lRatio = (double) pUncompressedBytes / pCompressedBytes;
+    }
+    else {
+      lRatio = 0;
+    }
+    return lRatio;
+  }
+}
@@ -0,0 +1,64 @@
+/**
+ * Copyright 2004 - 2022 anaptecs GmbH, Burgstr. 96, 72764 Reutlingen, Germany
+ *
+ * All rights reserved.
+ */
+package com.anaptecs.jeaf.rest.executor.impl.metrics;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Class implements a {@link RESTMetricsRegistry} that keeps all metrics in memory. It can be used in environments
+ * without a dedicated metrics backend. Recorded values can be read through {@link #getClientMetrics()} e.g. to publish
+ * them through health checks or traces.
+ *
+ * @author JEAF Development Team
+ */
+public final class InMemoryRESTMetricsRegistry implements RESTMetricsRegistry {
+  /**
+   * Metrics of all REST services per path template.
+   */
+  private final Map<Class<?>, Map<String, InMemoryRESTClientMetrics>> metrics = new ConcurrentHashMap<>();
+
+  @Override
+  public InMemoryRESTClientMetrics getClientMetrics( Class<?> pServiceClass, String pPathTemplate ) {
+    Map<String, InMemoryRESTClientMetrics> lServiceMetrics =
+        metrics.computeIfAbsent(pServiceClass, s -> new ConcurrentHashMap<>());
+    return lServiceMetrics.computeIfAbsent(pPathTemplate, t -> new InMemoryRESTClientMetrics(pServiceClass, t));
+  }
+
+  /**
+   * Method returns the metrics of all REST services and path templates that were called so far.
+   *
+   * @return {@link List} List with the metrics of all called path templates. The method never returns null.
+   */
+  public List<InMemoryRESTClientMetrics> getClientMetrics( ) {
+    List<InMemoryRESTClientMetrics> lClientMetrics = new ArrayList<>();
+    for (Map<String, InMemoryRESTClientMetrics> lNextServiceMetrics : metrics.values()) {
+      lClientMetrics.addAll(lNextServiceMetrics.values());
+    }
+    return lClientMetrics;
+  }
+
+  /**
+   * Method returns the metrics of all path templates of the passed REST service that were called so far.
+   *
+   * @param pServiceClass Class representing the REST service. The parameter must not be null.
+   * @return {@link List} List with the metrics of all called path templates of the service. The method never returns
+   * null.
+   */
+  public List<InMemoryRESTClientMetrics> getClientMetrics( Class<?> pServiceClass ) {
+    Map<String, InMemoryRESTClientMetrics> lServiceMetrics = metrics.get(pServiceClass);
+    List<InMemoryRESTClientMetrics> lClientMetrics;
+    if (lServiceMetrics != null) {
+      lClientMetrics = new ArrayList<>(lServiceMetrics.values());
+    }
+    else {
+      lClientMetrics = new ArrayList<>();
+    }
+    return lClientMetrics;
+  }
+}
@@ -0,0 +1,181 @@
+/**
+ * Copyright 2004 - 2022 anaptecs GmbH, Burgstr. 96, 72764 Reutlingen, Germany
+ *
+ * All rights reserved.
+ */
+package com.anaptecs.jeaf.rest.executor.impl.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Class implements a lock-free histogram for durations or sizes. Values are counted in buckets whose bounds grow
+ * exponentially. Every power of two is split into 4 buckets so that percentiles have a relative error of at most 25%.
+ * The bucket layout is fixed so recording a value never allocates any objects.
+ *
+ * @author JEAF Development Team
+ */
+public final class LatencyHistogram {
+  /**
+   * Amount of buckets per power of two.
+   */
+  private static final int SUB_BUCKETS = 4;
+
+  /**
+   * Amount of bits that are required to address the sub buckets.
+   */
+  private static final int SUB_BUCKET_BITS = 2;
+
+  /**
+   * Total amount of buckets. It is sufficient to represent all positive long values.
+   */
+  private static final int BUCKET_COUNT = (63 - SUB_BUCKET_BITS + 1) * SUB_BUCKETS;
+
+  /**
+   * Counters of all buckets.
+   */
+  private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+
+  /**
+   * Amount of recorded values.
+   */
+  private final LongAdder count = new LongAdder();
+
+  /**
+   * Sum of all recorded values.
+   */
+  private final LongAdder total = new LongAdder();
+
+  /**
+   * Largest recorded value.
+   */
+  private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+  /**
+   * Method records the passed value. Negative values are recorded as 0.
+   *
+   * @param pValue Value that should be recorded.
+   */
+  public void record( long pValue ) {
+    long lValue = Math.max(pValue, 0);
+    buckets.incrementAndGet(getBucketIndex(lValue));
+    count.increment();
+    total.add(lValue);
+    max.accumulate(lValue);
+  }
+
+  /**
+   * Method returns the amount of recorded values.
+   *
+   * @return long Amount of recorded values.
+   */
+  public long getCount( ) {
+    return count.sum();
+  }
+
+  /**
+   * Method returns the sum of all recorded values.
+   *
+   * @return long Sum of all recorded values.
+   */
+  public long getTotal( ) {
+    return total.sum();
+  }
+
+  /**
+   * Method returns the largest recorded value.
+   *
+   * @return long Largest recorded value or 0 if no values were recorded yet.
+   */
+  public long getMax( ) {
+    return max.get();
+  }
+
+  /**
+   * Method returns the mean of all recorded values.
+   *
+   * @return double Mean value or 0 if no values were recorded yet.
+   */
+  public double getMean( ) {
+    long lCount = count.sum();
+    double lMean;
+    if (lCount > 0) {
+      lMean = (double) total.sum() / lCount;
+    }
+    else {
+      lMean = 0;
+    }
+    return lMean;
+  }
+
+  /**
+   * Method returns an approximation of the passed percentile. The returned value is the upper bound of the bucket that
+   * contains the percentile but never larger than the largest recorded value.
+   *
+   * @param pPercentile Percentile that should be returned e.g. 0.99. The value must be between 0 and 1.
+   * @return long Approximated value of the percentile or 0 if no values were recorded yet.
+   */
+  public long getValueAtPercentile( double pPercentile ) {
+    if (pPercentile < 0 || pPercentile > 1) {
+      throw new IllegalArgumentException("Percentile must be between 0 and 1. Passed value: " + pPercentile);
+    }
+    // As counters are updated independently we have to rely on the buckets only.
+    long lCount = 0;
+    for (int i = 0; i < BUCKET_COUNT; i++) {
+      lCount += buckets.get(i);
+    }
+    long lValue = 0;
+    if (lCount > 0) {
+      long lRank = Math.max(1, (long) Math.ceil(pPercentile * lCount));
+      long lSeen = 0;
+      for (int i = 0; i < BUCKET_COUNT; i++) {
+        lSeen += buckets.get(i);
+        if (lSeen >= lRank) {
+          lValue = Math.min(getBucketUpperBound(i), max.get());
+          break;
+        }
+      }
+    }
+    return lValue;
+  }
+
+  /**
+   * Method returns the index of the bucket to which the passed value belongs.
+   *
+   * @param pValue Value whose bucket should be returned. The value must not be negative.
+   * @return int Index of the bucket.
+   */
+  static int getBucketIndex( long pValue ) {
+    int lIndex;
+    if (pValue < SUB_BUCKETS) {
+      lIndex = (int) pValue;
+    }
+    else {
+      // Position of highest bit defines the power of two and the following bits the sub bucket.
+      int lExponent = 63 - Long.numberOfLeadingZeros(pValue);
+      int lSubBucket = (int) (pValue >>> (lExponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+      lIndex = (lExponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + lSubBucket;
+    }
+    return lIndex;
+  }
+
+  /**
+   * Method returns the largest value that belongs to the bucket with the passed index.
+   *
+   * @param pIndex Index of the bucket.
+   * @return long Upper bound of the bucket.
+   */
+  static long getBucketUpperBound( int pIndex ) {
+    long lUpperBound;
+    if (pIndex < SUB_BUCKETS) {
+      lUpperBound = pIndex;
+    }
+    else {
+      int lShift = pIndex / SUB_BUCKETS - 1;
+      long lLowerBound = (long) (SUB_BUCKETS + pIndex % SUB_BUCKETS) << lShift;
+      lUpperBound = lLowerBound + (1L << lShift) - 1;
+    }
+    return lUpperBound;
+  }
+}
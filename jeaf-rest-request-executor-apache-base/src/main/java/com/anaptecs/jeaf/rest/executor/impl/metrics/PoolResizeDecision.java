@@ -0,0 +1,130 @@
+/**
+ * Copyright 2004 - 2022 anaptecs GmbH, Burgstr. 96, 72764 Reutlingen, Germany
+ *
+ * All rights reserved.
+ */
+package com.anaptecs.jeaf.rest.executor.impl.metrics;
+
+/**
+ * Class describes a decision to resize the connection pool of a REST service in case of adaptive pool sizing. Besides
+ * the old and the new size it contains the observations the decision is based on.
+ *
+ * @author JEAF Development Team
+ */
+public final class PoolResizeDecision {
+  /**
+   * Class representing the REST service to which the connection pool belongs.
+   */
+  private final Class<?> serviceClass;
+
+  /**
+   * Amount of connections per route before the resize.
+   */
+  private final int previousSize;
+
+  /**
+   * Amount of connections per route after the resize.
+   */
+  private final int newSize;
+
+  /**
+   * Average amount of requests that were in flight during the observation period.
+   */
+  private final double concurrency;
+
+  /**
+   * Average time in nanoseconds that requests waited for a connection during the observation period.
+   */
+  private final long averageLeaseWait;
+
+  /**
+   * Amount of requests that were waiting for a connection when the decision was made.
+   */
+  private final int pending;
+
+  /**
+   * Initialize object.
+   *
+   * @param pServiceClass Class representing the REST service. The parameter must not be null.
+   * @param pPreviousSize Amount of connections per route before the resize.
+   * @param pNewSize Amount of connections per route after the resize.
+   * @param pConcurrency Average amount of requests that were in flight during the observation period.
+   * @param pAverageLeaseWait Average time in nanoseconds that requests waited for a connection.
+   * @param pPending Amount of requests that were waiting for a connection when the decision was made.
+   */
+  public PoolResizeDecision( Class<?> pServiceClass, int pPreviousSize, int pNewSize, double pConcurrency,
+      long pAverageLeaseWait, int pPending ) {
+    serviceClass = pServiceClass;
+    previousSize = pPreviousSize;
+    newSize = pNewSize;
+    concurrency = pConcurrency;
+    averageLeaseWait = pAverageLeaseWait;
+    pending = pPending;
+  }
+
+  /**
+   * Method returns the class representing the REST service to which the connection pool belongs.
+   *
+   * @return {@link Class} Class of the REST service. The method never returns null.
+   */
+  public Class<?> getServiceClass( ) {
+    return serviceClass;
+  }
+
+  /**
+   * Method returns the amount of connections per route before the resize.
+   *
+   * @return int Previous pool size.
+   */
+  public int getPreviousSize( ) {
+    return previousSize;
+  }
+
+  /**
+   * Method returns the amount of connections per route after the resize.
+   *
+   * @return int New pool size.
+   */
+  public int getNewSize( ) {
+    return newSize;
+  }
+
+  /**
+   * Method returns the average amount of requests that were in flight during the observation period. According to
+   * Little's law this is the arrival rate of requests multiplied with their average duration.
+   *
+   * @return double Average amount of concurrent requests.
+   */
+  public double getConcurrency( ) {
+    return concurrency;
+  }
+
+  /**
+   * Method returns the average time that requests waited for a connection during the observation period.
+   *
+   * @return long Average lease wait time in nanoseconds.
+   */
+  public long getAverageLeaseWait( ) {
+    return averageLeaseWait;
+  }
+
+  /**
+   * Method returns the amount of requests that were waiting for a connection when the decision was made.
+   *
+   * @return int Amount of pending connection leases.
+   */
+  public int getPending( ) {
+    return pending;
+  }
+
+  @Override
+  public String toString( ) {
+    StringBuilder lBuilder = new StringBuilder();
+    lBuilder.append("Resized connection pool of REST service ").append(serviceClass.getName());
+    lBuilder.append(" from ").append(previousSize).append(" to ").append(newSize).append(" connections per route");
+    lBuilder.append(" (concurrency=").append(String.format("%.2f", concurrency));
+    lBuilder.append(", leaseWait=").append(averageLeaseWait / 1000).append("us");
+    lBuilder.append(", pending=").append(pending).append(")");
+    return lBuilder.toString();
+  }
+}
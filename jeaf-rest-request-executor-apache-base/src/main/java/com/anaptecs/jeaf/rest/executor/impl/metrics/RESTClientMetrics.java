@@ -0,0 +1,111 @@
+/**
+ * Copyright 2004 - 2022 anaptecs GmbH, Burgstr. 96, 72764 Reutlingen, Germany
+ *
+ * All rights reserved.
+ */
+package com.anaptecs.jeaf.rest.executor.impl.metrics;
+
+/**
+ * Interface defines the metrics that are recorded for every REST call. There is exactly one instance per REST service
+ * and path template. Instances are resolved once and then reused for all following calls to the same path template.
+ *
+ * Implementations are called on the hot path of every request. They must be thread-safe and must not allocate any
+ * objects when recording values e.g. by looking up meters by name or by boxing values. By default all methods do
+ * nothing so that implementations only need to override the metrics that they are interested in.
+ *
+ * @author JEAF Development Team
+ */
+public interface RESTClientMetrics {
+  /**
+   * Metrics implementation that ignores all recorded values.
+   */
+  RESTClientMetrics NOOP = new RESTClientMetrics() {
+  };
+
+  /**
+   * Method records the time that a request had to wait until it got a connection from the connection pool.
+   *
+   * @param pNanos Wait time in nanoseconds.
+   */
+  default void recordConnectionLeaseWait( long pNanos ) {
+    // Nothing to do.
+  }
+
+  /**
+   * Method records the time from sending the request until the response headers were received. In case of
+   * asynchronous requests the time until the complete response was received is recorded.
+   *
+   * @param pNanos Time to first byte in nanoseconds.
+   */
+  default void recordTimeToFirstByte( long pNanos ) {
+    // Nothing to do.
+  }
+
+  /**
+   * Method records the time that was required to deserialize the response body. In case of streamed responses this
+   * includes reading the body from the connection.
+   *
+   * @param pNanos Deserialization time in nanoseconds.
+   */
+  default void recordDeserialization( long pNanos ) {
+    // Nothing to do.
+  }
+
+  /**
+   * Method records a completed call including all its phases.
+   *
+   * @param pStatusCode HTTP status code of the response or 0 if no response was received at all.
+   * @param pNanos Total duration of the call in nanoseconds.
+   */
+  default void recordCall( int pStatusCode, long pNanos ) {
+    // Nothing to do.
+  }
+
+  /**
+   * Method records a call that was answered from the response cache without calling the REST service. Such calls are
+   * not recorded as calls as they never reached the REST service.
+   *
+   * @param pNanos Total duration of the call including deserialization of the cached response in nanoseconds.
+   */
+  default void recordCacheHit( long pNanos ) {
+    // Nothing to do.
+  }
+
+  /**
+   * Method records the size of a request body.
+   *
+   * @param pBytes Amount of bytes that were sent.
+   */
+  default void recordBytesSent( long pBytes ) {
+    // Nothing to do.
+  }
+
+  /**
+   * Method records the size of a response body.
+   *
+   * @param pBytes Amount of bytes that were received.
+   */
+  default void recordBytesReceived( long pBytes ) {
+    // Nothing to do.
+  }
+
+  /**
+   * Method records the compression of a request body.
+   *
+   * @param pUncompressedBytes Size of the body before compression.
+   * @param pCompressedBytes Size of the compressed body that was actually sent.
+   */
+  default void recordRequestCompression( long pUncompressedBytes, long pCompressedBytes ) {
+    // Nothing to do.
+  }
+
+  /**
+   * Method records the decompression of a response body.
+   *
+   * @param pUncompressedBytes Size of the decompressed body.
+   * @param pCompressedBytes Size of the compressed body that was actually received.
+   */
+  default void recordResponseCompression( long pUncompressedBytes, long pCompressedBytes ) {
+    // Nothing to do.
+  }
+}
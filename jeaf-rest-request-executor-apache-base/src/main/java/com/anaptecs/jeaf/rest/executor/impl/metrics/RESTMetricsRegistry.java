@@ -0,0 +1,36 @@
+/**
+ * Copyright 2004 - 2022 anaptecs GmbH, Burgstr. 96, 72764 Reutlingen, Germany
+ *
+ * All rights reserved.
+ */
+package com.anaptecs.jeaf.rest.executor.impl.metrics;
+
+/**
+ * Interface connects the REST request executor with a metrics backend e.g. Micrometer. The executor only asks for
+ * {@link RESTClientMetrics} when a path template of a REST service is called for the first time. All values are then
+ * recorded through the returned instance.
+ *
+ * @author JEAF Development Team
+ */
+public interface RESTMetricsRegistry {
+  /**
+   * Registry that does not record any metrics at all.
+   */
+  RESTMetricsRegistry NOOP = new RESTMetricsRegistry() {
+    @Override
+    public RESTClientMetrics getClientMetrics( Class<?> pServiceClass, String pPathTemplate ) {
+      return RESTClientMetrics.NOOP;
+    }
+  };
+
+  /**
+   * Method returns the metrics for the passed REST service and path template.
+   *
+   * @param pServiceClass Class representing the called REST service. The parameter must not be null.
+   * @param pPathTemplate Path template of the called REST resource e.g. "/products/{id}". The parameter must not be
+   * null.
+   * @return {@link RESTClientMetrics} Metrics to which all calls of the path template are recorded. The method must not
+   * return null.
+   */
+  RESTClientMetrics getClientMetrics( Class<?> pServiceClass, String pPathTemplate );
+}
@@ -0,0 +1,308 @@
+/**
+ * Copyright 2004 - 2022 anaptecs GmbH, Burgstr. 96, 72764 Reutlingen, Germany
+ *
+ * All rights reserved.
+ */
+package com.anaptecs.jeaf.rest.executor.impl.trace;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * Class decouples the writing of traces from the threads that execute REST requests. Trace events are put into a
+ * bounded ring buffer and written by a background thread. Calling threads never block. If the buffer is full then
+ * events are dropped and counted ({@link #getDroppedEvents()}).
+ *
+ * The ring buffer does not use any locks. Every slot has a sequence number that tells producers and the writer whether
+ * the slot is free or holds an event. Events are detached ({@link TraceEvent#detach()}) before they are put into the
+ * buffer so that they can be formatted safely by the background thread.
+ *
+ * @author JEAF Development Team
+ */
+public final class AsyncTraceSink implements AutoCloseable {
+  /**
+   * Default capacity of the ring buffer.
+   */
+  public static final int DEFAULT_CAPACITY = 8192;
+
+  /**
+   * Time after which an idle writer checks if the sink was closed.
+   */
+  private static final long IDLE_TIMEOUT = TimeUnit.MILLISECONDS.toNanos(100);
+
+  /**
+   * Time that {@link #close()} waits for the writer to write all remaining events.
+   */
+  private static final long CLOSE_TIMEOUT = 5000;
+
+  /**
+   * Position to which the tail is set after the sink was closed and drained. No slot matches this position so that
+   * producers are not able to put further events into the ring buffer.
+   */
+  private static final long CLOSED_POSITION = Long.MAX_VALUE;
+
+  /**
+   * Events in the ring buffer.
+   */
+  private final AtomicReferenceArray<TraceEvent> events;
+
+  /**
+   * Sequence numbers of all slots of the ring buffer. A slot is free for the producer at position N if its sequence is
+   * N and holds an event for the writer at position N if its sequence is N + 1.
+   */
+  private final AtomicLongArray sequences;
+
+  /**
+   * Mask to map positions to slots. The capacity of the ring buffer is always a power of two.
+   */
+  private final int mask;
+
+  /**
+   * Position at which the next event will be put into the ring buffer.
+   */
+  private final AtomicLong tail = new AtomicLong();
+
+  /**
+   * Position from which the writer takes the next event. As there is only one writer thread no synchronization is
+   * required.
+   */
+  private long head;
+
+  /**
+   * Amount of events that were dropped as the ring buffer was full or as they could not be written.
+   */
+  private final AtomicLong droppedEvents = new AtomicLong();
+
+  /**
+   * Writer to which all events are passed. The writer is only called by the background thread.
+   */
+  private final Consumer<TraceEvent> writer;
+
+  /**
+   * Background thread that writes the events.
+   */
+  private final Thread writerThread;
+
+  /**
+   * Indicator whether the writer thread is waiting for new events and has to be woken up.
+   */
+  private volatile boolean writerWaiting;
+
+  /**
+   * Indicator whether the sink was closed.
+   */
+  private volatile boolean closed;
+
+  /**
+   * Initialize object and start the background thread.
+   *
+   * @param pThreadName Name of the background thread. The parameter must not be null.
+   * @param pCapacity Minimum amount of events that can be buffered. The capacity is rounded up to the next power of two.
+   * The parameter must be greater than 0.
+   * @param pWriter Writer to which all events are passed. The parameter must not be null.
+   */
+  public AsyncTraceSink( String pThreadName, int pCapacity, Consumer<TraceEvent> pWriter ) {
+    if (pCapacity <= 0 || pCapacity > 1 << 30) {
+      throw new IllegalArgumentException(
+          "Capacity of trace sink must be between 1 and 2^30 but is " + pCapacity + ".");
+    }
+    int lCapacity = Integer.highestOneBit(pCapacity);
+    if (lCapacity < pCapacity) {
+      lCapacity = lCapacity << 1;
+    }
+    events = new AtomicReferenceArray<>(lCapacity);
+    sequences = new AtomicLongArray(lCapacity);
+    for (int i = 0; i < lCapacity; i++) {
+      sequences.set(i, i);
+    }
+    mask = lCapacity - 1;
+    writer = pWriter;
+
+    // Writer is a daemon thread so that it does not prevent the JVM from shutting down.
+    writerThread = new Thread(this::writeEvents, pThreadName);
+    writerThread.setDaemon(true);
+    writerThread.start();
+  }
+
+  /**
+   * Method hands the passed event over to the background thread. The method never blocks. If the ring buffer is full
+   * then the event is dropped. Events that are offered after the sink was closed or while it is closed are written by
+   * the calling thread.
+   *
+   * @param pEvent Event that should be written. The parameter must not be null.
+   * @return boolean Method returns true if the event was accepted and false if it was dropped.
+   */
+  public boolean offer( TraceEvent pEvent ) {
+    pEvent.detach();
+    boolean lAccepted;
+    if (closed == false) {
+      lAccepted = this.enqueue(pEvent);
+      if (lAccepted) {
+        if (writerWaiting) {
+          LockSupport.unpark(writerThread);
+        }
+      }
+      // Ring buffer does not accept any events after it was drained by close().
+      else if (closed) {
+        lAccepted = this.write(pEvent);
+      }
+      else {
+        droppedEvents.incrementAndGet();
+      }
+    }
+    else {
+      lAccepted = this.write(pEvent);
+    }
+    return lAccepted;
+  }
+
+  /**
+   * Method returns the amount of events that were dropped so far because the ring buffer was full or because the
+   * writer failed.
+   *
+   * @return long Amount of dropped events.
+   */
+  public long getDroppedEvents( ) {
+    return droppedEvents.get();
+  }
+
+  /**
+   * Method closes the sink. All buffered events are still written. The method waits a limited time for the writer to
+   * finish.
+   */
+  @Override
+  public void close( ) {
+    closed = true;
+    LockSupport.unpark(writerThread);
+    try {
+      writerThread.join(CLOSE_TIMEOUT);
+      // Events of producers that were offering concurrently to closing are written by the closing thread. Producers
+      // might already have claimed a slot without having published their event yet. So the ring buffer is drained
+      // until the tail can be moved to the closed position. Afterwards no further slots can be claimed.
+      if (writerThread.isAlive() == false) {
+        while (tail.get() != CLOSED_POSITION && tail.compareAndSet(head, CLOSED_POSITION) == false) {
+          TraceEvent lEvent = this.poll();
+          if (lEvent != null) {
+            this.write(lEvent);
+          }
+          else {
+            Thread.onSpinWait();
+          }
+        }
+      }
+    }
+    catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  /**
+   * Method puts the passed event into the ring buffer.
+   *
+   * @param pEvent Event that should be buffered. The parameter must not be null.
+   * @return boolean Method returns true if the event was put into the ring buffer and false if the buffer is full.
+   */
+  private boolean enqueue( TraceEvent pEvent ) {
+    boolean lEnqueued;
+    long lPosition = tail.get();
+    while (true) {
+      int lSlot = (int) (lPosition & mask);
+      long lDifference = sequences.get(lSlot) - lPosition;
+      // Slot is free so try to claim it.
+      if (lDifference == 0) {
+        if (tail.compareAndSet(lPosition, lPosition + 1)) {
+          events.set(lSlot, pEvent);
+          sequences.set(lSlot, lPosition + 1);
+          lEnqueued = true;
+          break;
+        }
+        lPosition = tail.get();
+      }
+      // Slot still holds an event that was not yet written, so the buffer is full.
+      else if (lDifference < 0) {
+        lEnqueued = false;
+        break;
+      }
+      // Another producer was faster.
+      else {
+        lPosition = tail.get();
+      }
+    }
+    return lEnqueued;
+  }
+
+  /**
+   * Method takes the next event from the ring buffer. The method must only be called by the writer thread or after it
+   * terminated.
+   *
+   * @return {@link TraceEvent} Next event or null if the ring buffer is empty.
+   */
+  private TraceEvent poll( ) {
+    TraceEvent lEvent;
+    int lSlot = (int) (head & mask);
+    if (sequences.get(lSlot) == head + 1) {
+      lEvent = events.get(lSlot);
+      events.set(lSlot, null);
+      // Release slot for the producer that wraps around.
+      sequences.set(lSlot, head + mask + 1);
+      head++;
+    }
+    else {
+      lEvent = null;
+    }
+    return lEvent;
+  }
+
+  /**
+   * Method is executed by the writer thread. It writes events until the sink is closed and the buffer is empty.
+   */
+  private void writeEvents( ) {
+    while (true) {
+      TraceEvent lEvent = this.poll();
+      if (lEvent != null) {
+        this.write(lEvent);
+      }
+      else if (closed) {
+        break;
+      }
+      else {
+        // Producers only wake up the writer if it announced that it is waiting. Buffer has to be checked again after
+        // the announcement as an event might have been added in between.
+        writerWaiting = true;
+        lEvent = this.poll();
+        if (lEvent != null) {
+          writerWaiting = false;
+          this.write(lEvent);
+        }
+        else {
+          LockSupport.parkNanos(this, IDLE_TIMEOUT);
+          writerWaiting = false;
+        }
+      }
+    }
+  }
+
+  /**
+   * Method passes the event to the writer.
+   *
+   * @param pEvent Event that should be written. The parameter must not be null.
+   * @return boolean Method returns true if the event was written and false if the writer failed.
+   */
+  private boolean write( TraceEvent pEvent ) {
+    boolean lWritten;
+    try {
+      writer.accept(pEvent);
+      lWritten = true;
+    }
+    // Failing writer must not stop the background thread.
+    catch (RuntimeException e) {
+      droppedEvents.incrementAndGet();
+      lWritten = false;
+    }
+    return lWritten;
+  }
+}
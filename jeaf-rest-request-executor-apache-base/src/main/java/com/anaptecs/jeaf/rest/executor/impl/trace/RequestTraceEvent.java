@@ -0,0 +1,116 @@
+/**
+ * Copyright 2004 - 2022 anaptecs GmbH, Burgstr. 96, 72764 Reutlingen, Germany
+ *
+ * All rights reserved.
+ */
+package com.anaptecs.jeaf.rest.executor.impl.trace;
+
+import java.net.URI;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import org.apache.hc.core5.http.Header;
+
+/**
+ * Class describes a request that should be traced. The body of the request is only resolved when it is requested
+ * ({@link #getBody()}), when the event is formatted or when it is detached ({@link #detach()}). Once resolved the body
+ * is kept. Sensitive headers are left out completely when the event is formatted.
+ *
+ * @author JEAF Development Team
+ */
+public final class RequestTraceEvent extends TraceEvent {
+  /**
+   * Http method of the request.
+   */
+  private final String method;
+
+  /**
+   * Supplier that resolves the body of the request for tracing.
+   */
+  private final Supplier<String> body;
+
+  /**
+   * Body of the request as it was resolved through {@link #body}.
+   */
+  private String resolvedBody;
+
+  /**
+   * Indicator whether the body of the request was already resolved.
+   */
+  private boolean bodyResolved;
+
+  /**
+   * Initialize object.
+   *
+   * @param pMethod Http method of the request. The parameter must not be null.
+   * @param pURI URI of the request. The parameter may be null.
+   * @param pHeaders Headers of the request. The parameter must not be null.
+   * @param pSensitiveHeaderNames Case insensitive set of headers whose value must not be traced. The parameter must not
+   * be null.
+   * @param pBody Supplier that resolves the body of the request. The supplier returns null if the request does not have
+   * a body. The parameter must not be null.
+   */
+  public RequestTraceEvent( String pMethod, URI pURI, Header[] pHeaders, Set<String> pSensitiveHeaderNames,
+      Supplier<String> pBody ) {
+    super(pURI, pHeaders, pSensitiveHeaderNames);
+    method = pMethod;
+    body = pBody;
+  }
+
+  /**
+   * Method returns the http method of the request.
+   *
+   * @return String Http method of the request. The method never returns null.
+   */
+  public String getMethod( ) {
+    return method;
+  }
+
+  /**
+   * Method returns the body of the request as it should be traced. Calling this method for the first time may be
+   * expensive as the body might have to be serialized.
+   *
+   * @return String Body of the request or null if the request does not have a body.
+   */
+  public String getBody( ) {
+    if (bodyResolved == false) {
+      resolvedBody = body.get();
+      bodyResolved = true;
+    }
+    return resolvedBody;
+  }
+
+  @Override
+  public void detach( ) {
+    // Body has to be resolved while the request has not yet been sent.
+    this.getBody();
+  }
+
+  @Override
+  public void format( StringBuilder pBuilder ) {
+    // Add first line with http method and URL
+    pBuilder.append("Request: (");
+    pBuilder.append(method);
+    pBuilder.append(") ");
+    pBuilder.append(this.getURI());
+    pBuilder.append(System.lineSeparator());
+    // Add header fields
+    pBuilder.append("Request Headers: ");
+    for (Header lNextHeader : this.getHeaderArray()) {
+      // For security reasons sensitive headers have to be filtered out from tracing.
+      if (this.isSensitiveHeader(lNextHeader.getName()) == false) {
+        pBuilder.append(lNextHeader.getName());
+        pBuilder.append("='");
+        pBuilder.append(lNextHeader.getValue());
+        pBuilder.append("' ");
+      }
+    }
+    pBuilder.append(System.lineSeparator());
+    // Add body if request has one.
+    String lBody = this.getBody();
+    if (lBody != null) {
+      pBuilder.append("Body: ");
+      pBuilder.append(lBody);
+    }
+  }
+}
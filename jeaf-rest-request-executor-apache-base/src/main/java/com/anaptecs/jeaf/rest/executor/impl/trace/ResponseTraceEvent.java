@@ -0,0 +1,97 @@
+/**
+ * Copyright 2004 - 2022 anaptecs GmbH, Burgstr. 96, 72764 Reutlingen, Germany
+ *
+ * All rights reserved.
+ */
+package com.anaptecs.jeaf.rest.executor.impl.trace;
+
+import java.net.URI;
+import java.util.Set;
+
+import org.apache.hc.core5.http.Header;
+
+/**
+ * Class describes a response that should be traced. Sensitive headers are traced without their value when the event is
+ * formatted.
+ *
+ * @author JEAF Development Team
+ */
+public final class ResponseTraceEvent extends TraceEvent {
+  /**
+   * Http status code of the response.
+   */
+  private final int statusCode;
+
+  /**
+   * Body of the response as it should be traced.
+   */
+  private final String body;
+
+  /**
+   * Initialize object.
+   *
+   * @param pURI URI of the request to which the response belongs. The parameter may be null.
+   * @param pStatusCode Http status code of the response.
+   * @param pHeaders Headers of the response. The parameter must not be null.
+   * @param pSensitiveHeaderNames Case insensitive set of headers whose value must not be traced. The parameter must not
+   * be null.
+   * @param pBody Body of the response as it should be traced. The parameter may be null.
+   */
+  public ResponseTraceEvent( URI pURI, int pStatusCode, Header[] pHeaders, Set<String> pSensitiveHeaderNames,
+      String pBody ) {
+    super(pURI, pHeaders, pSensitiveHeaderNames);
+    statusCode = pStatusCode;
+    body = pBody;
+  }
+
+  /**
+   * Method returns the http status code of the response.
+   *
+   * @return int Http status code of the response.
+   */
+  public int getStatusCode( ) {
+    return statusCode;
+  }
+
+  /**
+   * Method returns the body of the response as it should be traced.
+   *
+   * @return String Body of the response or null if the response does not have a body.
+   */
+  public String getBody( ) {
+    return body;
+  }
+
+  @Override
+  public void format( StringBuilder pBuilder ) {
+    // Add first line with http method and URL
+    pBuilder.append("Response: ");
+    pBuilder.append(this.getURI());
+    pBuilder.append(System.lineSeparator());
+    // Add http status code.
+    pBuilder.append("Status Code: ");
+    pBuilder.append(statusCode);
+    pBuilder.append(System.lineSeparator());
+    // Add header fields
+    pBuilder.append("Response Headers: ");
+    for (Header lNextHeader : this.getHeaderArray()) {
+      pBuilder.append(lNextHeader.getName());
+      pBuilder.append("='");
+      // For security reasons sensitive headers must not be written to traces.
+      if (this.isSensitiveHeader(lNextHeader.getName()) == false) {
+        pBuilder.append(lNextHeader.getValue());
+      }
+      // Write sensitive headers to log but without value e.g. '***'
+      else {
+        pBuilder.append("***");
+      }
+      pBuilder.append("'");
+    }
+    pBuilder.append(System.lineSeparator());
+    // Add body if response has one.
+    if (body != null) {
+      pBuilder.append("Body: ");
+      pBuilder.append(body);
+    }
+  }
+}
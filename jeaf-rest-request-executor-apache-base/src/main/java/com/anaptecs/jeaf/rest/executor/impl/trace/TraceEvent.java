@@ -0,0 +1,135 @@
+/**
+ * Copyright 2004 - 2022 anaptecs GmbH, Burgstr. 96, 72764 Reutlingen, Germany
+ *
+ * All rights reserved.
+ */
+package com.anaptecs.jeaf.rest.executor.impl.trace;
+
+import java.net.URI;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.apache.hc.core5.http.Header;
+
+/**
+ * Class is the base class of all trace events. A trace event only captures references to the traced request or
+ * response. The trace itself is not formatted before {@link #toString()} is called. This way no strings have to be
+ * built in case that the event is finally not written e.g. due to the log level.
+ *
+ * @author JEAF Development Team
+ */
+public abstract class TraceEvent {
+  /**
+   * URI of the request to which the event belongs.
+   */
+  private final URI uri;
+
+  /**
+   * Headers of the request or response.
+   */
+  private final Header[] headers;
+
+  /**
+   * Names of all headers whose value must not be traced. The set is case insensitive.
+   */
+  private final Set<String> sensitiveHeaderNames;
+
+  /**
+   * Initialize object.
+   *
+   * @param pURI URI of the request to which the event belongs. The parameter may be null.
+   * @param pHeaders Headers of the request or response. The parameter must not be null.
+   * @param pSensitiveHeaderNames Case insensitive set of headers whose value must not be traced. The parameter must not
+   * be null.
+   */
+  protected TraceEvent( URI pURI, Header[] pHeaders, Set<String> pSensitiveHeaderNames ) {
+    uri = pURI;
+    headers = pHeaders;
+    sensitiveHeaderNames = pSensitiveHeaderNames;
+  }
+
+  /**
+   * Method creates a case insensitive set from the passed header names. The set can be used to check if a header is
+   * sensitive without converting every header name to lower case.
+   *
+   * @param pHeaderNames Names of all sensitive headers. The parameter may be null.
+   * @return {@link Set} Unmodifiable case insensitive set of header names. The method never returns null.
+   */
+  public static Set<String> createSensitiveHeaderNames( Collection<String> pHeaderNames ) {
+    Set<String> lHeaderNames = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+    if (pHeaderNames != null) {
+      lHeaderNames.addAll(pHeaderNames);
+    }
+    return Collections.unmodifiableSet(lHeaderNames);
+  }
+
+  /**
+   * Method returns the URI of the request to which the event belongs.
+   *
+   * @return {@link URI} URI of the request. The method may return null if the URI is not known.
+   */
+  public URI getURI( ) {
+    return uri;
+  }
+
+  /**
+   * Method returns all headers of the request or response. This also includes sensitive headers so callers have to
+   * check them using {@link #isSensitiveHeader(String)} before they are written anywhere.
+   *
+   * @return {@link List} Unmodifiable list of headers. The method never returns null.
+   */
+  public List<Header> getHeaders( ) {
+    return Collections.unmodifiableList(Arrays.asList(headers));
+  }
+
+  /**
+   * Method checks if the header with the passed name is sensitive and so its value must not be traced.
+   *
+   * @param pHeaderName Name of the header. The check is case insensitive. The parameter must not be null.
+   * @return boolean Method returns true if the header is sensitive and false otherwise.
+   */
+  public boolean isSensitiveHeader( String pHeaderName ) {
+    return sensitiveHeaderNames.contains(pHeaderName);
+  }
+
+  /**
+   * Method resolves everything the event still refers to lazily. Events have to be detached before they are handed over
+   * to another thread as the request or response may already be gone when the event is formatted there.
+   */
+  public void detach( ) {
+    // Nothing to do by default.
+  }
+
+  /**
+   * Method formats the event and appends it to the passed builder.
+   *
+   * @param pBuilder Builder to which the formatted event is appended. The parameter must not be null.
+   */
+  public abstract void format( StringBuilder pBuilder );
+
+  /**
+   * Method formats the event. This is the place where all the string building takes place.
+   *
+   * @return String Formatted event. The method never returns null.
+   */
+  @Override
+  public String toString( ) {
+    StringBuilder lBuilder = new StringBuilder(256);
+    this.format(lBuilder);
+    return lBuilder.toString();
+  }
+
+  /**
+   * Method returns the headers of the request or response as array so that subclasses can iterate over them without
+   * any wrappers.
+   *
+   * @return {@link Header} Headers of the request or response. The method never returns null.
+   */
+  protected final Header[] getHeaderArray( ) {
+    return headers;
+  }
+}
@@ -0,0 +1,302 @@
+/**
+ * Copyright 2004 - 2022 anaptecs GmbH, Burgstr. 96, 72764 Reutlingen, Germany
+ *
+ * All rights reserved.
+ */
+package com.anaptecs.jeaf.rest.executor.impl.apache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.apache.hc.core5.http.HttpRequest;
+import org.apache.hc.core5.http.HttpResponse;
+import org.apache.hc.core5.http.message.BasicHttpRequest;
+import org.apache.hc.core5.http.message.BasicHttpResponse;
+import org.junit.jupiter.api.Test;
+
+import com.anaptecs.jeaf.rest.executor.impl.config.ApacheHttpClientConfiguration;
+import com.anaptecs.jeaf.rest.executor.impl.config.RESTClientConfigurationImpl;
+
+public class ResponseCacheTest {
+  private static final URI REQUEST_URI = URI.create("http://localhost:8099/products?id=4711");
+
+  @Test
+  void testCacheKey( ) {
+    RESTClientConfigurationImpl lConfiguration = createConfiguration(10, 1024 * 1024, "Accept-Language");
+    String lKey = ResponseCache.createKey(createRequest("GET", "X-Request-ID", "1", "Accept-Language", "de",
+        "Authorization", "Bearer secret"), REQUEST_URI, lConfiguration);
+
+    // Headers that are not configured do not distinguish requests.
+    assertEquals(lKey, ResponseCache.createKey(createRequest("GET", "X-Request-ID", "2", "Accept-Language", "de",
+        "Authorization", "Bearer secret"), REQUEST_URI, lConfiguration));
+
+    // Method, URI, configured headers and Authorization do.
+    assertNotEquals(lKey, ResponseCache.createKey(createRequest("HEAD", "Accept-Language", "de", "Authorization",
+        "Bearer secret"), REQUEST_URI, lConfiguration));
+    assertNotEquals(lKey, ResponseCache.createKey(createRequest("GET", "Accept-Language", "de", "Authorization",
+        "Bearer secret"), URI.create("http://localhost:8099/products?id=4712"), lConfiguration));
+    assertNotEquals(lKey, ResponseCache.createKey(createRequest("GET", "Accept-Language", "en", "Authorization",
+        "Bearer secret"), REQUEST_URI, lConfiguration));
+    assertNotEquals(lKey, ResponseCache.createKey(createRequest("GET", "Accept-Language", "de", "Authorization",
+        "Bearer other"), REQUEST_URI, lConfiguration));
+    assertNotEquals(lKey,
+        ResponseCache.createKey(createRequest("GET", "Accept-Language", "de"), REQUEST_URI, lConfiguration));
+
+    // Credentials are only contained as hash even if Authorization is configured explicitly.
+    assertFalse(lKey.contains("secret"), lKey);
+    lConfiguration = createConfiguration(10, 1024 * 1024, "Authorization");
+    lKey = ResponseCache.createKey(createRequest("GET", "Authorization", "Bearer secret"), REQUEST_URI, lConfiguration);
+    assertFalse(lKey.contains("secret"), lKey);
+    assertEquals(1, lKey.split("authorization").length - 1, lKey);
+
+    // Cookies and sensitive headers are always part of the key but also only as hash.
+    lConfiguration = createConfiguration(10, 1024 * 1024);
+    lKey = ResponseCache.createKey(createRequest("GET", "Cookie", "session=secret", "X-Token", "secret"), REQUEST_URI,
+        lConfiguration);
+    assertFalse(lKey.contains("secret"), lKey);
+    assertNotEquals(lKey, ResponseCache.createKey(createRequest("GET", "Cookie", "session=other", "X-Token", "secret"),
+        REQUEST_URI, lConfiguration));
+    assertNotEquals(lKey, ResponseCache.createKey(createRequest("GET", "Cookie", "session=secret", "X-Token", "other"),
+        REQUEST_URI, lConfiguration));
+    assertNotEquals(lKey, ResponseCache.createKey(createRequest("GET", "Cookie", "session=secret"), REQUEST_URI,
+        lConfiguration));
+    assertNotEquals(lKey,
+        ResponseCache.createKey(createRequest("GET", "X-Token", "secret"), REQUEST_URI, lConfiguration));
+  }
+
+  @Test
+  void testVary( ) {
+    RESTClientConfigurationImpl lConfiguration = createConfiguration(10, 1024 * 1024);
+    ResponseCache lCache = new ResponseCache(lConfiguration);
+    HttpRequest lRequest = createRequest("GET", "Accept-Language", "de", "X-Token", "secret");
+    String lKey = ResponseCache.createKey(lRequest, REQUEST_URI, lConfiguration);
+    HttpResponse lResponse =
+        createResponse("Cache-Control", "public, max-age=60", "Vary", "Accept-Language, X-Token");
+    CachedResponse lCachedResponse = lCache.createCachedResponse(lRequest, lResponse, new byte[10], 0);
+    assertFalse(lCachedResponse.getVaryingHeaders().toString().contains("secret"));
+    lCache.put(lKey, lCachedResponse);
+
+    // Response is only used for requests with the same values of the headers named in Vary.
+    assertSame(lCachedResponse, lCache.get(lKey, createRequest("GET", "accept-language", "de", "X-Token", "secret")));
+    assertNull(lCache.get(lKey, createRequest("GET", "Accept-Language", "en", "X-Token", "secret")));
+    assertNull(lCache.get(lKey, createRequest("GET", "Accept-Language", "de", "X-Token", "other")));
+    assertNull(lCache.get(lKey, createRequest("GET", "Accept-Language", "de")));
+
+    // Only one variant is kept per key.
+    HttpRequest lOtherRequest = createRequest("GET", "Accept-Language", "en", "X-Token", "secret");
+    CachedResponse lOtherResponse = lCache.createCachedResponse(lOtherRequest, lResponse, new byte[10], 0);
+    lCache.put(lKey, lOtherResponse);
+    assertSame(lOtherResponse, lCache.get(lKey, lOtherRequest));
+    assertNull(lCache.get(lKey, lRequest));
+    assertEquals(1, lCache.getEntryCount());
+  }
+
+  @Test
+  void testStorableResponses( ) {
+    ResponseCache lCache = new ResponseCache(createConfiguration(10, 1024 * 1024));
+    HttpRequest lRequest = createRequest("GET");
+    assertNotNull(lCache.createCachedResponse(lRequest, createResponse("Cache-Control", "max-age=60"), new byte[0], 0));
+    assertNotNull(lCache.createCachedResponse(lRequest, createResponse("ETag", "\"1\""), new byte[0], 0));
+    assertNotNull(
+        lCache.createCachedResponse(lRequest, createResponse("Last-Modified", "Tue, 15 Nov 1994 12:45:26 GMT"),
+            new byte[0], 0));
+
+    // Responses that must not be stored by a shared cache.
+    assertNull(lCache.createCachedResponse(lRequest, createResponse("Cache-Control", "no-store, max-age=60"),
+        new byte[0], 0));
+    assertNull(lCache.createCachedResponse(lRequest, createResponse("Cache-Control", "private, max-age=60"),
+        new byte[0], 0));
+    assertNull(lCache.createCachedResponse(lRequest, createResponse("Cache-Control", "max-age=60", "Vary", "*"),
+        new byte[0], 0));
+    assertNull(lCache.createCachedResponse(lRequest,
+        createResponse("Cache-Control", "max-age=60", "Vary", "Accept, *"), new byte[0], 0));
+
+    // Responses that are neither fresh nor can be revalidated.
+    assertNull(lCache.createCachedResponse(lRequest, createResponse(), new byte[0], 0));
+    assertNull(lCache.createCachedResponse(lRequest, createResponse("Cache-Control", "no-cache"), new byte[0], 0));
+
+    // Responses to authorized requests are only stored if the REST service explicitly allows it.
+    HttpRequest lAuthorizedRequest = createRequest("GET", "Authorization", "Bearer secret");
+    assertNull(lCache.createCachedResponse(lAuthorizedRequest, createResponse("Cache-Control", "max-age=60"),
+        new byte[0], 0));
+    assertNull(lCache.createCachedResponse(lAuthorizedRequest, createResponse("ETag", "\"1\""), new byte[0], 0));
+    assertNotNull(lCache.createCachedResponse(lAuthorizedRequest,
+        createResponse("Cache-Control", "public, max-age=60"), new byte[0], 0));
+    assertNotNull(lCache.createCachedResponse(lAuthorizedRequest, createResponse("Cache-Control", "s-maxage=60"),
+        new byte[0], 0));
+    assertNotNull(lCache.createCachedResponse(lAuthorizedRequest,
+        createResponse("Cache-Control", "must-revalidate", "ETag", "\"1\""), new byte[0], 0));
+
+    // The same applies to requests with cookies or sensitive headers.
+    for (HttpRequest lNextRequest : Arrays.asList(createRequest("GET", "Cookie", "session=secret"),
+        createRequest("GET", "x-token", "secret"))) {
+      assertNull(lCache.createCachedResponse(lNextRequest, createResponse("Cache-Control", "max-age=60"), new byte[0],
+          0));
+      assertNull(lCache.createCachedResponse(lNextRequest, createResponse("ETag", "\"1\""), new byte[0], 0));
+      assertNotNull(lCache.createCachedResponse(lNextRequest, createResponse("Cache-Control", "public, max-age=60"),
+          new byte[0], 0));
+      assertNotNull(lCache.createCachedResponse(lNextRequest, createResponse("Cache-Control", "s-maxage=60"),
+          new byte[0], 0));
+      assertNotNull(lCache.createCachedResponse(lNextRequest,
+          createResponse("Cache-Control", "must-revalidate", "ETag", "\"1\""), new byte[0], 0));
+    }
+  }
+
+  @Test
+  void testFreshness( ) {
+    ResponseCache lCache = new ResponseCache(createConfiguration(10, 1024 * 1024));
+    HttpRequest lRequest = createRequest("GET");
+    CachedResponse lCachedResponse = lCache.createCachedResponse(lRequest,
+        createResponse("Cache-Control", "max-age=60, s-maxage=10", "Age", "5"), new byte[0], 1000);
+    assertTrue(lCachedResponse.isFresh(5999));
+    assertFalse(lCachedResponse.isFresh(6000));
+
+    // Stale responses are revalidated using their validators.
+    lCachedResponse = lCache.createCachedResponse(lRequest,
+        createResponse("Cache-Control", "no-cache", "ETag", "\"1\"", "Last-Modified", "Tue, 15 Nov 1994 12:45:26 GMT"),
+        new byte[0], 1000);
+    assertFalse(lCachedResponse.isFresh(1000));
+    HttpRequest lConditionalRequest = createRequest("GET");
+    lCachedResponse.addConditionalHeaders(lConditionalRequest);
+    assertEquals("\"1\"", lConditionalRequest.getFirstHeader("If-None-Match").getValue());
+    assertEquals("Tue, 15 Nov 1994 12:45:26 GMT", lConditionalRequest.getFirstHeader("If-Modified-Since").getValue());
+
+    // Confirmation updates validators and freshness.
+    assertTrue(
+        lCache.revalidate(lCachedResponse, createResponse("Cache-Control", "max-age=60", "ETag", "\"2\""), 2000));
+    assertTrue(lCachedResponse.isFresh(61999));
+    lCachedResponse.addConditionalHeaders(lConditionalRequest);
+    assertEquals("\"2\"", lConditionalRequest.getFirstHeader("If-None-Match").getValue());
+    assertFalse(lCache.revalidate(lCachedResponse, createResponse("Cache-Control", "no-store"), 3000));
+  }
+
+  @Test
+  void testEviction( ) {
+    // Least recently used response is evicted once the amount of responses exceeds the limit.
+    ResponseCache lCache = new ResponseCache(createConfiguration(3, 1024 * 1024));
+    List<CachedResponse> lResponses = new ArrayList<>();
+    for (int i = 0; i < 3; i++) {
+      lResponses.add(put(lCache, "k" + i, 10));
+    }
+    assertSame(lResponses.get(0), lCache.get("k0", createRequest("GET")));
+    put(lCache, "k3", 10);
+    assertEquals(3, lCache.getEntryCount());
+    assertNull(lCache.get("k1", createRequest("GET")));
+    for (String lNextKey : Arrays.asList("k0", "k2", "k3")) {
+      assertNotNull(lCache.get(lNextKey, createRequest("GET")), lNextKey);
+    }
+
+    // Entries are also evicted once their size exceeds the limit. Every entry requires 256 bytes in addition to body
+    // and key.
+    lCache = new ResponseCache(createConfiguration(10, 1000));
+    put(lCache, "k0", 200);
+    put(lCache, "k1", 200);
+    assertEquals(2, lCache.getEntryCount());
+    lCache.get("k0", createRequest("GET"));
+    put(lCache, "k2", 200);
+    assertEquals(2, lCache.getEntryCount());
+    assertNull(lCache.get("k1", createRequest("GET")));
+    assertNotNull(lCache.get("k0", createRequest("GET")));
+    assertNotNull(lCache.get("k2", createRequest("GET")));
+
+    // Responses that exceed the limit on their own are not cached at all.
+    assertEquals(1000 - 256, lCache.getMaxBodySize());
+    put(lCache, "k3", 1000);
+    assertNull(lCache.get("k3", createRequest("GET")));
+    assertEquals(2, lCache.getEntryCount());
+
+    // Replacing a response releases the size of the previous one.
+    put(lCache, "k0", 10);
+    put(lCache, "k2", 10);
+    put(lCache, "k4", 10);
+    assertEquals(3, lCache.getEntryCount());
+  }
+
+  @Test
+  void testConcurrentAccess( ) throws Exception {
+    ResponseCache lCache = new ResponseCache(createConfiguration(50, 1024 * 1024));
+    ExecutorService lThreadPool = Executors.newFixedThreadPool(8);
+    try {
+      List<Future<?>> lResults = new ArrayList<>();
+      for (int i = 0; i < 8; i++) {
+        int lThread = i;
+        lResults.add(lThreadPool.submit(( ) -> {
+          HttpRequest lRequest = createRequest("GET");
+          for (int j = 0; j < 20000; j++) {
+            String lKey = "k" + (j * 31 + lThread) % 200;
+            if (lCache.get(lKey, lRequest) == null) {
+              put(lCache, lKey, j % 100);
+            }
+          }
+        }));
+      }
+      for (Future<?> lNextResult : lResults) {
+        lNextResult.get();
+      }
+    }
+    finally {
+      lThreadPool.shutdown();
+    }
+    assertTrue(lCache.getEntryCount() <= 50, "Entries " + lCache.getEntryCount());
+  }
+
+  /**
+   * Method adds a response with a body of the passed size to the cache.
+   */
+  private static CachedResponse put( ResponseCache pCache, String pKey, int pBodySize ) {
+    CachedResponse lCachedResponse = pCache.createCachedResponse(createRequest("GET"),
+        createResponse("Cache-Control", "max-age=60"), new byte[pBodySize], System.currentTimeMillis());
+    pCache.put(pKey, lCachedResponse);
+    return lCachedResponse;
+  }
+
+  /**
+   * Method creates a request with the passed headers as name value pairs.
+   */
+  private static HttpRequest createRequest( String pMethod, String... pHeaders ) {
+    HttpRequest lRequest = new BasicHttpRequest(pMethod, REQUEST_URI);
+    for (int i = 0; i + 1 < pHeaders.length; i += 2) {
+      lRequest.addHeader(pHeaders[i], pHeaders[i + 1]);
+    }
+    return lRequest;
+  }
+
+  /**
+   * Method creates a successful response with the passed headers as name value pairs.
+   */
+  private static HttpResponse createResponse( String... pHeaders ) {
+    HttpResponse lResponse = new BasicHttpResponse(200);
+    for (int i = 0; i + 1 < pHeaders.length; i += 2) {
+      lResponse.addHeader(pHeaders[i], pHeaders[i + 1]);
+    }
+    return lResponse;
+  }
+
+  /**
+   * Method creates the configuration of a response cache.
+   */
+  private static RESTClientConfigurationImpl createConfiguration( int pMaxEntries, int pMaxBytes,
+      String... pKeyHeaders ) {
+    RESTClientConfigurationImpl lConfiguration = new RESTClientConfigurationImpl();
+    lConfiguration.setSensitiveHeaders(Arrays.asList("Authorization", "X-Token"));
+    ApacheHttpClientConfiguration lHttpClientConfiguration = new ApacheHttpClientConfiguration();
+    lHttpClientConfiguration.setResponseCacheSize(pMaxEntries);
+    lHttpClientConfiguration.setResponseCacheMaxBytes(pMaxBytes);
+    lHttpClientConfiguration.setResponseCacheKeyHeaders(Arrays.asList(pKeyHeaders));
+    lConfiguration.setHttpClientConfiguration(lHttpClientConfiguration);
+    return lConfiguration;
+  }
+}
@@ -0,0 +1,118 @@
+/**
+ * Copyright 2004 - 2022 anaptecs GmbH, Burgstr. 96, 72764 Reutlingen, Germany
+ *
+ * All rights reserved.
+ */
+package com.anaptecs.jeaf.rest.executor.impl.apache;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import org.apache.hc.core5.http.HttpRequest;
+import org.apache.hc.core5.http.message.BasicHttpRequest;
+import org.junit.jupiter.api.Test;
+
+import com.anaptecs.jeaf.rest.executor.impl.config.ApacheHttpClientConfiguration;
+import com.anaptecs.jeaf.rest.executor.impl.config.RESTClientConfigurationImpl;
+
+public class TraceSamplingTest {
+  @Test
+  void testSamplingRate( ) {
+    HttpRequest lRequest = new BasicHttpRequest("GET", "/products");
+    assertEquals(10000, countSampledRequests(createSampler(1, null), lRequest, 10000));
+    assertEquals(0, countSampledRequests(createSampler(0, null), lRequest, 10000));
+
+    // About 1 of N requests is sampled. Limits are far beyond any realistic deviation.
+    int lSampled = countSampledRequests(createSampler(10, null), lRequest, 100000);
+    assertTrue(lSampled > 9000 && lSampled < 11000, "Sampled requests " + lSampled);
+    lSampled = countSampledRequests(createSampler(1000, null), lRequest, 100000);
+    assertTrue(lSampled > 50 && lSampled < 200, "Sampled requests " + lSampled);
+
+    assertThrows(IllegalArgumentException.class, ( ) -> createSampler(-1, null));
+  }
+
+  @Test
+  void testTraceHeader( ) {
+    HttpRequest lRequest = new BasicHttpRequest("GET", "/products");
+    HttpRequest lForcedRequest = new BasicHttpRequest("GET", "/products");
+    lForcedRequest.addHeader("x-trace", "true");
+
+    // Requests with the trace header are always sampled independent of the sampling rate.
+    for (int lNextRate : Arrays.asList(0, 1, 10, 1000000)) {
+      TraceSampler lSampler = createSampler(lNextRate, "X-Trace");
+      assertEquals(100, countSampledRequests(lSampler, lForcedRequest, 100));
+    }
+    assertEquals(0, countSampledRequests(createSampler(0, "X-Trace"), lRequest, 100));
+
+    // Header has no special meaning if it is not configured.
+    assertEquals(0, countSampledRequests(createSampler(0, null), lForcedRequest, 100));
+  }
+
+  @Test
+  void testTeeInputStream( ) throws Exception {
+    byte[] lContent = new byte[100];
+    for (int i = 0; i < lContent.length; i++) {
+      lContent[i] = (byte) ('a' + i % 26);
+    }
+
+    // Only the beginning of the content is copied but all bytes are counted. Single bytes, arrays and skipped bytes
+    // are all copied.
+    TeeInputStream lInputStream = new TeeInputStream(new ByteArrayInputStream(lContent), 10);
+    assertFalse(lInputStream.markSupported());
+    assertEquals('a', lInputStream.read());
+    byte[] lBuffer = new byte[5];
+    assertEquals(5, lInputStream.read(lBuffer, 0, 5));
+    assertEquals(2, lInputStream.skip(2));
+    assertEquals(92, lInputStream.readAllBytes().length);
+    assertEquals(-1, lInputStream.read());
+    assertEquals(100, lInputStream.getCount());
+    assertTrue(lInputStream.isTruncated());
+    assertArrayEquals(Arrays.copyOf(lContent, 10), lInputStream.getCapturedBytes());
+    assertEquals("abcdefghij...", lInputStream.getCapturedContent(StandardCharsets.UTF_8));
+
+    // Content that fits completely is not truncated.
+    lInputStream = new TeeInputStream(new ByteArrayInputStream(lContent), 100);
+    assertEquals(100, lInputStream.readAllBytes().length);
+    assertFalse(lInputStream.isTruncated());
+    assertEquals(new String(lContent, StandardCharsets.UTF_8), lInputStream.getCapturedContent(StandardCharsets.UTF_8));
+
+    // Without capturing bytes are only counted.
+    lInputStream = new TeeInputStream(new ByteArrayInputStream(lContent), 0);
+    assertEquals(100, lInputStream.readAllBytes().length);
+    assertEquals(100, lInputStream.getCount());
+    assertEquals(0, lInputStream.getCapturedBytes().length);
+    assertEquals("...", lInputStream.getCapturedContent(StandardCharsets.UTF_8));
+  }
+
+  /**
+   * Method returns how many of the passed amount of requests are sampled.
+   */
+  private static int countSampledRequests( TraceSampler pSampler, HttpRequest pRequest, int pRequests ) {
+    int lSampled = 0;
+    for (int i = 0; i < pRequests; i++) {
+      if (pSampler.isSampled(pRequest)) {
+        lSampled++;
+      }
+    }
+    return lSampled;
+  }
+
+  /**
+   * Method creates a trace sampler with the passed configuration.
+   */
+  private static TraceSampler createSampler( int pSamplingRate, String pTraceHeaderName ) {
+    ApacheHttpClientConfiguration lHttpClientConfiguration = new ApacheHttpClientConfiguration();
+    lHttpClientConfiguration.setTraceSamplingRate(pSamplingRate);
+    lHttpClientConfiguration.setTraceHeaderName(pTraceHeaderName);
+    RESTClientConfigurationImpl lConfiguration = new RESTClientConfigurationImpl();
+    lConfiguration.setHttpClientConfiguration(lHttpClientConfiguration);
+    return new TraceSampler(lConfiguration);
+  }
+}
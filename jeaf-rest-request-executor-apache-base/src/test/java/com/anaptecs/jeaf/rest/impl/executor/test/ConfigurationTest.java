@@ -12,6 +12,8 @@ import java.util.Arrays;
 
 import com.anaptecs.jeaf.rest.executor.impl.config.ApacheHttpClientConfiguration;
 import com.anaptecs.jeaf.rest.executor.impl.config.CircuitBreakerConfiguration;
+import com.anaptecs.jeaf.rest.executor.impl.config.PoolSizingPolicy;
+import com.anaptecs.jeaf.rest.executor.impl.config.ProtocolPolicy;
 import com.anaptecs.jeaf.rest.executor.impl.config.RESTClientConfigurationImpl;
 import org.junit.jupiter.api.Test;
 
@@ -27,6 +29,44 @@ class ConfigurationTest {
     assertEquals(888, lHttpClientConfiguration.getKeepAliveDuration());
     lHttpClientConfiguration.setMaxIdleConnections(35);
     assertEquals(35, lHttpClientConfiguration.getMaxIdleConnections());
+    // As long as max per route is not set the deprecated max idle connections are used.
+    assertEquals(35, lHttpClientConfiguration.getMaxPerRoute());
+    lHttpClientConfiguration.setMaxPerRoute(36);
+    assertEquals(36, lHttpClientConfiguration.getMaxPerRoute());
+    lHttpClientConfiguration.setMaxIdleTime(45000);
+    assertEquals(45000, lHttpClientConfiguration.getMaxIdleTime());
+    lHttpClientConfiguration.setEvictExpiredConnections(false);
+    assertEquals(false, lHttpClientConfiguration.isEvictExpiredConnections());
+    lHttpClientConfiguration.setProtocolPolicy(ProtocolPolicy.HTTP_2);
+    assertEquals(ProtocolPolicy.HTTP_2, lHttpClientConfiguration.getProtocolPolicy());
+    lHttpClientConfiguration.setMaxConcurrentStreams(250);
+    assertEquals(250, lHttpClientConfiguration.getMaxConcurrentStreams());
+    lHttpClientConfiguration.setHttp2ConnectionCount(3);
+    assertEquals(3, lHttpClientConfiguration.getHttp2ConnectionCount());
+    lHttpClientConfiguration.setAcceptEncodings(Arrays.asList("gzip"));
+    assertEquals(Arrays.asList("gzip"), lHttpClientConfiguration.getAcceptEncodings());
+    lHttpClientConfiguration.setRequestEncoding("deflate");
+    assertEquals("deflate", lHttpClientConfiguration.getRequestEncoding());
+    lHttpClientConfiguration.setRequestCompressionThreshold(1024);
+    assertEquals(1024, lHttpClientConfiguration.getRequestCompressionThreshold());
+    lHttpClientConfiguration.setBodyContentTypes(Arrays.asList("application/x-jackson-smile"));
+    assertEquals(Arrays.asList("application/x-jackson-smile"), lHttpClientConfiguration.getBodyContentTypes());
+    lHttpClientConfiguration.setCookieHeaderCacheSize(128);
+    assertEquals(128, lHttpClientConfiguration.getCookieHeaderCacheSize());
+    lHttpClientConfiguration.setTraceSamplingRate(10);
+    assertEquals(10, lHttpClientConfiguration.getTraceSamplingRate());
+    lHttpClientConfiguration.setTraceHeaderName("X-Debug");
+    assertEquals("X-Debug", lHttpClientConfiguration.getTraceHeaderName());
+    lHttpClientConfiguration.setMaxTracedBodySize(1024);
+    assertEquals(1024, lHttpClientConfiguration.getMaxTracedBodySize());
+    lHttpClientConfiguration.setResponseCacheSize(500);
+    assertEquals(500, lHttpClientConfiguration.getResponseCacheSize());
+    lHttpClientConfiguration.setResponseCacheMaxBytes(1048576);
+    assertEquals(1048576, lHttpClientConfiguration.getResponseCacheMaxBytes());
+    lHttpClientConfiguration.setCacheDeserializedResponses(true);
+    assertEquals(true, lHttpClientConfiguration.isCacheDeserializedResponses());
+    lHttpClientConfiguration.setRequestCoalescing(true);
+    assertEquals(true, lHttpClientConfiguration.isRequestCoalescing());
     lHttpClientConfiguration.setMaxPoolSize(89);
     assertEquals(89, lHttpClientConfiguration.getMaxPoolSize());
     lHttpClientConfiguration.setMaxRetries(7);
@@ -37,6 +77,18 @@ class ConfigurationTest {
     assertEquals(333, lHttpClientConfiguration.getRetryInterval());
     lHttpClientConfiguration.setValidateAfterInactivityDuration(9874);
     assertEquals(9874, lHttpClientConfiguration.getValidateAfterInactivityDuration());
+    lHttpClientConfiguration.setPoolSizingPolicy(PoolSizingPolicy.VIRTUAL_THREADS);
+    assertEquals(PoolSizingPolicy.VIRTUAL_THREADS, lHttpClientConfiguration.getPoolSizingPolicy());
+    lHttpClientConfiguration.setAdmissionTimeout(12345);
+    assertEquals(12345, lHttpClientConfiguration.getAdmissionTimeout());
+    lHttpClientConfiguration.setPendingLeasesThreshold(23);
+    assertEquals(23, lHttpClientConfiguration.getPendingLeasesThreshold());
+    lHttpClientConfiguration.setAdaptivePoolSizing(true);
+    assertEquals(true, lHttpClientConfiguration.isAdaptivePoolSizing());
+    lHttpClientConfiguration.setMinPoolSize(4);
+    assertEquals(4, lHttpClientConfiguration.getMinPoolSize());
+    lHttpClientConfiguration.setAdaptivePoolSizingInterval(20000);
+    assertEquals(20000, lHttpClientConfiguration.getAdaptivePoolSizingInterval());
 
     // Test default values.
     lHttpClientConfiguration = new ApacheHttpClientConfiguration();
@@ -44,12 +96,35 @@ class ConfigurationTest {
     assertEquals(2000, lHttpClientConfiguration.getConnectTimeout());
     assertEquals(20000, lHttpClientConfiguration.getKeepAliveDuration());
     assertEquals(5, lHttpClientConfiguration.getMaxIdleConnections());
+    assertEquals(5, lHttpClientConfiguration.getMaxPerRoute());
+    assertEquals(30000, lHttpClientConfiguration.getMaxIdleTime());
+    assertEquals(true, lHttpClientConfiguration.isEvictExpiredConnections());
+    assertEquals(ProtocolPolicy.HTTP_1, lHttpClientConfiguration.getProtocolPolicy());
+    assertEquals(100, lHttpClientConfiguration.getMaxConcurrentStreams());
+    assertEquals(1, lHttpClientConfiguration.getHttp2ConnectionCount());
+    assertEquals(Arrays.asList("gzip", "deflate"), lHttpClientConfiguration.getAcceptEncodings());
+    assertEquals(null, lHttpClientConfiguration.getRequestEncoding());
+    assertEquals(2048, lHttpClientConfiguration.getRequestCompressionThreshold());
+    assertEquals(Arrays.asList("application/json"), lHttpClientConfiguration.getBodyContentTypes());
+    assertEquals(0, lHttpClientConfiguration.getCookieHeaderCacheSize());
+    assertEquals(1, lHttpClientConfiguration.getTraceSamplingRate());
+    assertEquals(null, lHttpClientConfiguration.getTraceHeaderName());
+    assertEquals(64 * 1024, lHttpClientConfiguration.getMaxTracedBodySize());
+    assertEquals(0, lHttpClientConfiguration.getResponseCacheSize());
+    assertEquals(16 * 1024 * 1024, lHttpClientConfiguration.getResponseCacheMaxBytes());
+    assertEquals(false, lHttpClientConfiguration.isCacheDeserializedResponses());
+    assertEquals(false, lHttpClientConfiguration.isRequestCoalescing());
     assertEquals(5, lHttpClientConfiguration.getMaxPoolSize());
     assertEquals(0, lHttpClientConfiguration.getMaxRetries());
     assertEquals(5000, lHttpClientConfiguration.getResponseTimeout());
     assertEquals(100, lHttpClientConfiguration.getRetryInterval());
     assertEquals(10000, lHttpClientConfiguration.getValidateAfterInactivityDuration());
-
+    assertEquals(PoolSizingPolicy.FIXED, lHttpClientConfiguration.getPoolSizingPolicy());
+    assertEquals(5000, lHttpClientConfiguration.getAdmissionTimeout());
+    assertEquals(10, lHttpClientConfiguration.getPendingLeasesThreshold());
+    assertEquals(false, lHttpClientConfiguration.isAdaptivePoolSizing());
+    assertEquals(2, lHttpClientConfiguration.getMinPoolSize());
+    assertEquals(10000, lHttpClientConfiguration.getAdaptivePoolSizingInterval());
   }
 
   @Test
@@ -93,11 +168,35 @@ class ConfigurationTest {
     lHttpClientConfiguration.setConnectTimeout(32);
     lHttpClientConfiguration.setKeepAliveDuration(888);
     lHttpClientConfiguration.setMaxIdleConnections(35);
+    lHttpClientConfiguration.setMaxPerRoute(36);
+    lHttpClientConfiguration.setMaxIdleTime(45000);
+    lHttpClientConfiguration.setEvictExpiredConnections(false);
+    lHttpClientConfiguration.setProtocolPolicy(ProtocolPolicy.HTTP_2);
+    lHttpClientConfiguration.setMaxConcurrentStreams(250);
+    lHttpClientConfiguration.setHttp2ConnectionCount(3);
+    lHttpClientConfiguration.setAcceptEncodings(Arrays.asList("gzip"));
+    lHttpClientConfiguration.setRequestEncoding("deflate");
+    lHttpClientConfiguration.setRequestCompressionThreshold(1024);
+    lHttpClientConfiguration.setBodyContentTypes(Arrays.asList("application/x-jackson-smile"));
+    lHttpClientConfiguration.setCookieHeaderCacheSize(128);
+    lHttpClientConfiguration.setTraceSamplingRate(10);
+    lHttpClientConfiguration.setTraceHeaderName("X-Debug");
+    lHttpClientConfiguration.setMaxTracedBodySize(1024);
+    lHttpClientConfiguration.setResponseCacheSize(500);
+    lHttpClientConfiguration.setResponseCacheMaxBytes(1048576);
+    lHttpClientConfiguration.setCacheDeserializedResponses(true);
+    lHttpClientConfiguration.setRequestCoalescing(true);
     lHttpClientConfiguration.setMaxPoolSize(89);
     lHttpClientConfiguration.setMaxRetries(7);
     lHttpClientConfiguration.setResponseTimeout(745);
     lHttpClientConfiguration.setRetryInterval(333);
     lHttpClientConfiguration.setValidateAfterInactivityDuration(9874);
+    lHttpClientConfiguration.setPoolSizingPolicy(PoolSizingPolicy.VIRTUAL_THREADS);
+    lHttpClientConfiguration.setAdmissionTimeout(12345);
+    lHttpClientConfiguration.setPendingLeasesThreshold(23);
+    lHttpClientConfiguration.setAdaptivePoolSizing(true);
+    lHttpClientConfiguration.setMinPoolSize(4);
+    lHttpClientConfiguration.setAdaptivePoolSizingInterval(20000);
     lClientConfiguration.setHttpClientConfiguration(lHttpClientConfiguration);
 
     CircuitBreakerConfiguration lCircuitBreakerConfiguration = new CircuitBreakerConfiguration();
@@ -127,11 +226,35 @@ class ConfigurationTest {
     assertEquals(32, lClientConfiguration.getConnectTimeout());
     assertEquals(888, lClientConfiguration.getKeepAliveDuration());
     assertEquals(35, lClientConfiguration.getMaxIdleConnections());
+    assertEquals(36, lClientConfiguration.getMaxPerRoute());
+    assertEquals(45000, lClientConfiguration.getMaxIdleTime());
+    assertEquals(false, lClientConfiguration.isEvictExpiredConnections());
+    assertEquals(ProtocolPolicy.HTTP_2, lClientConfiguration.getProtocolPolicy());
+    assertEquals(250, lClientConfiguration.getMaxConcurrentStreams());
+    assertEquals(3, lClientConfiguration.getHttp2ConnectionCount());
+    assertEquals(Arrays.asList("gzip"), lClientConfiguration.getAcceptEncodings());
+    assertEquals("deflate", lClientConfiguration.getRequestEncoding());
+    assertEquals(1024, lClientConfiguration.getRequestCompressionThreshold());
+    assertEquals(Arrays.asList("application/x-jackson-smile"), lClientConfiguration.getBodyContentTypes());
+    assertEquals(128, lClientConfiguration.getCookieHeaderCacheSize());
+    assertEquals(10, lClientConfiguration.getTraceSamplingRate());
+    assertEquals("X-Debug", lClientConfiguration.getTraceHeaderName());
+    assertEquals(1024, lClientConfiguration.getMaxTracedBodySize());
+    assertEquals(500, lClientConfiguration.getResponseCacheSize());
+    assertEquals(1048576, lClientConfiguration.getResponseCacheMaxBytes());
+    assertEquals(true, lClientConfiguration.isCacheDeserializedResponses());
+    assertEquals(true, lClientConfiguration.isRequestCoalescing());
     assertEquals(89, lClientConfiguration.getMaxPoolSize());
     assertEquals(7, lClientConfiguration.getMaxRetries());
     assertEquals(745, lClientConfiguration.getResponseTimeout());
     assertEquals(333, lClientConfiguration.getRetryInterval());
     assertEquals(9874, lClientConfiguration.getValidateAfterInactivityDuration());
+    assertEquals(PoolSizingPolicy.VIRTUAL_THREADS, lClientConfiguration.getPoolSizingPolicy());
+    assertEquals(12345, lClientConfiguration.getAdmissionTimeout());
+    assertEquals(23, lClientConfiguration.getPendingLeasesThreshold());
+    assertEquals(true, lClientConfiguration.isAdaptivePoolSizing());
+    assertEquals(4, lClientConfiguration.getMinPoolSize());
+    assertEquals(20000, lClientConfiguration.getAdaptivePoolSizingInterval());
 
     // Test circuit breaker config
     assertEquals(47, lClientConfiguration.getDurationInOpenState());
@@ -160,11 +283,35 @@ class ConfigurationTest {
     assertEquals(2000, lClientConfiguration.getConnectTimeout());
     assertEquals(20000, lClientConfiguration.getKeepAliveDuration());
     assertEquals(5, lClientConfiguration.getMaxIdleConnections());
+    assertEquals(5, lClientConfiguration.getMaxPerRoute());
+    assertEquals(30000, lClientConfiguration.getMaxIdleTime());
+    assertEquals(true, lClientConfiguration.isEvictExpiredConnections());
+    assertEquals(ProtocolPolicy.HTTP_1, lClientConfiguration.getProtocolPolicy());
+    assertEquals(100, lClientConfiguration.getMaxConcurrentStreams());
+    assertEquals(1, lClientConfiguration.getHttp2ConnectionCount());
+    assertEquals(Arrays.asList("gzip", "deflate"), lClientConfiguration.getAcceptEncodings());
+    assertEquals(null, lClientConfiguration.getRequestEncoding());
+    assertEquals(2048, lClientConfiguration.getRequestCompressionThreshold());
+    assertEquals(Arrays.asList("application/json"), lClientConfiguration.getBodyContentTypes());
+    assertEquals(0, lClientConfiguration.getCookieHeaderCacheSize());
+    assertEquals(1, lClientConfiguration.getTraceSamplingRate());
+    assertEquals(null, lClientConfiguration.getTraceHeaderName());
+    assertEquals(64 * 1024, lClientConfiguration.getMaxTracedBodySize());
+    assertEquals(0, lClientConfiguration.getResponseCacheSize());
+    assertEquals(16 * 1024 * 1024, lClientConfiguration.getResponseCacheMaxBytes());
+    assertEquals(false, lClientConfiguration.isCacheDeserializedResponses());
+    assertEquals(false, lClientConfiguration.isRequestCoalescing());
     assertEquals(5, lClientConfiguration.getMaxPoolSize());
     assertEquals(0, lClientConfiguration.getMaxRetries());
     assertEquals(5000, lClientConfiguration.getResponseTimeout());
     assertEquals(100, lClientConfiguration.getRetryInterval());
     assertEquals(10000, lClientConfiguration.getValidateAfterInactivityDuration());
+    assertEquals(PoolSizingPolicy.FIXED, lClientConfiguration.getPoolSizingPolicy());
+    assertEquals(5000, lClientConfiguration.getAdmissionTimeout());
+    assertEquals(10, lClientConfiguration.getPendingLeasesThreshold());
+    assertEquals(false, lClientConfiguration.isAdaptivePoolSizing());
+    assertEquals(2, lClientConfiguration.getMinPoolSize());
+    assertEquals(10000, lClientConfiguration.getAdaptivePoolSizingInterval());
 
     assertEquals(20000, lClientConfiguration.getDurationInOpenState());
     assertEquals(5, lClientConfiguration.getFailureRateThreshold());
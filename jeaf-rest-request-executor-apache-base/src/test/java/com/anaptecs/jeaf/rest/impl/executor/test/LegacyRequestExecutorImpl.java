@@ -0,0 +1,74 @@
+/**
+ * Copyright 2004 - 2022 anaptecs GmbH, Burgstr. 96, 72764 Reutlingen, Germany
+ *
+ * All rights reserved.
+ */
+package com.anaptecs.jeaf.rest.impl.executor.test;
+
+import java.net.URI;
+
+import org.apache.hc.client5.http.impl.classic.CloseableHttpResponse;
+
+import com.anaptecs.jeaf.rest.executor.impl.apache.AbstractApacheHttpClientRESTRequestExecutorBase;
+import com.anaptecs.jeaf.rest.executor.impl.config.RESTClientConfiguration;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Executor is implemented like executors that were written before asynchronous requests were supported. It only
+ * overrides the error handling for blocking requests.
+ */
+public class LegacyRequestExecutorImpl extends AbstractApacheHttpClientRESTRequestExecutorBase {
+  private final ObjectMapper objectMapper = new ObjectMapper();
+
+  private final RESTClientConfiguration configuration;
+
+  public LegacyRequestExecutorImpl( RESTClientConfiguration pConfiguration ) {
+    configuration = pConfiguration;
+  }
+
+  @Override
+  protected ObjectMapper getObjectMapper( ) {
+    return objectMapper;
+  }
+
+  @Override
+  protected boolean isRequestTracingEnabled( RESTClientConfiguration pConfiguration ) {
+    return false;
+  }
+
+  @Override
+  protected boolean isResponseTracingEnabled( RESTClientConfiguration pConfiguration ) {
+    return false;
+  }
+
+  @Override
+  protected void traceRequest( String pRequestLog ) {
+    // Nothing to do.
+  }
+
+  @Override
+  protected void traceResponse( String pResponseLog ) {
+    // Nothing to do.
+  }
+
+  @Override
+  protected void traceException( String pErrorMessage, Exception pException ) {
+    // Nothing to do.
+  }
+
+  @Override
+  @Deprecated
+  protected RuntimeException processErrorResponse( URI pRequestURI, CloseableHttpResponse pResponse ) {
+    return new UnsupportedOperationException("Status " + pResponse.getCode() + " for " + pRequestURI);
+  }
+
+  @Override
+  protected RuntimeException processInternalServerError( URI pRequestURI, Exception pException, String pContext ) {
+    return new IllegalStateException(pContext, pException);
+  }
+
+  @Override
+  protected RESTClientConfiguration getConfiguration( Class<?> pServiceClass ) {
+    return configuration;
+  }
+}
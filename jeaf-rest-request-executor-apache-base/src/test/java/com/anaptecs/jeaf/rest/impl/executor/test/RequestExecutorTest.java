@@ -6,6 +6,986 @@
  */
 package com.anaptecs.jeaf.rest.impl.executor.test;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import org.apache.hc.client5.http.HttpResponseException;
+import org.apache.hc.client5.http.classic.methods.HttpGet;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpResponse;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.core5.http.ContentType;
+import org.apache.hc.core5.http.EntityDetails;
+import org.apache.hc.core5.http.Header;
+import org.apache.hc.core5.http.HttpException;
+import org.apache.hc.core5.http.HttpRequest;
+import org.apache.hc.core5.http.HttpVersion;
+import org.apache.hc.core5.http.Message;
+import org.apache.hc.core5.http.ProtocolVersion;
+import org.apache.hc.core5.http.URIScheme;
+import org.apache.hc.core5.http.impl.bootstrap.HttpAsyncServer;
+import org.apache.hc.core5.http.io.entity.ByteArrayEntity;
+import org.apache.hc.core5.http.io.entity.InputStreamEntity;
+import org.apache.hc.core5.http.message.BasicHeader;
+import org.apache.hc.core5.http.nio.AsyncRequestConsumer;
+import org.apache.hc.core5.http.nio.AsyncServerRequestHandler;
+import org.apache.hc.core5.http.nio.entity.StringAsyncEntityConsumer;
+import org.apache.hc.core5.http.nio.support.BasicRequestConsumer;
+import org.apache.hc.core5.http.nio.support.BasicResponseProducer;
+import org.apache.hc.core5.http.protocol.HttpContext;
+import org.apache.hc.core5.http2.HttpVersionPolicy;
+import org.apache.hc.core5.http2.impl.nio.bootstrap.H2ServerBootstrap;
+import org.apache.hc.core5.io.CloseMode;
+import org.apache.hc.core5.reactor.ListenerEndpoint;
+import org.junit.jupiter.api.Test;
+
+import com.anaptecs.jeaf.rest.executor.api.HttpMethod;
+import com.anaptecs.jeaf.rest.executor.api.ObjectType;
+import com.anaptecs.jeaf.rest.executor.api.RESTRequest;
+import com.anaptecs.jeaf.rest.executor.impl.apache.ServiceClientContext;
+import com.anaptecs.jeaf.rest.executor.impl.codec.BodyCodec;
+import com.anaptecs.jeaf.rest.executor.impl.compression.ContentCodec;
+import com.anaptecs.jeaf.rest.executor.impl.compression.DeflateContentCodec;
+import com.anaptecs.jeaf.rest.executor.impl.compression.GzipContentCodec;
+import com.anaptecs.jeaf.rest.executor.impl.config.ApacheHttpClientConfiguration;
+import com.anaptecs.jeaf.rest.executor.impl.config.ProtocolPolicy;
+import com.anaptecs.jeaf.rest.executor.impl.config.RESTClientConfigurationImpl;
+import com.anaptecs.jeaf.rest.executor.impl.metrics.ConnectionPoolStatistics;
+import com.anaptecs.jeaf.rest.executor.impl.metrics.InMemoryRESTClientMetrics;
+import com.anaptecs.jeaf.rest.executor.impl.metrics.InMemoryRESTMetricsRegistry;
+import com.anaptecs.jeaf.rest.executor.impl.metrics.LatencyHistogram;
+import com.anaptecs.jeaf.rest.executor.impl.metrics.PoolResizeDecision;
+import com.anaptecs.jeaf.rest.executor.impl.trace.AsyncTraceSink;
+import com.anaptecs.jeaf.rest.executor.impl.trace.RequestTraceEvent;
+import com.anaptecs.jeaf.rest.executor.impl.trace.ResponseTraceEvent;
+import com.anaptecs.jeaf.rest.executor.impl.trace.TraceEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+
 public class RequestExecutorTest {
+  @Test
+  void testClientContextResolution( ) throws Exception {
+    TestRequestExecutorImpl lExecutor = new TestRequestExecutorImpl();
+    ServiceClientContext lContext = lExecutor.resolveClientContext(String.class);
+    assertNotNull(lContext);
+    assertEquals(String.class, lContext.getServiceClass());
+    assertEquals("http://localhost:8099", lContext.getExternalServiceURL());
+    assertNotNull(lContext.getHttpClient());
+    assertNotNull(lContext.getCircuitBreaker());
+    assertNotNull(lContext.getConfiguration());
+    assertSame(lContext, lExecutor.resolveClientContext(String.class));
+    assertNotSame(lContext, lExecutor.resolveClientContext(Integer.class));
+    assertEquals(2, lExecutor.configurationLoads.get());
+
+    // Context must also only be created once in case of concurrent access.
+    TestRequestExecutorImpl lConcurrentExecutor = new TestRequestExecutorImpl();
+    ExecutorService lThreadPool = Executors.newFixedThreadPool(16);
+    try {
+      List<Future<ServiceClientContext>> lResults = new ArrayList<>();
+      for (int i = 0; i < 64; i++) {
+        lResults.add(lThreadPool.submit(new Callable<ServiceClientContext>() {
+          @Override
+          public ServiceClientContext call( ) {
+            return lConcurrentExecutor.resolveClientContext(String.class);
+          }
+        }));
+      }
+      ServiceClientContext lFirst = lResults.get(0).get();
+      for (Future<ServiceClientContext> lNext : lResults) {
+        assertSame(lFirst, lNext.get());
+      }
+      assertEquals(1, lConcurrentExecutor.configurationLoads.get());
+    }
+    finally {
+      lThreadPool.shutdown();
+    }
+  }
+
+  @Test
+  void testContentReading( ) throws Exception {
+    TestRequestExecutorImpl lExecutor = new TestRequestExecutorImpl();
+    assertEquals("", lExecutor.readContent(new ByteArrayInputStream(new byte[0])));
+    String lUmlauts = "{\"name\":\"J\u00fcrgen\"}";
+    assertEquals(lUmlauts,
+        lExecutor.readContent(new ByteArrayInputStream(lUmlauts.getBytes(StandardCharsets.UTF_8))));
+
+    // Charset has to be taken from content type.
+    ContentType lLatin1 = ContentType.create("application/json", StandardCharsets.ISO_8859_1);
+    byte[] lLatin1Bytes = lUmlauts.getBytes(StandardCharsets.ISO_8859_1);
+    assertEquals(lUmlauts, lExecutor.readContent(new ByteArrayEntity(lLatin1Bytes, lLatin1)));
+    assertEquals(lUmlauts, lExecutor.readContent(
+        new ByteArrayEntity(lUmlauts.getBytes(StandardCharsets.UTF_8), ContentType.APPLICATION_JSON)));
+
+    // Content that is larger than the pooled buffers with and without known content length.
+    StringBuilder lBuilder = new StringBuilder();
+    for (int i = 0; i < 10000; i++) {
+      lBuilder.append("Line ").append(i).append(System.lineSeparator());
+    }
+    String lLargeContent = lBuilder.toString();
+    byte[] lLargeBytes = lLargeContent.getBytes(StandardCharsets.UTF_8);
+    assertEquals(lLargeContent, lExecutor.readContent(new ByteArrayEntity(lLargeBytes, ContentType.APPLICATION_JSON)));
+    assertEquals(lLargeContent, lExecutor.readContent(
+        new InputStreamEntity(new ByteArrayInputStream(lLargeBytes), -1, ContentType.APPLICATION_JSON)));
+    assertEquals(lLargeContent, lExecutor.readContent(new ByteArrayInputStream(lLargeBytes)));
+
+    // Buffers are reused so reading smaller content afterwards must not return any leftovers.
+    assertEquals("[]", lExecutor.readContent(new ByteArrayInputStream("[]".getBytes(StandardCharsets.UTF_8))));
+  }
+
+  @Test
+  void testPathTemplates( ) {
+    TestRequestExecutorImpl lExecutor = new TestRequestExecutorImpl();
+    assertEquals("", lExecutor.resolvePathTemplate(null));
+    assertEquals("/products", lExecutor.resolvePathTemplate("/products"));
+    assertEquals("/products/{id}", lExecutor.resolvePathTemplate("/products/4711"));
+    assertEquals("/products/{id}/", lExecutor.resolvePathTemplate("/products/4711/"));
+    assertEquals("/products/{id}/prices/{id}",
+        lExecutor.resolvePathTemplate("/products/4711/prices/123e4567-e89b-12d3-a456-426614174000"));
+    assertEquals("/{id}/channels", lExecutor.resolvePathTemplate("/0123456789abcdef0123/channels?filter=1"));
+    assertEquals("/products/V1", lExecutor.resolvePathTemplate("/products/V1"));
+  }
+
+  @Test
+  void testMetrics( ) {
+    LatencyHistogram lHistogram = new LatencyHistogram();
+    assertEquals(0, lHistogram.getValueAtPercentile(0.99));
+    for (int i = 1; i <= 1000; i++) {
+      lHistogram.record(i * 1000L);
+    }
+    assertEquals(1000, lHistogram.getCount());
+    assertEquals(1000000, lHistogram.getMax());
+    assertEquals(500500, lHistogram.getMean(), 0.1);
+    long lMedian = lHistogram.getValueAtPercentile(0.5);
+    assertTrue(lMedian >= 500000 && lMedian <= 500000 * 1.25, "Unexpected median " + lMedian);
+    long lP99 = lHistogram.getValueAtPercentile(0.99);
+    assertTrue(lP99 >= 990000 && lP99 <= 1000000, "Unexpected p99 " + lP99);
+    assertEquals(1000000, lHistogram.getValueAtPercentile(1));
+
+    InMemoryRESTMetricsRegistry lRegistry = new InMemoryRESTMetricsRegistry();
+    InMemoryRESTClientMetrics lMetrics = lRegistry.getClientMetrics(String.class, "/products/{id}");
+    assertSame(lMetrics, lRegistry.getClientMetrics(String.class, "/products/{id}"));
+    lMetrics.recordCall(200, 1000);
+    lMetrics.recordCall(200, 2000);
+    lMetrics.recordCall(0, 3000);
+    lMetrics.recordCall(999, 4000);
+    lMetrics.recordBytesReceived(100);
+    lMetrics.recordBytesReceived(50);
+    assertEquals(2, lMetrics.getStatusCodeCount(200));
+    assertEquals(2, lMetrics.getStatusCodeCount(0));
+    assertEquals(4, lMetrics.getCalls().getCount());
+    assertEquals(150, lMetrics.getBytesReceived());
+    assertEquals(1, lRegistry.getClientMetrics().size());
+    assertEquals(0, lRegistry.getClientMetrics(Integer.class).size());
+  }
+
+  @Test
+  void testConnectionPoolStatistics( ) {
+    TestRequestExecutorImpl lExecutor = new TestRequestExecutorImpl();
+    assertEquals(0, lExecutor.getConnectionPoolStatistics().size());
+    ServiceClientContext lContext = lExecutor.resolveClientContext(String.class);
+    ConnectionPoolStatistics lStatistics = lContext.getConnectionPoolStatistics();
+    assertEquals(String.class, lStatistics.getServiceClass());
+    assertEquals(0, lStatistics.getLeased());
+    assertEquals(0, lStatistics.getPending());
+    assertEquals(lContext.getConfiguration().getMaxPerRoute(), lStatistics.getMax());
+    assertEquals(lContext.getConfiguration().getPendingLeasesThreshold(), lStatistics.getPendingLeasesThreshold());
+    assertEquals(0, lStatistics.getLeaseWait().getCount());
+    assertFalse(lStatistics.isSaturated());
+    assertTrue(new ConnectionPoolStatistics(String.class, 5, 0, 11, 5, 10, lStatistics.getLeaseWait()).isSaturated());
+    assertEquals(1, lExecutor.getConnectionPoolStatistics().size());
+  }
+
+  @Test
+  void testAdaptivePoolSizing( ) throws Exception {
+    TestRequestExecutorImpl lExecutor = new TestRequestExecutorImpl();
+    assertNull(lExecutor.resizePool(String.class));
+
+    // Without any load the pool shrinks step by step until the minimum pool size is reached.
+    ServiceClientContext lContext = lExecutor.resolveClientContext(Long.class);
+    assertEquals(5, lContext.getConnectionPoolStatistics().getMax());
+    PoolResizeDecision lDecision = lExecutor.resizePool(Long.class);
+    assertEquals(Long.class, lDecision.getServiceClass());
+    assertEquals(5, lDecision.getPreviousSize());
+    assertEquals(3, lDecision.getNewSize());
+    assertEquals(0, lDecision.getPending());
+    lDecision = lExecutor.resizePool(Long.class);
+    assertEquals(3, lDecision.getPreviousSize());
+    assertEquals(2, lDecision.getNewSize());
+    assertNull(lExecutor.resizePool(Long.class));
+    assertEquals(2, lContext.getConnectionPoolStatistics().getMax());
+    assertEquals(2, lExecutor.reportedPoolResizes.size());
+
+    // Pools are resized periodically until the executor is closed.
+    TestRequestExecutorImpl lScheduledExecutor = new TestRequestExecutorImpl();
+    RESTClientConfigurationImpl lConfiguration = new RESTClientConfigurationImpl();
+    lConfiguration.setExternalServiceURL("http://localhost:8099");
+    ApacheHttpClientConfiguration lHttpClientConfiguration = new ApacheHttpClientConfiguration();
+    lHttpClientConfiguration.setAdaptivePoolSizing(true);
+    lHttpClientConfiguration.setAdaptivePoolSizingInterval(50);
+    lConfiguration.setHttpClientConfiguration(lHttpClientConfiguration);
+    lScheduledExecutor.configurations.put(Long.class, lConfiguration);
+    lScheduledExecutor.resolveClientContext(Long.class);
+    long lDeadline = System.currentTimeMillis() + 10000;
+    while (lScheduledExecutor.reportedPoolResizes.isEmpty() && System.currentTimeMillis() < lDeadline) {
+      Thread.sleep(10);
+    }
+    lScheduledExecutor.close();
+    int lReportedResizes = lScheduledExecutor.reportedPoolResizes.size();
+    assertTrue(lReportedResizes > 0);
+    Thread.sleep(200);
+    assertEquals(lReportedResizes, lScheduledExecutor.reportedPoolResizes.size());
+
+    // If the context can not be created then no pool sizing is started that would try to create it again.
+    TestRequestExecutorImpl lFailingExecutor = new TestRequestExecutorImpl();
+    lHttpClientConfiguration.setBodyContentTypes(Arrays.asList("application/xml"));
+    lFailingExecutor.configurations.put(Long.class, lConfiguration);
+    assertThrows(IllegalArgumentException.class, ( ) -> lFailingExecutor.resolveClientContext(Long.class));
+    Thread.sleep(200);
+    assertEquals(1, lFailingExecutor.configurationLoads.get());
+    lFailingExecutor.close();
+  }
+
+  @Test
+  void testContentCodecs( ) throws Exception {
+    StringBuilder lBuilder = new StringBuilder();
+    for (int i = 0; i < 1000; i++) {
+      lBuilder.append("{\"name\":\"J\u00fcrgen\",\"index\":").append(i).append('}');
+    }
+    byte[] lContent = lBuilder.toString().getBytes(StandardCharsets.UTF_8);
+    ContentCodec[] lCodecs = new ContentCodec[] { new GzipContentCodec(), new DeflateContentCodec() };
+    for (ContentCodec lCodec : lCodecs) {
+      ByteArrayOutputStream lEncoded = new ByteArrayOutputStream();
+      try (OutputStream lOutputStream = lCodec.encode(lEncoded)) {
+        lOutputStream.write(lContent);
+      }
+      assertTrue(lEncoded.size() < lContent.length, "No compression with " + lCodec.getEncoding());
+      try (InputStream lInputStream = lCodec.decode(new ByteArrayInputStream(lEncoded.toByteArray()))) {
+        assertArrayEquals(lContent, lInputStream.readAllBytes());
+      }
+    }
+    assertEquals("gzip", lCodecs[0].getEncoding());
+    assertEquals("deflate", lCodecs[1].getEncoding());
+  }
+
+  @Test
+  void testBodyCodecs( ) throws Exception {
+    TestRequestExecutorImpl lExecutor = new TestRequestExecutorImpl();
+    List<BodyCodec> lCodecs = lExecutor.resolveBodyCodecs();
+    assertEquals(3, lCodecs.size());
+    assertEquals(ContentType.APPLICATION_JSON, lCodecs.get(0).getContentType());
+    assertSame(lExecutor.objectMapper, lCodecs.get(0).getObjectMapper());
+    assertFalse(lCodecs.get(0).isBinary());
+    assertEquals("application/x-jackson-smile", lCodecs.get(1).getContentType().getMimeType());
+    assertEquals("application/cbor", lCodecs.get(2).getContentType().getMimeType());
+
+    // Binary formats have to be readable with the same types as JSON but result in smaller bodies.
+    Map<String, Object> lBody = new HashMap<>();
+    lBody.put("name", "J\u00fcrgen");
+    lBody.put("prices", Arrays.asList(1, 2, 3));
+    byte[] lJSON = lCodecs.get(0).getObjectMapper().writeValueAsBytes(lBody);
+    for (BodyCodec lNextCodec : lCodecs.subList(1, lCodecs.size())) {
+      assertTrue(lNextCodec.isBinary());
+      assertNotSame(lExecutor.objectMapper, lNextCodec.getObjectMapper());
+      byte[] lContent = lNextCodec.getObjectMapper().writeValueAsBytes(lBody);
+      assertTrue(lContent.length < lJSON.length, "No size reduction with " + lNextCodec.getContentType());
+      assertEquals(lBody, lNextCodec.getObjectMapper().readValue(lContent, Map.class));
+    }
+
+    // Only content types for which a codec exists may be configured.
+    assertThrows(IllegalArgumentException.class, ( ) -> lExecutor.resolveClientContext(Short.class));
+  }
+
+  @Test
+  void testTraceEvents( ) {
+    Set<String> lSensitiveHeaderNames = TraceEvent.createSensitiveHeaderNames(Arrays.asList("authorization"));
+    assertTrue(lSensitiveHeaderNames.contains("Authorization"));
+    assertTrue(lSensitiveHeaderNames.contains("AUTHORIZATION"));
+    assertFalse(lSensitiveHeaderNames.contains("Accept"));
+    assertTrue(TraceEvent.createSensitiveHeaderNames(null).isEmpty());
+
+    // Body must not be resolved before the event is formatted.
+    AtomicInteger lBodyResolutions = new AtomicInteger();
+    Header[] lHeaders =
+        new Header[] { new BasicHeader("Accept", "application/json"), new BasicHeader("Authorization", "secret") };
+    URI lURI = URI.create("http://localhost:8099/products?q=1");
+    RequestTraceEvent lRequestEvent = new RequestTraceEvent("POST", lURI, lHeaders, lSensitiveHeaderNames, ( ) -> {
+      lBodyResolutions.incrementAndGet();
+      return "{}";
+    });
+    assertEquals(0, lBodyResolutions.get());
+    assertEquals("POST", lRequestEvent.getMethod());
+    assertSame(lURI, lRequestEvent.getURI());
+    assertEquals(2, lRequestEvent.getHeaders().size());
+    String lNewLine = System.lineSeparator();
+    assertEquals("Request: (POST) http://localhost:8099/products?q=1" + lNewLine
+        + "Request Headers: Accept='application/json' " + lNewLine + "Body: {}", lRequestEvent.toString());
+    assertEquals(1, lBodyResolutions.get());
+
+    // Sensitive headers of responses are traced without their value.
+    ResponseTraceEvent lResponseEvent = new ResponseTraceEvent(lURI, 200, lHeaders, lSensitiveHeaderNames, null);
+    assertEquals(200, lResponseEvent.getStatusCode());
+    assertNull(lResponseEvent.getBody());
+    assertEquals("Response: http://localhost:8099/products?q=1" + lNewLine + "Status Code: 200" + lNewLine
+        + "Response Headers: Accept='application/json'Authorization='***'" + lNewLine, lResponseEvent.toString());
+
+  }
+
+  @Test
+  void testDeprecatedResponseTracing( ) throws Exception {
+    try (StubServer lServer = new StubServer(); TestRequestExecutorImpl lExecutor = new TestRequestExecutorImpl();
+        CloseableHttpClient lHttpClient = HttpClients.createDefault()) {
+      lServer.setHandler("/products", e -> StubServer.respond(e, 200, null, "Authorization", "secret"));
+      RESTClientConfigurationImpl lConfiguration = createConfiguration(lServer);
+      lConfiguration.setSensitiveHeaders(Arrays.asList("Authorization"));
+      URI lURI = URI.create(lServer.getURL() + "/products");
+      // Response hook of earlier versions still works.
+      try (CloseableHttpResponse lResponse = lHttpClient.execute(new HttpGet(lURI), (HttpContext) null)) {
+        lExecutor.traceLegacyResponse(lResponse, lURI, "{}", lConfiguration);
+        assertNull(lExecutor.tracedResponse);
+        lExecutor.responseTracingEnabled = true;
+        lExecutor.traceLegacyResponse(lResponse, lURI, "{}", lConfiguration);
+      }
+      String lNewLine = System.lineSeparator();
+      assertTrue(lExecutor.tracedResponse.startsWith("Response: " + lURI + lNewLine + "Status Code: 200" + lNewLine));
+      assertTrue(lExecutor.tracedResponse.contains("Authorization='***'"), lExecutor.tracedResponse);
+      assertTrue(lExecutor.tracedResponse.endsWith(lNewLine + "Body: {}"));
+    }
+  }
+
+  @Test
+  void testAsyncTraceSink( ) throws Exception {
+    assertThrows(IllegalArgumentException.class, ( ) -> new AsyncTraceSink("test", 0, e -> {
+    }));
+
+    // Block writer so that the buffer fills up. Capacity is rounded up to the next power of two.
+    CountDownLatch lWriterBlocked = new CountDownLatch(1);
+    CountDownLatch lReleaseWriter = new CountDownLatch(1);
+    List<String> lWrittenEvents = new CopyOnWriteArrayList<>();
+    AsyncTraceSink lSink = new AsyncTraceSink("test-trace", 3, e -> {
+      lWriterBlocked.countDown();
+      try {
+        lReleaseWriter.await();
+      }
+      catch (InterruptedException ex) {
+        Thread.currentThread().interrupt();
+      }
+      lWrittenEvents.add(e.toString());
+    });
+    URI lURI = URI.create("http://localhost:8099/products");
+    Set<String> lNoSensitiveHeaders = TraceEvent.createSensitiveHeaderNames(null);
+    assertTrue(lSink.offer(new ResponseTraceEvent(lURI, 200, new Header[0], lNoSensitiveHeaders, "0")));
+    lWriterBlocked.await();
+
+    // Request body has to be resolved before the event is handed over to the writer.
+    StringBuilder lBody = new StringBuilder("1");
+    assertTrue(lSink.offer(new RequestTraceEvent("POST", lURI, new Header[0], lNoSensitiveHeaders, lBody::toString)));
+    lBody.append("-changed");
+    for (int i = 2; i < 5; i++) {
+      assertTrue(lSink.offer(new ResponseTraceEvent(lURI, 200, new Header[0], lNoSensitiveHeaders, "" + i)));
+    }
+    assertEquals(0, lSink.getDroppedEvents());
+    assertFalse(lSink.offer(new ResponseTraceEvent(lURI, 200, new Header[0], lNoSensitiveHeaders, "5")));
+    assertEquals(1, lSink.getDroppedEvents());
+
+    // Closing the sink writes all buffered events.
+    lReleaseWriter.countDown();
+    lSink.close();
+    assertEquals(5, lWrittenEvents.size());
+    for (int i = 0; i < lWrittenEvents.size(); i++) {
+      assertTrue(lWrittenEvents.get(i).endsWith("Body: " + i));
+    }
+
+    // Events that arrive after the sink was closed are written directly.
+    assertTrue(lSink.offer(new ResponseTraceEvent(lURI, 200, new Header[0], lNoSensitiveHeaders, "6")));
+    assertEquals(6, lWrittenEvents.size());
+  }
+
+  @Test
+  void testAsyncTraceSinkConcurrentClose( ) throws Exception {
+    URI lURI = URI.create("http://localhost:8099/products");
+    Set<String> lNoSensitiveHeaders = TraceEvent.createSensitiveHeaderNames(null);
+    ExecutorService lProducers = Executors.newFixedThreadPool(8);
+    try {
+      for (int lRun = 0; lRun < 20; lRun++) {
+        // Every event is either written or counted as dropped, no matter whether it was offered before, while or after
+        // the sink was closed.
+        AtomicInteger lWrittenEvents = new AtomicInteger();
+        AsyncTraceSink lSink = new AsyncTraceSink("test-trace", 64, e -> lWrittenEvents.incrementAndGet());
+        CountDownLatch lStart = new CountDownLatch(1);
+        List<Future<?>> lResults = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+          lResults.add(lProducers.submit(( ) -> {
+            lStart.await();
+            for (int j = 0; j < 2000; j++) {
+              lSink.offer(new ResponseTraceEvent(lURI, 200, new Header[0], lNoSensitiveHeaders, null));
+            }
+            return null;
+          }));
+        }
+        lStart.countDown();
+        lSink.close();
+        for (Future<?> lNextResult : lResults) {
+          lNextResult.get(10, TimeUnit.SECONDS);
+        }
+        assertEquals(8 * 2000, lWrittenEvents.get() + lSink.getDroppedEvents());
+
+        // Closing the sink again has no effect.
+        lSink.close();
+        assertEquals(8 * 2000, lWrittenEvents.get() + lSink.getDroppedEvents());
+      }
+    }
+    finally {
+      lProducers.shutdown();
+    }
+  }
+
+  @Test
+  void testAsyncRequestExecution( ) throws Exception {
+    try (StubServer lServer = new StubServer(); TestRequestExecutorImpl lExecutor = new TestRequestExecutorImpl()) {
+      lServer.setHandler("/product", e -> StubServer.respond(e, 200, "\"A\""));
+      lServer.setHandler("/products", e -> StubServer.respond(e, 200, "[\"A\",\"B\"]"));
+      lServer.setHandler("/delete", e -> StubServer.respond(e, 204, null));
+      lServer.setHandler("/error", e -> StubServer.respond(e, 500, "{}"));
+      lExecutor.configurations.put(String.class, createConfiguration(lServer));
+      ObjectType lStringType = ObjectType.createObjectType(String.class);
+
+      CompletableFuture<String> lSingleObject = lExecutor
+          .executeSingleObjectResultRequestAsync(createRequest(HttpMethod.GET, "/product"), 200, lStringType);
+      CompletableFuture<List<String>> lCollection = lExecutor.executeCollectionResultRequestAsync(
+          createRequest(HttpMethod.GET, "/products"), 200, ArrayList.class, lStringType);
+      CompletableFuture<Void> lNoResult =
+          lExecutor.executeNoResultRequestAsync(createRequest(HttpMethod.DELETE, "/delete"), 204);
+      assertEquals("A", lSingleObject.get(10, TimeUnit.SECONDS));
+      assertEquals(Arrays.asList("A", "B"), lCollection.get(10, TimeUnit.SECONDS));
+      assertNull(lNoResult.get(10, TimeUnit.SECONDS));
+
+      // Error responses complete the future exceptionally.
+      CompletableFuture<String> lError =
+          lExecutor.executeSingleObjectResultRequestAsync(createRequest(HttpMethod.GET, "/error"), 200, lStringType);
+      ExecutionException lException = assertThrows(ExecutionException.class, ( ) -> lError.get(10, TimeUnit.SECONDS));
+      assertTrue(lException.getCause() instanceof IllegalStateException);
+      assertEquals(1, lServer.getRequestCount("/error"));
+    }
+  }
+
+  @Test
+  void testLegacyErrorProcessing( ) throws Exception {
+    try (StubServer lServer = new StubServer();
+        LegacyRequestExecutorImpl lExecutor = new LegacyRequestExecutorImpl(createConfiguration(lServer))) {
+      lServer.setHandler("/error", e -> StubServer.respond(e, 500, "{}"));
+      ObjectType lStringType = ObjectType.createObjectType(String.class);
+
+      // Executors that only implement error processing for blocking requests are still called for them.
+      UnsupportedOperationException lException = assertThrows(UnsupportedOperationException.class,
+          ( ) -> lExecutor.executeSingleObjectResultRequest(createRequest(HttpMethod.GET, "/error"), 200, lStringType));
+      assertTrue(lException.getMessage().startsWith("Status 500"), lException.getMessage());
+
+      // Errors of asynchronous requests are reported as internal errors.
+      CompletableFuture<String> lError =
+          lExecutor.executeSingleObjectResultRequestAsync(createRequest(HttpMethod.GET, "/error"), 200, lStringType);
+      ExecutionException lAsyncException =
+          assertThrows(ExecutionException.class, ( ) -> lError.get(10, TimeUnit.SECONDS));
+      assertTrue(lAsyncException.getCause() instanceof IllegalStateException);
+      assertTrue(lAsyncException.getCause().getCause() instanceof HttpResponseException);
+      assertEquals(500, ((HttpResponseException) lAsyncException.getCause().getCause()).getStatusCode());
+    }
+  }
+
+  @Test
+  void testSerializationFailureIgnoredByCircuitBreaker( ) throws Exception {
+    try (StubServer lServer = new StubServer(); TestRequestExecutorImpl lExecutor = new TestRequestExecutorImpl()) {
+      lServer.setHandler("/products", e -> e.close());
+      lExecutor.configurations.put(String.class, createConfiguration(lServer));
+      CircuitBreaker lCircuitBreaker = lExecutor.resolveClientContext(String.class).getCircuitBreaker();
+
+      // Jackson is not able to serialize plain objects. The request fails but the REST service is not to blame.
+      RESTRequest lRequest = RESTRequest
+          .builder(String.class, HttpMethod.POST, com.anaptecs.jeaf.rest.executor.api.ContentType.JSON)
+          .setPath("/products").setBody(new Object()).build();
+      IllegalStateException lException =
+          assertThrows(IllegalStateException.class, ( ) -> lExecutor.executeNoResultRequest(lRequest, 201));
+      assertTrue(lException.getCause() instanceof JsonProcessingException, "Unexpected cause " + lException.getCause());
+      assertEquals(0, lCircuitBreaker.getMetrics().getNumberOfBufferedCalls());
+
+      // Connections that are closed by the REST service are recorded as failures.
+      assertThrows(IllegalStateException.class,
+          ( ) -> lExecutor.executeNoResultRequest(createRequest(HttpMethod.POST, "/products"), 201));
+      assertEquals(1, lCircuitBreaker.getMetrics().getNumberOfFailedCalls());
+    }
+  }
+
+  @Test
+  void testSerializationFailureNotRetried( ) throws Exception {
+    try (StubServer lServer = new StubServer(); TestRequestExecutorImpl lExecutor = new TestRequestExecutorImpl()) {
+      lServer.setHandler("/products", e -> StubServer.respond(e, 200, "\"A\""));
+      RESTClientConfigurationImpl lConfiguration = createConfiguration(lServer);
+      ApacheHttpClientConfiguration lHttpClientConfiguration = new ApacheHttpClientConfiguration();
+      lHttpClientConfiguration.setMaxRetries(2);
+      lHttpClientConfiguration.setRetryInterval(1);
+      lConfiguration.setHttpClientConfiguration(lHttpClientConfiguration);
+      lExecutor.configurations.put(String.class, lConfiguration);
+
+      // Serialization fails after a large part of the body was already sent. Idempotent requests must not be retried
+      // as serialization would fail again.
+      Map<String, Object> lBody = new LinkedHashMap<>();
+      lBody.put("data", "x".repeat(64 * 1024));
+      lBody.put("failure", new Object());
+      RESTRequest lRequest = RESTRequest
+          .builder(String.class, HttpMethod.PUT, com.anaptecs.jeaf.rest.executor.api.ContentType.JSON)
+          .setPath("/products").setBody(lBody).build();
+      IllegalStateException lException =
+          assertThrows(IllegalStateException.class, ( ) -> lExecutor.executeNoResultRequest(lRequest, 200));
+      assertTrue(lException.getCause() instanceof JsonProcessingException, "Unexpected cause " + lException.getCause());
+      long lDeadline = System.currentTimeMillis() + 5000;
+      while (lServer.getRequestCount("/products") == 0 && System.currentTimeMillis() < lDeadline) {
+        Thread.sleep(10);
+      }
+      assertEquals(1, lServer.getRequestCount("/products"));
+      assertEquals(0, lExecutor.resolveClientContext(String.class).getCircuitBreaker().getMetrics()
+          .getNumberOfBufferedCalls());
+
+      // Other requests are still sent as usual.
+      lExecutor.executeNoResultRequest(createRequest(HttpMethod.PUT, "/products"), 200);
+      assertEquals(2, lServer.getRequestCount("/products"));
+    }
+  }
+
+  @Test
+  void testBinaryRequestTracing( ) throws Exception {
+    try (StubServer lServer = new StubServer(); TestRequestExecutorImpl lExecutor = new TestRequestExecutorImpl()) {
+      lServer.setHandler("/products", e -> StubServer.respond(e, 200, "\"A\""));
+      RESTClientConfigurationImpl lConfiguration = createConfiguration(lServer);
+      ApacheHttpClientConfiguration lHttpClientConfiguration = new ApacheHttpClientConfiguration();
+      lHttpClientConfiguration.setBodyContentTypes(Arrays.asList("application/cbor"));
+      lConfiguration.setHttpClientConfiguration(lHttpClientConfiguration);
+      lExecutor.configurations.put(String.class, lConfiguration);
+      lExecutor.requestTracingEnabled = true;
+
+      // Binary bodies are not traced as text but only with their size.
+      RESTRequest lRequest = RESTRequest
+          .builder(String.class, HttpMethod.POST, com.anaptecs.jeaf.rest.executor.api.ContentType.JSON)
+          .setPath("/products").setBody("ABC").build();
+      lExecutor.executeNoResultRequest(lRequest, 200);
+      assertTrue(lExecutor.tracedRequest.contains("<application/cbor, 4 bytes>"), lExecutor.tracedRequest);
+    }
+  }
+
+  @Test
+  void testStreamingResultRequest( ) throws Exception {
+    try (StubServer lServer = new StubServer(); TestRequestExecutorImpl lExecutor = new TestRequestExecutorImpl()) {
+      // Second part of the collection is only sent after the client read the first part.
+      CountDownLatch lFirstPartRead = new CountDownLatch(1);
+      AtomicBoolean lCompleted = new AtomicBoolean();
+      lServer.setHandler("/products", e -> {
+        e.getResponseHeaders().add("Content-Type", "application/json");
+        e.sendResponseHeaders(200, 0);
+        try (OutputStream lBody = e.getResponseBody()) {
+          lBody.write("[\"A\",\"B\",".getBytes(StandardCharsets.UTF_8));
+          lBody.flush();
+          lFirstPartRead.await(10, TimeUnit.SECONDS);
+          lBody.write("\"C\"]".getBytes(StandardCharsets.UTF_8));
+          lCompleted.set(true);
+        }
+        catch (InterruptedException ex) {
+          Thread.currentThread().interrupt();
+        }
+      });
+      // Collection that is much larger than any socket buffer.
+      CountDownLatch lAborted = new CountDownLatch(1);
+      lServer.setHandler("/large", e -> {
+        e.getResponseHeaders().add("Content-Type", "application/json");
+        e.sendResponseHeaders(200, 0);
+        try (OutputStream lBody = e.getResponseBody()) {
+          lBody.write('[');
+          for (int i = 0; i < 10000000; i++) {
+            lBody.write(("\"" + i + "\",").getBytes(StandardCharsets.UTF_8));
+          }
+          lBody.write("\"end\"]".getBytes(StandardCharsets.UTF_8));
+        }
+        catch (IOException ex) {
+          lAborted.countDown();
+        }
+      });
+      // Only one connection so that a response that is not released blocks all further requests.
+      RESTClientConfigurationImpl lConfiguration = createConfiguration(lServer);
+      ApacheHttpClientConfiguration lHttpClientConfiguration = new ApacheHttpClientConfiguration();
+      lHttpClientConfiguration.setMaxPoolSize(1);
+      lHttpClientConfiguration.setMaxPerRoute(1);
+      lHttpClientConfiguration.setConnectionRequestTimeout(5000);
+      lConfiguration.setHttpClientConfiguration(lHttpClientConfiguration);
+      lExecutor.configurations.put(String.class, lConfiguration);
+      ObjectType lStringType = ObjectType.createObjectType(String.class);
+
+      // Elements are available while the REST service is still sending the response.
+      List<String> lElements = new ArrayList<>();
+      try (Stream<String> lStream =
+          lExecutor.executeStreamingResultRequest(createRequest(HttpMethod.GET, "/products"), 200, lStringType)) {
+        Iterator<String> lIterator = lStream.iterator();
+        lElements.add(lIterator.next());
+        lElements.add(lIterator.next());
+        assertFalse(lCompleted.get());
+        lFirstPartRead.countDown();
+        lIterator.forEachRemaining(lElements::add);
+      }
+      assertEquals(Arrays.asList("A", "B", "C"), lElements);
+
+      // Closing the stream early closes the response instead of reading it up to its end.
+      try (Stream<String> lStream =
+          lExecutor.executeStreamingResultRequest(createRequest(HttpMethod.GET, "/large"), 200, lStringType)) {
+        assertEquals("0", lStream.iterator().next());
+      }
+      assertTrue(lAborted.await(10, TimeUnit.SECONDS));
+
+      // Connection was released so that further requests are possible.
+      try (Stream<String> lStream =
+          lExecutor.executeStreamingResultRequest(createRequest(HttpMethod.GET, "/products"), 200, lStringType)) {
+        assertEquals(3, lStream.count());
+      }
+      assertEquals(2, lServer.getRequestCount("/products"));
+    }
+  }
+
+  @Test
+  void testResponseCache( ) throws Exception {
+    try (StubServer lServer = new StubServer(); TestRequestExecutorImpl lExecutor = new TestRequestExecutorImpl()) {
+      lServer.setHandler("/fresh", e -> StubServer.respond(e, 200, "\"A\"", "Cache-Control", "max-age=60"));
+      // Response is stale immediately but can be revalidated.
+      lServer.setHandler("/stale", e -> {
+        if ("\"1\"".equals(e.getRequestHeaders().getFirst("If-None-Match"))) {
+          StubServer.respond(e, 304, null, "ETag", "\"1\"");
+        }
+        else {
+          StubServer.respond(e, 200, "\"B\"", "Cache-Control", "no-cache", "ETag", "\"1\"", "Last-Modified",
+              "Tue, 15 Nov 1994 12:45:26 GMT");
+        }
+      });
+      lServer.setHandler("/no-store", e -> StubServer.respond(e, 200, "\"C\"", "Cache-Control", "no-store"));
+      lServer.setHandler("/private", e -> StubServer.respond(e, 200, "\"D\"", "Cache-Control", "private, max-age=60"));
+      lServer.setHandler("/vary", e -> StubServer.respond(e, 200, "\"E\"", "Cache-Control", "max-age=60", "Vary", "*"));
+      lServer.setHandler("/authorized", e -> StubServer.respond(e, 200, "\"F\"", "Cache-Control", "max-age=60"));
+      RESTClientConfigurationImpl lConfiguration = createConfiguration(lServer);
+      ApacheHttpClientConfiguration lHttpClientConfiguration = new ApacheHttpClientConfiguration();
+      lHttpClientConfiguration.setResponseCacheSize(10);
+      lHttpClientConfiguration.setCacheDeserializedResponses(true);
+      lConfiguration.setHttpClientConfiguration(lHttpClientConfiguration);
+      lExecutor.configurations.put(String.class, lConfiguration);
+      InMemoryRESTMetricsRegistry lRegistry = new InMemoryRESTMetricsRegistry();
+      lExecutor.metricsRegistry = lRegistry;
+      ObjectType lStringType = ObjectType.createObjectType(String.class);
+
+      // Fresh responses are taken from the cache without calling the REST service. Headers that are not part of the
+      // cache key do not matter. Cache hits are recorded separately from calls of the REST service.
+      String lResult = lExecutor.executeSingleObjectResultRequest(createRequest(HttpMethod.GET, "/fresh"), 200,
+          lStringType);
+      assertEquals("A", lResult);
+      RESTRequest lRequest = RESTRequest
+          .builder(String.class, HttpMethod.GET, com.anaptecs.jeaf.rest.executor.api.ContentType.JSON)
+          .setPath("/fresh").setHeader("X-Request-ID", "4711").build();
+      assertSame(lResult, lExecutor.executeSingleObjectResultRequest(lRequest, 200, lStringType));
+      assertEquals(1, lServer.getRequestCount("/fresh"));
+      InMemoryRESTClientMetrics lMetrics = lRegistry.getClientMetrics(String.class, "/fresh");
+      assertEquals(1, lMetrics.getCalls().getCount());
+      assertEquals(1, lMetrics.getStatusCodeCount(200));
+      assertEquals(1, lMetrics.getCacheHits().getCount());
+
+      // Stale responses are revalidated. Confirmed responses are not deserialized again.
+      lResult = lExecutor.executeSingleObjectResultRequest(createRequest(HttpMethod.GET, "/stale"), 200, lStringType);
+      assertEquals("B", lResult);
+      assertSame(lResult,
+          lExecutor.executeSingleObjectResultRequest(createRequest(HttpMethod.GET, "/stale"), 200, lStringType));
+      assertEquals(2, lServer.getRequestCount("/stale"));
+      assertEquals(0, lRegistry.getClientMetrics(String.class, "/stale").getCacheHits().getCount());
+      assertNull(lServer.getRequests("/stale").get(0).getFirst("If-None-Match"));
+      assertEquals("\"1\"", lServer.getRequests("/stale").get(1).getFirst("If-None-Match"));
+      assertEquals("Tue, 15 Nov 1994 12:45:26 GMT", lServer.getRequests("/stale").get(1).getFirst("If-Modified-Since"));
+
+      // Responses that must not be stored by a shared cache.
+      for (String lNextPath : Arrays.asList("/no-store", "/private", "/vary")) {
+        for (int i = 0; i < 2; i++) {
+          lExecutor.executeSingleObjectResultRequest(createRequest(HttpMethod.GET, lNextPath), 200, lStringType);
+        }
+        assertEquals(2, lServer.getRequestCount(lNextPath), lNextPath);
+        assertNull(lServer.getRequests(lNextPath).get(1).getFirst("If-None-Match"), lNextPath);
+      }
+
+      // Responses to authorized requests are only stored if this is explicitly allowed by the REST service.
+      RESTRequest lAuthorizedRequest = RESTRequest
+          .builder(String.class, HttpMethod.GET, com.anaptecs.jeaf.rest.executor.api.ContentType.JSON)
+          .setPath("/authorized").setHeader("Authorization", "Bearer secret").build();
+      assertEquals("F", lExecutor.executeSingleObjectResultRequest(lAuthorizedRequest, 200, lStringType));
+      assertEquals("F", lExecutor.executeSingleObjectResultRequest(lAuthorizedRequest, 200, lStringType));
+      assertEquals(2, lServer.getRequestCount("/authorized"));
+    }
+  }
+
+  @Test
+  void testRequestCoalescing( ) throws Exception {
+    ExecutorService lThreadPool = Executors.newFixedThreadPool(8);
+    try (StubServer lServer = new StubServer(); TestRequestExecutorImpl lExecutor = new TestRequestExecutorImpl()) {
+      // REST service only responds once the test releases it.
+      CountDownLatch lReleaseProducts = new CountDownLatch(1);
+      CountDownLatch lReleaseError = new CountDownLatch(1);
+      lServer.setHandler("/products", e -> {
+        awaitRelease(lReleaseProducts);
+        StubServer.respond(e, 200, "\"A\"");
+      });
+      lServer.setHandler("/error", e -> {
+        awaitRelease(lReleaseError);
+        e.close();
+      });
+      RESTClientConfigurationImpl lConfiguration = createConfiguration(lServer);
+      ApacheHttpClientConfiguration lHttpClientConfiguration = new ApacheHttpClientConfiguration();
+      lHttpClientConfiguration.setRequestCoalescing(true);
+      lConfiguration.setHttpClientConfiguration(lHttpClientConfiguration);
+      lExecutor.configurations.put(String.class, lConfiguration);
+      CircuitBreaker lCircuitBreaker = lExecutor.resolveClientContext(String.class).getCircuitBreaker();
+
+      // All callers share the result of one request. Headers that are not part of the cache key like request ids do
+      // not prevent coalescing.
+      List<Future<String>> lResults =
+          executeConcurrently(lExecutor, createRequests("/products", 8), 7, lReleaseProducts, lThreadPool);
+      String lResult = lResults.get(0).get(10, TimeUnit.SECONDS);
+      assertEquals("A", lResult);
+      for (Future<String> lNextResult : lResults) {
+        assertSame(lResult, lNextResult.get(10, TimeUnit.SECONDS));
+      }
+      assertEquals(1, lServer.getRequestCount("/products"));
+
+      // Failure is recorded only once by the circuit breaker and all callers get the same exception.
+      List<Future<String>> lErrors =
+          executeConcurrently(lExecutor, createRequests("/error", 8), 7, lReleaseError, lThreadPool);
+      Throwable lException =
+          assertThrows(ExecutionException.class, ( ) -> lErrors.get(0).get(10, TimeUnit.SECONDS)).getCause();
+      assertTrue(lException instanceof IllegalStateException, "Unexpected exception " + lException);
+      for (Future<String> lNextResult : lErrors) {
+        assertSame(lException,
+            assertThrows(ExecutionException.class, ( ) -> lNextResult.get(10, TimeUnit.SECONDS)).getCause());
+      }
+      assertEquals(1, lServer.getRequestCount("/error"));
+      assertEquals(1, lCircuitBreaker.getMetrics().getNumberOfFailedCalls());
+      assertEquals(1, lCircuitBreaker.getMetrics().getNumberOfSuccessfulCalls());
+    }
+    finally {
+      lThreadPool.shutdownNow();
+    }
+  }
+
+  @Test
+  void testRequestCoalescingWithCredentials( ) throws Exception {
+    ExecutorService lThreadPool = Executors.newFixedThreadPool(8);
+    try (StubServer lServer = new StubServer(); TestRequestExecutorImpl lExecutor = new TestRequestExecutorImpl()) {
+      // REST service returns the credentials of the caller.
+      CountDownLatch lRelease = new CountDownLatch(1);
+      lServer.setHandler("/session", e -> {
+        awaitRelease(lRelease);
+        String lCredentials =
+            e.getRequestHeaders().getFirst("Cookie") + "/" + e.getRequestHeaders().getFirst("X-API-Key");
+        StubServer.respond(e, 200, "\"" + lCredentials + "\"");
+      });
+      RESTClientConfigurationImpl lConfiguration = createConfiguration(lServer);
+      lConfiguration.setSensitiveHeaders(Arrays.asList("Authorization", "X-API-Key"));
+      ApacheHttpClientConfiguration lHttpClientConfiguration = new ApacheHttpClientConfiguration();
+      lHttpClientConfiguration.setRequestCoalescing(true);
+      lConfiguration.setHttpClientConfiguration(lHttpClientConfiguration);
+      lExecutor.configurations.put(String.class, lConfiguration);
+
+      // Requests of different sessions or with different API keys are never coalesced. Each pair of identical
+      // requests still is.
+      List<String> lCredentials = Arrays.asList("session=1/key1", "session=2/key1", "session=1/key2");
+      List<RESTRequest> lRequests = new ArrayList<>();
+      for (String lNextCredentials : lCredentials) {
+        String[] lValues = lNextCredentials.split("/");
+        for (int i = 0; i < 2; i++) {
+          lRequests.add(RESTRequest
+              .builder(String.class, HttpMethod.GET, com.anaptecs.jeaf.rest.executor.api.ContentType.JSON)
+              .setPath("/session").setHeader("Cookie", lValues[0]).setHeader("X-API-Key", lValues[1]).build());
+        }
+      }
+      List<Future<String>> lResults = executeConcurrently(lExecutor, lRequests, 3, lRelease, lThreadPool);
+      for (int i = 0; i < lResults.size(); i++) {
+        assertEquals(lCredentials.get(i / 2), lResults.get(i).get(10, TimeUnit.SECONDS));
+      }
+      assertEquals(3, lServer.getRequestCount("/session"));
+    }
+    finally {
+      lThreadPool.shutdownNow();
+    }
+  }
+
+  @Test
+  void testHttp2RequestExecution( ) throws Exception {
+    // REST service only accepts HTTP/2 without upgrade (prior knowledge).
+    List<ProtocolVersion> lProtocolVersions = new CopyOnWriteArrayList<>();
+    HttpAsyncServer lServer = H2ServerBootstrap.bootstrap().setVersionPolicy(HttpVersionPolicy.FORCE_HTTP_2)
+        .register("*", new AsyncServerRequestHandler<Message<HttpRequest, String>>() {
+          @Override
+          public AsyncRequestConsumer<Message<HttpRequest, String>> prepare( HttpRequest pRequest,
+              EntityDetails pEntityDetails, HttpContext pContext ) {
+            return new BasicRequestConsumer<>(pEntityDetails != null ? new StringAsyncEntityConsumer() : null);
+          }
+
+          @Override
+          public void handle( Message<HttpRequest, String> pMessage, ResponseTrigger pResponseTrigger,
+              HttpContext pContext ) throws HttpException, IOException {
+            lProtocolVersions.add(pContext.getProtocolVersion());
+            String lPath = pMessage.getHead().getPath();
+            int lStatusCode = lPath.equals("/error") ? 500 : 200;
+            String lBody = lPath.equals("/products") ? "[\"A\",\"B\"]" : "\"" + pMessage.getHead().getMethod() + "\"";
+            pResponseTrigger.submitResponse(
+                new BasicResponseProducer(lStatusCode, lBody, ContentType.APPLICATION_JSON), pContext);
+          }
+        }).create();
+    lServer.start();
+    try (TestRequestExecutorImpl lExecutor = new TestRequestExecutorImpl()) {
+      ListenerEndpoint lEndpoint = lServer
+          .listen(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), URIScheme.HTTP).get(10, TimeUnit.SECONDS);
+      InetSocketAddress lAddress = (InetSocketAddress) lEndpoint.getAddress();
+      RESTClientConfigurationImpl lConfiguration = new RESTClientConfigurationImpl();
+      lConfiguration.setExternalServiceURL("http://" + lAddress.getHostString() + ":" + lAddress.getPort());
+      ApacheHttpClientConfiguration lHttpClientConfiguration = new ApacheHttpClientConfiguration();
+      lHttpClientConfiguration.setProtocolPolicy(ProtocolPolicy.HTTP_2);
+      lConfiguration.setHttpClientConfiguration(lHttpClientConfiguration);
+      lExecutor.configurations.put(String.class, lConfiguration);
+      ObjectType lStringType = ObjectType.createObjectType(String.class);
+
+      // Synchronous and asynchronous requests are multiplexed over the HTTP/2 connection.
+      assertEquals("GET",
+          lExecutor.executeSingleObjectResultRequest(createRequest(HttpMethod.GET, "/product"), 200, lStringType));
+      RESTRequest lPostRequest = RESTRequest
+          .builder(String.class, HttpMethod.POST, com.anaptecs.jeaf.rest.executor.api.ContentType.JSON)
+          .setPath("/product").setBody("A").build();
+      assertEquals("POST", lExecutor.executeSingleObjectResultRequest(lPostRequest, 200, lStringType));
+      assertEquals(Arrays.asList("A", "B"), lExecutor.executeCollectionResultRequestAsync(
+          createRequest(HttpMethod.GET, "/products"), 200, ArrayList.class, lStringType).get(10, TimeUnit.SECONDS));
+      assertThrows(IllegalStateException.class, ( ) -> lExecutor
+          .executeSingleObjectResultRequest(createRequest(HttpMethod.GET, "/error"), 200, lStringType));
+      assertEquals(4, lProtocolVersions.size());
+      for (ProtocolVersion lNextVersion : lProtocolVersions) {
+        assertEquals(HttpVersion.HTTP_2, lNextVersion);
+      }
+    }
+    finally {
+      lServer.close(CloseMode.IMMEDIATE);
+    }
+  }
+
+  /**
+   * Method creates GET requests with the passed path. Every request has its own request id.
+   */
+  private static List<RESTRequest> createRequests( String pPath, int pRequests ) {
+    List<RESTRequest> lRequests = new ArrayList<>();
+    for (int i = 0; i < pRequests; i++) {
+      lRequests.add(RESTRequest
+          .builder(String.class, HttpMethod.GET, com.anaptecs.jeaf.rest.executor.api.ContentType.JSON)
+          .setPath(pPath).setHeader("X-Request-ID", String.valueOf(i)).build());
+    }
+    return lRequests;
+  }
+
+  /**
+   * Method executes the passed requests concurrently. The passed latch is released as soon as the passed amount of
+   * requests wait for a request in flight.
+   */
+  private static List<Future<String>> executeConcurrently( TestRequestExecutorImpl pExecutor,
+      List<RESTRequest> pRequests, int pWaitingRequests, CountDownLatch pRelease, ExecutorService pThreadPool )
+    throws InterruptedException {
+    ObjectType lStringType = ObjectType.createObjectType(String.class);
+    List<Thread> lThreads = new CopyOnWriteArrayList<>();
+    List<Future<String>> lResults = new ArrayList<>();
+    for (RESTRequest lNextRequest : pRequests) {
+      lResults.add(pThreadPool.submit(( ) -> {
+        lThreads.add(Thread.currentThread());
+        return pExecutor.executeSingleObjectResultRequest(lNextRequest, 200, lStringType);
+      }));
+    }
+    long lTimeout = System.currentTimeMillis() + 10000;
+    while (countWaitingThreads(lThreads) < pWaitingRequests && System.currentTimeMillis() < lTimeout) {
+      Thread.sleep(10);
+    }
+    pRelease.countDown();
+    return lResults;
+  }
+
+  /**
+   * Method returns how many of the passed threads wait for a future.
+   */
+  private static int countWaitingThreads( List<Thread> pThreads ) {
+    int lWaiting = 0;
+    for (Thread lNextThread : pThreads) {
+      for (StackTraceElement lNextElement : lNextThread.getStackTrace()) {
+        if (lNextElement.getClassName().equals(CompletableFuture.class.getName())) {
+          lWaiting++;
+          break;
+        }
+      }
+    }
+    return lWaiting;
+  }
+
+  /**
+   * Method waits until the passed latch is released.
+   */
+  private static void awaitRelease( CountDownLatch pRelease ) {
+    try {
+      pRelease.await(10, TimeUnit.SECONDS);
+    }
+    catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  /**
+   * Method creates the configuration of a REST service that is provided by the passed server.
+   */
+  static RESTClientConfigurationImpl createConfiguration( StubServer pServer ) {
+    RESTClientConfigurationImpl lConfiguration = new RESTClientConfigurationImpl();
+    lConfiguration.setExternalServiceURL(pServer.getURL());
+    return lConfiguration;
+  }
 
+  /**
+   * Method creates a request to REST service String.
+   */
+  static RESTRequest createRequest( HttpMethod pMethod, String pPath ) {
+    return RESTRequest.builder(String.class, pMethod, com.anaptecs.jeaf.rest.executor.api.ContentType.JSON)
+        .setPath(pPath).build();
+  }
 }
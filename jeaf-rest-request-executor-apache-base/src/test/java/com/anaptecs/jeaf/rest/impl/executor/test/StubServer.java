@@ -0,0 +1,163 @@
+/**
+ * Copyright 2004 - 2022 anaptecs GmbH, Burgstr. 96, 72764 Reutlingen, Germany
+ *
+ * All rights reserved.
+ */
+package com.anaptecs.jeaf.rest.impl.executor.test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Class implements a simple in-process HTTP server for tests. Handlers are registered per path and all received
+ * requests are recorded.
+ *
+ * @author JEAF Development Team
+ */
+public final class StubServer implements AutoCloseable {
+  /**
+   * Underlying HTTP server of the JDK.
+   */
+  private final HttpServer httpServer;
+
+  /**
+   * Threads that are used to process requests.
+   */
+  private final ExecutorService executor;
+
+  /**
+   * Handlers per path.
+   */
+  private final Map<String, HttpHandler> handlers = new ConcurrentHashMap<>();
+
+  /**
+   * Headers of all received requests per path.
+   */
+  private final Map<String, List<Headers>> requests = new ConcurrentHashMap<>();
+
+  /**
+   * Initialize object and start server on a free port of the loopback interface.
+   */
+  public StubServer( ) throws IOException {
+    httpServer = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+    httpServer.createContext("/", new HttpHandler() {
+      @Override
+      public void handle( HttpExchange pExchange ) throws IOException {
+        StubServer.this.handle(pExchange);
+      }
+    });
+    executor = Executors.newCachedThreadPool();
+    httpServer.setExecutor(executor);
+    httpServer.start();
+  }
+
+  /**
+   * Method returns the URL under which the server can be reached.
+   *
+   * @return String URL of the server. The method never returns null.
+   */
+  public String getURL( ) {
+    InetSocketAddress lAddress = httpServer.getAddress();
+    return "http://" + lAddress.getHostString() + ":" + lAddress.getPort();
+  }
+
+  /**
+   * Method registers the handler for the passed path.
+   *
+   * @param pPath Path for which the handler should be called. The parameter must not be null.
+   * @param pHandler Handler that processes the requests. The request body is already consumed. The parameter must not
+   * be null.
+   */
+  public void setHandler( String pPath, HttpHandler pHandler ) {
+    handlers.put(pPath, pHandler);
+  }
+
+  /**
+   * Method returns the amount of requests that were received for the passed path.
+   *
+   * @param pPath Path of the requests. The parameter must not be null.
+   * @return int Amount of received requests.
+   */
+  public int getRequestCount( String pPath ) {
+    return this.getRequests(pPath).size();
+  }
+
+  /**
+   * Method returns the headers of all requests that were received for the passed path.
+   *
+   * @param pPath Path of the requests. The parameter must not be null.
+   * @return {@link List} Headers of all requests in the order in which they were received. The method never returns
+   * null.
+   */
+  public List<Headers> getRequests( String pPath ) {
+    return requests.computeIfAbsent(pPath, p -> new CopyOnWriteArrayList<>());
+  }
+
+  /**
+   * Method sends the passed JSON response.
+   *
+   * @param pExchange Exchange to which the response belongs. The parameter must not be null.
+   * @param pStatusCode Status code of the response.
+   * @param pBody JSON body of the response. The parameter may be null.
+   * @param pHeaders Additional response headers as name value pairs.
+   */
+  public static void respond( HttpExchange pExchange, int pStatusCode, String pBody, String... pHeaders )
+    throws IOException {
+    for (int i = 0; i + 1 < pHeaders.length; i += 2) {
+      pExchange.getResponseHeaders().add(pHeaders[i], pHeaders[i + 1]);
+    }
+    if (pBody != null) {
+      byte[] lBody = pBody.getBytes(StandardCharsets.UTF_8);
+      pExchange.getResponseHeaders().add("Content-Type", "application/json");
+      pExchange.sendResponseHeaders(pStatusCode, lBody.length);
+      try (OutputStream lResponseBody = pExchange.getResponseBody()) {
+        lResponseBody.write(lBody);
+      }
+    }
+    else {
+      pExchange.sendResponseHeaders(pStatusCode, -1);
+      pExchange.close();
+    }
+  }
+
+  private void handle( HttpExchange pExchange ) throws IOException {
+    // Requests are recorded before their body is read so that also requests with an incomplete body are counted.
+    String lPath = pExchange.getRequestURI().getPath();
+    this.getRequests(lPath).add(pExchange.getRequestHeaders());
+    // Request body is not relevant but it has to be consumed completely.
+    try (InputStream lRequestBody = pExchange.getRequestBody()) {
+      lRequestBody.transferTo(OutputStream.nullOutputStream());
+    }
+    HttpHandler lHandler = handlers.get(lPath);
+    if (lHandler != null) {
+      lHandler.handle(pExchange);
+    }
+    else {
+      respond(pExchange, 404, null);
+    }
+  }
+
+  /**
+   * Method stops the server.
+   */
+  @Override
+  public void close( ) {
+    httpServer.stop(0);
+    executor.shutdownNow();
+  }
+}
@@ -5,12 +5,29 @@
  */
 package com.anaptecs.jeaf.rest.impl.executor.test;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.hc.client5.http.impl.classic.CloseableHttpResponse;
+import org.apache.hc.core5.http.ClassicHttpResponse;
+import org.apache.hc.core5.http.HttpEntity;
 
 import com.anaptecs.jeaf.rest.executor.impl.apache.AbstractApacheHttpClientRESTRequestExecutorBase;
+import com.anaptecs.jeaf.rest.executor.impl.apache.ServiceClientContext;
+import com.anaptecs.jeaf.rest.executor.impl.codec.BodyCodec;
+import com.anaptecs.jeaf.rest.executor.impl.config.ApacheHttpClientConfiguration;
 import com.anaptecs.jeaf.rest.executor.impl.config.RESTClientConfiguration;
+import com.anaptecs.jeaf.rest.executor.impl.config.RESTClientConfigurationImpl;
+import com.anaptecs.jeaf.rest.executor.impl.metrics.PoolResizeDecision;
+import com.anaptecs.jeaf.rest.executor.impl.metrics.RESTMetricsRegistry;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 public class TestRequestExecutorImpl extends AbstractApacheHttpClientRESTRequestExecutorBase {
@@ -26,34 +43,39 @@ public class TestRequestExecutorImpl extends AbstractApacheHttpClientRESTRequest
 
   public boolean responseTracingEnabled;
 
+  public AtomicInteger configurationLoads = new AtomicInteger();
+
+  public List<PoolResizeDecision> reportedPoolResizes = new CopyOnWriteArrayList<>();
+
+  public ObjectMapper objectMapper = new ObjectMapper();
+
+  public Map<Class<?>, RESTClientConfiguration> configurations = new ConcurrentHashMap<>();
+
+  public RESTMetricsRegistry metricsRegistry = RESTMetricsRegistry.NOOP;
+
   @Override
   protected ObjectMapper getObjectMapper( ) {
-    // TODO Auto-generated method stub
-    return null;
+    return objectMapper;
   }
 
   @Override
   protected boolean isRequestTracingEnabled( RESTClientConfiguration pConfiguration ) {
-    // TODO Auto-generated method stub
-    return false;
+    return requestTracingEnabled;
   }
 
   @Override
   protected boolean isResponseTracingEnabled( RESTClientConfiguration pConfiguration ) {
-    // TODO Auto-generated method stub
-    return false;
+    return responseTracingEnabled;
   }
 
   @Override
   protected void traceRequest( String pRequestLog ) {
-    // TODO Auto-generated method stub
-
+    tracedRequest = pRequestLog;
   }
 
   @Override
   protected void traceResponse( String pResponseLog ) {
-    // TODO Auto-generated method stub
-
+    tracedResponse = pResponseLog;
   }
 
   @Override
@@ -63,21 +85,79 @@ public class TestRequestExecutorImpl extends AbstractApacheHttpClientRESTRequest
   }
 
   @Override
-  protected RuntimeException processErrorResponse( URI pRequestURI, CloseableHttpResponse pResponse ) {
-    // TODO Auto-generated method stub
-    return null;
+  protected RuntimeException processErrorResponse( URI pRequestURI, ClassicHttpResponse pResponse ) {
+    return new IllegalStateException("Status " + pResponse.getCode() + " for " + pRequestURI);
   }
 
   @Override
   protected RuntimeException processInternalServerError( URI pRequestURI, Exception pException, String pContext ) {
-    // TODO Auto-generated method stub
-    return null;
+    return new IllegalStateException(pContext, pException);
   }
 
   @Override
   protected RESTClientConfiguration getConfiguration( Class<?> pServiceClass ) {
-    // TODO Auto-generated method stub
-    return null;
+    configurationLoads.incrementAndGet();
+    RESTClientConfiguration lPreparedConfiguration = configurations.get(pServiceClass);
+    if (lPreparedConfiguration != null) {
+      return lPreparedConfiguration;
+    }
+    RESTClientConfigurationImpl lConfiguration = new RESTClientConfigurationImpl();
+    lConfiguration.setExternalServiceURL("http://localhost:8099");
+
+    // Pool of service Long is adapted but only when the test triggers it.
+    if (pServiceClass == Long.class) {
+      ApacheHttpClientConfiguration lHttpClientConfiguration = new ApacheHttpClientConfiguration();
+      lHttpClientConfiguration.setAdaptivePoolSizing(true);
+      lHttpClientConfiguration.setAdaptivePoolSizingInterval(Integer.MAX_VALUE);
+      lConfiguration.setHttpClientConfiguration(lHttpClientConfiguration);
+    }
+    // Service Short prefers CBOR but also requests a content type for which no codec exists.
+    else if (pServiceClass == Short.class) {
+      ApacheHttpClientConfiguration lHttpClientConfiguration = new ApacheHttpClientConfiguration();
+      lHttpClientConfiguration.setBodyContentTypes(Arrays.asList("application/cbor", "application/xml"));
+      lConfiguration.setHttpClientConfiguration(lHttpClientConfiguration);
+    }
+    return lConfiguration;
+  }
+
+  @Override
+  protected RESTMetricsRegistry getMetricsRegistry( Class<?> pServiceClass ) {
+    return metricsRegistry;
+  }
+
+  @Override
+  protected void reportPoolResize( PoolResizeDecision pDecision ) {
+    reportedPoolResizes.add(pDecision);
+  }
+
+  public ServiceClientContext resolveClientContext( Class<?> pServiceClass ) {
+    return this.getClientContext(pServiceClass);
+  }
+
+  public String readContent( InputStream pInputStream ) throws IOException {
+    return this.getContent(pInputStream);
+  }
+
+  public String readContent( HttpEntity pEntity ) throws IOException {
+    return this.getContent(pEntity);
+  }
+
+  public String resolvePathTemplate( String pPath ) {
+    return this.getPathTemplate(String.class, pPath);
+  }
+
+  public PoolResizeDecision resizePool( Class<?> pServiceClass ) {
+    return this.resizeConnectionPool(pServiceClass);
+  }
+
+  public List<BodyCodec> resolveBodyCodecs( ) {
+    return this.getBodyCodecs();
+  }
+
+  @SuppressWarnings("deprecation")
+  public void traceLegacyResponse( CloseableHttpResponse pResponse, URI pRequestURI, String pBody,
+      RESTClientConfiguration pConfiguration ) throws URISyntaxException, IOException {
+    this.traceResponse(pResponse, pRequestURI, pBody, pConfiguration);
   }
 
 }
@@ -9,6 +9,8 @@ import java.util.List;
 
 import com.anaptecs.jeaf.rest.executor.impl.config.ApacheHttpClientConfiguration;
 import com.anaptecs.jeaf.rest.executor.impl.config.CircuitBreakerConfiguration;
+import com.anaptecs.jeaf.rest.executor.impl.config.PoolSizingPolicy;
+import com.anaptecs.jeaf.rest.executor.impl.config.ProtocolPolicy;
 import com.anaptecs.jeaf.rest.executor.impl.config.RESTClientConfiguration;
 import com.anaptecs.jeaf.rest.executor.impl.config.RESTClientConfigurationImpl;
 import com.anaptecs.jeaf.xfun.api.XFun;
@@ -73,6 +75,101 @@ public class PropertiesBasedRESTClientConfigurationLoader {
         .getMaxIdleConnections(), Integer.class);
     lHttpClientConfig.setMaxIdleConnections(lMaxIdleConnections);
 
+    // Set max connections per route. Deprecated max idle connections are used if it is not configured.
+    int lMaxPerRoute = lResourceConfig.getConfigurationValue("maxPerRoute", lHttpClientConfig
+        .getMaxPerRoute(), Integer.class);
+    lHttpClientConfig.setMaxPerRoute(lMaxPerRoute);
+
+    // Set max idle time
+    int lMaxIdleTime = lResourceConfig.getConfigurationValue("maxIdleTime", lHttpClientConfig
+        .getMaxIdleTime(), Integer.class);
+    lHttpClientConfig.setMaxIdleTime(lMaxIdleTime);
+
+    // Set eviction of expired connections
+    boolean lEvictExpiredConnections = lResourceConfig.getConfigurationValue("evictExpiredConnections",
+        lHttpClientConfig.isEvictExpiredConnections(), Boolean.class);
+    lHttpClientConfig.setEvictExpiredConnections(lEvictExpiredConnections);
+
+    // Set protocol policy
+    String lProtocolPolicy = lResourceConfig.getConfigurationValue("protocolPolicy", lHttpClientConfig
+        .getProtocolPolicy().name(), String.class);
+    lHttpClientConfig.setProtocolPolicy(ProtocolPolicy.valueOf(lProtocolPolicy));
+
+    // Set max concurrent streams
+    int lMaxConcurrentStreams = lResourceConfig.getConfigurationValue("maxConcurrentStreams", lHttpClientConfig
+        .getMaxConcurrentStreams(), Integer.class);
+    lHttpClientConfig.setMaxConcurrentStreams(lMaxConcurrentStreams);
+
+    // Set HTTP/2 connection count
+    int lHttp2ConnectionCount = lResourceConfig.getConfigurationValue("http2ConnectionCount", lHttpClientConfig
+        .getHttp2ConnectionCount(), Integer.class);
+    lHttpClientConfig.setHttp2ConnectionCount(lHttp2ConnectionCount);
+
+    // Set accepted content encodings
+    List<String> lAcceptEncodings = lResourceConfig.getConfigurationValueList("acceptEncodings",
+        lHttpClientConfig.getAcceptEncodings(), String.class);
+    lHttpClientConfig.setAcceptEncodings(lAcceptEncodings);
+
+    // Set request encoding
+    String lRequestEncoding = lResourceConfig.getConfigurationValue("requestEncoding", lHttpClientConfig
+        .getRequestEncoding(), String.class);
+    lHttpClientConfig.setRequestEncoding(lRequestEncoding);
+
+    // Set request compression threshold
+    int lRequestCompressionThreshold = lResourceConfig.getConfigurationValue("requestCompressionThreshold",
+        lHttpClientConfig.getRequestCompressionThreshold(), Integer.class);
+    lHttpClientConfig.setRequestCompressionThreshold(lRequestCompressionThreshold);
+
+    // Set content types of request and response bodies
+    List<String> lBodyContentTypes = lResourceConfig.getConfigurationValueList("bodyContentTypes",
+        lHttpClientConfig.getBodyContentTypes(), String.class);
+    lHttpClientConfig.setBodyContentTypes(lBodyContentTypes);
+
+    // Set size of cookie header cache
+    int lCookieHeaderCacheSize = lResourceConfig.getConfigurationValue("cookieHeaderCacheSize", lHttpClientConfig
+        .getCookieHeaderCacheSize(), Integer.class);
+    lHttpClientConfig.setCookieHeaderCacheSize(lCookieHeaderCacheSize);
+
+    // Set sampling rate of tracing
+    int lTraceSamplingRate = lResourceConfig.getConfigurationValue("traceSamplingRate", lHttpClientConfig
+        .getTraceSamplingRate(), Integer.class);
+    lHttpClientConfig.setTraceSamplingRate(lTraceSamplingRate);
+
+    // Set name of trace header
+    String lTraceHeaderName = lResourceConfig.getConfigurationValue("traceHeaderName", lHttpClientConfig
+        .getTraceHeaderName(), String.class);
+    lHttpClientConfig.setTraceHeaderName(lTraceHeaderName);
+
+    // Set maximum size of traced bodies
+    int lMaxTracedBodySize = lResourceConfig.getConfigurationValue("maxTracedBodySize", lHttpClientConfig
+        .getMaxTracedBodySize(), Integer.class);
+    lHttpClientConfig.setMaxTracedBodySize(lMaxTracedBodySize);
+
+    // Set size of response cache
+    int lResponseCacheSize = lResourceConfig.getConfigurationValue("responseCacheSize", lHttpClientConfig
+        .getResponseCacheSize(), Integer.class);
+    lHttpClientConfig.setResponseCacheSize(lResponseCacheSize);
+
+    // Set maximum size of response cache in bytes
+    int lResponseCacheMaxBytes = lResourceConfig.getConfigurationValue("responseCacheMaxBytes", lHttpClientConfig
+        .getResponseCacheMaxBytes(), Integer.class);
+    lHttpClientConfig.setResponseCacheMaxBytes(lResponseCacheMaxBytes);
+
+    // Set caching of deserialized responses
+    boolean lCacheDeserializedResponses = lResourceConfig.getConfigurationValue("cacheDeserializedResponses",
+        lHttpClientConfig.isCacheDeserializedResponses(), Boolean.class);
+    lHttpClientConfig.setCacheDeserializedResponses(lCacheDeserializedResponses);
+
+    // Set request headers that are part of the cache key
+    List<String> lResponseCacheKeyHeaders = lResourceConfig.getConfigurationValueList("responseCacheKeyHeaders",
+        lHttpClientConfig.getResponseCacheKeyHeaders(), String.class);
+    lHttpClientConfig.setResponseCacheKeyHeaders(lResponseCacheKeyHeaders);
+
+    // Set coalescing of requests
+    boolean lRequestCoalescing = lResourceConfig.getConfigurationValue("requestCoalescing", lHttpClientConfig
+        .isRequestCoalescing(), Boolean.class);
+    lHttpClientConfig.setRequestCoalescing(lRequestCoalescing);
+
     // Set keep alive duration
     int lKeepAliveDuration = lResourceConfig.getConfigurationValue("keepAliveDuration", lHttpClientConfig
         .getKeepAliveDuration(), Integer.class);
@@ -108,6 +205,36 @@ public class PropertiesBasedRESTClientConfigurationLoader {
         .getConnectionRequestTimeout(), Integer.class);
     lHttpClientConfig.setConnectionRequestTimeout(lConnectionRequestTimeout);
 
+    // Set pool sizing policy
+    String lPoolSizingPolicy = lResourceConfig.getConfigurationValue("poolSizingPolicy", lHttpClientConfig
+        .getPoolSizingPolicy().name(), String.class);
+    lHttpClientConfig.setPoolSizingPolicy(PoolSizingPolicy.valueOf(lPoolSizingPolicy));
+
+    // Set admission timeout
+    int lAdmissionTimeout = lResourceConfig.getConfigurationValue("admissionTimeout", lHttpClientConfig
+        .getAdmissionTimeout(), Integer.class);
+    lHttpClientConfig.setAdmissionTimeout(lAdmissionTimeout);
+
+    // Set threshold of pending leases
+    int lPendingLeasesThreshold = lResourceConfig.getConfigurationValue("pendingLeasesThreshold", lHttpClientConfig
+        .getPendingLeasesThreshold(), Integer.class);
+    lHttpClientConfig.setPendingLeasesThreshold(lPendingLeasesThreshold);
+
+    // Set adaptive pool sizing
+    boolean lAdaptivePoolSizing = lResourceConfig.getConfigurationValue("adaptivePoolSizing", lHttpClientConfig
+        .isAdaptivePoolSizing(), Boolean.class);
+    lHttpClientConfig.setAdaptivePoolSizing(lAdaptivePoolSizing);
+
+    // Set minimum pool size
+    int lMinPoolSize = lResourceConfig.getConfigurationValue("minPoolSize", lHttpClientConfig
+        .getMinPoolSize(), Integer.class);
+    lHttpClientConfig.setMinPoolSize(lMinPoolSize);
+
+    // Set adaptive pool sizing interval
+    int lAdaptivePoolSizingInterval = lResourceConfig.getConfigurationValue("adaptivePoolSizingInterval",
+        lHttpClientConfig.getAdaptivePoolSizingInterval(), Integer.class);
+    lHttpClientConfig.setAdaptivePoolSizingInterval(lAdaptivePoolSizingInterval);
+
     lRESTClientConfig.setHttpClientConfiguration(lHttpClientConfig);
 
     // Create Resilience4J configuration
@@ -7,10 +7,12 @@ package com.anaptecs.jeaf.rest.executor.impl.apache.jeaf;
 
 import java.io.IOException;
 import java.net.URI;
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
-import org.apache.hc.client5.http.impl.classic.CloseableHttpResponse;
+import org.apache.hc.core5.http.ClassicHttpResponse;
 import org.apache.hc.core5.http.ContentType;
 import org.apache.hc.core5.http.HttpEntity;
 
@@ -23,6 +25,13 @@ import com.anaptecs.jeaf.rest.executor.api.RESTRequestExecutor;
 import com.anaptecs.jeaf.rest.executor.api.jeaf.RESTRequestExecutorServiceProvider;
 import com.anaptecs.jeaf.rest.executor.impl.apache.AbstractApacheHttpClientRESTRequestExecutorBase;
 import com.anaptecs.jeaf.rest.executor.impl.config.RESTClientConfiguration;
+import com.anaptecs.jeaf.rest.executor.impl.metrics.ConnectionPoolStatistics;
+import com.anaptecs.jeaf.rest.executor.impl.metrics.InMemoryRESTMetricsRegistry;
+import com.anaptecs.jeaf.rest.executor.impl.metrics.PoolResizeDecision;
+import com.anaptecs.jeaf.rest.executor.impl.metrics.RESTMetricsRegistry;
+import com.anaptecs.jeaf.rest.executor.impl.trace.AsyncTraceSink;
+import com.anaptecs.jeaf.rest.executor.impl.trace.RequestTraceEvent;
+import com.anaptecs.jeaf.rest.executor.impl.trace.ResponseTraceEvent;
 import com.anaptecs.jeaf.tools.api.http.HTTPStatusCode;
 import com.anaptecs.jeaf.xfun.api.XFun;
 import com.anaptecs.jeaf.xfun.api.common.ComponentID;
@@ -37,6 +46,15 @@ import com.fasterxml.jackson.databind.ObjectMapper;
  * Configurations are read from YAML files via the classpath. The configuration file must have the lower case simple
  * name of the service.
  * 
+ * Metrics about all calls are kept in memory as X-Fun does not provide a metrics API. They can be accessed through
+ * {@link #getMetricsRegistry()}.
+ * 
+ * The health check reports a warning for every REST service whose connection pool is saturated, which means that more
+ * requests are waiting for a connection than defined by {@link RESTClientConfiguration#getPendingLeasesThreshold()}.
+ * 
+ * Request and response traces are written asynchronously by a background thread ({@link AsyncTraceSink}) so that slow
+ * tracing does not delay REST calls. Traces that do not fit into its buffer are dropped.
+ * 
  * @author JEAF Development Team
  */
 public class RESTRequestExecutorServiceProviderImpl extends AbstractApacheHttpClientRESTRequestExecutorBase implements
@@ -63,11 +81,39 @@ public class RESTRequestExecutorServiceProviderImpl extends AbstractApacheHttpCl
   /**
    * Map contains all loaded configurations. Configurations will only be loaded on demand.
    */
-  private Map<Class<?>, RESTClientConfiguration> configurations = new HashMap<>();
+  private final Map<Class<?>, RESTClientConfiguration> configurations = new ConcurrentHashMap<>();
+
+  /**
+   * Registry that keeps the metrics of all REST services that were called.
+   */
+  private final InMemoryRESTMetricsRegistry metricsRegistry = new InMemoryRESTMetricsRegistry();
+
+  /**
+   * Sink through which request and response traces are written. Events are only formatted on the background thread.
+   */
+  private final AsyncTraceSink traceSink =
+      new AsyncTraceSink("jeaf-rest-trace", AsyncTraceSink.DEFAULT_CAPACITY, e -> TRACE.info(e.toString()));
 
   @Override
   public HealthCheckResult check( CheckLevel pLevel ) {
-    return null;
+    // Connection pools that are saturated degrade the health of this component but do not make it fail.
+    List<String> lWarnings = new ArrayList<>();
+    for (ConnectionPoolStatistics lNextStatistics : this.getConnectionPoolStatistics()) {
+      if (lNextStatistics.isSaturated()) {
+        String lMessage = "Connection pool of REST service " + lNextStatistics.toString() + " is saturated. More than "
+            + lNextStatistics.getPendingLeasesThreshold() + " requests are waiting for a connection.";
+        TRACE.warn(lMessage);
+        lWarnings.add(lMessage);
+      }
+    }
+    HealthCheckResult lResult;
+    if (lWarnings.isEmpty()) {
+      lResult = null;
+    }
+    else {
+      lResult = new HealthCheckResult(pLevel, new ArrayList<>(), lWarnings);
+    }
+    return lResult;
   }
 
   @Override
@@ -80,6 +126,26 @@ public class RESTRequestExecutorServiceProviderImpl extends AbstractApacheHttpCl
     return JSON.getJSONTools().getDefaultObjectMapper();
   }
 
+  /**
+   * Method returns the registry that contains the metrics of all REST services that were called so far.
+   * 
+   * @return {@link InMemoryRESTMetricsRegistry} Registry with the metrics of all called REST services. The method never
+   * returns null.
+   */
+  public InMemoryRESTMetricsRegistry getMetricsRegistry( ) {
+    return metricsRegistry;
+  }
+
+  @Override
+  protected RESTMetricsRegistry getMetricsRegistry( Class<?> pServiceClass ) {
+    return metricsRegistry;
+  }
+
+  @Override
+  protected void reportPoolResize( PoolResizeDecision pDecision ) {
+    TRACE.info(pDecision.toString());
+  }
+
   @Override
   protected boolean isRequestTracingEnabled( RESTClientConfiguration pConfiguration ) {
     return pConfiguration.traceRequests() && TRACE.isInfoEnabled();
@@ -100,14 +166,46 @@ public class RESTRequestExecutorServiceProviderImpl extends AbstractApacheHttpCl
     TRACE.info(pResponseLog);
   }
 
+  @Override
+  protected void traceRequest( RequestTraceEvent pEvent ) {
+    traceSink.offer(pEvent);
+  }
+
+  @Override
+  protected void traceResponse( ResponseTraceEvent pEvent ) {
+    traceSink.offer(pEvent);
+  }
+
+  /**
+   * Method returns the amount of request and response traces that were dropped as they could not be written fast
+   * enough.
+   * 
+   * @return long Amount of dropped traces.
+   */
+  public long getDroppedTraceEvents( ) {
+    return traceSink.getDroppedEvents();
+  }
+
+  @Override
+  public void close( ) {
+    super.close();
+    // Write traces that are still buffered.
+    traceSink.close();
+  }
+
   @Override
   protected void traceException( String pErrorMessage, Exception pException ) {
     TRACE.error(pErrorMessage, pException);
   }
 
   @Override
-  protected synchronized RESTClientConfiguration getConfiguration( Class<?> pServiceClass ) {
-    return configurations.computeIfAbsent(pServiceClass, s -> this.loadConfiguration(pServiceClass));
+  protected RESTClientConfiguration getConfiguration( Class<?> pServiceClass ) {
+    // Configurations are only loaded once so in most cases a simple lookup is sufficient.
+    RESTClientConfiguration lConfiguration = configurations.get(pServiceClass);
+    if (lConfiguration == null) {
+      lConfiguration = configurations.computeIfAbsent(pServiceClass, s -> this.loadConfiguration(pServiceClass));
+    }
+    return lConfiguration;
   }
 
   private RESTClientConfiguration loadConfiguration( Class<?> pServiceClass ) {
@@ -117,13 +215,13 @@ public class RESTRequestExecutorServiceProviderImpl extends AbstractApacheHttpCl
   }
 
   @Override
-  protected RuntimeException processErrorResponse( URI pRequestURI, CloseableHttpResponse pResponse ) {
+  protected RuntimeException processErrorResponse( URI pRequestURI, ClassicHttpResponse pResponse ) {
     // Try to read error response from body
     String lResponseBody;
     HttpEntity lEntity = pResponse.getEntity();
     if (lEntity != null && lEntity.getContentLength() > 0) {
       try {
-        lResponseBody = this.getContent(pResponse.getEntity().getContent());
+        lResponseBody = this.getContent(lEntity);
       }
       catch (IOException e) {
         lResponseBody = "Unable to read error response body. " + e.getMessage();
@@ -7,14 +7,15 @@ package com.anaptecs.jeaf.rest.executor.impl.apache.spring;
 
 import java.io.IOException;
 import java.net.URI;
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
-import org.apache.hc.client5.http.impl.classic.CloseableHttpResponse;
+import org.apache.hc.core5.http.ClassicHttpResponse;
 import org.apache.hc.core5.http.ContentType;
 import org.apache.hc.core5.http.HttpEntity;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Component;
@@ -27,8 +28,15 @@ import org.zalando.problem.spring.web.advice.HttpStatusAdapter;
 import com.anaptecs.jeaf.rest.executor.api.RESTRequestExecutor;
 import com.anaptecs.jeaf.rest.executor.impl.apache.AbstractApacheHttpClientRESTRequestExecutorBase;
 import com.anaptecs.jeaf.rest.executor.impl.config.RESTClientConfiguration;
+import com.anaptecs.jeaf.rest.executor.impl.metrics.PoolResizeDecision;
+import com.anaptecs.jeaf.rest.executor.impl.metrics.RESTMetricsRegistry;
+import com.anaptecs.jeaf.rest.executor.impl.trace.AsyncTraceSink;
+import com.anaptecs.jeaf.rest.executor.impl.trace.RequestTraceEvent;
+import com.anaptecs.jeaf.rest.executor.impl.trace.ResponseTraceEvent;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import io.micrometer.core.instrument.MeterRegistry;
+
 /**
  * Class implements a {@link RESTRequestExecutor} that is based on Apache HTTP Client and Resilience4J circuit breaker.
  * Configurations are read from YAML files via the classpath. The configuration file must have the lower case simple
@@ -36,10 +44,17 @@ import com.fasterxml.jackson.databind.ObjectMapper;
  * 
  * Zalando Problem library is used for JSON Problem handling.
  * 
+ * If a Micrometer {@link MeterRegistry} is available in the application context then metrics about all calls are
+ * recorded using {@link MicrometerRESTMetricsRegistry}.
+ * 
+ * Request and response traces are written asynchronously by a background thread ({@link AsyncTraceSink}) so that slow
+ * logging does not delay REST calls. Traces that do not fit into its buffer are dropped.
+ * 
  * @author JEAF Development Team
  */
 @Component
-public class ApacheSpringHttpClientRESTRequestExecutor extends AbstractApacheHttpClientRESTRequestExecutorBase {
+public class ApacheSpringHttpClientRESTRequestExecutor extends AbstractApacheHttpClientRESTRequestExecutorBase
+    implements DisposableBean {
   /**
    * Logger for this class.
    */
@@ -48,7 +63,14 @@ public class ApacheSpringHttpClientRESTRequestExecutor extends AbstractApacheHtt
   /**
    * Map contains all loaded configurations. Configurations will only be loaded on demand.
    */
-  private Map<Class<?>, RESTClientConfiguration> configurations = new HashMap<>();
+  private final Map<Class<?>, RESTClientConfiguration> configurations = new ConcurrentHashMap<>();
+
+  /**
+   * Sink through which request and response traces are written. Events are only formatted by SLF4J on the background
+   * thread.
+   */
+  private final AsyncTraceSink traceSink =
+      new AsyncTraceSink("jeaf-rest-trace", AsyncTraceSink.DEFAULT_CAPACITY, e -> LOGGER.info("{}", e));
 
   /**
    * Object mapper is used for serialization and deserialization of objects from Java to JSON and vice versa.
@@ -56,11 +78,35 @@ public class ApacheSpringHttpClientRESTRequestExecutor extends AbstractApacheHtt
   @Autowired
   private ObjectMapper objectMapper;
 
+  /**
+   * Micrometer registry to which metrics about all calls are recorded. Metrics are only recorded if a registry is
+   * available.
+   */
+  @Autowired(required = false)
+  private MeterRegistry meterRegistry;
+
   @Override
   protected ObjectMapper getObjectMapper( ) {
     return objectMapper;
   }
 
+  @Override
+  protected RESTMetricsRegistry getMetricsRegistry( Class<?> pServiceClass ) {
+    RESTMetricsRegistry lMetricsRegistry;
+    if (meterRegistry != null) {
+      lMetricsRegistry = new MicrometerRESTMetricsRegistry(meterRegistry);
+    }
+    else {
+      lMetricsRegistry = RESTMetricsRegistry.NOOP;
+    }
+    return lMetricsRegistry;
+  }
+
+  @Override
+  protected void reportPoolResize( PoolResizeDecision pDecision ) {
+    LOGGER.info(pDecision.toString());
+  }
+
   @Override
   protected boolean isRequestTracingEnabled( RESTClientConfiguration pConfiguration ) {
     return pConfiguration.traceRequests() && LOGGER.isInfoEnabled();
@@ -81,14 +127,51 @@ public class ApacheSpringHttpClientRESTRequestExecutor extends AbstractApacheHtt
     LOGGER.info(pResponseLog);
   }
 
+  @Override
+  protected void traceRequest( RequestTraceEvent pEvent ) {
+    traceSink.offer(pEvent);
+  }
+
+  @Override
+  protected void traceResponse( ResponseTraceEvent pEvent ) {
+    traceSink.offer(pEvent);
+  }
+
+  /**
+   * Method returns the amount of request and response traces that were dropped as they could not be written fast
+   * enough.
+   * 
+   * @return long Amount of dropped traces.
+   */
+  public long getDroppedTraceEvents( ) {
+    return traceSink.getDroppedEvents();
+  }
+
+  @Override
+  public void destroy( ) {
+    this.close();
+  }
+
+  @Override
+  public void close( ) {
+    super.close();
+    // Write traces that are still buffered.
+    traceSink.close();
+  }
+
   @Override
   protected void traceException( String pErrorMessage, Exception pException ) {
     LOGGER.error(pErrorMessage, pException);
   }
 
   @Override
-  protected synchronized RESTClientConfiguration getConfiguration( Class<?> pServiceClass ) {
-    return configurations.computeIfAbsent(pServiceClass, s -> this.loadConfiguration(pServiceClass));
+  protected RESTClientConfiguration getConfiguration( Class<?> pServiceClass ) {
+    // Configurations are only loaded once so in most cases a simple lookup is sufficient.
+    RESTClientConfiguration lConfiguration = configurations.get(pServiceClass);
+    if (lConfiguration == null) {
+      lConfiguration = configurations.computeIfAbsent(pServiceClass, s -> this.loadConfiguration(pServiceClass));
+    }
+    return lConfiguration;
   }
 
   private RESTClientConfiguration loadConfiguration( Class<?> pServiceClass ) {
@@ -98,14 +181,14 @@ public class ApacheSpringHttpClientRESTRequestExecutor extends AbstractApacheHtt
   }
 
   @Override
-  protected RuntimeException processErrorResponse( URI pRequestURI, CloseableHttpResponse pResponse ) {
+  protected RuntimeException processErrorResponse( URI pRequestURI, ClassicHttpResponse pResponse ) {
 
     // Try to read error response from body
     String lResponseBody;
     HttpEntity lEntity = pResponse.getEntity();
     if (lEntity != null && lEntity.getContentLength() > 0) {
       try {
-        lResponseBody = this.getContent(pResponse.getEntity().getContent());
+        lResponseBody = this.getContent(lEntity);
       }
       catch (IOException e) {
         lResponseBody = "Unable to read error response body. " + e.getMessage();
@@ -0,0 +1,218 @@
+/**
+ * Copyright 2004 - 2022 anaptecs GmbH, Burgstr. 96, 72764 Reutlingen, Germany
+ *
+ * All rights reserved.
+ */
+package com.anaptecs.jeaf.rest.executor.impl.apache.spring;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import com.anaptecs.jeaf.rest.executor.impl.metrics.RESTClientMetrics;
+import com.anaptecs.jeaf.rest.executor.impl.metrics.RESTMetricsRegistry;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Class implements a {@link RESTMetricsRegistry} that records all metrics using Micrometer. All meters are tagged with
+ * the name of the REST service ("service") and the path template ("uri"). Calls are additionally tagged with their
+ * status code ("status").
+ *
+ * Meters are registered once per path template and status code. Afterwards values are recorded directly to the meters
+ * so that no lookups are required.
+ *
+ * @author JEAF Development Team
+ */
+public class MicrometerRESTMetricsRegistry implements RESTMetricsRegistry {
+  /**
+   * Name of the timer for the total duration of calls.
+   */
+  public static final String REQUESTS_METER = "jeaf.rest.client.requests";
+
+  /**
+   * Name of the timer for calls that were answered from the response cache.
+   */
+  public static final String CACHE_HITS_METER = "jeaf.rest.client.cache.hits";
+
+  /**
+   * Name of the timer for the time that requests wait for a connection from the pool.
+   */
+  public static final String CONNECTION_LEASE_WAIT_METER = "jeaf.rest.client.connection.lease.wait";
+
+  /**
+   * Name of the timer for the time until the first byte of the response was received.
+   */
+  public static final String TIME_TO_FIRST_BYTE_METER = "jeaf.rest.client.time.to.first.byte";
+
+  /**
+   * Name of the timer for the deserialization of responses.
+   */
+  public static final String DESERIALIZATION_METER = "jeaf.rest.client.deserialization";
+
+  /**
+   * Name of the distribution summary for the size of request bodies.
+   */
+  public static final String BYTES_SENT_METER = "jeaf.rest.client.bytes.sent";
+
+  /**
+   * Name of the distribution summary for the size of response bodies.
+   */
+  public static final String BYTES_RECEIVED_METER = "jeaf.rest.client.bytes.received";
+
+  /**
+   * Name of the distribution summary for the compression ratio of request bodies.
+   */
+  public static final String REQUEST_COMPRESSION_RATIO_METER = "jeaf.rest.client.request.compression.ratio";
+
+  /**
+   * Name of the distribution summary for the compression ratio of response bodies.
+   */
+  public static final String RESPONSE_COMPRESSION_RATIO_METER = "jeaf.rest.client.response.compression.ratio";
+
+  /**
+   * Micrometer registry to which all meters are registered.
+   */
+  private final MeterRegistry meterRegistry;
+
+  /**
+   * Initialize object.
+   *
+   * @param pMeterRegistry Micrometer registry to which all meters are registered. The parameter must not be null.
+   */
+  public MicrometerRESTMetricsRegistry( MeterRegistry pMeterRegistry ) {
+    if (pMeterRegistry == null) {
+      throw new IllegalArgumentException("Parameter 'pMeterRegistry' must not be null.");
+    }
+    meterRegistry = pMeterRegistry;
+  }
+
+  @Override
+  public RESTClientMetrics getClientMetrics( Class<?> pServiceClass, String pPathTemplate ) {
+    return new MicrometerRESTClientMetrics(meterRegistry, Tags.of("service", pServiceClass.getName(), "uri",
+        pPathTemplate));
+  }
+
+  /**
+   * Class records the metrics of one path template to Micrometer meters.
+   */
+  private static final class MicrometerRESTClientMetrics implements RESTClientMetrics {
+    /**
+     * Timers for calls are cached per status code up to this value.
+     */
+    private static final int MAX_STATUS_CODE = 599;
+
+    private final MeterRegistry meterRegistry;
+
+    private final Tags tags;
+
+    private final Timer connectionLeaseWait;
+
+    private final Timer timeToFirstByte;
+
+    private final Timer deserialization;
+
+    private final Timer cacheHits;
+
+    private final DistributionSummary bytesSent;
+
+    private final DistributionSummary bytesReceived;
+
+    private final DistributionSummary requestCompressionRatio;
+
+    private final DistributionSummary responseCompressionRatio;
+
+    /**
+     * Timers for calls per status code. Index 0 is used for calls without response and unexpected status codes.
+     * Timers are registered when a status code occurs for the first time.
+     */
+    private final AtomicReferenceArray<Timer> requests = new AtomicReferenceArray<>(MAX_STATUS_CODE + 1);
+
+    MicrometerRESTClientMetrics( MeterRegistry pMeterRegistry, Tags pTags ) {
+      meterRegistry = pMeterRegistry;
+      tags = pTags;
+      connectionLeaseWait = Timer.builder(CONNECTION_LEASE_WAIT_METER).tags(pTags).register(pMeterRegistry);
+      timeToFirstByte = Timer.builder(TIME_TO_FIRST_BYTE_METER).tags(pTags).register(pMeterRegistry);
+      deserialization = Timer.builder(DESERIALIZATION_METER).tags(pTags).register(pMeterRegistry);
+      cacheHits = Timer.builder(CACHE_HITS_METER).tags(pTags).register(pMeterRegistry);
+      bytesSent = DistributionSummary.builder(BYTES_SENT_METER).baseUnit("bytes").tags(pTags).register(pMeterRegistry);
+      bytesReceived =
+          DistributionSummary.builder(BYTES_RECEIVED_METER).baseUnit("bytes").tags(pTags).register(pMeterRegistry);
+      requestCompressionRatio =
+          DistributionSummary.builder(REQUEST_COMPRESSION_RATIO_METER).tags(pTags).register(pMeterRegistry);
+      responseCompressionRatio =
+          DistributionSummary.builder(RESPONSE_COMPRESSION_RATIO_METER).tags(pTags).register(pMeterRegistry);
+    }
+
+    @Override
+    public void recordConnectionLeaseWait( long pNanos ) {
+      connectionLeaseWait.record(pNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void recordTimeToFirstByte( long pNanos ) {
+      timeToFirstByte.record(pNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void recordDeserialization( long pNanos ) {
+      deserialization.record(pNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void recordCall( int pStatusCode, long pNanos ) {
+      int lIndex;
+      if (pStatusCode > 0 && pStatusCode <= MAX_STATUS_CODE) {
+        lIndex = pStatusCode;
+      }
+      else {
+        lIndex = 0;
+      }
+      Timer lTimer = requests.get(lIndex);
+      if (lTimer == null) {
+        // Micrometer returns the already registered timer in case of concurrent registration.
+        String lStatus;
+        if (lIndex > 0) {
+          lStatus = String.valueOf(lIndex);
+        }
+        else {
+          lStatus = "NONE";
+        }
+        lTimer = Timer.builder(REQUESTS_METER).tags(tags).tag("status", lStatus).register(meterRegistry);
+        requests.set(lIndex, lTimer);
+      }
+      lTimer.record(pNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void recordCacheHit( long pNanos ) {
+      cacheHits.record(pNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void recordBytesSent( long pBytes ) {
+      bytesSent.record(pBytes);
+    }
+
+    @Override
+    public void recordBytesReceived( long pBytes ) {
+      bytesReceived.record(pBytes);
+    }
+
+    @Override
+    public void recordRequestCompression( long pUncompressedBytes, long pCompressedBytes ) {
+      if (pCompressedBytes > 0) {
+        requestCompressionRatio.record((double) pUncompressedBytes / pCompressedBytes);
+      }
+    }
+
+    @Override
+    public void recordResponseCompression( long pUncompressedBytes, long pCompressedBytes ) {
+      if (pCompressedBytes > 0) {
+        responseCompressionRatio.record((double) pUncompressedBytes / pCompressedBytes);
+      }
+    }
+  }
+}
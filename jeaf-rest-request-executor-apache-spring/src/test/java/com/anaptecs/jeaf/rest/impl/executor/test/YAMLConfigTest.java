@@ -8,7 +8,11 @@ package com.anaptecs.jeaf.rest.impl.executor.test;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 
+import java.util.Arrays;
+
 import com.anaptecs.jeaf.rest.executor.impl.apache.spring.YAMLBasedRESTClientConfigurationLoader;
+import com.anaptecs.jeaf.rest.executor.impl.config.PoolSizingPolicy;
+import com.anaptecs.jeaf.rest.executor.impl.config.ProtocolPolicy;
 import com.anaptecs.jeaf.rest.executor.impl.config.RESTClientConfiguration;
 import org.junit.jupiter.api.Test;
 
@@ -33,6 +37,25 @@ class YAMLConfigTest {
     // Test HTTP Client Configuration
     assertEquals(33, lConfiguration.getMaxPoolSize());
     assertEquals(7, lConfiguration.getMaxIdleConnections());
+    assertEquals(8, lConfiguration.getMaxPerRoute());
+    assertEquals(40000, lConfiguration.getMaxIdleTime());
+    assertEquals(false, lConfiguration.isEvictExpiredConnections());
+    assertEquals(ProtocolPolicy.HTTP_2, lConfiguration.getProtocolPolicy());
+    assertEquals(150, lConfiguration.getMaxConcurrentStreams());
+    assertEquals(2, lConfiguration.getHttp2ConnectionCount());
+    assertEquals(Arrays.asList("gzip"), lConfiguration.getAcceptEncodings());
+    assertEquals("gzip", lConfiguration.getRequestEncoding());
+    assertEquals(4096, lConfiguration.getRequestCompressionThreshold());
+    assertEquals(Arrays.asList("application/cbor", "application/json"), lConfiguration.getBodyContentTypes());
+    assertEquals(256, lConfiguration.getCookieHeaderCacheSize());
+    assertEquals(100, lConfiguration.getTraceSamplingRate());
+    assertEquals("X-Trace-Request", lConfiguration.getTraceHeaderName());
+    assertEquals(4096, lConfiguration.getMaxTracedBodySize());
+    assertEquals(1000, lConfiguration.getResponseCacheSize());
+    assertEquals(8388608, lConfiguration.getResponseCacheMaxBytes());
+    assertEquals(true, lConfiguration.isCacheDeserializedResponses());
+    assertEquals(Arrays.asList("Accept-Language"), lConfiguration.getResponseCacheKeyHeaders());
+    assertEquals(true, lConfiguration.isRequestCoalescing());
     assertEquals(20011, lConfiguration.getKeepAliveDuration());
     assertEquals(10080, lConfiguration.getValidateAfterInactivityDuration());
     assertEquals(42, lConfiguration.getMaxRetries());
@@ -40,6 +63,12 @@ class YAMLConfigTest {
     assertEquals(5111, lConfiguration.getResponseTimeout());
     assertEquals(2001, lConfiguration.getConnectTimeout());
     assertEquals(101, lConfiguration.getConnectionRequestTimeout());
+    assertEquals(PoolSizingPolicy.VIRTUAL_THREADS, lConfiguration.getPoolSizingPolicy());
+    assertEquals(15000, lConfiguration.getAdmissionTimeout());
+    assertEquals(17, lConfiguration.getPendingLeasesThreshold());
+    assertEquals(true, lConfiguration.isAdaptivePoolSizing());
+    assertEquals(3, lConfiguration.getMinPoolSize());
+    assertEquals(15000, lConfiguration.getAdaptivePoolSizingInterval());
 
     // Test circuit breaker configuration
     assertEquals(11, lConfiguration.getFailureRateThreshold());
@@ -77,6 +106,25 @@ class YAMLConfigTest {
     // Test HTTP Client Configuration
     assertEquals(5, lConfiguration.getMaxPoolSize());
     assertEquals(5, lConfiguration.getMaxIdleConnections());
+    assertEquals(5, lConfiguration.getMaxPerRoute());
+    assertEquals(30000, lConfiguration.getMaxIdleTime());
+    assertEquals(true, lConfiguration.isEvictExpiredConnections());
+    assertEquals(ProtocolPolicy.HTTP_1, lConfiguration.getProtocolPolicy());
+    assertEquals(100, lConfiguration.getMaxConcurrentStreams());
+    assertEquals(1, lConfiguration.getHttp2ConnectionCount());
+    assertEquals(Arrays.asList("gzip", "deflate"), lConfiguration.getAcceptEncodings());
+    assertEquals(null, lConfiguration.getRequestEncoding());
+    assertEquals(2048, lConfiguration.getRequestCompressionThreshold());
+    assertEquals(Arrays.asList("application/json"), lConfiguration.getBodyContentTypes());
+    assertEquals(0, lConfiguration.getCookieHeaderCacheSize());
+    assertEquals(1, lConfiguration.getTraceSamplingRate());
+    assertEquals(null, lConfiguration.getTraceHeaderName());
+    assertEquals(64 * 1024, lConfiguration.getMaxTracedBodySize());
+    assertEquals(0, lConfiguration.getResponseCacheSize());
+    assertEquals(16 * 1024 * 1024, lConfiguration.getResponseCacheMaxBytes());
+    assertEquals(false, lConfiguration.isCacheDeserializedResponses());
+    assertEquals(0, lConfiguration.getResponseCacheKeyHeaders().size());
+    assertEquals(false, lConfiguration.isRequestCoalescing());
     assertEquals(20000, lConfiguration.getKeepAliveDuration());
     assertEquals(10000, lConfiguration.getValidateAfterInactivityDuration());
     assertEquals(0, lConfiguration.getMaxRetries());
@@ -84,6 +132,12 @@ class YAMLConfigTest {
     assertEquals(5000, lConfiguration.getResponseTimeout());
     assertEquals(2000, lConfiguration.getConnectTimeout());
     assertEquals(100, lConfiguration.getConnectionRequestTimeout());
+    assertEquals(PoolSizingPolicy.FIXED, lConfiguration.getPoolSizingPolicy());
+    assertEquals(5000, lConfiguration.getAdmissionTimeout());
+    assertEquals(10, lConfiguration.getPendingLeasesThreshold());
+    assertEquals(false, lConfiguration.isAdaptivePoolSizing());
+    assertEquals(2, lConfiguration.getMinPoolSize());
+    assertEquals(10000, lConfiguration.getAdaptivePoolSizingInterval());
 
     // Test circuit breaker configuration
     assertEquals(5, lConfiguration.getFailureRateThreshold());